@@ -0,0 +1,200 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.benchmarks;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.idp.server.core.openid.authentication.Authentication;
+import org.idp.server.core.openid.grant_management.grant.AuthorizationGrant;
+import org.idp.server.core.openid.grant_management.grant.AuthorizationGrantBuilder;
+import org.idp.server.core.openid.grant_management.grant.GrantIdTokenClaims;
+import org.idp.server.core.openid.identity.User;
+import org.idp.server.core.openid.oauth.configuration.AuthorizationServerConfiguration;
+import org.idp.server.core.openid.oauth.configuration.client.ClientConfiguration;
+import org.idp.server.core.openid.oauth.type.oauth.GrantType;
+import org.idp.server.core.openid.oauth.type.oauth.RequestedClientId;
+import org.idp.server.core.openid.oauth.type.oauth.Scopes;
+import org.idp.server.platform.dependency.protocol.AuthorizationProvider;
+import org.idp.server.platform.json.JsonConverter;
+import org.idp.server.platform.multi_tenancy.organization.OrganizationIdentifier;
+import org.idp.server.platform.multi_tenancy.tenant.*;
+import org.idp.server.platform.multi_tenancy.tenant.config.CorsConfiguration;
+import org.idp.server.platform.multi_tenancy.tenant.config.SessionConfiguration;
+import org.idp.server.platform.multi_tenancy.tenant.config.UIConfiguration;
+import org.idp.server.platform.multi_tenancy.tenant.policy.TenantIdentityPolicy;
+import org.idp.server.platform.security.event.SecurityEventUserAttributeConfiguration;
+import org.idp.server.platform.security.log.SecurityEventLogConfiguration;
+
+/** Shared, realistic inputs for the benchmarks. */
+final class BenchmarkFixtures {
+
+  static final String TENANT_ID = "67e7eae6-62b0-4500-9eff-87459f63fc66";
+  static final String CLIENT_ID = "benchmark-client";
+  static final String ISSUER = "https://idp.example.com/" + TENANT_ID;
+
+  static final String ES256_KEY_ID = "benchmark-es256";
+  static final String ES256_JWK =
+      "{\"kty\":\"EC\",\"kid\":\"benchmark-es256\",\"use\":\"sig\",\"alg\":\"ES256\",\"crv\":\"P-256\",\"x\":\"Y8Oi9B2da4SCGAA5SzKV821P4U3cUFLxyWmvD-zMTQ4\",\"y\":\"V9D3xbGoNoOqYzhDgsUI0ZpMtsRhButt5xjZXU-sKRo\",\"d\":\"NXcffy4YqYk3G6_DmRoYXjEp5IV3q875ayAIhZ_Zp_Y\"}";
+  static final String RS256_KEY_ID = "benchmark-rs256";
+  // Generated once per JVM so that signing and verification fixtures share the same key.
+  static final String RS256_JWK = rsaJwk(RS256_KEY_ID);
+
+  private BenchmarkFixtures() {}
+
+  static String keyId(String algorithm) {
+    return algorithm.equals("RS256") ? RS256_KEY_ID : ES256_KEY_ID;
+  }
+
+  /** Returns a private JWKS holding a single signing key for {@code algorithm}. */
+  static String jwks(String algorithm) {
+    String jwk = algorithm.equals("RS256") ? RS256_JWK : ES256_JWK;
+    return "{\"keys\":[" + jwk + "]}";
+  }
+
+  @SuppressWarnings("unchecked")
+  static String publicJwks(String algorithm) {
+    Map<String, Object> jwk = JsonConverter.defaultInstance().read(jwks(algorithm), Map.class);
+    List<Map<String, Object>> keys = (List<Map<String, Object>>) jwk.get("keys");
+    Map<String, Object> publicKey = new HashMap<>(keys.getFirst());
+    for (String privateMember : List.of("d", "p", "q", "dp", "dq", "qi")) {
+      publicKey.remove(privateMember);
+    }
+    return JsonConverter.defaultInstance().write(Map.of("keys", List.of(publicKey)));
+  }
+
+  static AuthorizationServerConfiguration authorizationServerConfiguration(
+      String algorithm, String accessTokenType) {
+    Map<String, Object> extension = new HashMap<>();
+    extension.put("idTokenSignedKeyId", keyId(algorithm));
+    extension.put("tokenSignedKeyId", keyId(algorithm));
+    extension.put("accessTokenType", accessTokenType);
+    extension.put("accessTokenDuration", 3600);
+    extension.put("idTokenDuration", 3600);
+    extension.put("idTokenStrictMode", false);
+
+    Map<String, Object> config = new HashMap<>();
+    config.put("issuer", ISSUER);
+    config.put("jwks", jwks(algorithm));
+    config.put("scopesSupported", List.of("openid", "profile", "email", "offline_access"));
+    config.put("extension", extension);
+
+    return JsonConverter.defaultInstance().read(config, AuthorizationServerConfiguration.class);
+  }
+
+  static ClientConfiguration clientConfiguration() {
+    return JsonConverter.defaultInstance()
+        .read(clientConfigurationMap(), ClientConfiguration.class);
+  }
+
+  static Map<String, Object> clientConfigurationMap() {
+    Map<String, Object> config = new HashMap<>();
+    config.put("clientId", CLIENT_ID);
+    config.put("clientName", "Benchmark Client");
+    config.put("clientSecret", "benchmark-client-secret-0123456789abcdef");
+    config.put(
+        "redirectUris",
+        List.of("https://client.example.com/callback", "https://client.example.com/callback2"));
+    config.put("grantTypes", List.of("authorization_code", "refresh_token"));
+    config.put("responseTypes", List.of("code"));
+    config.put("scope", "openid profile email offline_access");
+    config.put("tokenEndpointAuthMethod", "client_secret_post");
+    config.put("applicationType", "web");
+    config.put("extension", new HashMap<>());
+    return config;
+  }
+
+  static Tenant tenant() {
+    return new Tenant(
+        new TenantIdentifier(TENANT_ID),
+        new TenantName("Benchmark Tenant"),
+        TenantType.PUBLIC,
+        new TenantDomain("https://idp.example.com"),
+        new AuthorizationProvider("idp-server"),
+        new TenantAttributes(),
+        new UIConfiguration(),
+        new CorsConfiguration(),
+        new SessionConfiguration(),
+        new SecurityEventLogConfiguration(),
+        new SecurityEventUserAttributeConfiguration(),
+        TenantIdentityPolicy.defaultPolicy(),
+        new OrganizationIdentifier("benchmark-organization"),
+        true);
+  }
+
+  static User user() {
+    return new User()
+        .setSub("3ec055a8-8000-44a2-8677-e70ebff414e2")
+        .setName("Benchmark User")
+        .setPreferredUsername("benchmark@example.com")
+        .setEmail("benchmark@example.com");
+  }
+
+  static AuthorizationGrant authorizationGrant(User user, Authentication authentication) {
+    return new AuthorizationGrantBuilder(
+            new TenantIdentifier(TENANT_ID),
+            new RequestedClientId(CLIENT_ID),
+            GrantType.authorization_code,
+            new Scopes("openid profile email"))
+        .add(user)
+        .add(authentication)
+        .add(new GrantIdTokenClaims())
+        .build();
+  }
+
+  private static String rsaJwk(String keyId) {
+    try {
+      KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+      generator.initialize(2048);
+      KeyPair keyPair = generator.generateKeyPair();
+      RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+      RSAPrivateCrtKey privateKey = (RSAPrivateCrtKey) keyPair.getPrivate();
+
+      Map<String, Object> jwk = new HashMap<>();
+      jwk.put("kty", "RSA");
+      jwk.put("kid", keyId);
+      jwk.put("use", "sig");
+      jwk.put("alg", "RS256");
+      jwk.put("n", base64Url(publicKey.getModulus()));
+      jwk.put("e", base64Url(publicKey.getPublicExponent()));
+      jwk.put("d", base64Url(privateKey.getPrivateExponent()));
+      jwk.put("p", base64Url(privateKey.getPrimeP()));
+      jwk.put("q", base64Url(privateKey.getPrimeQ()));
+      jwk.put("dp", base64Url(privateKey.getPrimeExponentP()));
+      jwk.put("dq", base64Url(privateKey.getPrimeExponentQ()));
+      jwk.put("qi", base64Url(privateKey.getCrtCoefficient()));
+      return JsonConverter.defaultInstance().write(jwk);
+    } catch (Exception e) {
+      throw new IllegalStateException("Failed to generate RSA benchmark key", e);
+    }
+  }
+
+  private static String base64Url(BigInteger value) {
+    byte[] bytes = value.toByteArray();
+    if (bytes.length > 1 && bytes[0] == 0) {
+      bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+    }
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+  }
+}
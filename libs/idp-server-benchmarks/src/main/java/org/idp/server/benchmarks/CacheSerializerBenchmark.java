@@ -0,0 +1,84 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.idp.server.core.openid.oauth.configuration.client.ClientConfiguration;
+import org.idp.server.platform.datasource.cache.BinaryCacheSerializer;
+import org.idp.server.platform.datasource.cache.CacheSerializer;
+import org.idp.server.platform.datasource.cache.JsonCacheSerializer;
+import org.idp.server.platform.multi_tenancy.tenant.Tenant;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Cache value encoding of the configuration objects stored in Redis, per serializer. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheSerializerBenchmark {
+
+  @Param({"json", "binary"})
+  String serializerType;
+
+  CacheSerializer serializer;
+  ClientConfiguration clientConfiguration;
+  byte[] clientConfigurationBytes;
+  Tenant tenant;
+  byte[] tenantBytes;
+
+  @Setup
+  public void setUp() {
+    serializer =
+        "binary".equals(serializerType) ? new BinaryCacheSerializer() : new JsonCacheSerializer();
+    clientConfiguration = BenchmarkFixtures.clientConfiguration();
+    clientConfigurationBytes = serializer.serialize(clientConfiguration);
+    tenant = BenchmarkFixtures.tenant();
+    tenantBytes = serializer.serialize(tenant);
+  }
+
+  @Benchmark
+  public byte[] writeClientConfiguration() {
+    return serializer.serialize(clientConfiguration);
+  }
+
+  @Benchmark
+  public ClientConfiguration readClientConfiguration() {
+    return serializer.deserialize(clientConfigurationBytes, ClientConfiguration.class);
+  }
+
+  @Benchmark
+  public byte[] writeTenant() {
+    return serializer.serialize(tenant);
+  }
+
+  @Benchmark
+  public Tenant readTenant() {
+    return serializer.deserialize(tenantBytes, Tenant.class);
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import org.idp.server.platform.crypto.AesCipher;
+import org.idp.server.platform.crypto.EncryptedData;
+import org.idp.server.platform.crypto.HmacHasher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Token hashing and encryption performed on token issuance and on every introspection. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CryptoBenchmark {
+
+  static final String TOKEN = "aW1hZ2luZS1hbi1vcGFxdWUtYWNjZXNzLXRva2VuLTAxMjM0NTY3ODk";
+
+  HmacHasher hmacHasher;
+  AesCipher aesCipher;
+  byte[] tokenBytes;
+  EncryptedData encryptedData;
+  byte[] encryptedBytes;
+
+  @Setup
+  public void setUp() {
+    hmacHasher = new HmacHasher("benchmark-hmac-secret");
+    aesCipher = new AesCipher(Base64.getEncoder().encodeToString(new byte[32]));
+    tokenBytes = TOKEN.getBytes(StandardCharsets.UTF_8);
+    encryptedData = aesCipher.encrypt(TOKEN);
+    encryptedBytes = aesCipher.encrypt(tokenBytes);
+  }
+
+  @Benchmark
+  public String hmacHash() {
+    return hmacHasher.hash(TOKEN);
+  }
+
+  @Benchmark
+  public byte[] hmacHashBytes() {
+    return hmacHasher.hash(tokenBytes);
+  }
+
+  @Benchmark
+  public EncryptedData aesEncrypt() {
+    return aesCipher.encrypt(TOKEN);
+  }
+
+  @Benchmark
+  public String aesDecrypt() {
+    return aesCipher.decrypt(encryptedData);
+  }
+
+  @Benchmark
+  public byte[] aesEncryptBytes() {
+    return aesCipher.encrypt(tokenBytes);
+  }
+
+  @Benchmark
+  public byte[] aesDecryptBytes() {
+    return aesCipher.decrypt(encryptedBytes);
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.idp.server.core.openid.oauth.configuration.client.ClientConfiguration;
+import org.idp.server.platform.json.JsonConverter;
+import org.idp.server.platform.json.JsonNodeWrapper;
+import org.idp.server.platform.json.schema.JsonSchemaValidationResult;
+import org.idp.server.platform.json.schema.JsonSchemaValidator;
+import org.idp.server.platform.multi_tenancy.tenant.Tenant;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JSON (de)serialization of the configuration objects that are read from the cache on every
+ * request, and JSON Schema validation of request bodies.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+  static final String SCHEMA =
+      """
+      {
+        "type": "object",
+        "required": ["username", "password", "email"],
+        "properties": {
+          "username": {"type": "string", "minLength": 3, "maxLength": 64},
+          "password": {"type": "string", "minLength": 8},
+          "email": {"type": "string", "format": "email"},
+          "phone_number": {"type": "string", "pattern": "^[+]?[0-9]{8,15}$"},
+          "age": {"type": "integer", "minimum": 0},
+          "roles": {"type": "array", "items": {"type": "string"}}
+        }
+      }
+      """;
+
+  static final String REQUEST =
+      """
+      {
+        "username": "benchmark-user",
+        "password": "correct horse battery staple",
+        "email": "benchmark@example.com",
+        "phone_number": "+819012345678",
+        "age": 34,
+        "roles": ["member", "admin"]
+      }
+      """;
+
+  JsonConverter jsonConverter;
+  ClientConfiguration clientConfiguration;
+  String clientConfigurationJson;
+  Tenant tenant;
+  String tenantJson;
+  JsonSchemaValidator jsonSchemaValidator;
+  JsonNodeWrapper request;
+
+  @Setup
+  public void setUp() {
+    // The cache stores use the snake case converter.
+    jsonConverter = JsonConverter.snakeCaseInstance();
+    clientConfiguration = BenchmarkFixtures.clientConfiguration();
+    clientConfigurationJson = jsonConverter.write(clientConfiguration);
+    tenant = BenchmarkFixtures.tenant();
+    tenantJson = jsonConverter.write(tenant);
+    jsonSchemaValidator = JsonSchemaValidator.fromString(SCHEMA);
+    request = JsonNodeWrapper.fromString(REQUEST);
+  }
+
+  @Benchmark
+  public String writeClientConfiguration() {
+    return jsonConverter.write(clientConfiguration);
+  }
+
+  @Benchmark
+  public ClientConfiguration readClientConfiguration() {
+    return jsonConverter.read(clientConfigurationJson, ClientConfiguration.class);
+  }
+
+  @Benchmark
+  public String writeTenant() {
+    return jsonConverter.write(tenant);
+  }
+
+  @Benchmark
+  public Tenant readTenant() {
+    return jsonConverter.read(tenantJson, Tenant.class);
+  }
+
+  @Benchmark
+  public JsonSchemaValidationResult validateSchema() {
+    return jsonSchemaValidator.validate(request);
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.idp.server.platform.jose.JsonWebSignature;
+import org.idp.server.platform.jose.JsonWebSignatureFactory;
+import org.idp.server.platform.jose.JwtCredential;
+import org.idp.server.platform.jose.JwtSignatureVerifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** JWS signing and verification as used for ID tokens, JWT access tokens and client assertions. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonWebSignatureBenchmark {
+
+  @Param({"ES256", "RS256"})
+  String algorithm;
+
+  JsonWebSignatureFactory factory;
+  JwtSignatureVerifier verifier;
+  Map<String, Object> claims;
+  String jwks;
+  String keyId;
+  JwtCredential publicCredential;
+  JsonWebSignature signed;
+
+  @Setup
+  public void setUp() throws Exception {
+    factory = new JsonWebSignatureFactory();
+    verifier = new JwtSignatureVerifier();
+    jwks = BenchmarkFixtures.jwks(algorithm);
+    keyId = BenchmarkFixtures.keyId(algorithm);
+    publicCredential = JwtCredential.asymmetric(BenchmarkFixtures.publicJwks(algorithm));
+
+    claims = new HashMap<>();
+    claims.put("iss", BenchmarkFixtures.ISSUER);
+    claims.put("sub", "3ec055a8-8000-44a2-8677-e70ebff414e2");
+    claims.put("aud", BenchmarkFixtures.CLIENT_ID);
+    claims.put("scope", "openid profile email");
+    claims.put("iat", 1_700_000_000L);
+    claims.put("exp", 1_700_003_600L);
+    claims.put("jti", "6b1a5f1e-3c5e-4b7d-9b9e-9d4b3f1f2a10");
+
+    signed = factory.createWithAsymmetricKey(claims, Map.of(), jwks, keyId);
+  }
+
+  @Benchmark
+  public String sign() throws Exception {
+    return factory.createWithAsymmetricKey(claims, Map.of(), jwks, keyId).serialize();
+  }
+
+  @Benchmark
+  public JsonWebSignature verify() throws Exception {
+    JsonWebSignature jws = JsonWebSignature.parse(signed.serialize());
+    verifier.verify(jws, publicCredential);
+    return jws;
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.idp.server.platform.condition.ConditionDefinition;
+import org.idp.server.platform.condition.ConditionEvaluator;
+import org.idp.server.platform.condition.ConditionMatchMode;
+import org.idp.server.platform.condition.ConditionOperation;
+import org.idp.server.platform.json.path.JsonPathWrapper;
+import org.idp.server.platform.mapper.FunctionSpec;
+import org.idp.server.platform.mapper.MappingRule;
+import org.idp.server.platform.mapper.MappingRuleObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mapping rules and conditions evaluated for every external HTTP response (federation userinfo,
+ * identity verification, security event hooks).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingRuleBenchmark {
+
+  static final String SOURCE =
+      """
+      {
+        "response_body": {
+          "sub": "3ec055a8-8000-44a2-8677-e70ebff414e2",
+          "email": "  Benchmark@Example.com ",
+          "given_name": "benchmark",
+          "family_name": "user",
+          "age": 34,
+          "roles": ["member", "admin"],
+          "address": {"country": "JP", "locality": "Tokyo", "postal_code": "100-0001"},
+          "verified": true
+        },
+        "response_headers": {"content-type": "application/json"},
+        "status_code": 200
+      }
+      """;
+
+  JsonPathWrapper jsonPath;
+  List<MappingRule> mappingRules;
+  List<ConditionDefinition> conditions;
+
+  @Setup
+  public void setUp() {
+    jsonPath = new JsonPathWrapper(SOURCE);
+    mappingRules =
+        List.of(
+            new MappingRule("$.response_body.sub", "external_user_id"),
+            new MappingRule(
+                "$.response_body.email",
+                "email",
+                List.of(
+                    new FunctionSpec("trim", Map.of()),
+                    new FunctionSpec("case", Map.of("mode", "lower")))),
+            new MappingRule(
+                "$.response_body.given_name",
+                "name",
+                List.of(new FunctionSpec("format", Map.of("template", "{{value}} user")))),
+            new MappingRule("$.response_body.family_name", "family_name"),
+            new MappingRule("$.response_body.address.country", "address.country"),
+            new MappingRule("$.response_body.address.locality", "address.locality"),
+            new MappingRule("$.response_body.address.postal_code", "address.postal_code"),
+            new MappingRule("$.response_body.roles", "custom_properties.roles"),
+            new MappingRule("$.response_body.verified", "custom_properties.verified"),
+            new MappingRule((Object) "idp-server", "custom_properties.source"));
+    conditions =
+        List.of(
+            new ConditionDefinition("$.status_code", ConditionOperation.EQ, 200),
+            new ConditionDefinition("$.response_body.age", ConditionOperation.GTE, 18),
+            new ConditionDefinition(
+                "$.response_body.address.country", ConditionOperation.IN, List.of("JP", "US")),
+            new ConditionDefinition("$.response_body.verified", ConditionOperation.EXISTS, null));
+  }
+
+  @Benchmark
+  public Map<String, Object> execute() {
+    return MappingRuleObjectMapper.execute(mappingRules, jsonPath);
+  }
+
+  @Benchmark
+  public Map<String, Object> parseAndExecute() {
+    return MappingRuleObjectMapper.execute(mappingRules, new JsonPathWrapper(SOURCE));
+  }
+
+  @Benchmark
+  public boolean conditionsAll() {
+    return ConditionEvaluator.evaluate(conditions, ConditionMatchMode.ALL, jsonPath);
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.idp.server.core.openid.authentication.Authentication;
+import org.idp.server.core.openid.grant_management.grant.AuthorizationGrant;
+import org.idp.server.core.openid.identity.User;
+import org.idp.server.core.openid.identity.id_token.IdTokenCreator;
+import org.idp.server.core.openid.identity.id_token.IdTokenCustomClaims;
+import org.idp.server.core.openid.identity.id_token.IdTokenCustomClaimsBuilder;
+import org.idp.server.core.openid.identity.id_token.RequestedClaimsPayload;
+import org.idp.server.core.openid.oauth.clientauthenticator.clientcredentials.ClientCredentials;
+import org.idp.server.core.openid.oauth.configuration.AuthorizationServerConfiguration;
+import org.idp.server.core.openid.oauth.configuration.client.ClientConfiguration;
+import org.idp.server.core.openid.oauth.type.oauth.AccessTokenEntity;
+import org.idp.server.core.openid.oauth.type.oauth.AuthorizationCode;
+import org.idp.server.core.openid.oauth.type.oidc.IdToken;
+import org.idp.server.core.openid.oauth.type.oidc.Nonce;
+import org.idp.server.core.openid.token.AccessToken;
+import org.idp.server.core.openid.token.AccessTokenCreator;
+import org.idp.server.core.openid.token.OAuthToken;
+import org.idp.server.core.openid.token.OAuthTokenBuilder;
+import org.idp.server.core.openid.token.OAuthTokenIdentifier;
+import org.idp.server.core.openid.token.tokenintrospection.TokenIntrospectionContentsCreator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Token endpoint and introspection hot paths, excluding persistence. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenIssuanceBenchmark {
+
+  @Param({"ES256", "RS256"})
+  String algorithm;
+
+  @Param({"opaque", "JWT"})
+  String accessTokenType;
+
+  AuthorizationServerConfiguration authorizationServerConfiguration;
+  ClientConfiguration clientConfiguration;
+  ClientCredentials clientCredentials;
+  User user;
+  Authentication authentication;
+  AuthorizationGrant authorizationGrant;
+  IdTokenCustomClaims idTokenCustomClaims;
+  OAuthToken oAuthToken;
+
+  @Setup
+  public void setUp() {
+    authorizationServerConfiguration =
+        BenchmarkFixtures.authorizationServerConfiguration(algorithm, accessTokenType);
+    clientConfiguration = BenchmarkFixtures.clientConfiguration();
+    clientCredentials = new ClientCredentials();
+    user = BenchmarkFixtures.user();
+    authentication =
+        new Authentication()
+            .setTime(LocalDateTime.now())
+            .addMethods(List.of("pwd"))
+            .addAcr("urn:mace:incommon:iap:silver");
+    authorizationGrant = BenchmarkFixtures.authorizationGrant(user, authentication);
+    idTokenCustomClaims =
+        new IdTokenCustomClaimsBuilder()
+            .add(new AccessTokenEntity("access-token-value"))
+            .add(new AuthorizationCode("authorization-code-value"))
+            .add(new Nonce("nonce-value"))
+            .build();
+
+    AccessToken accessToken = createAccessToken();
+    oAuthToken =
+        new OAuthTokenBuilder(new OAuthTokenIdentifier("0b3f6c1e-52ab-4f0a-9d3e-7a1f2c4b5d6e"))
+            .add(accessToken)
+            .build();
+  }
+
+  @Benchmark
+  public IdToken idToken() {
+    return IdTokenCreator.getInstance()
+        .createIdToken(
+            user,
+            authentication,
+            authorizationGrant,
+            idTokenCustomClaims,
+            new RequestedClaimsPayload(),
+            authorizationServerConfiguration,
+            clientConfiguration);
+  }
+
+  @Benchmark
+  public AccessToken accessToken() {
+    return createAccessToken();
+  }
+
+  @Benchmark
+  public Map<String, Object> introspectionContents() {
+    return TokenIntrospectionContentsCreator.createSuccessContents(oAuthToken);
+  }
+
+  private AccessToken createAccessToken() {
+    return AccessTokenCreator.getInstance()
+        .create(
+            authorizationGrant,
+            authorizationServerConfiguration,
+            clientConfiguration,
+            clientCredentials);
+  }
+}
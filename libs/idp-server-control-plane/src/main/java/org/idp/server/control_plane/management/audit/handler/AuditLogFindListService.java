@@ -28,6 +28,7 @@ import org.idp.server.core.openid.identity.User;
 import org.idp.server.core.openid.token.OAuthToken;
 import org.idp.server.platform.audit.AuditLog;
 import org.idp.server.platform.audit.AuditLogQueryRepository;
+import org.idp.server.platform.datasource.TotalCount;
 import org.idp.server.platform.multi_tenancy.tenant.Tenant;
 import org.idp.server.platform.type.RequestAttributes;
 
@@ -63,12 +64,15 @@ public class AuditLogFindListService implements AuditLogManagementService<AuditL
 
     new AuditLogQueryValidator(request.queries()).validate();
 
-    long totalCount = auditLogQueryRepository.findTotalCount(tenant, request.queries());
+    TotalCount totalCount =
+        new TotalCount(
+            auditLogQueryRepository.findTotalCount(tenant, request.queries()),
+            request.queries().countStrategy());
 
-    if (totalCount == 0) {
+    if (totalCount.isEmpty()) {
       Map<String, Object> response = new HashMap<>();
       response.put("list", List.of());
-      response.put("total_count", 0);
+      response.putAll(totalCount.toMap());
       response.put("limit", request.queries().limit());
       response.put("offset", request.queries().offset());
       return new AuditLogManagementResponse(AuditLogManagementStatus.OK, response);
@@ -78,7 +82,7 @@ public class AuditLogFindListService implements AuditLogManagementService<AuditL
 
     Map<String, Object> response = new HashMap<>();
     response.put("list", interactions.stream().map(AuditLog::toMap).toList());
-    response.put("total_count", totalCount);
+    response.putAll(totalCount.toMap());
     response.put("limit", request.queries().limit());
     response.put("offset", request.queries().offset());
 
@@ -24,9 +24,11 @@ import org.idp.server.control_plane.management.identity.user.io.UserFindListRequ
 import org.idp.server.control_plane.management.identity.user.io.UserManagementResponse;
 import org.idp.server.control_plane.management.identity.user.io.UserManagementStatus;
 import org.idp.server.core.openid.identity.User;
+import org.idp.server.core.openid.identity.UserListCursor;
 import org.idp.server.core.openid.identity.UserQueries;
 import org.idp.server.core.openid.identity.repository.UserQueryRepository;
 import org.idp.server.core.openid.token.OAuthToken;
+import org.idp.server.platform.datasource.TotalCount;
 import org.idp.server.platform.multi_tenancy.tenant.Tenant;
 import org.idp.server.platform.type.RequestAttributes;
 
@@ -40,7 +42,7 @@ import org.idp.server.platform.type.RequestAttributes;
  *
  * <ul>
  *   <li>Total count retrieval
- *   <li>Paginated user list retrieval
+ *   <li>Paginated user list retrieval (offset or cursor)
  *   <li>Response formatting
  * </ul>
  *
@@ -72,12 +74,18 @@ public class UserFindListService implements UserManagementService<UserFindListRe
 
     UserQueries queries = request.userQueries();
 
+    if (queries.isCursorPagination()) {
+      return findPage(tenant, queries);
+    }
+
     // 1. Get total count
-    long totalCount = userQueryRepository.findTotalCount(tenant, queries);
-    if (totalCount == 0) {
+    TotalCount totalCount =
+        new TotalCount(
+            userQueryRepository.findTotalCount(tenant, queries), queries.countStrategy());
+    if (totalCount.isEmpty()) {
       Map<String, Object> response = new HashMap<>();
       response.put("list", List.of());
-      response.put("total_count", 0);
+      response.putAll(totalCount.toMap());
       response.put("limit", queries.limit());
       response.put("offset", queries.offset());
       return new UserManagementResponse(UserManagementStatus.OK, response);
@@ -89,10 +97,27 @@ public class UserFindListService implements UserManagementService<UserFindListRe
     // 3. Format response
     Map<String, Object> response = new HashMap<>();
     response.put("list", users.stream().map(User::toMap).toList());
-    response.put("total_count", totalCount);
+    response.putAll(totalCount.toMap());
     response.put("limit", queries.limit());
     response.put("offset", queries.offset());
 
     return new UserManagementResponse(UserManagementStatus.OK, response);
   }
+
+  /**
+   * Keyset paging: no total count (it scans the whole tenant) and no offset. {@code next_cursor} is
+   * present while a full page was returned.
+   */
+  private UserManagementResponse findPage(Tenant tenant, UserQueries queries) {
+    List<User> users = userQueryRepository.findList(tenant, queries);
+
+    Map<String, Object> response = new HashMap<>();
+    response.put("list", users.stream().map(User::toMap).toList());
+    response.put("limit", queries.limit());
+    if (!users.isEmpty() && users.size() == queries.limit()) {
+      response.put("next_cursor", UserListCursor.of(users.get(users.size() - 1)).encode());
+    }
+
+    return new UserManagementResponse(UserManagementStatus.OK, response);
+  }
 }
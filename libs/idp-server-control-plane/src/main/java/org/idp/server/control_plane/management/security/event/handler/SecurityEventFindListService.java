@@ -26,6 +26,7 @@ import org.idp.server.control_plane.management.security.event.io.SecurityEventMa
 import org.idp.server.control_plane.management.security.event.validator.SecurityEventQueryValidator;
 import org.idp.server.core.openid.identity.User;
 import org.idp.server.core.openid.token.OAuthToken;
+import org.idp.server.platform.datasource.TotalCount;
 import org.idp.server.platform.multi_tenancy.tenant.Tenant;
 import org.idp.server.platform.security.SecurityEvent;
 import org.idp.server.platform.security.SecurityEventQueries;
@@ -66,11 +67,14 @@ public class SecurityEventFindListService
 
     new SecurityEventQueryValidator(queries).validate();
 
-    long totalCount = securityEventQueryRepository.findTotalCount(targetTenant, queries);
-    if (totalCount == 0) {
+    TotalCount totalCount =
+        new TotalCount(
+            securityEventQueryRepository.findTotalCount(targetTenant, queries),
+            queries.countStrategy());
+    if (totalCount.isEmpty()) {
       Map<String, Object> response = new HashMap<>();
       response.put("list", List.of());
-      response.put("total_count", 0);
+      response.putAll(totalCount.toMap());
       response.put("limit", queries.limit());
       response.put("offset", queries.offset());
       return new SecurityEventManagementResponse(SecurityEventManagementStatus.OK, response);
@@ -80,7 +84,7 @@ public class SecurityEventFindListService
 
     Map<String, Object> response = new HashMap<>();
     response.put("list", events.stream().map(SecurityEvent::toMap).toList());
-    response.put("total_count", totalCount);
+    response.putAll(totalCount.toMap());
     response.put("limit", queries.limit());
     response.put("offset", queries.offset());
 
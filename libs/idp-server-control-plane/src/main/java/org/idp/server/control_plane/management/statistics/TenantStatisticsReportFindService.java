@@ -30,19 +30,25 @@ import org.idp.server.platform.type.RequestAttributes;
 /**
  * Service to find tenant statistics report
  *
- * <p>Combines yearly and monthly statistics into an integrated report for frontend graphing.
+ * <p>Combines yearly and monthly statistics into an integrated report for frontend graphing. When
+ * the requested fiscal year is the current one and the {@link ActiveUserFilter} keeps cardinality
+ * estimates, the summary also carries {@code approximate_active_users} (today's DAU, this month's
+ * MAU, this fiscal year's YAU) for live dashboards.
  */
 public class TenantStatisticsReportFindService
     implements TenantStatisticsManagementService<TenantStatisticsReportQuery> {
 
   private final TenantStatisticsQueryRepository monthlyRepository;
   private final TenantYearlyStatisticsQueryRepository yearlyRepository;
+  private final ActiveUserFilter activeUserFilter;
 
   public TenantStatisticsReportFindService(
       TenantStatisticsQueryRepository monthlyRepository,
-      TenantYearlyStatisticsQueryRepository yearlyRepository) {
+      TenantYearlyStatisticsQueryRepository yearlyRepository,
+      ActiveUserFilter activeUserFilter) {
     this.monthlyRepository = monthlyRepository;
     this.yearlyRepository = yearlyRepository;
+    this.activeUserFilter = activeUserFilter;
   }
 
   @Override
@@ -82,7 +88,8 @@ public class TenantStatisticsReportFindService
     List<TenantStatistics> monthlyStatistics =
         monthlyRepository.findByMonthRange(tenant, monthlyQueries);
 
-    TenantStatisticsReport report = buildReport(tenant, query, yearlyOpt, monthlyStatistics);
+    TenantStatisticsReport report =
+        buildReport(tenant, query, yearlyOpt, monthlyStatistics, fiscalYearStart, fiscalYearEnd);
 
     return TenantStatisticsResponse.successReport(report);
   }
@@ -91,9 +98,13 @@ public class TenantStatisticsReportFindService
       Tenant tenant,
       TenantStatisticsReportQuery query,
       Optional<TenantYearlyStatistics> yearlyOpt,
-      List<TenantStatistics> monthlyStatistics) {
+      List<TenantStatistics> monthlyStatistics,
+      LocalDate fiscalYearStart,
+      LocalDate fiscalYearEnd) {
 
     Map<String, Object> summary = buildSummary(yearlyOpt);
+    buildApproximateActiveUsers(tenant, fiscalYearStart, fiscalYearEnd)
+        .ifPresent(approximate -> summary.put("approximate_active_users", approximate));
     List<TenantStatisticsReport.MonthlyData> monthlyDataList =
         buildMonthlyDataList(monthlyStatistics);
 
@@ -115,6 +126,30 @@ public class TenantStatisticsReportFindService
     return summary;
   }
 
+  private Optional<Map<String, Object>> buildApproximateActiveUsers(
+      Tenant tenant, LocalDate fiscalYearStart, LocalDate fiscalYearEnd) {
+    LocalDate today = LocalDate.now(tenant.timezone());
+    if (today.isBefore(fiscalYearStart) || today.isAfter(fiscalYearEnd)) {
+      return Optional.empty();
+    }
+
+    Optional<Long> dau =
+        activeUserFilter.approximateCount(ActiveUserPeriod.DAILY, tenant.identifier(), today);
+    if (dau.isEmpty()) {
+      return Optional.empty();
+    }
+
+    Map<String, Object> approximate = new LinkedHashMap<>();
+    approximate.put(ActiveUserPeriod.DAILY.value(), dau.get());
+    activeUserFilter
+        .approximateCount(ActiveUserPeriod.MONTHLY, tenant.identifier(), today.withDayOfMonth(1))
+        .ifPresent(count -> approximate.put(ActiveUserPeriod.MONTHLY.value(), count));
+    activeUserFilter
+        .approximateCount(ActiveUserPeriod.YEARLY, tenant.identifier(), fiscalYearStart)
+        .ifPresent(count -> approximate.put(ActiveUserPeriod.YEARLY.value(), count));
+    return Optional.of(approximate);
+  }
+
   private List<TenantStatisticsReport.MonthlyData> buildMonthlyDataList(
       List<TenantStatistics> monthlyStatistics) {
     List<TenantStatisticsReport.MonthlyData> result = new ArrayList<>();
@@ -16,6 +16,7 @@
 
 package org.idp.server.core.adapters.datasource.audit.command;
 
+import java.util.List;
 import org.idp.server.platform.audit.AuditLog;
 import org.idp.server.platform.audit.AuditLogCommandRepository;
 import org.idp.server.platform.multi_tenancy.tenant.Tenant;
@@ -32,4 +33,9 @@ public class AuditLogCommandDataSource implements AuditLogCommandRepository {
   public void register(Tenant tenant, AuditLog auditLog) {
     executor.insert(tenant, auditLog);
   }
+
+  @Override
+  public void bulkRegister(Tenant tenant, List<AuditLog> auditLogs) {
+    executor.bulkInsert(tenant, auditLogs);
+  }
 }
@@ -16,10 +16,13 @@
 
 package org.idp.server.core.adapters.datasource.audit.command;
 
+import java.util.List;
 import org.idp.server.platform.audit.AuditLog;
 import org.idp.server.platform.multi_tenancy.tenant.Tenant;
 
 public interface AuditLogSqlExecutor {
 
   void insert(Tenant tenant, AuditLog auditLog);
+
+  void bulkInsert(Tenant tenant, List<AuditLog> auditLogs);
 }
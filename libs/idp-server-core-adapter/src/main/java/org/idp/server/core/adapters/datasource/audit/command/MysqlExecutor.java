@@ -24,11 +24,8 @@ import org.idp.server.platform.multi_tenancy.tenant.Tenant;
 
 public class MysqlExecutor implements AuditLogSqlExecutor {
 
-  @Override
-  public void insert(Tenant tenant, AuditLog auditLog) {
-    SqlExecutor sqlExecutor = new SqlExecutor();
-    String sqlTemplate =
-        """
+  private static final String INSERT_SQL =
+      """
                 INSERT INTO audit_log (
                 id,
                 type,
@@ -74,6 +71,23 @@ public class MysqlExecutor implements AuditLogSqlExecutor {
                 );
                 """;
 
+  @Override
+  public void insert(Tenant tenant, AuditLog auditLog) {
+    SqlExecutor sqlExecutor = new SqlExecutor();
+    sqlExecutor.execute(INSERT_SQL, insertParams(auditLog));
+  }
+
+  @Override
+  public void bulkInsert(Tenant tenant, List<AuditLog> auditLogs) {
+    SqlExecutor sqlExecutor = new SqlExecutor();
+    List<List<Object>> paramsList = new ArrayList<>();
+    for (AuditLog auditLog : auditLogs) {
+      paramsList.add(insertParams(auditLog));
+    }
+    sqlExecutor.executeBatch(INSERT_SQL, paramsList);
+  }
+
+  private List<Object> insertParams(AuditLog auditLog) {
     List<Object> params = new ArrayList<>();
     params.add(auditLog.identifier().value());
     params.add(auditLog.type());
@@ -96,6 +110,6 @@ public class MysqlExecutor implements AuditLogSqlExecutor {
     params.add(auditLog.dryRun());
     params.add(auditLog.attributes().toJson());
 
-    sqlExecutor.execute(sqlTemplate, params);
+    return params;
   }
 }
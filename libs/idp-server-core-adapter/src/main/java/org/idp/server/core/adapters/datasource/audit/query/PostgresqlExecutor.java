@@ -22,6 +22,8 @@ import java.util.List;
 import java.util.Map;
 import org.idp.server.platform.audit.AuditLogIdentifier;
 import org.idp.server.platform.audit.AuditLogQueries;
+import org.idp.server.platform.datasource.CountSqlExecutor;
+import org.idp.server.platform.datasource.CountStrategy;
 import org.idp.server.platform.datasource.SqlExecutor;
 import org.idp.server.platform.multi_tenancy.tenant.Tenant;
 
@@ -30,10 +32,10 @@ public class PostgresqlExecutor implements AuditLogSqlExecutor {
   @Override
   public Map<String, String> selectCount(Tenant tenant, AuditLogQueries queries) {
     SqlExecutor sqlExecutor = new SqlExecutor();
-    String selectSql = """
-            SELECT COUNT(*) as count FROM audit_log
+    String fromSql = """
+            FROM audit_log
             """;
-    StringBuilder sql = new StringBuilder(selectSql).append(" WHERE tenant_id = ?::uuid");
+    StringBuilder sql = new StringBuilder(fromSql).append(" WHERE tenant_id = ?::uuid");
     List<Object> params = new ArrayList<>();
     params.add(tenant.identifierValue());
 
@@ -122,7 +124,15 @@ public class PostgresqlExecutor implements AuditLogSqlExecutor {
       }
     }
 
-    return sqlExecutor.selectOne(sql.toString(), params);
+    CountStrategy countStrategy = queries.countStrategy();
+    if (countStrategy.isCapped()) {
+      return CountSqlExecutor.capped("SELECT 1 " + sql, params);
+    }
+    if (countStrategy.isEstimated()) {
+      return CountSqlExecutor.estimateWithPostgresql("SELECT 1 " + sql, params);
+    }
+
+    return sqlExecutor.selectOne("SELECT COUNT(*) as count " + sql, params);
   }
 
   @Override
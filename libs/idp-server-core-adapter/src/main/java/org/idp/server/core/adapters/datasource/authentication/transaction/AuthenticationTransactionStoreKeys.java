@@ -0,0 +1,88 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.adapters.datasource.authentication.transaction;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.idp.server.core.openid.authentication.AuthenticationTransactionIdentifier;
+import org.idp.server.core.openid.authentication.AuthorizationIdentifier;
+import org.idp.server.core.openid.identity.device.AuthenticationDeviceIdentifier;
+import org.idp.server.platform.date.SystemDateTime;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+
+/**
+ * Key layout of authentication transactions held in the session store.
+ *
+ * <ul>
+ *   <li>{@code authentication_transaction:{tenant}:{id}}: the transaction as a JSON column map
+ *   <li>{@code ...:{tenant}:authorization:{authorizationId}}: id of the transaction of an
+ *       authorization request
+ *   <li>{@code ...:{tenant}:device_by_expiry:{deviceId}}: sorted set of transaction ids started for
+ *       a device
+ *   <li>{@code ...:{tenant}:all_by_expiry}: sorted set of all transaction ids of the tenant, for
+ *       management listing
+ *   <li>{@code ...:{tenant}:lock:{id}}: lock held by a read-modify-write of the transaction
+ * </ul>
+ *
+ * <p>Index members are scored by the expiry of their transaction in epoch milliseconds. Expired
+ * members are pruned whenever a member is added, and readers skip them by score and drop members
+ * whose transaction is gone. The key names differ from the plain sets used before, so instances of
+ * both versions can run side by side without type errors.
+ */
+public class AuthenticationTransactionStoreKeys {
+
+  static final String PREFIX = "authentication_transaction:";
+
+  private AuthenticationTransactionStoreKeys() {}
+
+  public static String transaction(
+      TenantIdentifier tenantIdentifier, AuthenticationTransactionIdentifier identifier) {
+    return PREFIX + tenantIdentifier.value() + ":" + identifier.value();
+  }
+
+  public static String transaction(TenantIdentifier tenantIdentifier, String identifier) {
+    return PREFIX + tenantIdentifier.value() + ":" + identifier;
+  }
+
+  public static String authorizationIndex(
+      TenantIdentifier tenantIdentifier, AuthorizationIdentifier authorizationIdentifier) {
+    return PREFIX + tenantIdentifier.value() + ":authorization:" + authorizationIdentifier.value();
+  }
+
+  public static String deviceIndex(
+      TenantIdentifier tenantIdentifier, AuthenticationDeviceIdentifier deviceIdentifier) {
+    return deviceIndex(tenantIdentifier, deviceIdentifier.value());
+  }
+
+  public static String deviceIndex(TenantIdentifier tenantIdentifier, String deviceId) {
+    return PREFIX + tenantIdentifier.value() + ":device_by_expiry:" + deviceId;
+  }
+
+  public static String lock(TenantIdentifier tenantIdentifier, String identifier) {
+    return PREFIX + tenantIdentifier.value() + ":lock:" + identifier;
+  }
+
+  public static String tenantIndex(TenantIdentifier tenantIdentifier) {
+    return PREFIX + tenantIdentifier.value() + ":all_by_expiry";
+  }
+
+  /** Seconds until {@code expiresAt}, never less than one. */
+  public static long timeToLiveSeconds(LocalDateTime expiresAt) {
+    long seconds = Duration.between(SystemDateTime.now(), expiresAt).getSeconds();
+    return Math.max(seconds, 1);
+  }
+}
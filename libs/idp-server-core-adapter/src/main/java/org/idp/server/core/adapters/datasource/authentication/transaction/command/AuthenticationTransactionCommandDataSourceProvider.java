@@ -17,7 +17,9 @@
 package org.idp.server.core.adapters.datasource.authentication.transaction.command;
 
 import org.idp.server.core.openid.authentication.repository.AuthenticationTransactionCommandRepository;
+import org.idp.server.core.openid.authentication.repository.AuthenticationTransactionStoreType;
 import org.idp.server.platform.datasource.ApplicationDatabaseTypeProvider;
+import org.idp.server.platform.datasource.session.SessionStore;
 import org.idp.server.platform.dependency.ApplicationComponentDependencyContainer;
 import org.idp.server.platform.dependency.ApplicationComponentProvider;
 
@@ -32,6 +34,13 @@ public class AuthenticationTransactionCommandDataSourceProvider
   @Override
   public AuthenticationTransactionCommandRepository provide(
       ApplicationComponentDependencyContainer container) {
+    AuthenticationTransactionStoreType storeType =
+        container.resolve(AuthenticationTransactionStoreType.class);
+    if (storeType.isRedis()) {
+      return new AuthenticationTransactionCommandRedisDataSource(
+          container.resolve(SessionStore.class));
+    }
+
     ApplicationDatabaseTypeProvider databaseTypeProvider =
         container.resolve(ApplicationDatabaseTypeProvider.class);
     AuthenticationTransactionCommandSqlExecutors executors =
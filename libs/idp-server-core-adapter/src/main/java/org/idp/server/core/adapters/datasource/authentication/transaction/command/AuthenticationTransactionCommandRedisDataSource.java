@@ -0,0 +1,151 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.adapters.datasource.authentication.transaction.command;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import org.idp.server.core.adapters.datasource.authentication.transaction.AuthenticationTransactionStoreKeys;
+import org.idp.server.core.adapters.datasource.authentication.transaction.query.ModelConverter;
+import org.idp.server.core.openid.authentication.AuthenticationTransaction;
+import org.idp.server.core.openid.authentication.AuthenticationTransactionIdentifier;
+import org.idp.server.core.openid.authentication.AuthorizationIdentifier;
+import org.idp.server.core.openid.authentication.repository.AuthenticationTransactionCommandRepository;
+import org.idp.server.platform.datasource.session.SessionStore;
+import org.idp.server.platform.date.SystemDateTime;
+import org.idp.server.platform.json.JsonConverter;
+import org.idp.server.platform.multi_tenancy.tenant.Tenant;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+
+/**
+ * Keeps authentication transactions in the session store (Redis in clustered deployments) instead
+ * of the {@code authentication_transaction} table.
+ *
+ * <p>Every interaction step rewrites one key with the remaining TTL of the transaction, so a
+ * multi-step login produces no database writes and expired transactions need no cleanup job. See
+ * {@link AuthenticationTransactionStoreKeys} for the secondary indexes maintained here.
+ */
+public class AuthenticationTransactionCommandRedisDataSource
+    implements AuthenticationTransactionCommandRepository {
+
+  SessionStore sessionStore;
+  JsonConverter jsonConverter = JsonConverter.defaultInstance();
+
+  public AuthenticationTransactionCommandRedisDataSource(SessionStore sessionStore) {
+    this.sessionStore = sessionStore;
+  }
+
+  @Override
+  public void register(Tenant tenant, AuthenticationTransaction authenticationTransaction) {
+    write(tenant, authenticationTransaction);
+    addToIndex(
+        AuthenticationTransactionStoreKeys.tenantIndex(tenant.identifier()),
+        authenticationTransaction.identifier().value(),
+        authenticationTransaction.request().expiredAt());
+  }
+
+  @Override
+  public void update(Tenant tenant, AuthenticationTransaction authenticationTransaction) {
+    write(tenant, authenticationTransaction);
+  }
+
+  @Override
+  public void delete(Tenant tenant, AuthenticationTransactionIdentifier identifier) {
+    TenantIdentifier tenantIdentifier = tenant.identifier();
+    String key = AuthenticationTransactionStoreKeys.transaction(tenantIdentifier, identifier);
+    Optional<String> value = sessionStore.get(key);
+    sessionStore.delete(key);
+    sessionStore.sortedSetRemove(
+        AuthenticationTransactionStoreKeys.tenantIndex(tenantIdentifier), identifier.value());
+
+    if (value.isEmpty()) {
+      return;
+    }
+
+    Map<String, String> row = readRow(value.get());
+    String authorizationId = row.get("authorization_id");
+    if (authorizationId != null) {
+      sessionStore.delete(
+          AuthenticationTransactionStoreKeys.authorizationIndex(
+              tenantIdentifier, new AuthorizationIdentifier(authorizationId)));
+    }
+    String deviceId = row.get("authentication_device_id");
+    if (deviceId != null) {
+      sessionStore.sortedSetRemove(
+          AuthenticationTransactionStoreKeys.deviceIndex(tenantIdentifier, deviceId),
+          identifier.value());
+    }
+  }
+
+  @Override
+  public void deleteByAuthorizationIdentifier(Tenant tenant, AuthorizationIdentifier identifier) {
+    String indexKey =
+        AuthenticationTransactionStoreKeys.authorizationIndex(tenant.identifier(), identifier);
+    Optional<String> transactionId = sessionStore.get(indexKey);
+    transactionId.ifPresent(id -> delete(tenant, new AuthenticationTransactionIdentifier(id)));
+    sessionStore.delete(indexKey);
+  }
+
+  private void write(Tenant tenant, AuthenticationTransaction authenticationTransaction) {
+    TenantIdentifier tenantIdentifier = tenant.identifier();
+    String id = authenticationTransaction.identifier().value();
+    LocalDateTime expiresAt = authenticationTransaction.request().expiredAt();
+    long timeToLiveSeconds = AuthenticationTransactionStoreKeys.timeToLiveSeconds(expiresAt);
+
+    String value = jsonConverter.write(ModelConverter.toMap(tenant, authenticationTransaction));
+    sessionStore.set(
+        AuthenticationTransactionStoreKeys.transaction(tenantIdentifier, id),
+        value,
+        timeToLiveSeconds);
+
+    if (authenticationTransaction.hasAuthorizationIdentifier()) {
+      sessionStore.set(
+          AuthenticationTransactionStoreKeys.authorizationIndex(
+              tenantIdentifier, authenticationTransaction.authorizationIdentifier()),
+          id,
+          timeToLiveSeconds);
+    }
+
+    if (authenticationTransaction.hasAuthenticationDevice()) {
+      addToIndex(
+          AuthenticationTransactionStoreKeys.deviceIndex(
+              tenantIdentifier, authenticationTransaction.authenticationDevice().id()),
+          id,
+          expiresAt);
+    }
+  }
+
+  /**
+   * Adds a member scored by its expiry and prunes the members that have expired, so the index holds
+   * only live transactions however long traffic keeps it alive. The key itself lives at least as
+   * long as the member's transaction.
+   */
+  private void addToIndex(String indexKey, String member, LocalDateTime expiresAt) {
+    sessionStore.sortedSetAdd(indexKey, member, SystemDateTime.toEpochMilli(expiresAt));
+    sessionStore.sortedSetRemoveByScore(
+        indexKey, Double.NEGATIVE_INFINITY, SystemDateTime.currentEpochMilliSecond());
+    long timeToLiveSeconds = AuthenticationTransactionStoreKeys.timeToLiveSeconds(expiresAt);
+    if (sessionStore.ttl(indexKey) < timeToLiveSeconds) {
+      sessionStore.expire(indexKey, timeToLiveSeconds);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, String> readRow(String value) {
+    return jsonConverter.read(value, Map.class);
+  }
+}
@@ -17,7 +17,9 @@
 package org.idp.server.core.adapters.datasource.authentication.transaction.query;
 
 import org.idp.server.core.openid.authentication.repository.AuthenticationTransactionQueryRepository;
+import org.idp.server.core.openid.authentication.repository.AuthenticationTransactionStoreType;
 import org.idp.server.platform.datasource.ApplicationDatabaseTypeProvider;
+import org.idp.server.platform.datasource.session.SessionStore;
 import org.idp.server.platform.dependency.ApplicationComponentDependencyContainer;
 import org.idp.server.platform.dependency.ApplicationComponentProvider;
 
@@ -32,6 +34,13 @@ public class AuthenticationTransactionQueryDataSourceProvider
   @Override
   public AuthenticationTransactionQueryRepository provide(
       ApplicationComponentDependencyContainer container) {
+    AuthenticationTransactionStoreType storeType =
+        container.resolve(AuthenticationTransactionStoreType.class);
+    if (storeType.isRedis()) {
+      return new AuthenticationTransactionQueryRedisDataSource(
+          container.resolve(SessionStore.class));
+    }
+
     ApplicationDatabaseTypeProvider databaseTypeProvider =
         container.resolve(ApplicationDatabaseTypeProvider.class);
     AuthenticationTransactionQuerySqlExecutors executors =
@@ -0,0 +1,328 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.adapters.datasource.authentication.transaction.query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.idp.server.core.adapters.datasource.authentication.transaction.AuthenticationTransactionStoreKeys;
+import org.idp.server.core.openid.authentication.AuthenticationTransaction;
+import org.idp.server.core.openid.authentication.AuthenticationTransactionIdentifier;
+import org.idp.server.core.openid.authentication.AuthenticationTransactionQueries;
+import org.idp.server.core.openid.authentication.AuthorizationIdentifier;
+import org.idp.server.core.openid.authentication.exception.AuthenticationTransactionNotFoundException;
+import org.idp.server.core.openid.authentication.repository.AuthenticationTransactionQueryRepository;
+import org.idp.server.core.openid.identity.device.AuthenticationDeviceIdentifier;
+import org.idp.server.platform.datasource.session.SessionStore;
+import org.idp.server.platform.datasource.session.SessionStoreLock;
+import org.idp.server.platform.date.LocalDateTimeParser;
+import org.idp.server.platform.date.SystemDateTime;
+import org.idp.server.platform.json.JsonConverter;
+import org.idp.server.platform.multi_tenancy.tenant.Tenant;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+
+/**
+ * Reads authentication transactions written by {@code
+ * AuthenticationTransactionCommandRedisDataSource}.
+ *
+ * <p>Lookups by id and by authorization id are single key reads. Device and tenant listings read
+ * the corresponding index, a sorted set scored by expiry, newest expiry first; for transactions of
+ * the same lifetime that is newest first. Without filters a page is one range read plus one {@code
+ * MGET} and a count is one {@code ZCOUNT}. With filters, all live members are loaded with one
+ * {@code MGET} and {@link AuthenticationTransactionQueries} is applied in memory; the index holds
+ * only live transactions, so this is bounded by the logins in flight.
+ *
+ * <p>{@code getForUpdate} takes a {@link SessionStoreLock} on the transaction before reading it and
+ * keeps it until the surrounding database transaction ends, as the row lock of the database
+ * implementation does. Concurrent interaction steps of one transaction are therefore serialized and
+ * none of their failure counts are lost.
+ */
+public class AuthenticationTransactionQueryRedisDataSource
+    implements AuthenticationTransactionQueryRepository {
+
+  static final long LOCK_LEASE_SECONDS = 30;
+  static final long LOCK_WAIT_MILLIS = 5_000;
+
+  SessionStore sessionStore;
+  SessionStoreLock lock;
+  JsonConverter jsonConverter = JsonConverter.defaultInstance();
+
+  public AuthenticationTransactionQueryRedisDataSource(SessionStore sessionStore) {
+    this.sessionStore = sessionStore;
+    this.lock = new SessionStoreLock(sessionStore, LOCK_LEASE_SECONDS, LOCK_WAIT_MILLIS);
+  }
+
+  @Override
+  public AuthenticationTransaction get(
+      Tenant tenant, AuthenticationTransactionIdentifier identifier) {
+    Optional<Map<String, String>> row = findRow(tenant.identifier(), identifier.value());
+
+    if (row.isEmpty()) {
+      throw new AuthenticationTransactionNotFoundException(
+          "Authentication transaction not found for identifier: " + identifier.value());
+    }
+
+    return ModelConverter.convert(row.get());
+  }
+
+  @Override
+  public AuthenticationTransaction get(Tenant tenant, AuthorizationIdentifier identifier) {
+    Optional<Map<String, String>> row = findRowByAuthorization(tenant.identifier(), identifier);
+
+    if (row.isEmpty()) {
+      throw new AuthenticationTransactionNotFoundException(
+          "Authentication transaction not found for authorization identifier: "
+              + identifier.value());
+    }
+
+    return ModelConverter.convert(row.get());
+  }
+
+  @Override
+  public List<AuthenticationTransaction> findList(
+      Tenant tenant,
+      AuthenticationDeviceIdentifier authenticationDeviceIdentifier,
+      AuthenticationTransactionQueries queries) {
+    String indexKey =
+        AuthenticationTransactionStoreKeys.deviceIndex(
+            tenant.identifier(), authenticationDeviceIdentifier);
+
+    return list(tenant.identifier(), indexKey, queries).stream()
+        .map(ModelConverter::convert)
+        .toList();
+  }
+
+  @Override
+  public long findTotalCount(
+      Tenant tenant,
+      AuthenticationDeviceIdentifier authenticationDeviceIdentifier,
+      AuthenticationTransactionQueries queries) {
+    String indexKey =
+        AuthenticationTransactionStoreKeys.deviceIndex(
+            tenant.identifier(), authenticationDeviceIdentifier);
+
+    return count(tenant.identifier(), indexKey, queries);
+  }
+
+  @Override
+  public long findTotalCount(Tenant tenant, AuthenticationTransactionQueries queries) {
+    String indexKey = AuthenticationTransactionStoreKeys.tenantIndex(tenant.identifier());
+
+    return count(tenant.identifier(), indexKey, queries);
+  }
+
+  @Override
+  public List<AuthenticationTransaction> findList(
+      Tenant tenant, AuthenticationTransactionQueries queries) {
+    String indexKey = AuthenticationTransactionStoreKeys.tenantIndex(tenant.identifier());
+
+    return list(tenant.identifier(), indexKey, queries).stream()
+        .map(ModelConverter::convert)
+        .toList();
+  }
+
+  @Override
+  public AuthenticationTransaction find(
+      Tenant tenant, AuthenticationTransactionIdentifier identifier) {
+    Optional<Map<String, String>> row = findRow(tenant.identifier(), identifier.value());
+
+    if (row.isEmpty()) {
+      return new AuthenticationTransaction();
+    }
+
+    return ModelConverter.convert(row.get());
+  }
+
+  @Override
+  public AuthenticationTransaction getForUpdate(
+      Tenant tenant, AuthenticationTransactionIdentifier identifier) {
+    lock.lockUntilTransactionEnds(
+        AuthenticationTransactionStoreKeys.lock(tenant.identifier(), identifier.value()));
+
+    return get(tenant, identifier);
+  }
+
+  @Override
+  public AuthenticationTransaction getForUpdate(Tenant tenant, AuthorizationIdentifier identifier) {
+    Optional<String> transactionId =
+        sessionStore.get(
+            AuthenticationTransactionStoreKeys.authorizationIndex(tenant.identifier(), identifier));
+
+    if (transactionId.isEmpty()) {
+      throw new AuthenticationTransactionNotFoundException(
+          "Authentication transaction not found for authorization identifier: "
+              + identifier.value());
+    }
+
+    lock.lockUntilTransactionEnds(
+        AuthenticationTransactionStoreKeys.lock(tenant.identifier(), transactionId.get()));
+
+    return get(tenant, new AuthenticationTransactionIdentifier(transactionId.get()));
+  }
+
+  private Optional<Map<String, String>> findRowByAuthorization(
+      TenantIdentifier tenantIdentifier, AuthorizationIdentifier identifier) {
+    Optional<String> transactionId =
+        sessionStore.get(
+            AuthenticationTransactionStoreKeys.authorizationIndex(tenantIdentifier, identifier));
+
+    if (transactionId.isEmpty()) {
+      return Optional.empty();
+    }
+
+    return findRow(tenantIdentifier, transactionId.get());
+  }
+
+  @SuppressWarnings("unchecked")
+  private Optional<Map<String, String>> findRow(TenantIdentifier tenantIdentifier, String id) {
+    return sessionStore
+        .get(AuthenticationTransactionStoreKeys.transaction(tenantIdentifier, id))
+        .map(value -> (Map<String, String>) jsonConverter.read(value, Map.class));
+  }
+
+  private List<Map<String, String>> list(
+      TenantIdentifier tenantIdentifier,
+      String indexKey,
+      AuthenticationTransactionQueries queries) {
+    if (!hasRowFilters(queries)) {
+      List<String> ids =
+          sessionStore.sortedSetRangeByScoreDescending(
+              indexKey, liveFrom(), Double.POSITIVE_INFINITY, queries.offset(), queries.limit());
+      return loadRows(tenantIdentifier, indexKey, ids);
+    }
+    return page(filter(loadLiveRows(tenantIdentifier, indexKey), queries), queries);
+  }
+
+  private long count(
+      TenantIdentifier tenantIdentifier,
+      String indexKey,
+      AuthenticationTransactionQueries queries) {
+    if (!hasRowFilters(queries)) {
+      return sessionStore.sortedSetCount(indexKey, liveFrom(), Double.POSITIVE_INFINITY);
+    }
+    return filter(loadLiveRows(tenantIdentifier, indexKey), queries).size();
+  }
+
+  /**
+   * Whether the queries need the transaction itself. Expired transactions are excluded by score,
+   * and the store drops them anyway, so {@code exclude_expired} alone does not count.
+   */
+  private boolean hasRowFilters(AuthenticationTransactionQueries queries) {
+    return queries.hasFrom()
+        || queries.hasTo()
+        || queries.hasId()
+        || queries.hasFlow()
+        || queries.hasAuthorizationId()
+        || queries.hasClientId()
+        || queries.hasDeviceId()
+        || queries.hasAttributes();
+  }
+
+  private double liveFrom() {
+    return SystemDateTime.currentEpochMilliSecond();
+  }
+
+  private List<Map<String, String>> loadLiveRows(
+      TenantIdentifier tenantIdentifier, String indexKey) {
+    List<String> ids =
+        sessionStore.sortedSetRangeByScoreDescending(
+            indexKey, liveFrom(), Double.POSITIVE_INFINITY, 0, -1);
+    return loadRows(tenantIdentifier, indexKey, ids);
+  }
+
+  /**
+   * Loads the transactions of {@code ids} with one {@code MGET}, in index order, dropping members
+   * whose transaction is gone.
+   */
+  @SuppressWarnings("unchecked")
+  private List<Map<String, String>> loadRows(
+      TenantIdentifier tenantIdentifier, String indexKey, List<String> ids) {
+    List<String> keys =
+        ids.stream()
+            .map(id -> AuthenticationTransactionStoreKeys.transaction(tenantIdentifier, id))
+            .toList();
+    Map<String, String> values = sessionStore.getAll(keys);
+
+    List<Map<String, String>> rows = new ArrayList<>();
+    for (int i = 0; i < ids.size(); i++) {
+      String value = values.get(keys.get(i));
+      if (value != null) {
+        rows.add((Map<String, String>) jsonConverter.read(value, Map.class));
+      } else {
+        sessionStore.sortedSetRemove(indexKey, ids.get(i));
+      }
+    }
+    return rows;
+  }
+
+  private List<Map<String, String>> filter(
+      List<Map<String, String>> rows, AuthenticationTransactionQueries queries) {
+    LocalDateTime now = SystemDateTime.now();
+    return rows.stream().filter(row -> matches(row, queries, now)).toList();
+  }
+
+  private boolean matches(
+      Map<String, String> row, AuthenticationTransactionQueries queries, LocalDateTime now) {
+    LocalDateTime createdAt = LocalDateTimeParser.parse(row.get("created_at"));
+    if (queries.hasFrom() && createdAt.isBefore(queries.from())) {
+      return false;
+    }
+    if (queries.hasTo() && createdAt.isAfter(queries.to())) {
+      return false;
+    }
+    if (queries.hasId() && !queries.id().equals(row.get("id"))) {
+      return false;
+    }
+    if (queries.hasFlow() && !queries.flow().equals(row.get("flow"))) {
+      return false;
+    }
+    if (queries.hasAuthorizationId()
+        && !queries.authorizationId().equals(row.get("authorization_id"))) {
+      return false;
+    }
+    if (queries.hasClientId() && !queries.clientId().equals(row.get("client_id"))) {
+      return false;
+    }
+    if (queries.hasDeviceId() && !queries.deviceId().equals(row.get("authentication_device_id"))) {
+      return false;
+    }
+    if (queries.isExcludeExpired()
+        && !LocalDateTimeParser.parse(row.get("expires_at")).isAfter(now)) {
+      return false;
+    }
+    if (queries.hasAttributes()) {
+      Map<String, Object> attributes =
+          ModelConverter.toAuthenticationTransactionAttributes(row).toMap();
+      for (Map.Entry<String, String> entry : queries.attributes().entrySet()) {
+        Object actual = attributes.get(entry.getKey());
+        if (actual == null || !entry.getValue().equals(String.valueOf(actual))) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private List<Map<String, String>> page(
+      List<Map<String, String>> rows, AuthenticationTransactionQueries queries) {
+    int from = Math.min(queries.offset(), rows.size());
+    int to = Math.min(from + queries.limit(), rows.size());
+    return rows.subList(from, to);
+  }
+}
@@ -33,6 +33,7 @@ import org.idp.server.core.openid.oauth.type.oidc.AcrValues;
 import org.idp.server.platform.date.LocalDateTimeParser;
 import org.idp.server.platform.json.JsonConverter;
 import org.idp.server.platform.json.JsonNodeWrapper;
+import org.idp.server.platform.multi_tenancy.tenant.Tenant;
 import org.idp.server.platform.multi_tenancy.tenant.TenantAttributes;
 import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
 
@@ -83,6 +84,50 @@ public class ModelConverter {
         attributes);
   }
 
+  /**
+   * Converts a transaction into the column map read by {@link #convert(Map)}, for stores that keep
+   * transactions outside the {@code authentication_transaction} table.
+   */
+  public static Map<String, String> toMap(
+      Tenant tenant, AuthenticationTransaction authenticationTransaction) {
+    AuthenticationRequest request = authenticationTransaction.request();
+    Map<String, String> map = new HashMap<>();
+    map.put("id", authenticationTransaction.identifier().value());
+    map.put("tenant_id", tenant.identifierValue());
+    map.put("tenant_payload", jsonConverter.write(tenant.attributes().toMap()));
+    map.put("flow", request.authFlow().name());
+    if (authenticationTransaction.hasAuthorizationIdentifier()) {
+      map.put("authorization_id", authenticationTransaction.authorizationIdentifier().value());
+    }
+    map.put("client_id", request.requestedClientId().value());
+    map.put("client_payload", jsonConverter.write(request.clientAttributes().toMap()));
+    if (authenticationTransaction.hasUser()) {
+      User user = authenticationTransaction.user();
+      map.put("user_id", user.sub());
+      map.put("user_payload", jsonConverter.write(user));
+    }
+    map.put("context", jsonConverter.write(authenticationTransaction.requestContext().toMap()));
+    if (authenticationTransaction.hasAuthenticationDevice()) {
+      AuthenticationDevice authenticationDevice = authenticationTransaction.authenticationDevice();
+      map.put("authentication_device_id", authenticationDevice.id());
+      map.put("authentication_device_payload", jsonConverter.write(authenticationDevice.toMap()));
+    }
+    map.put(
+        "authentication_policy",
+        jsonConverter.write(authenticationTransaction.authenticationPolicy().toMap()));
+    if (authenticationTransaction.hasInteractions()) {
+      map.put(
+          "interactions",
+          jsonConverter.write(authenticationTransaction.interactionResultsAsMapObject()));
+    }
+    if (authenticationTransaction.hasAttributes()) {
+      map.put("attributes", jsonConverter.write(authenticationTransaction.attributes().toMap()));
+    }
+    map.put("created_at", request.createdAt().toString());
+    map.put("expires_at", request.expiredAt().toString());
+    return map;
+  }
+
   private static AuthenticationContext toAuthenticationContext(Map<String, String> map) {
     if (map.containsKey("context") && map.get("context") != null) {
       JsonNodeWrapper jsonNodeWrapper = JsonNodeWrapper.fromString(map.get("context"));
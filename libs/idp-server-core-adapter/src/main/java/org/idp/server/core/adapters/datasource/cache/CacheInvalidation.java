@@ -0,0 +1,64 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.adapters.datasource.cache;
+
+/**
+ * A cache invalidation that must be applied to the in-process L1 of every node.
+ *
+ * <p>{@link Type#ALL} is never published; it is raised locally when the invalidation channel is
+ * (re)subscribed, because messages sent while the subscription was down are lost.
+ */
+public class CacheInvalidation {
+
+  public enum Type {
+    KEY,
+    PREFIX,
+    ALL
+  }
+
+  Type type;
+  String value;
+
+  private CacheInvalidation(Type type, String value) {
+    this.type = type;
+    this.value = value;
+  }
+
+  public static CacheInvalidation key(String key) {
+    return new CacheInvalidation(Type.KEY, key);
+  }
+
+  public static CacheInvalidation prefix(String prefix) {
+    return new CacheInvalidation(Type.PREFIX, prefix);
+  }
+
+  public static CacheInvalidation all() {
+    return new CacheInvalidation(Type.ALL, "");
+  }
+
+  public static CacheInvalidation of(Type type, String value) {
+    return new CacheInvalidation(type, value);
+  }
+
+  public Type type() {
+    return type;
+  }
+
+  public String value() {
+    return value;
+  }
+}
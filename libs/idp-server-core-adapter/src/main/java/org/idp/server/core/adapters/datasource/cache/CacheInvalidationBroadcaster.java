@@ -0,0 +1,38 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.adapters.datasource.cache;
+
+import java.util.List;
+
+/** Propagates L1 cache invalidations between idp-server nodes. */
+public interface CacheInvalidationBroadcaster {
+
+  /** Sends the invalidation to every other node. The publishing node is not notified. */
+  void publish(CacheInvalidation invalidation);
+
+  /** Sends several invalidations; implementations may batch them into one round trip. */
+  default void publishAll(List<CacheInvalidation> invalidations) {
+    for (CacheInvalidation invalidation : invalidations) {
+      publish(invalidation);
+    }
+  }
+
+  /** Registers the listener that applies invalidations received from other nodes. */
+  void subscribe(CacheInvalidationListener listener);
+
+  void close();
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.adapters.datasource.cache;
+
+import java.util.List;
+import java.util.UUID;
+import org.idp.server.platform.datasource.cache.CacheConfiguration;
+import org.idp.server.platform.log.LoggerWrapper;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.Pipeline;
+
+/**
+ * Redis pub/sub based {@link CacheInvalidationBroadcaster}.
+ *
+ * <p>Message format is {@code <nodeId> <type> <value>}. Messages published by this node are ignored
+ * on receipt, because the local L1 has already been invalidated synchronously.
+ *
+ * <p>Pub/sub delivery is at-most-once. Whenever the subscription is (re)established the listener
+ * receives {@link CacheInvalidation#all()} so that anything missed while disconnected is dropped.
+ */
+public class JedisCacheInvalidationBroadcaster implements CacheInvalidationBroadcaster {
+
+  private static final LoggerWrapper log =
+      LoggerWrapper.getLogger(JedisCacheInvalidationBroadcaster.class);
+  private static final long RECONNECT_BACKOFF_MILLIS = 1000;
+
+  private final JedisPool jedisPool;
+  private final String channel;
+  private final String nodeId = UUID.randomUUID().toString();
+  private volatile boolean running = true;
+  private volatile JedisPubSub pubSub;
+
+  public JedisCacheInvalidationBroadcaster(CacheConfiguration cacheConfiguration, String channel) {
+    // One connection is held by the subscriber, the other one is used for publishing.
+    JedisPoolConfig config = new JedisPoolConfig();
+    config.setMaxTotal(2);
+    config.setMaxIdle(2);
+    config.setMinIdle(0);
+
+    String password = cacheConfiguration.password();
+    this.jedisPool =
+        new JedisPool(
+            config,
+            cacheConfiguration.host(),
+            cacheConfiguration.port(),
+            cacheConfiguration.timeout(),
+            password != null && !password.isEmpty() ? password : null,
+            cacheConfiguration.database());
+    this.channel = channel;
+  }
+
+  @Override
+  public void publish(CacheInvalidation invalidation) {
+    String message = message(invalidation);
+    try (Jedis resource = jedisPool.getResource()) {
+      resource.publish(channel, message);
+    } catch (Exception e) {
+      // The near cache TTL bounds staleness on other nodes when a publish is lost.
+      log.error("Failed to publish cache invalidation: {}", message, e);
+    }
+  }
+
+  @Override
+  public void publishAll(List<CacheInvalidation> invalidations) {
+    if (invalidations.isEmpty()) {
+      return;
+    }
+    try (Jedis resource = jedisPool.getResource()) {
+      Pipeline pipeline = resource.pipelined();
+      for (CacheInvalidation invalidation : invalidations) {
+        pipeline.publish(channel, message(invalidation));
+      }
+      pipeline.sync();
+    } catch (Exception e) {
+      log.error("Failed to publish {} cache invalidations", invalidations.size(), e);
+    }
+  }
+
+  private String message(CacheInvalidation invalidation) {
+    return nodeId + " " + invalidation.type().name() + " " + invalidation.value();
+  }
+
+  @Override
+  public void subscribe(CacheInvalidationListener listener) {
+    Thread thread = new Thread(() -> listen(listener), "cache-invalidation-subscriber");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  private void listen(CacheInvalidationListener listener) {
+    while (running) {
+      JedisPubSub subscription = new InvalidationPubSub(listener);
+      this.pubSub = subscription;
+      try (Jedis resource = jedisPool.getResource()) {
+        // Blocks until unsubscribed or the connection breaks.
+        resource.subscribe(subscription, channel);
+      } catch (Exception e) {
+        if (running) {
+          log.warn("Cache invalidation subscription lost, reconnecting: {}", e.getMessage());
+        }
+      }
+      if (running) {
+        sleepBeforeReconnect();
+      }
+    }
+  }
+
+  private void sleepBeforeReconnect() {
+    try {
+      Thread.sleep(RECONNECT_BACKOFF_MILLIS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      running = false;
+    }
+  }
+
+  @Override
+  public void close() {
+    running = false;
+    JedisPubSub subscription = this.pubSub;
+    if (subscription != null && subscription.isSubscribed()) {
+      subscription.unsubscribe();
+    }
+    jedisPool.close();
+  }
+
+  class InvalidationPubSub extends JedisPubSub {
+
+    CacheInvalidationListener listener;
+
+    InvalidationPubSub(CacheInvalidationListener listener) {
+      this.listener = listener;
+    }
+
+    @Override
+    public void onSubscribe(String channel, int subscribedChannels) {
+      log.info("Subscribed to cache invalidation channel: {}", channel);
+      listener.onInvalidation(CacheInvalidation.all());
+    }
+
+    @Override
+    public void onMessage(String channel, String message) {
+      String[] parts = message.split(" ", 3);
+      if (parts.length != 3) {
+        log.warn("Ignored malformed cache invalidation message: {}", message);
+        return;
+      }
+      if (nodeId.equals(parts[0])) {
+        return;
+      }
+      try {
+        CacheInvalidation.Type type = CacheInvalidation.Type.valueOf(parts[1]);
+        listener.onInvalidation(CacheInvalidation.of(type, parts[2]));
+      } catch (IllegalArgumentException e) {
+        log.warn("Ignored unknown cache invalidation type: {}", parts[1]);
+      }
+    }
+  }
+}
@@ -16,22 +16,41 @@
 
 package org.idp.server.core.adapters.datasource.cache;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.idp.server.platform.datasource.cache.CacheConfiguration;
+import org.idp.server.platform.datasource.cache.CacheSerializer;
 import org.idp.server.platform.datasource.cache.CacheStore;
-import org.idp.server.platform.json.JsonConverter;
 import org.idp.server.platform.log.LoggerWrapper;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.Pipeline;
 import redis.clients.jedis.params.ScanParams;
 import redis.clients.jedis.resps.ScanResult;
 
 public class JedisCacheStore implements CacheStore {
 
+  // Upper bound of keys per MGET / DEL so a single command does not block Redis for long.
+  static final int MULTI_KEY_BATCH_SIZE = 500;
+
+  // Versions are compared as zero-padded hex so Lua compares them exactly as strings.
+  private static final String PUT_IF_NEWER_SCRIPT =
+      "local current = redis.call('get', KEYS[2]) "
+          + "if current and current > ARGV[1] then "
+          + "return 0 "
+          + "end "
+          + "redis.call('setex', KEYS[2], ARGV[3], ARGV[1]) "
+          + "redis.call('setex', KEYS[1], ARGV[3], ARGV[2]) "
+          + "return 1";
+
   JedisPool jedisPool;
-  JsonConverter jsonConverter = JsonConverter.snakeCaseInstance();
+  CacheSerializer serializer;
   LoggerWrapper log = LoggerWrapper.getLogger(JedisCacheStore.class);
   int timeToLiveSecond;
 
@@ -62,13 +81,13 @@ public class JedisCacheStore implements CacheStore {
               cacheConfiguration.database());
     }
     this.timeToLiveSecond = cacheConfiguration.timeToLiveSeconds();
+    this.serializer = cacheConfiguration.createSerializer();
   }
 
   @Override
   public <T> void put(String key, T value) {
     try (Jedis resource = jedisPool.getResource()) {
-      String json = jsonConverter.write(value);
-      resource.setex(key, timeToLiveSecond, json);
+      resource.setex(keyBytes(key), timeToLiveSecond, serializer.serialize(value));
     } catch (Exception e) {
       log.error("Failed to put cache", e);
     }
@@ -77,8 +96,7 @@ public class JedisCacheStore implements CacheStore {
   @Override
   public <T> void put(String key, T value, int timeToLiveSeconds) {
     try (Jedis resource = jedisPool.getResource()) {
-      String json = jsonConverter.write(value);
-      resource.setex(key, timeToLiveSeconds, json);
+      resource.setex(keyBytes(key), timeToLiveSeconds, serializer.serialize(value));
     } catch (Exception e) {
       log.error("Failed to put cache", e);
     }
@@ -87,14 +105,14 @@ public class JedisCacheStore implements CacheStore {
   @Override
   public <T> Optional<T> find(String key, Class<T> type) {
     try (Jedis resource = jedisPool.getResource()) {
-      String json = resource.get(key);
+      byte[] value = resource.get(keyBytes(key));
 
-      if (json == null) {
+      if (value == null) {
         return Optional.empty();
       }
 
       log.debug("Find cache. key:{}, type:{}", key, type.getSimpleName());
-      return Optional.of(jsonConverter.read(json, type));
+      return Optional.of(serializer.deserialize(value, type));
     } catch (Exception e) {
 
       log.error("Failed to find cache", e);
@@ -102,6 +120,54 @@ public class JedisCacheStore implements CacheStore {
     }
   }
 
+  @Override
+  public <T> Map<String, T> findAll(Collection<String> keys, Class<T> type) {
+    Map<String, T> found = new LinkedHashMap<>();
+    if (keys.isEmpty()) {
+      return found;
+    }
+
+    try (Jedis resource = jedisPool.getResource()) {
+      for (List<String> batch : partition(keys)) {
+        List<byte[]> values = resource.mget(keysBytes(batch));
+        for (int i = 0; i < batch.size(); i++) {
+          byte[] value = values.get(i);
+          if (value != null) {
+            found.put(batch.get(i), serializer.deserialize(value, type));
+          }
+        }
+      }
+
+      log.debug(
+          "Find all cache. keys:{}, hits:{}, type:{}",
+          keys.size(),
+          found.size(),
+          type.getSimpleName());
+      return found;
+    } catch (Exception e) {
+      log.error("Failed to find all cache", e);
+      return found;
+    }
+  }
+
+  @Override
+  public <T> void putAll(Map<String, T> entries, int timeToLiveSeconds) {
+    if (entries.isEmpty()) {
+      return;
+    }
+
+    try (Jedis resource = jedisPool.getResource()) {
+      Pipeline pipeline = resource.pipelined();
+      for (Map.Entry<String, T> entry : entries.entrySet()) {
+        pipeline.setex(
+            keyBytes(entry.getKey()), timeToLiveSeconds, serializer.serialize(entry.getValue()));
+      }
+      pipeline.sync();
+    } catch (Exception e) {
+      log.error("Failed to put all cache", e);
+    }
+  }
+
   @Override
   public boolean exists(String key) {
     try (Jedis resource = jedisPool.getResource()) {
@@ -121,6 +187,21 @@ public class JedisCacheStore implements CacheStore {
     }
   }
 
+  @Override
+  public void deleteAll(Collection<String> keys) {
+    if (keys.isEmpty()) {
+      return;
+    }
+
+    try (Jedis resource = jedisPool.getResource()) {
+      for (List<String> batch : partition(keys)) {
+        resource.del(keysBytes(batch));
+      }
+    } catch (Exception e) {
+      log.error("Failed to delete all cache", e);
+    }
+  }
+
   @Override
   public void deleteByPrefix(String prefix) {
     // Use cursor-based SCAN to avoid blocking the Redis main thread on large keyspaces.
@@ -157,4 +238,85 @@ public class JedisCacheStore implements CacheStore {
       return 0;
     }
   }
+
+  @Override
+  public <T> void putIfNewer(String key, T value, long version, int timeToLiveSeconds) {
+    try (Jedis resource = jedisPool.getResource()) {
+      resource.eval(
+          keyBytes(PUT_IF_NEWER_SCRIPT),
+          2,
+          keyBytes(key),
+          keyBytes(key + ":version"),
+          keyBytes(String.format("%016x", version)),
+          serializer.serialize(value),
+          keyBytes(String.valueOf(timeToLiveSeconds)));
+    } catch (Exception e) {
+      log.error("Failed to put cache if newer", e);
+    }
+  }
+
+  @Override
+  public boolean isMember(String key, String member) {
+    try (Jedis resource = jedisPool.getResource()) {
+      return resource.sismember(key, member);
+    } catch (Exception e) {
+      log.error("Failed to check cache set member", e);
+      return false;
+    }
+  }
+
+  @Override
+  public void addMember(String key, String member, int timeToLiveSeconds) {
+    try (Jedis resource = jedisPool.getResource()) {
+      Pipeline pipeline = resource.pipelined();
+      pipeline.sadd(key, member);
+      pipeline.expire(key, timeToLiveSeconds);
+      pipeline.sync();
+    } catch (Exception e) {
+      log.error("Failed to add cache set member", e);
+    }
+  }
+
+  @Override
+  public void addToCardinalityEstimate(String key, String element, int timeToLiveSeconds) {
+    try (Jedis resource = jedisPool.getResource()) {
+      Pipeline pipeline = resource.pipelined();
+      pipeline.pfadd(key, element);
+      pipeline.expire(key, timeToLiveSeconds);
+      pipeline.sync();
+    } catch (Exception e) {
+      log.error("Failed to add to cardinality estimate", e);
+    }
+  }
+
+  @Override
+  public long estimateCardinality(String key) {
+    try (Jedis resource = jedisPool.getResource()) {
+      return resource.pfcount(key);
+    } catch (Exception e) {
+      log.error("Failed to estimate cardinality", e);
+      return 0;
+    }
+  }
+
+  private static byte[] keyBytes(String key) {
+    return key.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static byte[][] keysBytes(List<String> keys) {
+    byte[][] bytes = new byte[keys.size()][];
+    for (int i = 0; i < keys.size(); i++) {
+      bytes[i] = keyBytes(keys.get(i));
+    }
+    return bytes;
+  }
+
+  private static List<List<String>> partition(Collection<String> keys) {
+    List<String> list = new ArrayList<>(keys);
+    List<List<String>> batches = new ArrayList<>();
+    for (int from = 0; from < list.size(); from += MULTI_KEY_BATCH_SIZE) {
+      batches.add(list.subList(from, Math.min(from + MULTI_KEY_BATCH_SIZE, list.size())));
+    }
+    return batches;
+  }
 }
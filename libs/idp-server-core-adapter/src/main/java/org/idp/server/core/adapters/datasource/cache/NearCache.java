@@ -0,0 +1,185 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.adapters.datasource.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, size-aware LRU holding already-deserialized cache values.
+ *
+ * <p>Eviction happens when either the entry count or the total estimated weight exceeds its limit.
+ * Every invalidation bumps a generation counter; a value read from the shared cache is only stored
+ * when no invalidation happened since the read started, so a concurrent invalidation cannot be
+ * overwritten by the stale value.
+ */
+public class NearCache {
+
+  private final int maxEntries;
+  private final long maxWeight;
+  private final LongSupplier clock;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long totalWeight;
+  private long generation;
+
+  public NearCache(int maxEntries, long maxWeight) {
+    this(maxEntries, maxWeight, System::currentTimeMillis);
+  }
+
+  public NearCache(int maxEntries, long maxWeight, LongSupplier clock) {
+    this.maxEntries = maxEntries;
+    this.maxWeight = maxWeight;
+    this.clock = clock;
+  }
+
+  public Optional<Object> get(String key) {
+    lock.lock();
+    try {
+      Entry entry = entries.get(key);
+      if (entry == null) {
+        return Optional.empty();
+      }
+      if (entry.expiresAt <= clock.getAsLong()) {
+        remove(key);
+        return Optional.empty();
+      }
+      return Optional.of(entry.value);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public long generation() {
+    lock.lock();
+    try {
+      return generation;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Stores the value unless an invalidation happened after {@code observedGeneration} was taken.
+   */
+  public void put(
+      String key, Object value, long weight, long timeToLiveMillis, long observedGeneration) {
+    if (weight > maxWeight) {
+      return;
+    }
+    lock.lock();
+    try {
+      if (observedGeneration != generation) {
+        return;
+      }
+      remove(key);
+      entries.put(key, new Entry(value, weight, clock.getAsLong() + timeToLiveMillis));
+      totalWeight += weight;
+      evict();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public void invalidate(String key) {
+    lock.lock();
+    try {
+      generation++;
+      remove(key);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public void invalidateByPrefix(String prefix) {
+    lock.lock();
+    try {
+      generation++;
+      Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+      while (iterator.hasNext()) {
+        Map.Entry<String, Entry> next = iterator.next();
+        if (next.getKey().startsWith(prefix)) {
+          totalWeight -= next.getValue().weight;
+          iterator.remove();
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public void clear() {
+    lock.lock();
+    try {
+      generation++;
+      entries.clear();
+      totalWeight = 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int size() {
+    lock.lock();
+    try {
+      return entries.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public long weight() {
+    lock.lock();
+    try {
+      return totalWeight;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void remove(String key) {
+    Entry removed = entries.remove(key);
+    if (removed != null) {
+      totalWeight -= removed.weight;
+    }
+  }
+
+  private void evict() {
+    Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+    while ((entries.size() > maxEntries || totalWeight > maxWeight) && iterator.hasNext()) {
+      Map.Entry<String, Entry> eldest = iterator.next();
+      totalWeight -= eldest.getValue().weight;
+      iterator.remove();
+    }
+  }
+
+  static class Entry {
+    Object value;
+    long weight;
+    long expiresAt;
+
+    Entry(Object value, long weight, long expiresAt) {
+      this.value = value;
+      this.weight = weight;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
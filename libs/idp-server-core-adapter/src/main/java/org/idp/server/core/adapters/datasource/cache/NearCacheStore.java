@@ -0,0 +1,241 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.adapters.datasource.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.idp.server.platform.datasource.cache.CacheStore;
+import org.idp.server.platform.datasource.cache.NearCacheConfiguration;
+import org.idp.server.platform.json.JsonConverter;
+import org.idp.server.platform.log.LoggerWrapper;
+
+/**
+ * Two-tier {@link CacheStore}: an in-process {@link NearCache} (L1) in front of the shared store
+ * (L2, typically {@link JedisCacheStore}).
+ *
+ * <p>Only values of {@code nearCacheableTypes} are kept in L1. These are configuration entities
+ * that change rarely and are invalidated through {@link #delete(String)} / {@link
+ * #deleteByPrefix(String)}. Everything else (tokens, counters, user status) passes straight through
+ * to L2, because a missed invalidation there would have security impact.
+ *
+ * <p>L1 hits return the same instance to every caller, so cached values must be treated as
+ * read-only.
+ */
+public class NearCacheStore implements CacheStore {
+
+  private static final LoggerWrapper log = LoggerWrapper.getLogger(NearCacheStore.class);
+
+  CacheStore delegate;
+  NearCache nearCache;
+  CacheInvalidationBroadcaster broadcaster;
+  Set<Class<?>> nearCacheableTypes;
+  long timeToLiveMillis;
+  JsonConverter jsonConverter = JsonConverter.snakeCaseInstance();
+
+  public NearCacheStore(
+      CacheStore delegate,
+      CacheInvalidationBroadcaster broadcaster,
+      NearCacheConfiguration configuration,
+      Set<Class<?>> nearCacheableTypes) {
+    this(
+        delegate,
+        new NearCache(configuration.maxEntries(), configuration.maxWeightBytes()),
+        broadcaster,
+        configuration.timeToLiveSeconds(),
+        nearCacheableTypes);
+  }
+
+  NearCacheStore(
+      CacheStore delegate,
+      NearCache nearCache,
+      CacheInvalidationBroadcaster broadcaster,
+      int timeToLiveSeconds,
+      Set<Class<?>> nearCacheableTypes) {
+    this.delegate = delegate;
+    this.nearCache = nearCache;
+    this.broadcaster = broadcaster;
+    this.timeToLiveMillis = timeToLiveSeconds * 1000L;
+    this.nearCacheableTypes = nearCacheableTypes;
+    this.broadcaster.subscribe(this::apply);
+  }
+
+  @Override
+  public <T> void put(String key, T value) {
+    invalidateLocally(key, value);
+    delegate.put(key, value);
+  }
+
+  @Override
+  public <T> void put(String key, T value, int timeToLiveSeconds) {
+    invalidateLocally(key, value);
+    delegate.put(key, value, timeToLiveSeconds);
+  }
+
+  @Override
+  public <T> void putIfNewer(String key, T value, long version, int timeToLiveSeconds) {
+    invalidateLocally(key, value);
+    delegate.putIfNewer(key, value, version, timeToLiveSeconds);
+  }
+
+  @Override
+  public <T> void putAll(Map<String, T> entries, int timeToLiveSeconds) {
+    entries.forEach(this::invalidateLocally);
+    delegate.putAll(entries, timeToLiveSeconds);
+  }
+
+  private <T> void invalidateLocally(String key, T value) {
+    if (value != null && nearCacheableTypes.contains(value.getClass())) {
+      nearCache.invalidate(key);
+    }
+  }
+
+  @Override
+  public <T> Optional<T> find(String key, Class<T> type) {
+    if (!nearCacheableTypes.contains(type)) {
+      return delegate.find(key, type);
+    }
+
+    Optional<Object> local = nearCache.get(key);
+    if (local.isPresent() && type.isInstance(local.get())) {
+      return Optional.of(type.cast(local.get()));
+    }
+
+    long generation = nearCache.generation();
+    Optional<T> found = delegate.find(key, type);
+    found.ifPresent(value -> nearCache.put(key, value, weigh(value), timeToLiveMillis, generation));
+    return found;
+  }
+
+  @Override
+  public <T> Map<String, T> findAll(Collection<String> keys, Class<T> type) {
+    if (!nearCacheableTypes.contains(type)) {
+      return delegate.findAll(keys, type);
+    }
+
+    Map<String, T> found = new LinkedHashMap<>();
+    List<String> misses = new ArrayList<>();
+    for (String key : keys) {
+      Optional<Object> local = nearCache.get(key);
+      if (local.isPresent() && type.isInstance(local.get())) {
+        found.put(key, type.cast(local.get()));
+      } else {
+        misses.add(key);
+      }
+    }
+    if (misses.isEmpty()) {
+      return found;
+    }
+
+    long generation = nearCache.generation();
+    Map<String, T> loaded = delegate.findAll(misses, type);
+    loaded.forEach(
+        (key, value) -> nearCache.put(key, value, weigh(value), timeToLiveMillis, generation));
+    found.putAll(loaded);
+    return found;
+  }
+
+  @Override
+  public boolean exists(String key) {
+    if (nearCache.get(key).isPresent()) {
+      return true;
+    }
+    return delegate.exists(key);
+  }
+
+  @Override
+  public void delete(String key) {
+    nearCache.invalidate(key);
+    delegate.delete(key);
+    broadcaster.publish(CacheInvalidation.key(key));
+  }
+
+  @Override
+  public void deleteAll(Collection<String> keys) {
+    if (keys.isEmpty()) {
+      return;
+    }
+    List<CacheInvalidation> invalidations = new ArrayList<>(keys.size());
+    for (String key : keys) {
+      nearCache.invalidate(key);
+      invalidations.add(CacheInvalidation.key(key));
+    }
+    delegate.deleteAll(keys);
+    broadcaster.publishAll(invalidations);
+  }
+
+  @Override
+  public void deleteByPrefix(String prefix) {
+    nearCache.invalidateByPrefix(prefix);
+    delegate.deleteByPrefix(prefix);
+    broadcaster.publish(CacheInvalidation.prefix(prefix));
+  }
+
+  @Override
+  public long increment(String key, int timeToLiveSeconds) {
+    return delegate.increment(key, timeToLiveSeconds);
+  }
+
+  @Override
+  public boolean isMember(String key, String member) {
+    return delegate.isMember(key, member);
+  }
+
+  @Override
+  public void addMember(String key, String member, int timeToLiveSeconds) {
+    delegate.addMember(key, member, timeToLiveSeconds);
+  }
+
+  @Override
+  public void addToCardinalityEstimate(String key, String element, int timeToLiveSeconds) {
+    delegate.addToCardinalityEstimate(key, element, timeToLiveSeconds);
+  }
+
+  @Override
+  public long estimateCardinality(String key) {
+    return delegate.estimateCardinality(key);
+  }
+
+  void apply(CacheInvalidation invalidation) {
+    log.debug(
+        "Apply near cache invalidation. type:{}, value:{}",
+        invalidation.type(),
+        invalidation.value());
+    switch (invalidation.type()) {
+      case KEY -> nearCache.invalidate(invalidation.value());
+      case PREFIX -> nearCache.invalidateByPrefix(invalidation.value());
+      case ALL -> nearCache.clear();
+    }
+  }
+
+  /**
+   * Approximates the retained size by the length of the serialized form. This runs only on an L1
+   * fill, which happens once per key per node per TTL window.
+   */
+  private long weigh(Object value) {
+    try {
+      return jsonConverter.write(value).length();
+    } catch (Exception e) {
+      log.warn("Failed to weigh near cache value: {}", e.getMessage());
+      return Long.MAX_VALUE;
+    }
+  }
+}
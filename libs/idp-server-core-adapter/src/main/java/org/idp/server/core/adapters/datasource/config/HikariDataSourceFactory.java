@@ -30,6 +30,7 @@ public class HikariDataSourceFactory {
 
     for (Map.Entry<DatabaseType, DbConfig> entry : dbConfigs.entrySet()) {
       HikariConfig hikariConfig = create(entry.getValue());
+      enableBatchRewrite(entry.getKey(), hikariConfig);
       configs.put(entry.getKey(), new HikariDataSource(hikariConfig));
     }
 
@@ -50,4 +51,16 @@ public class HikariDataSourceFactory {
     hikariConfig.setValidationTimeout(config.validationTimeout());
     return hikariConfig;
   }
+
+  /**
+   * Lets the driver rewrite JDBC batches of single-row inserts into multi-row inserts. A value
+   * given on the JDBC URL takes precedence.
+   */
+  static void enableBatchRewrite(DatabaseType databaseType, HikariConfig hikariConfig) {
+    switch (databaseType) {
+      case POSTGRESQL -> hikariConfig.addDataSourceProperty("reWriteBatchedInserts", "true");
+      case MYSQL -> hikariConfig.addDataSourceProperty("rewriteBatchedStatements", "true");
+      default -> {}
+    }
+  }
 }
@@ -20,14 +20,31 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import org.idp.server.core.openid.identity.UserIdentifier;
+import org.idp.server.core.openid.identity.UserListCursor;
 import org.idp.server.core.openid.identity.UserQueries;
 import org.idp.server.core.openid.identity.device.AuthenticationDeviceIdentifier;
+import org.idp.server.core.openid.identity.repository.UserSearchMode;
+import org.idp.server.platform.datasource.CountSqlExecutor;
+import org.idp.server.platform.datasource.CountStrategy;
 import org.idp.server.platform.datasource.SqlExecutor;
 import org.idp.server.platform.multi_tenancy.tenant.Tenant;
 import org.idp.server.platform.multi_tenancy.tenant.policy.UserAttributeLoadRule;
 
 public class MysqlExecutor implements UserSqlExecutor {
 
+  // Matches the server default ngram_token_size; shorter terms produce no ngram tokens.
+  private static final int NGRAM_TOKEN_SIZE = 2;
+
+  UserSearchMode searchMode;
+
+  public MysqlExecutor() {
+    this(UserSearchMode.PATTERN);
+  }
+
+  public MysqlExecutor(UserSearchMode searchMode) {
+    this.searchMode = searchMode;
+  }
+
   @Override
   public Map<String, String> selectOne(Tenant tenant, UserIdentifier userIdentifier) {
     SqlExecutor sqlExecutor = new SqlExecutor();
@@ -190,31 +207,25 @@ public class MysqlExecutor implements UserSqlExecutor {
     }
 
     if (queries.hasName()) {
-      where.append(" AND LOWER(idp_user.name) LIKE ?");
-      params.add("%" + queries.name().toLowerCase() + "%");
+      appendContains(where, params, "idp_user.name", queries.name());
     }
 
     if (queries.hasGivenName()) {
-      where.append(" AND LOWER(idp_user.given_name) LIKE ?");
-      params.add("%" + queries.givenName().toLowerCase() + "%");
+      appendContains(where, params, "idp_user.given_name", queries.givenName());
     }
 
     if (queries.hasFamilyName()) {
-      where.append(" AND LOWER(idp_user.family_name) LIKE ?");
-      params.add("%" + queries.familyName().toLowerCase() + "%");
+      appendContains(where, params, "idp_user.family_name", queries.familyName());
     }
 
     if (queries.hasMiddleName()) {
-      where.append(" AND LOWER(idp_user.middle_name) LIKE ?");
-      params.add("%" + queries.middleName().toLowerCase() + "%");
+      appendContains(where, params, "idp_user.middle_name", queries.middleName());
     }
     if (queries.hasNickname()) {
-      where.append(" AND LOWER(idp_user.nickname) LIKE ?");
-      params.add("%" + queries.nickname().toLowerCase() + "%");
+      appendContains(where, params, "idp_user.nickname", queries.nickname());
     }
     if (queries.hasPreferredUsername()) {
-      where.append(" AND LOWER(idp_user.preferred_username) LIKE ?");
-      params.add("%" + queries.preferredUsername().toLowerCase() + "%");
+      appendContains(where, params, "idp_user.preferred_username", queries.preferredUsername());
     }
 
     if (queries.hasPhoneNumber()) {
@@ -237,11 +248,10 @@ public class MysqlExecutor implements UserSqlExecutor {
     // "no role/permission filter" path.
     boolean hasRoleOrPermissionFilter = queries.hasRole() || queries.hasPermission();
 
-    String sql;
+    String from;
     if (hasRoleOrPermissionFilter) {
-      sql =
+      from =
           """
-      SELECT COUNT(DISTINCT idp_user.id) as count
       FROM idp_user
       LEFT JOIN idp_user_roles ON idp_user.id = idp_user_roles.user_id
       LEFT JOIN role ON idp_user_roles.role_id = role.id
@@ -249,10 +259,20 @@ public class MysqlExecutor implements UserSqlExecutor {
       LEFT JOIN permission ON role_permission.permission_id = permission.id
       """;
     } else {
-      sql = "SELECT COUNT(*) as count FROM idp_user ";
+      from = " FROM idp_user ";
     }
 
-    return sqlExecutor.selectOne(sql + where, params);
+    CountStrategy countStrategy = queries.countStrategy();
+    if (!countStrategy.isExact()) {
+      String rowSql =
+          (hasRoleOrPermissionFilter ? "SELECT DISTINCT idp_user.id " : "SELECT 1 ") + from + where;
+      return countStrategy.isCapped()
+          ? CountSqlExecutor.capped(rowSql, params)
+          : CountSqlExecutor.estimateWithMysql(rowSql, params);
+    }
+
+    String count = hasRoleOrPermissionFilter ? "COUNT(DISTINCT idp_user.id)" : "COUNT(*)";
+    return sqlExecutor.selectOne("SELECT " + count + " as count " + from + where, params);
   }
 
   @Override
@@ -299,31 +319,26 @@ public class MysqlExecutor implements UserSqlExecutor {
     }
 
     if (queries.hasName()) {
-      cteWhere.append(" AND LOWER(idp_user.name) LIKE ?");
-      cteParams.add("%" + queries.name().toLowerCase() + "%");
+      appendContains(cteWhere, cteParams, "idp_user.name", queries.name());
     }
 
     if (queries.hasGivenName()) {
-      cteWhere.append(" AND LOWER(idp_user.given_name) LIKE ?");
-      cteParams.add("%" + queries.givenName().toLowerCase() + "%");
+      appendContains(cteWhere, cteParams, "idp_user.given_name", queries.givenName());
     }
 
     if (queries.hasFamilyName()) {
-      cteWhere.append(" AND LOWER(idp_user.family_name) LIKE ?");
-      cteParams.add("%" + queries.familyName().toLowerCase() + "%");
+      appendContains(cteWhere, cteParams, "idp_user.family_name", queries.familyName());
     }
 
     if (queries.hasMiddleName()) {
-      cteWhere.append(" AND LOWER(idp_user.middle_name) LIKE ?");
-      cteParams.add("%" + queries.middleName().toLowerCase() + "%");
+      appendContains(cteWhere, cteParams, "idp_user.middle_name", queries.middleName());
     }
     if (queries.hasNickname()) {
-      cteWhere.append(" AND LOWER(idp_user.nickname) LIKE ?");
-      cteParams.add("%" + queries.nickname().toLowerCase() + "%");
+      appendContains(cteWhere, cteParams, "idp_user.nickname", queries.nickname());
     }
     if (queries.hasPreferredUsername()) {
-      cteWhere.append(" AND LOWER(idp_user.preferred_username) LIKE ?");
-      cteParams.add("%" + queries.preferredUsername().toLowerCase() + "%");
+      appendContains(
+          cteWhere, cteParams, "idp_user.preferred_username", queries.preferredUsername());
     }
 
     if (queries.hasPhoneNumber()) {
@@ -341,8 +356,21 @@ public class MysqlExecutor implements UserSqlExecutor {
       cteParams.add("%" + queries.permission() + "%");
     }
 
+    if (queries.hasCursor()) {
+      // Expanded form of (created_at, id) < (?, ?): MySQL does not use an index range scan for
+      // row constructor comparisons.
+      UserListCursor cursor = queries.cursor();
+      cteWhere.append(
+          " AND (idp_user.created_at < ? OR (idp_user.created_at = ? AND idp_user.id < ?))");
+      cteParams.add(cursor.createdAt());
+      cteParams.add(cursor.createdAt());
+      cteParams.add(cursor.idAsUuid().toString());
+    }
+
     cteParams.add(queries.limit());
-    cteParams.add(queries.offset());
+    if (!queries.isCursorPagination()) {
+      cteParams.add(queries.offset());
+    }
 
     boolean hasRoleOrPermissionFilter = queries.hasRole() || queries.hasPermission();
 
@@ -360,15 +388,14 @@ public class MysqlExecutor implements UserSqlExecutor {
       cteFrom = "SELECT id, created_at FROM idp_user ";
     }
 
+    String pageClause = queries.isCursorPagination() ? " LIMIT ?" : " LIMIT ? OFFSET ?";
     String cteSql =
         "WITH paged_users AS ("
             + cteFrom
             + cteWhere
-            + """
-           ORDER BY idp_user.created_at DESC, idp_user.id DESC
-           LIMIT ?
-           OFFSET ?
-        ) """;
+            + " ORDER BY idp_user.created_at DESC, idp_user.id DESC"
+            + pageClause
+            + ") ";
 
     String pagedSql =
         cteSql
@@ -707,4 +734,31 @@ public class MysqlExecutor implements UserSqlExecutor {
     sb.append("\n");
     return sb.toString();
   }
+
+  /**
+   * Appends a case-insensitive substring filter on {@code column}.
+   *
+   * <p>In {@link UserSearchMode#INDEXED} mode the term is first matched as an ngram phrase against
+   * the column's FULLTEXT index, so only candidate rows reach the {@code LIKE} check. The {@code
+   * LIKE} is kept to preserve the exact substring semantics of {@link UserSearchMode#PATTERN}.
+   */
+  void appendContains(StringBuilder where, List<Object> params, String column, String term) {
+    if (searchMode.isIndexed() && isFulltextSearchable(term)) {
+      where.append(" AND MATCH(").append(column).append(") AGAINST (? IN BOOLEAN MODE)");
+      params.add("\"" + term + "\"");
+    }
+    where.append(" AND LOWER(").append(column).append(") LIKE ?");
+    params.add("%" + term.toLowerCase() + "%");
+  }
+
+  /**
+   * Whether an ngram phrase match finds every row the {@code LIKE} finds. The parser splits the
+   * indexed text at spaces and punctuation such as {@code .} and {@code @}, so a term containing
+   * them can match nothing even though the column contains it; the term must also yield at least
+   * one ngram token.
+   */
+  private boolean isFulltextSearchable(String term) {
+    return term.codePointCount(0, term.length()) >= NGRAM_TOKEN_SIZE
+        && term.codePoints().allMatch(Character::isLetterOrDigit);
+  }
 }
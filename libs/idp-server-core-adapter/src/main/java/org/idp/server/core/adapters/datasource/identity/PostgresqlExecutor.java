@@ -20,8 +20,11 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import org.idp.server.core.openid.identity.UserIdentifier;
+import org.idp.server.core.openid.identity.UserListCursor;
 import org.idp.server.core.openid.identity.UserQueries;
 import org.idp.server.core.openid.identity.device.AuthenticationDeviceIdentifier;
+import org.idp.server.platform.datasource.CountSqlExecutor;
+import org.idp.server.platform.datasource.CountStrategy;
 import org.idp.server.platform.datasource.SqlExecutor;
 import org.idp.server.platform.multi_tenancy.tenant.Tenant;
 import org.idp.server.platform.multi_tenancy.tenant.policy.UserAttributeLoadRule;
@@ -236,11 +239,10 @@ public class PostgresqlExecutor implements UserSqlExecutor {
     // "no role/permission filter" path.
     boolean hasRoleOrPermissionFilter = queries.hasRole() || queries.hasPermission();
 
-    String sql;
+    String from;
     if (hasRoleOrPermissionFilter) {
-      sql =
+      from =
           """
-      SELECT COUNT(DISTINCT idp_user.id)
       FROM idp_user
       LEFT JOIN idp_user_roles ON idp_user.id = idp_user_roles.user_id
       LEFT JOIN role ON idp_user_roles.role_id = role.id
@@ -248,10 +250,20 @@ public class PostgresqlExecutor implements UserSqlExecutor {
       LEFT JOIN permission ON role_permission.permission_id = permission.id
       """;
     } else {
-      sql = "SELECT COUNT(*) FROM idp_user ";
+      from = " FROM idp_user ";
     }
 
-    return sqlExecutor.selectOne(sql + where, params);
+    CountStrategy countStrategy = queries.countStrategy();
+    if (!countStrategy.isExact()) {
+      String rowSql =
+          (hasRoleOrPermissionFilter ? "SELECT DISTINCT idp_user.id " : "SELECT 1 ") + from + where;
+      return countStrategy.isCapped()
+          ? CountSqlExecutor.capped(rowSql, params)
+          : CountSqlExecutor.estimateWithPostgresql(rowSql, params);
+    }
+
+    String count = hasRoleOrPermissionFilter ? "COUNT(DISTINCT idp_user.id)" : "COUNT(*)";
+    return sqlExecutor.selectOne("SELECT " + count + " " + from + where, params);
   }
 
   @Override
@@ -338,8 +350,17 @@ public class PostgresqlExecutor implements UserSqlExecutor {
       cteParams.add("%" + queries.permission() + "%");
     }
 
+    if (queries.hasCursor()) {
+      UserListCursor cursor = queries.cursor();
+      cteWhere.append(" AND (idp_user.created_at, idp_user.id) < (?, ?::uuid)");
+      cteParams.add(cursor.createdAt());
+      cteParams.add(cursor.idAsUuid());
+    }
+
     cteParams.add(queries.limit());
-    cteParams.add(queries.offset());
+    if (!queries.isCursorPagination()) {
+      cteParams.add(queries.offset());
+    }
 
     boolean hasRoleOrPermissionFilter = queries.hasRole() || queries.hasPermission();
 
@@ -357,15 +378,14 @@ public class PostgresqlExecutor implements UserSqlExecutor {
       cteFrom = "SELECT id, created_at FROM idp_user ";
     }
 
+    String pageClause = queries.isCursorPagination() ? " LIMIT ?" : " LIMIT ? OFFSET ?";
     String cteSql =
         "WITH paged_users AS ("
             + cteFrom
             + cteWhere
-            + """
-           ORDER BY idp_user.created_at DESC, idp_user.id DESC
-           LIMIT ?
-           OFFSET ?
-        ) """;
+            + " ORDER BY idp_user.created_at DESC, idp_user.id DESC"
+            + pageClause
+            + ") ";
 
     String pagedSql =
         cteSql
@@ -17,6 +17,7 @@
 package org.idp.server.core.adapters.datasource.identity;
 
 import org.idp.server.core.openid.identity.repository.UserQueryRepository;
+import org.idp.server.core.openid.identity.repository.UserSearchMode;
 import org.idp.server.platform.datasource.ApplicationDatabaseTypeProvider;
 import org.idp.server.platform.datasource.cache.CacheStore;
 import org.idp.server.platform.dependency.ApplicationComponentDependencyContainer;
@@ -33,7 +34,8 @@ public class UserDataSourceProvider implements ApplicationComponentProvider<User
   public UserQueryRepository provide(ApplicationComponentDependencyContainer container) {
     ApplicationDatabaseTypeProvider databaseTypeProvider =
         container.resolve(ApplicationDatabaseTypeProvider.class);
-    UserSqlExecutors executors = new UserSqlExecutors();
+    UserSearchMode searchMode = container.resolve(UserSearchMode.class);
+    UserSqlExecutors executors = new UserSqlExecutors(searchMode);
     UserSqlExecutor executor = executors.get(databaseTypeProvider.provide());
     CacheStore cacheStore = container.resolve(CacheStore.class);
     return new UserQueryDataSource(executor, cacheStore);
@@ -18,6 +18,7 @@ package org.idp.server.core.adapters.datasource.identity;
 
 import java.util.HashMap;
 import java.util.Map;
+import org.idp.server.core.openid.identity.repository.UserSearchMode;
 import org.idp.server.platform.datasource.DatabaseType;
 import org.idp.server.platform.exception.UnSupportedException;
 
@@ -25,10 +26,10 @@ public class UserSqlExecutors {
 
   Map<DatabaseType, UserSqlExecutor> executors;
 
-  public UserSqlExecutors() {
+  public UserSqlExecutors(UserSearchMode searchMode) {
     this.executors = new HashMap<>();
     executors.put(DatabaseType.POSTGRESQL, new PostgresqlExecutor());
-    executors.put(DatabaseType.MYSQL, new MysqlExecutor());
+    executors.put(DatabaseType.MYSQL, new MysqlExecutor(searchMode));
   }
 
   public UserSqlExecutor get(DatabaseType databaseType) {
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.adapters.datasource.oidc;
+
+import java.time.Duration;
+import org.idp.server.core.openid.oauth.request.AuthorizationRequestIdentifier;
+import org.idp.server.core.openid.oauth.type.extension.ExpiresAt;
+import org.idp.server.core.openid.oauth.type.oauth.AuthorizationCode;
+import org.idp.server.platform.date.SystemDateTime;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+
+/**
+ * Key layout of authorization flow state held in the session store.
+ *
+ * <p>Keys are scoped by tenant so that identical identifiers in different tenants never collide.
+ */
+public class AuthorizationFlowStoreKeys {
+
+  static final String AUTHORIZATION_REQUEST_PREFIX = "authorization_request:";
+  static final String AUTHORIZATION_CODE_GRANT_PREFIX = "authorization_code_grant:";
+
+  private AuthorizationFlowStoreKeys() {}
+
+  public static String authorizationRequest(
+      TenantIdentifier tenantIdentifier, AuthorizationRequestIdentifier identifier) {
+    return AUTHORIZATION_REQUEST_PREFIX + tenantIdentifier.value() + ":" + identifier.value();
+  }
+
+  public static String authorizationCodeGrant(
+      TenantIdentifier tenantIdentifier, AuthorizationCode authorizationCode) {
+    return AUTHORIZATION_CODE_GRANT_PREFIX
+        + tenantIdentifier.value()
+        + ":"
+        + authorizationCode.value();
+  }
+
+  /**
+   * Seconds until {@code expiresAt}, never less than one so that an entry is always written with a
+   * TTL rather than persisting forever.
+   */
+  public static long timeToLiveSeconds(ExpiresAt expiresAt) {
+    long seconds = Duration.between(SystemDateTime.now(), expiresAt.value()).getSeconds();
+    return Math.max(seconds, 1);
+  }
+}
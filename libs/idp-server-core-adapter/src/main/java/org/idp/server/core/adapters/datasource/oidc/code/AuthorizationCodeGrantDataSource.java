@@ -56,6 +56,13 @@ public class AuthorizationCodeGrantDataSource implements AuthorizationCodeGrantR
     return ModelConverter.convert(stringMap);
   }
 
+  /** The row lock taken by {@link #findForUpdate} makes this transaction the only one deleting. */
+  @Override
+  public boolean consume(Tenant tenant, AuthorizationCodeGrant authorizationCodeGrant) {
+    executor.delete(tenant, authorizationCodeGrant);
+    return true;
+  }
+
   @Override
   public void delete(Tenant tenant, AuthorizationCodeGrant authorizationCodeGrant) {
     executor.delete(tenant, authorizationCodeGrant);
@@ -17,7 +17,9 @@
 package org.idp.server.core.adapters.datasource.oidc.code;
 
 import org.idp.server.core.openid.oauth.repository.AuthorizationCodeGrantRepository;
+import org.idp.server.core.openid.oauth.repository.AuthorizationFlowStoreType;
 import org.idp.server.platform.datasource.ApplicationDatabaseTypeProvider;
+import org.idp.server.platform.datasource.session.SessionStore;
 import org.idp.server.platform.dependency.ApplicationComponentDependencyContainer;
 import org.idp.server.platform.dependency.ApplicationComponentProvider;
 
@@ -32,6 +34,11 @@ public class AuthorizationCodeGrantDataSourceProvider
   @Override
   public AuthorizationCodeGrantRepository provide(
       ApplicationComponentDependencyContainer container) {
+    AuthorizationFlowStoreType storeType = container.resolve(AuthorizationFlowStoreType.class);
+    if (storeType.isRedis()) {
+      return new AuthorizationCodeGrantRedisDataSource(container.resolve(SessionStore.class));
+    }
+
     ApplicationDatabaseTypeProvider databaseTypeProvider =
         container.resolve(ApplicationDatabaseTypeProvider.class);
     AuthorizationCodeGrantExecutors executors = new AuthorizationCodeGrantExecutors();
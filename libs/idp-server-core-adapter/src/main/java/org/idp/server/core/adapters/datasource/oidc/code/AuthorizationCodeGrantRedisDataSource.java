@@ -0,0 +1,117 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.adapters.datasource.oidc.code;
+
+import java.util.Map;
+import java.util.Optional;
+import org.idp.server.core.adapters.datasource.oidc.AuthorizationFlowStoreKeys;
+import org.idp.server.core.openid.grant_management.grant.AuthorizationCodeGrant;
+import org.idp.server.core.openid.oauth.repository.AuthorizationCodeGrantRepository;
+import org.idp.server.core.openid.oauth.type.oauth.AuthorizationCode;
+import org.idp.server.platform.datasource.session.SessionStore;
+import org.idp.server.platform.json.JsonConverter;
+import org.idp.server.platform.multi_tenancy.tenant.Tenant;
+
+/**
+ * Keeps authorization code grants in the session store (Redis in clustered deployments) instead of
+ * the {@code authorization_code_grant} table.
+ *
+ * <p>{@link #findForUpdate(Tenant, AuthorizationCode)} only reads the grant, so a token request
+ * that fails verification does not burn the code. {@link #consume(Tenant, AuthorizationCodeGrant)}
+ * removes it with an atomic {@code GETDEL} after verification, which replaces the row lock of the
+ * database implementation: when the same code is redeemed concurrently, only one token request
+ * removes the key and the others get {@code invalid_grant}.
+ *
+ * <p>Registering a grant also extends the TTL of its authorization request so that the request is
+ * still readable when the code is exchanged.
+ */
+public class AuthorizationCodeGrantRedisDataSource implements AuthorizationCodeGrantRepository {
+
+  SessionStore sessionStore;
+  JsonConverter jsonConverter = JsonConverter.defaultInstance();
+
+  public AuthorizationCodeGrantRedisDataSource(SessionStore sessionStore) {
+    this.sessionStore = sessionStore;
+  }
+
+  @Override
+  public void register(Tenant tenant, AuthorizationCodeGrant authorizationCodeGrant) {
+    String key =
+        AuthorizationFlowStoreKeys.authorizationCodeGrant(
+            tenant.identifier(), authorizationCodeGrant.authorizationCode());
+    String value = jsonConverter.write(ModelConverter.toMap(authorizationCodeGrant));
+    long timeToLiveSeconds =
+        AuthorizationFlowStoreKeys.timeToLiveSeconds(authorizationCodeGrant.expiredAt());
+    sessionStore.set(key, value, timeToLiveSeconds);
+
+    String requestKey =
+        AuthorizationFlowStoreKeys.authorizationRequest(
+            tenant.identifier(), authorizationCodeGrant.authorizationRequestIdentifier());
+    long requestTimeToLive = sessionStore.ttl(requestKey);
+    if (requestTimeToLive >= 0 && requestTimeToLive < timeToLiveSeconds) {
+      sessionStore.expire(requestKey, timeToLiveSeconds);
+    }
+  }
+
+  @Override
+  public AuthorizationCodeGrant find(Tenant tenant, AuthorizationCode authorizationCode) {
+    Optional<String> value =
+        sessionStore.get(
+            AuthorizationFlowStoreKeys.authorizationCodeGrant(
+                tenant.identifier(), authorizationCode));
+
+    if (value.isEmpty()) {
+      return new AuthorizationCodeGrant();
+    }
+    return convert(value.get());
+  }
+
+  @Override
+  public AuthorizationCodeGrant findForUpdate(Tenant tenant, AuthorizationCode authorizationCode) {
+    Optional<String> value =
+        sessionStore.get(
+            AuthorizationFlowStoreKeys.authorizationCodeGrant(
+                tenant.identifier(), authorizationCode));
+
+    if (value.isEmpty()) {
+      return new AuthorizationCodeGrant();
+    }
+    return convert(value.get());
+  }
+
+  @Override
+  public boolean consume(Tenant tenant, AuthorizationCodeGrant authorizationCodeGrant) {
+    return sessionStore
+        .getAndDelete(
+            AuthorizationFlowStoreKeys.authorizationCodeGrant(
+                tenant.identifier(), authorizationCodeGrant.authorizationCode()))
+        .isPresent();
+  }
+
+  @Override
+  public void delete(Tenant tenant, AuthorizationCodeGrant authorizationCodeGrant) {
+    sessionStore.delete(
+        AuthorizationFlowStoreKeys.authorizationCodeGrant(
+            tenant.identifier(), authorizationCodeGrant.authorizationCode()));
+  }
+
+  @SuppressWarnings("unchecked")
+  private AuthorizationCodeGrant convert(String value) {
+    Map<String, String> stringMap = jsonConverter.read(value, Map.class);
+    return ModelConverter.convert(stringMap);
+  }
+}
@@ -85,6 +85,52 @@ class ModelConverter {
     return new AuthorizationCodeGrant(id, authorizationGrant, authorizationCode, expiresAt);
   }
 
+  /**
+   * Converts an authorization code grant into the column map read by {@link #convert(Map)}, for
+   * stores that keep the grant outside the {@code authorization_code_grant} table.
+   */
+  static Map<String, String> toMap(AuthorizationCodeGrant authorizationCodeGrant) {
+    AuthorizationGrant authorizationGrant = authorizationCodeGrant.authorizationGrant();
+    Map<String, String> map = new HashMap<>();
+    map.put(
+        "authorization_request_id",
+        authorizationCodeGrant.authorizationRequestIdentifier().value());
+    map.put("tenant_id", authorizationCodeGrant.tenantIdentifier().value());
+    map.put("authorization_code", authorizationCodeGrant.authorizationCode().value());
+    map.put("user_id", authorizationCodeGrant.user().sub());
+    map.put("user_payload", jsonConverter.write(authorizationCodeGrant.user()));
+    map.put("authentication", jsonConverter.write(authorizationCodeGrant.authentication()));
+    map.put("client_id", authorizationCodeGrant.clientId().value());
+    map.put("client_payload", jsonConverter.write(authorizationCodeGrant.clientAttributes()));
+    map.put("grant_type", authorizationGrant.grantType().name());
+    map.put("scopes", authorizationCodeGrant.scopes().toStringValues());
+    map.put(
+        "id_token_claims",
+        authorizationGrant.hasIdTokenClaims()
+            ? authorizationGrant.idTokenClaims().toStringValues()
+            : "");
+    map.put(
+        "userinfo_claims",
+        authorizationGrant.hasUserinfoClaim()
+            ? authorizationGrant.userinfoClaims().toStringValues()
+            : "");
+    map.put(
+        "custom_properties",
+        authorizationGrant.hasCustomProperties()
+            ? jsonConverter.write(authorizationGrant.customProperties().values())
+            : "{}");
+    map.put(
+        "authorization_details",
+        authorizationGrant.hasAuthorizationDetails()
+            ? jsonConverter.write(authorizationGrant.authorizationDetails().toMapValues())
+            : "[]");
+    map.put("expires_at", authorizationCodeGrant.expiredAt().toStringValue());
+    if (authorizationGrant.hasConsentClaims()) {
+      map.put("consent_claims", jsonConverter.write(authorizationGrant.consentClaims().toMap()));
+    }
+    return map;
+  }
+
   private static CustomProperties convertCustomProperties(String value) {
     if (value == null || value.isEmpty()) {
       return new CustomProperties();
@@ -16,6 +16,8 @@
 
 package org.idp.server.core.adapters.datasource.oidc.configuration.client.command;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.idp.server.core.openid.oauth.configuration.client.ClientConfiguration;
 import org.idp.server.core.openid.oauth.configuration.client.ClientConfigurationCommandRepository;
 import org.idp.server.platform.datasource.cache.CacheStore;
@@ -44,23 +46,22 @@ public class ClientConfigurationCommandDataSource implements ClientConfiguration
   @Override
   public void update(Tenant tenant, ClientConfiguration clientConfiguration) {
     executor.update(tenant, clientConfiguration);
-    String key = key(tenant.identifier(), clientConfiguration.clientIdentifier().value());
-    cacheStore.delete(key);
-    if (clientConfiguration.clientIdAlias() != null) {
-      String aliasKey = key(tenant.identifier(), clientConfiguration.clientIdAlias());
-      cacheStore.delete(aliasKey);
-    }
+    evictCache(tenant, clientConfiguration);
   }
 
   @Override
   public void delete(Tenant tenant, ClientConfiguration clientConfiguration) {
     executor.delete(tenant, clientConfiguration.clientIdentifier());
-    String key = key(tenant.identifier(), clientConfiguration.clientIdentifier().value());
-    cacheStore.delete(key);
+    evictCache(tenant, clientConfiguration);
+  }
+
+  private void evictCache(Tenant tenant, ClientConfiguration clientConfiguration) {
+    List<String> keys = new ArrayList<>();
+    keys.add(key(tenant.identifier(), clientConfiguration.clientIdentifier().value()));
     if (clientConfiguration.clientIdAlias() != null) {
-      String aliasKey = key(tenant.identifier(), clientConfiguration.clientIdAlias());
-      cacheStore.delete(aliasKey);
+      keys.add(key(tenant.identifier(), clientConfiguration.clientIdAlias()));
     }
+    cacheStore.deleteAll(keys);
   }
 
   private String key(TenantIdentifier tenantIdentifier, String clientId) {
@@ -18,6 +18,7 @@ package org.idp.server.core.adapters.datasource.oidc.configuration.client.query;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import org.idp.server.core.openid.oauth.configuration.client.ClientConfiguration;
 import org.idp.server.core.openid.oauth.configuration.client.ClientIdentifier;
 import org.idp.server.core.openid.oauth.configuration.client.ClientQueries;
@@ -28,23 +29,23 @@ public interface ClientConfigSqlExecutor {
 
   void insert(Tenant tenant, ClientConfiguration clientConfiguration);
 
-  Map<String, String> selectByAlias(Tenant tenant, RequestedClientId requestedClientId);
+  Optional<ClientConfiguration> selectByAlias(Tenant tenant, RequestedClientId requestedClientId);
 
-  Map<String, String> selectByAlias(
+  Optional<ClientConfiguration> selectByAlias(
       Tenant tenant, RequestedClientId requestedClientId, boolean includeDisabled);
 
-  Map<String, String> selectById(Tenant tenant, ClientIdentifier clientIdentifier);
+  Optional<ClientConfiguration> selectById(Tenant tenant, ClientIdentifier clientIdentifier);
 
-  Map<String, String> selectById(
+  Optional<ClientConfiguration> selectById(
       Tenant tenant, ClientIdentifier clientIdentifier, boolean includeDisabled);
 
-  List<Map<String, String>> selectList(Tenant tenant, int limit, int offset);
+  List<ClientConfiguration> selectList(Tenant tenant, int limit, int offset);
 
-  List<Map<String, String>> selectList(Tenant tenant, ClientQueries queries);
+  List<ClientConfiguration> selectList(Tenant tenant, ClientQueries queries);
 
   Map<String, String> selectTotalCount(Tenant tenant, ClientQueries queries);
 
-  List<Map<String, String>> selectList(
+  List<ClientConfiguration> selectList(
       Tenant tenant, int limit, int offset, boolean includeDisabled);
 
   void update(Tenant tenant, ClientConfiguration clientConfiguration);
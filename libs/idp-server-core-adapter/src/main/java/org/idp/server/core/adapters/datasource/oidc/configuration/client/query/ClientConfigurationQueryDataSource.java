@@ -18,7 +18,6 @@ package org.idp.server.core.adapters.datasource.oidc.configuration.client.query;
 
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import org.idp.server.core.openid.oauth.configuration.client.ClientConfiguration;
 import org.idp.server.core.openid.oauth.configuration.client.ClientConfigurationQueryRepository;
@@ -55,11 +54,11 @@ public class ClientConfigurationQueryDataSource implements ClientConfigurationQu
       return optionalClientConfiguration.get();
     }
 
-    Map<String, String> resultClientIdAlias = executor.selectByAlias(tenant, requestedClientId);
+    Optional<ClientConfiguration> resultClientIdAlias =
+        executor.selectByAlias(tenant, requestedClientId);
 
-    if (resultClientIdAlias != null && !resultClientIdAlias.isEmpty()) {
-
-      ClientConfiguration convert = ModelConverter.convert(resultClientIdAlias);
+    if (resultClientIdAlias.isPresent()) {
+      ClientConfiguration convert = resultClientIdAlias.get();
       cacheStore.put(key, convert);
       return convert;
     }
@@ -69,15 +68,15 @@ public class ClientConfigurationQueryDataSource implements ClientConfigurationQu
           String.format("unregistered client (%s)", requestedClientId.value()), tenant);
     }
 
-    Map<String, String> resultClientId =
+    Optional<ClientConfiguration> resultClientId =
         executor.selectById(tenant, new ClientIdentifier(requestedClientId.value()));
 
-    if (resultClientId == null || resultClientId.isEmpty()) {
+    if (resultClientId.isEmpty()) {
       throw new ClientConfigurationNotFoundException(
           String.format("unregistered client (%s)", requestedClientId.value()), tenant);
     }
 
-    ClientConfiguration convert = ModelConverter.convert(resultClientId);
+    ClientConfiguration convert = resultClientId.get();
 
     cacheStore.put(key, convert);
 
@@ -94,14 +93,14 @@ public class ClientConfigurationQueryDataSource implements ClientConfigurationQu
       return optionalClientConfiguration.get();
     }
 
-    Map<String, String> result = executor.selectById(tenant, clientIdentifier);
+    Optional<ClientConfiguration> result = executor.selectById(tenant, clientIdentifier);
 
-    if (result == null || result.isEmpty()) {
+    if (result.isEmpty()) {
       throw new ClientConfigurationNotFoundException(
           String.format("unregistered client (%s)", clientIdentifier.value()), tenant);
     }
 
-    ClientConfiguration converted = ModelConverter.convert(result);
+    ClientConfiguration converted = result.get();
     cacheStore.put(key, converted);
 
     return converted;
@@ -109,24 +108,12 @@ public class ClientConfigurationQueryDataSource implements ClientConfigurationQu
 
   @Override
   public List<ClientConfiguration> findList(Tenant tenant, int limit, int offset) {
-    List<Map<String, String>> maps = executor.selectList(tenant, limit, offset);
-
-    if (Objects.isNull(maps) || maps.isEmpty()) {
-      return List.of();
-    }
-
-    return maps.stream().map(ModelConverter::convert).toList();
+    return executor.selectList(tenant, limit, offset);
   }
 
   @Override
   public List<ClientConfiguration> findList(Tenant tenant, ClientQueries queries) {
-    List<Map<String, String>> maps = executor.selectList(tenant, queries);
-
-    if (Objects.isNull(maps) || maps.isEmpty()) {
-      return List.of();
-    }
-
-    return maps.stream().map(ModelConverter::convert).toList();
+    return executor.selectList(tenant, queries);
   }
 
   @Override
@@ -150,13 +137,13 @@ public class ClientConfigurationQueryDataSource implements ClientConfigurationQu
       return optionalClientConfiguration.get();
     }
 
-    Map<String, String> result = executor.selectById(tenant, clientIdentifier);
+    Optional<ClientConfiguration> result = executor.selectById(tenant, clientIdentifier);
 
-    if (result == null || result.isEmpty()) {
+    if (result.isEmpty()) {
       return new ClientConfiguration();
     }
 
-    ClientConfiguration converted = ModelConverter.convert(result);
+    ClientConfiguration converted = result.get();
     cacheStore.put(key, converted);
 
     return converted;
@@ -173,13 +160,14 @@ public class ClientConfigurationQueryDataSource implements ClientConfigurationQu
       return optionalClientConfiguration.get();
     }
 
-    Map<String, String> result = executor.selectById(tenant, clientIdentifier, includeDisabled);
+    Optional<ClientConfiguration> result =
+        executor.selectById(tenant, clientIdentifier, includeDisabled);
 
-    if (result == null || result.isEmpty()) {
+    if (result.isEmpty()) {
       return new ClientConfiguration();
     }
 
-    ClientConfiguration converted = ModelConverter.convert(result);
+    ClientConfiguration converted = result.get();
     cacheStore.put(key, converted);
 
     return converted;
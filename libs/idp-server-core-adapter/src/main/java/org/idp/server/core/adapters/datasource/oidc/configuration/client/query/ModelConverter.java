@@ -16,7 +16,8 @@
 
 package org.idp.server.core.adapters.datasource.oidc.configuration.client.query;
 
-import java.util.Map;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import org.idp.server.core.openid.oauth.configuration.client.ClientConfiguration;
 import org.idp.server.platform.date.LocalDateTimeParser;
 import org.idp.server.platform.json.JsonConverter;
@@ -24,16 +25,23 @@ import org.idp.server.platform.json.JsonConverter;
 class ModelConverter {
   private static final JsonConverter jsonConverter = JsonConverter.snakeCaseInstance();
 
-  static ClientConfiguration convert(Map<String, String> stringMap) {
+  /**
+   * client_configuration の行を中間 Map を経由せずに ClientConfiguration へ変換する。
+   *
+   * <p>{@link org.idp.server.platform.datasource.RowMapper} として利用する。
+   */
+  static ClientConfiguration convert(ResultSet resultSet) throws SQLException {
     ClientConfiguration clientConfiguration =
-        jsonConverter.read(stringMap.get("payload"), ClientConfiguration.class);
+        jsonConverter.read(resultSet.getString("payload"), ClientConfiguration.class);
 
-    if (stringMap.containsKey("created_at")) {
-      clientConfiguration.setCreatedAt(LocalDateTimeParser.parse(stringMap.get("created_at")));
+    String createdAt = resultSet.getString("created_at");
+    if (createdAt != null) {
+      clientConfiguration.setCreatedAt(LocalDateTimeParser.parse(createdAt));
     }
 
-    if (stringMap.containsKey("updated_at")) {
-      clientConfiguration.setUpdatedAt(LocalDateTimeParser.parse(stringMap.get("updated_at")));
+    String updatedAt = resultSet.getString("updated_at");
+    if (updatedAt != null) {
+      clientConfiguration.setUpdatedAt(LocalDateTimeParser.parse(updatedAt));
     }
 
     return clientConfiguration;
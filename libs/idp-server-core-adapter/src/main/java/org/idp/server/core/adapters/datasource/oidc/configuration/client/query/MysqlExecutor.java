@@ -19,6 +19,7 @@ package org.idp.server.core.adapters.datasource.oidc.configuration.client.query;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import org.idp.server.core.openid.oauth.configuration.client.ClientConfiguration;
 import org.idp.server.core.openid.oauth.configuration.client.ClientIdentifier;
 import org.idp.server.core.openid.oauth.configuration.client.ClientQueries;
@@ -56,12 +57,13 @@ public class MysqlExecutor implements ClientConfigSqlExecutor {
   }
 
   @Override
-  public Map<String, String> selectByAlias(Tenant tenant, RequestedClientId requestedClientId) {
+  public Optional<ClientConfiguration> selectByAlias(
+      Tenant tenant, RequestedClientId requestedClientId) {
     return selectByAlias(tenant, requestedClientId, false);
   }
 
   @Override
-  public Map<String, String> selectByAlias(
+  public Optional<ClientConfiguration> selectByAlias(
       Tenant tenant, RequestedClientId requestedClientId, boolean includeDisabled) {
     SqlExecutor sqlExecutor = new SqlExecutor();
 
@@ -76,16 +78,17 @@ public class MysqlExecutor implements ClientConfigSqlExecutor {
     params.add(tenant.identifier().value());
     params.add(requestedClientId.value());
 
-    return sqlExecutor.selectOne(sqlTemplateClientIdAlias, params);
+    return sqlExecutor.selectOne(sqlTemplateClientIdAlias, params, ModelConverter::convert);
   }
 
   @Override
-  public Map<String, String> selectById(Tenant tenant, ClientIdentifier clientIdentifier) {
+  public Optional<ClientConfiguration> selectById(
+      Tenant tenant, ClientIdentifier clientIdentifier) {
     return selectById(tenant, clientIdentifier, false);
   }
 
   @Override
-  public Map<String, String> selectById(
+  public Optional<ClientConfiguration> selectById(
       Tenant tenant, ClientIdentifier clientIdentifier, boolean includeDisabled) {
     SqlExecutor sqlExecutor = new SqlExecutor();
     String sqlTemplate =
@@ -96,16 +99,16 @@ public class MysqlExecutor implements ClientConfigSqlExecutor {
             + (includeDisabled ? "" : " AND enabled = true")
             + ";";
     List<Object> params = List.of(tenant.identifierValue(), clientIdentifier.value());
-    return sqlExecutor.selectOne(sqlTemplate, params);
+    return sqlExecutor.selectOne(sqlTemplate, params, ModelConverter::convert);
   }
 
   @Override
-  public List<Map<String, String>> selectList(Tenant tenant, int limit, int offset) {
+  public List<ClientConfiguration> selectList(Tenant tenant, int limit, int offset) {
     return selectList(tenant, limit, offset, true);
   }
 
   @Override
-  public List<Map<String, String>> selectList(
+  public List<ClientConfiguration> selectList(
       Tenant tenant, int limit, int offset, boolean includeDisabled) {
     SqlExecutor sqlExecutor = new SqlExecutor();
     String sqlTemplate =
@@ -116,11 +119,11 @@ public class MysqlExecutor implements ClientConfigSqlExecutor {
             + (includeDisabled ? "" : " AND enabled = true")
             + " limit ? offset ?;";
     List<Object> params = List.of(tenant.identifierValue(), limit, offset);
-    return sqlExecutor.selectList(sqlTemplate, params);
+    return sqlExecutor.selectList(sqlTemplate, params, ModelConverter::convert);
   }
 
   @Override
-  public List<Map<String, String>> selectList(Tenant tenant, ClientQueries queries) {
+  public List<ClientConfiguration> selectList(Tenant tenant, ClientQueries queries) {
     SqlExecutor sqlExecutor = new SqlExecutor();
 
     StringBuilder where = new StringBuilder("WHERE tenant_id = ?");
@@ -244,7 +247,7 @@ public class MysqlExecutor implements ClientConfigSqlExecutor {
     params.add(queries.limit());
     params.add(queries.offset());
 
-    return sqlExecutor.selectList(sqlTemplate, params);
+    return sqlExecutor.selectList(sqlTemplate, params, ModelConverter::convert);
   }
 
   @Override
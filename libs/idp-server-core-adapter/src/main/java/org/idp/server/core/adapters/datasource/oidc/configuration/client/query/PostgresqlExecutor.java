@@ -19,6 +19,7 @@ package org.idp.server.core.adapters.datasource.oidc.configuration.client.query;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import org.idp.server.core.openid.oauth.configuration.client.ClientConfiguration;
 import org.idp.server.core.openid.oauth.configuration.client.ClientIdentifier;
 import org.idp.server.core.openid.oauth.configuration.client.ClientQueries;
@@ -61,12 +62,13 @@ public class PostgresqlExecutor implements ClientConfigSqlExecutor {
   }
 
   @Override
-  public Map<String, String> selectByAlias(Tenant tenant, RequestedClientId requestedClientId) {
+  public Optional<ClientConfiguration> selectByAlias(
+      Tenant tenant, RequestedClientId requestedClientId) {
     return selectByAlias(tenant, requestedClientId, false);
   }
 
   @Override
-  public Map<String, String> selectByAlias(
+  public Optional<ClientConfiguration> selectByAlias(
       Tenant tenant, RequestedClientId requestedClientId, boolean includeDisabled) {
     SqlExecutor sqlExecutor = new SqlExecutor();
 
@@ -82,16 +84,17 @@ public class PostgresqlExecutor implements ClientConfigSqlExecutor {
     params.add(tenant.identifierUUID());
     params.add(requestedClientId.value());
 
-    return sqlExecutor.selectOne(sqlTemplateClientIdAlias, params);
+    return sqlExecutor.selectOne(sqlTemplateClientIdAlias, params, ModelConverter::convert);
   }
 
   @Override
-  public Map<String, String> selectById(Tenant tenant, ClientIdentifier clientIdentifier) {
+  public Optional<ClientConfiguration> selectById(
+      Tenant tenant, ClientIdentifier clientIdentifier) {
     return selectById(tenant, clientIdentifier, false);
   }
 
   @Override
-  public Map<String, String> selectById(
+  public Optional<ClientConfiguration> selectById(
       Tenant tenant, ClientIdentifier clientIdentifier, boolean includeDisabled) {
     SqlExecutor sqlExecutor = new SqlExecutor();
     String sqlTemplate =
@@ -106,16 +109,16 @@ public class PostgresqlExecutor implements ClientConfigSqlExecutor {
     params.add(tenant.identifier().valueAsUuid());
     params.add(clientIdentifier.valueAsUuid());
 
-    return sqlExecutor.selectOne(sqlTemplate, params);
+    return sqlExecutor.selectOne(sqlTemplate, params, ModelConverter::convert);
   }
 
   @Override
-  public List<Map<String, String>> selectList(Tenant tenant, int limit, int offset) {
+  public List<ClientConfiguration> selectList(Tenant tenant, int limit, int offset) {
     return selectList(tenant, limit, offset, true);
   }
 
   @Override
-  public List<Map<String, String>> selectList(
+  public List<ClientConfiguration> selectList(
       Tenant tenant, int limit, int offset, boolean includeDisabled) {
     SqlExecutor sqlExecutor = new SqlExecutor();
     String sqlTemplate =
@@ -130,11 +133,11 @@ public class PostgresqlExecutor implements ClientConfigSqlExecutor {
     params.add(limit);
     params.add(offset);
 
-    return sqlExecutor.selectList(sqlTemplate, params);
+    return sqlExecutor.selectList(sqlTemplate, params, ModelConverter::convert);
   }
 
   @Override
-  public List<Map<String, String>> selectList(Tenant tenant, ClientQueries queries) {
+  public List<ClientConfiguration> selectList(Tenant tenant, ClientQueries queries) {
     SqlExecutor sqlExecutor = new SqlExecutor();
 
     StringBuilder where = new StringBuilder("WHERE tenant_id = ?::uuid");
@@ -255,7 +258,7 @@ public class PostgresqlExecutor implements ClientConfigSqlExecutor {
     params.add(queries.limit());
     params.add(queries.offset());
 
-    return sqlExecutor.selectList(sqlTemplate, params);
+    return sqlExecutor.selectList(sqlTemplate, params, ModelConverter::convert);
   }
 
   @Override
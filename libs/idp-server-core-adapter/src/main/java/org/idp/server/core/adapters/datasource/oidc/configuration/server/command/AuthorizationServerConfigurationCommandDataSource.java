@@ -16,9 +16,11 @@
 
 package org.idp.server.core.adapters.datasource.oidc.configuration.server.command;
 
+import org.idp.server.core.openid.discovery.DiscoveryDocumentCache;
 import org.idp.server.core.openid.oauth.configuration.AuthorizationServerConfiguration;
 import org.idp.server.core.openid.oauth.configuration.AuthorizationServerConfigurationCommandRepository;
 import org.idp.server.platform.datasource.cache.CacheStore;
+import org.idp.server.platform.jose.JsonWebKeyMaterialCache;
 import org.idp.server.platform.json.JsonConverter;
 import org.idp.server.platform.multi_tenancy.tenant.Tenant;
 import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
@@ -49,7 +51,13 @@ public class AuthorizationServerConfigurationCommandDataSource
     executor.update(tenant, authorizationServerConfiguration);
 
     String key = key(tenant.identifier());
+    // Drop the parsed signing keys of the previous JWKS. Other nodes pick up the new JWKS through
+    // its fingerprint and let the old entry age out.
+    cacheStore
+        .find(key, AuthorizationServerConfiguration.class)
+        .ifPresent(previous -> JsonWebKeyMaterialCache.getInstance().invalidate(previous.jwks()));
     cacheStore.delete(key);
+    DiscoveryDocumentCache.getInstance().invalidate(tenant.identifier());
   }
 
   private String key(TenantIdentifier tenantIdentifier) {
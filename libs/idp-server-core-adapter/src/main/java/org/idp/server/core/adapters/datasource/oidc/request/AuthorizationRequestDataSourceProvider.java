@@ -16,8 +16,10 @@
 
 package org.idp.server.core.adapters.datasource.oidc.request;
 
+import org.idp.server.core.openid.oauth.repository.AuthorizationFlowStoreType;
 import org.idp.server.core.openid.oauth.repository.AuthorizationRequestRepository;
 import org.idp.server.platform.datasource.ApplicationDatabaseTypeProvider;
+import org.idp.server.platform.datasource.session.SessionStore;
 import org.idp.server.platform.dependency.ApplicationComponentDependencyContainer;
 import org.idp.server.platform.dependency.ApplicationComponentProvider;
 
@@ -31,6 +33,11 @@ public class AuthorizationRequestDataSourceProvider
 
   @Override
   public AuthorizationRequestRepository provide(ApplicationComponentDependencyContainer container) {
+    AuthorizationFlowStoreType storeType = container.resolve(AuthorizationFlowStoreType.class);
+    if (storeType.isRedis()) {
+      return new AuthorizationRequestRedisDataSource(container.resolve(SessionStore.class));
+    }
+
     ApplicationDatabaseTypeProvider databaseTypeProvider =
         container.resolve(ApplicationDatabaseTypeProvider.class);
     AuthorizationRequestSqlExecutors executors = new AuthorizationRequestSqlExecutors();
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.adapters.datasource.oidc.request;
+
+import java.util.Map;
+import java.util.Optional;
+import org.idp.server.core.adapters.datasource.oidc.AuthorizationFlowStoreKeys;
+import org.idp.server.core.openid.oauth.exception.OAuthRequestNotFoundException;
+import org.idp.server.core.openid.oauth.repository.AuthorizationRequestRepository;
+import org.idp.server.core.openid.oauth.request.AuthorizationRequest;
+import org.idp.server.core.openid.oauth.request.AuthorizationRequestIdentifier;
+import org.idp.server.platform.datasource.session.SessionStore;
+import org.idp.server.platform.json.JsonConverter;
+import org.idp.server.platform.multi_tenancy.tenant.Tenant;
+
+/**
+ * Keeps authorization requests in the session store (Redis in clustered deployments) instead of the
+ * {@code authorization_request} table.
+ *
+ * <p>Each request is written with a TTL matching its {@code expires_at}, so expired requests
+ * disappear without a cleanup job and without any database write on the authorization path.
+ */
+public class AuthorizationRequestRedisDataSource implements AuthorizationRequestRepository {
+
+  SessionStore sessionStore;
+  JsonConverter jsonConverter = JsonConverter.defaultInstance();
+
+  public AuthorizationRequestRedisDataSource(SessionStore sessionStore) {
+    this.sessionStore = sessionStore;
+  }
+
+  @Override
+  public void register(Tenant tenant, AuthorizationRequest authorizationRequest) {
+    String key =
+        AuthorizationFlowStoreKeys.authorizationRequest(
+            tenant.identifier(), authorizationRequest.identifier());
+    String value = jsonConverter.write(ModelConverter.toMap(authorizationRequest));
+    long timeToLiveSeconds =
+        AuthorizationFlowStoreKeys.timeToLiveSeconds(authorizationRequest.expiredAt());
+    sessionStore.set(key, value, timeToLiveSeconds);
+  }
+
+  @Override
+  public AuthorizationRequest get(
+      Tenant tenant, AuthorizationRequestIdentifier authorizationRequestIdentifier) {
+    Optional<String> value =
+        sessionStore.get(
+            AuthorizationFlowStoreKeys.authorizationRequest(
+                tenant.identifier(), authorizationRequestIdentifier));
+
+    if (value.isEmpty()) {
+      throw new OAuthRequestNotFoundException(
+          "invalid_request",
+          String.format("not found oauth request (%s)", authorizationRequestIdentifier.value()));
+    }
+
+    return convert(value.get());
+  }
+
+  @Override
+  public AuthorizationRequest find(
+      Tenant tenant, AuthorizationRequestIdentifier authorizationRequestIdentifier) {
+    Optional<String> value =
+        sessionStore.get(
+            AuthorizationFlowStoreKeys.authorizationRequest(
+                tenant.identifier(), authorizationRequestIdentifier));
+
+    if (value.isEmpty()) {
+      return new AuthorizationRequest();
+    }
+
+    return convert(value.get());
+  }
+
+  @Override
+  public void delete(Tenant tenant, AuthorizationRequestIdentifier authorizationRequestIdentifier) {
+    sessionStore.delete(
+        AuthorizationFlowStoreKeys.authorizationRequest(
+            tenant.identifier(), authorizationRequestIdentifier));
+  }
+
+  @SuppressWarnings("unchecked")
+  private AuthorizationRequest convert(String value) {
+    Map<String, String> stringMap = jsonConverter.read(value, Map.class);
+    return ModelConverter.convert(stringMap);
+  }
+}
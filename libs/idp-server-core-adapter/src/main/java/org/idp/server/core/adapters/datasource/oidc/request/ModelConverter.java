@@ -16,6 +16,7 @@
 
 package org.idp.server.core.adapters.datasource.oidc.request;
 
+import java.util.HashMap;
 import java.util.Map;
 import org.idp.server.core.openid.identity.id_token.RequestedClaimsPayload;
 import org.idp.server.core.openid.oauth.AuthorizationProfile;
@@ -71,6 +72,85 @@ class ModelConverter {
     return builder.build();
   }
 
+  /**
+   * Converts an authorization request into the column map read by {@link #convert(Map)}, for stores
+   * that keep the request outside the {@code authorization_request} table.
+   */
+  static Map<String, String> toMap(AuthorizationRequest authorizationRequest) {
+    Map<String, String> map = new HashMap<>();
+    map.put("id", authorizationRequest.identifier().value());
+    map.put("tenant_id", authorizationRequest.tenantIdentifier().value());
+    map.put("profile", authorizationRequest.profile().name());
+    map.put("scopes", authorizationRequest.scopes().toStringValues());
+    map.put("response_type", authorizationRequest.responseType().name());
+    map.put("client_id", authorizationRequest.requestedClientId().value());
+    map.put("client_payload", jsonConverter.write(authorizationRequest.clientAttributes()));
+    map.put(
+        "redirect_uri",
+        authorizationRequest.hasRedirectUri() ? authorizationRequest.redirectUri().value() : "");
+    if (authorizationRequest.hasState()) {
+      map.put("state", authorizationRequest.state().value());
+    }
+    if (authorizationRequest.hasResponseMode()) {
+      map.put("response_mode", authorizationRequest.responseMode().name());
+    }
+    if (authorizationRequest.hasNonce()) {
+      map.put("nonce", authorizationRequest.nonce().value());
+    }
+    if (authorizationRequest.hasDisplay()) {
+      map.put("display", authorizationRequest.display().name());
+    }
+    if (authorizationRequest.hasPrompts()) {
+      map.put("prompts", authorizationRequest.prompts().toStringValues());
+    }
+    if (authorizationRequest.hasMaxAge()) {
+      map.put("max_age", authorizationRequest.maxAge().value());
+    }
+    if (authorizationRequest.hasUiLocales()) {
+      map.put("ui_locales", authorizationRequest.uiLocales().toStringValues());
+    }
+    if (authorizationRequest.hasIdTokenHint()) {
+      map.put("id_token_hint", authorizationRequest.idTokenHint().value());
+    }
+    if (authorizationRequest.hasLoginHint()) {
+      map.put("login_hint", authorizationRequest.loginHint().value());
+    }
+    if (authorizationRequest.hasAcrValues()) {
+      map.put("acr_values", authorizationRequest.acrValues().toStringValues());
+    }
+    if (authorizationRequest.hasClaims()) {
+      map.put("claims_value", authorizationRequest.claims().value());
+    }
+    if (authorizationRequest.hasRequest()) {
+      map.put("request_object", authorizationRequest.request().value());
+    }
+    if (authorizationRequest.hasRequestUri()) {
+      map.put("request_uri", authorizationRequest.requestUri().value());
+    }
+    if (authorizationRequest.hasCodeChallenge()) {
+      map.put("code_challenge", authorizationRequest.codeChallenge().value());
+    }
+    if (authorizationRequest.hasCodeChallengeMethod()) {
+      map.put("code_challenge_method", authorizationRequest.codeChallengeMethod().name());
+    }
+    if (authorizationRequest.hasDPoPJkt()) {
+      map.put("dpop_jkt", authorizationRequest.dpopJkt().value());
+    }
+    map.put(
+        "authorization_details",
+        authorizationRequest.hasAuthorizationDetails()
+            ? jsonConverter.write(authorizationRequest.authorizationDetails().toMapValues())
+            : "[]");
+    map.put(
+        "custom_params",
+        authorizationRequest.hasCustomParams()
+            ? jsonConverter.write(authorizationRequest.customParams().values())
+            : "{}");
+    map.put("expires_in", authorizationRequest.expiresIn().toStringValue());
+    map.put("expires_at", authorizationRequest.expiredAt().toStringValue());
+    return map;
+  }
+
   private static ClientAttributes convertClient(String value) {
     if (value == null || value.isEmpty()) {
       return new ClientAttributes();
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.adapters.datasource.outbox.command;
+
+import java.util.Map;
+import org.idp.server.platform.date.LocalDateTimeParser;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+import org.idp.server.platform.outbox.OutboxEvent;
+import org.idp.server.platform.outbox.OutboxEventType;
+
+class ModelConverter {
+
+  static OutboxEvent convert(Map<String, String> map) {
+    return new OutboxEvent(
+        map.get("id"),
+        new TenantIdentifier(map.get("tenant_id")),
+        OutboxEventType.of(map.get("event_type")),
+        map.get("payload"),
+        Integer.parseInt(map.get("attempts")),
+        LocalDateTimeParser.parse(map.get("created_at")));
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.adapters.datasource.outbox.command;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.idp.server.platform.datasource.SqlExecutor;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+import org.idp.server.platform.outbox.OutboxEvent;
+
+public class MysqlExecutor implements OutboxEventSqlExecutor {
+
+  private static final String INSERT_SQL =
+      """
+          INSERT INTO event_outbox (
+          id,
+          tenant_id,
+          event_type,
+          payload
+          ) VALUES (
+          ?,
+          ?,
+          ?,
+          ?
+          );
+          """;
+
+  private static final String SELECT_CLAIMABLE_TENANTS_SQL =
+      """
+          SELECT tenant_id
+          FROM event_outbox
+          WHERE given_up_at IS NULL
+            AND available_at <= NOW(6)
+          GROUP BY tenant_id
+          ORDER BY MIN(created_at)
+          LIMIT ?;
+          """;
+
+  // MySQL has no UPDATE ... RETURNING: lock the candidates first, then extend their lease in the
+  // same transaction. Rows locked by another node's claim are skipped.
+  private static final String SELECT_CLAIMABLE_SQL =
+      """
+          SELECT id, tenant_id, event_type, payload, attempts, created_at
+          FROM event_outbox
+          WHERE given_up_at IS NULL
+            AND tenant_id = ?
+            AND available_at <= NOW(6)
+          ORDER BY created_at
+          LIMIT ?
+          FOR UPDATE SKIP LOCKED;
+          """;
+
+  private static final String RESCHEDULE_SQL =
+      """
+          UPDATE event_outbox
+          SET available_at = NOW(6) + INTERVAL ? SECOND,
+              last_error = ?
+          WHERE id = ?;
+          """;
+
+  private static final String GIVE_UP_SQL =
+      """
+          UPDATE event_outbox
+          SET given_up_at = NOW(6),
+              last_error = ?
+          WHERE id = ?;
+          """;
+
+  @Override
+  public void insert(OutboxEvent outboxEvent) {
+    SqlExecutor sqlExecutor = new SqlExecutor();
+    List<Object> params = new ArrayList<>();
+    params.add(outboxEvent.id());
+    params.add(outboxEvent.tenantIdentifierValue());
+    params.add(outboxEvent.type().value());
+    params.add(outboxEvent.payload());
+    sqlExecutor.execute(INSERT_SQL, params);
+  }
+
+  @Override
+  public List<Map<String, String>> selectClaimableTenants(int limit) {
+    SqlExecutor sqlExecutor = new SqlExecutor();
+    List<Object> params = new ArrayList<>();
+    params.add(limit);
+    return sqlExecutor.selectList(SELECT_CLAIMABLE_TENANTS_SQL, params);
+  }
+
+  @Override
+  public List<Map<String, String>> claim(
+      TenantIdentifier tenantIdentifier, int limit, int leaseSeconds) {
+    SqlExecutor sqlExecutor = new SqlExecutor();
+    List<Object> selectParams = new ArrayList<>();
+    selectParams.add(tenantIdentifier.value());
+    selectParams.add(limit);
+    List<Map<String, String>> rows = sqlExecutor.selectList(SELECT_CLAIMABLE_SQL, selectParams);
+    if (rows.isEmpty()) {
+      return rows;
+    }
+
+    String placeholders = String.join(", ", Collections.nCopies(rows.size(), "?"));
+    String sql =
+        "UPDATE event_outbox SET attempts = attempts + 1, available_at = NOW(6) + INTERVAL ? SECOND WHERE id IN ("
+            + placeholders
+            + ");";
+    List<Object> updateParams = new ArrayList<>();
+    updateParams.add(leaseSeconds);
+    List<Map<String, String>> claimed = new ArrayList<>();
+    for (Map<String, String> row : rows) {
+      updateParams.add(row.get("id"));
+      Map<String, String> claimedRow = new HashMap<>(row);
+      claimedRow.put("attempts", String.valueOf(Integer.parseInt(row.get("attempts")) + 1));
+      claimed.add(claimedRow);
+    }
+    sqlExecutor.execute(sql, updateParams);
+    return claimed;
+  }
+
+  @Override
+  public void delete(List<OutboxEvent> outboxEvents) {
+    SqlExecutor sqlExecutor = new SqlExecutor();
+    String placeholders = String.join(", ", Collections.nCopies(outboxEvents.size(), "?"));
+    String sql = "DELETE FROM event_outbox WHERE id IN (" + placeholders + ");";
+    List<Object> params = new ArrayList<>();
+    for (OutboxEvent outboxEvent : outboxEvents) {
+      params.add(outboxEvent.id());
+    }
+    sqlExecutor.execute(sql, params);
+  }
+
+  @Override
+  public void reschedule(OutboxEvent outboxEvent, long delaySeconds, String error) {
+    SqlExecutor sqlExecutor = new SqlExecutor();
+    List<Object> params = new ArrayList<>();
+    params.add(delaySeconds);
+    params.add(error);
+    params.add(outboxEvent.id());
+    sqlExecutor.execute(RESCHEDULE_SQL, params);
+  }
+
+  @Override
+  public void giveUp(OutboxEvent outboxEvent, String error) {
+    SqlExecutor sqlExecutor = new SqlExecutor();
+    List<Object> params = new ArrayList<>();
+    params.add(error);
+    params.add(outboxEvent.id());
+    sqlExecutor.execute(GIVE_UP_SQL, params);
+  }
+}
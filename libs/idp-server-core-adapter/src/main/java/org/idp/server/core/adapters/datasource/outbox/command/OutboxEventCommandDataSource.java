@@ -0,0 +1,67 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.adapters.datasource.outbox.command;
+
+import java.util.List;
+import java.util.Map;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+import org.idp.server.platform.outbox.OutboxEvent;
+import org.idp.server.platform.outbox.OutboxEventCommandRepository;
+
+public class OutboxEventCommandDataSource implements OutboxEventCommandRepository {
+
+  OutboxEventSqlExecutor executor;
+
+  public OutboxEventCommandDataSource(OutboxEventSqlExecutor executor) {
+    this.executor = executor;
+  }
+
+  @Override
+  public void register(OutboxEvent outboxEvent) {
+    executor.insert(outboxEvent);
+  }
+
+  @Override
+  public List<TenantIdentifier> findClaimableTenants(int limit) {
+    List<Map<String, String>> results = executor.selectClaimableTenants(limit);
+    return results.stream().map(result -> new TenantIdentifier(result.get("tenant_id"))).toList();
+  }
+
+  @Override
+  public List<OutboxEvent> claim(TenantIdentifier tenantIdentifier, int limit, int leaseSeconds) {
+    List<Map<String, String>> results = executor.claim(tenantIdentifier, limit, leaseSeconds);
+    return results.stream().map(ModelConverter::convert).toList();
+  }
+
+  @Override
+  public void delete(List<OutboxEvent> outboxEvents) {
+    if (outboxEvents.isEmpty()) {
+      return;
+    }
+    executor.delete(outboxEvents);
+  }
+
+  @Override
+  public void reschedule(OutboxEvent outboxEvent, long delaySeconds, String error) {
+    executor.reschedule(outboxEvent, delaySeconds, error);
+  }
+
+  @Override
+  public void giveUp(OutboxEvent outboxEvent, String error) {
+    executor.giveUp(outboxEvent, error);
+  }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.adapters.datasource.outbox.command;
+
+import java.util.List;
+import java.util.Map;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+import org.idp.server.platform.outbox.OutboxEvent;
+
+public interface OutboxEventSqlExecutor {
+
+  void insert(OutboxEvent outboxEvent);
+
+  List<Map<String, String>> selectClaimableTenants(int limit);
+
+  List<Map<String, String>> claim(TenantIdentifier tenantIdentifier, int limit, int leaseSeconds);
+
+  void delete(List<OutboxEvent> outboxEvents);
+
+  void reschedule(OutboxEvent outboxEvent, long delaySeconds, String error);
+
+  void giveUp(OutboxEvent outboxEvent, String error);
+}
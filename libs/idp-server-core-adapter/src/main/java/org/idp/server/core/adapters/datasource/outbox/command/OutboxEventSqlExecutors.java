@@ -0,0 +1,43 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.adapters.datasource.outbox.command;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.idp.server.platform.datasource.DatabaseType;
+import org.idp.server.platform.exception.UnSupportedException;
+
+public class OutboxEventSqlExecutors {
+
+  Map<DatabaseType, OutboxEventSqlExecutor> executors;
+
+  public OutboxEventSqlExecutors() {
+    this.executors = new HashMap<>();
+    executors.put(DatabaseType.POSTGRESQL, new PostgresqlExecutor());
+    executors.put(DatabaseType.MYSQL, new MysqlExecutor());
+  }
+
+  public OutboxEventSqlExecutor get(DatabaseType databaseType) {
+    OutboxEventSqlExecutor executor = executors.get(databaseType);
+
+    if (executor == null) {
+      throw new UnSupportedException("Unknown dialect " + databaseType.name());
+    }
+
+    return executor;
+  }
+}
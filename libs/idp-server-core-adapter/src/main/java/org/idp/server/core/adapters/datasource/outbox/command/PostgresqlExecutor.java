@@ -0,0 +1,151 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.adapters.datasource.outbox.command;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.idp.server.platform.datasource.SqlExecutor;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+import org.idp.server.platform.outbox.OutboxEvent;
+
+public class PostgresqlExecutor implements OutboxEventSqlExecutor {
+
+  private static final String INSERT_SQL =
+      """
+          INSERT INTO event_outbox (
+          id,
+          tenant_id,
+          event_type,
+          payload
+          ) VALUES (
+          ?::uuid,
+          ?::uuid,
+          ?,
+          ?::jsonb
+          );
+          """;
+
+  // Runs on the admin connection, which bypasses row level security: reads tenant ids only.
+  private static final String SELECT_CLAIMABLE_TENANTS_SQL =
+      """
+          SELECT tenant_id
+          FROM event_outbox
+          WHERE given_up_at IS NULL
+            AND available_at <= now()
+          GROUP BY tenant_id
+          ORDER BY min(created_at)
+          LIMIT ?;
+          """;
+
+  // The subquery locks the candidates; rows locked by another node's claim are skipped.
+  private static final String CLAIM_SQL =
+      """
+          UPDATE event_outbox
+          SET attempts = attempts + 1,
+              available_at = now() + make_interval(secs => ?)
+          WHERE id IN (
+              SELECT id
+              FROM event_outbox
+              WHERE tenant_id = ?::uuid
+                AND given_up_at IS NULL
+                AND available_at <= now()
+              ORDER BY created_at
+              LIMIT ?
+              FOR UPDATE SKIP LOCKED
+          )
+          RETURNING id, tenant_id, event_type, payload, attempts, created_at;
+          """;
+
+  private static final String RESCHEDULE_SQL =
+      """
+          UPDATE event_outbox
+          SET available_at = now() + make_interval(secs => ?),
+              last_error = ?
+          WHERE id = ?::uuid;
+          """;
+
+  private static final String GIVE_UP_SQL =
+      """
+          UPDATE event_outbox
+          SET given_up_at = now(),
+              last_error = ?
+          WHERE id = ?::uuid;
+          """;
+
+  @Override
+  public void insert(OutboxEvent outboxEvent) {
+    SqlExecutor sqlExecutor = new SqlExecutor();
+    List<Object> params = new ArrayList<>();
+    params.add(outboxEvent.id());
+    params.add(outboxEvent.tenantIdentifierValue());
+    params.add(outboxEvent.type().value());
+    params.add(outboxEvent.payload());
+    sqlExecutor.execute(INSERT_SQL, params);
+  }
+
+  @Override
+  public List<Map<String, String>> selectClaimableTenants(int limit) {
+    SqlExecutor sqlExecutor = new SqlExecutor();
+    List<Object> params = new ArrayList<>();
+    params.add(limit);
+    return sqlExecutor.selectList(SELECT_CLAIMABLE_TENANTS_SQL, params);
+  }
+
+  @Override
+  public List<Map<String, String>> claim(
+      TenantIdentifier tenantIdentifier, int limit, int leaseSeconds) {
+    SqlExecutor sqlExecutor = new SqlExecutor();
+    List<Object> params = new ArrayList<>();
+    params.add(leaseSeconds);
+    params.add(tenantIdentifier.value());
+    params.add(limit);
+    return sqlExecutor.selectList(CLAIM_SQL, params);
+  }
+
+  @Override
+  public void delete(List<OutboxEvent> outboxEvents) {
+    SqlExecutor sqlExecutor = new SqlExecutor();
+    String placeholders = String.join(", ", Collections.nCopies(outboxEvents.size(), "?::uuid"));
+    String sql = "DELETE FROM event_outbox WHERE id IN (" + placeholders + ");";
+    List<Object> params = new ArrayList<>();
+    for (OutboxEvent outboxEvent : outboxEvents) {
+      params.add(outboxEvent.id());
+    }
+    sqlExecutor.execute(sql, params);
+  }
+
+  @Override
+  public void reschedule(OutboxEvent outboxEvent, long delaySeconds, String error) {
+    SqlExecutor sqlExecutor = new SqlExecutor();
+    List<Object> params = new ArrayList<>();
+    params.add(delaySeconds);
+    params.add(error);
+    params.add(outboxEvent.id());
+    sqlExecutor.execute(RESCHEDULE_SQL, params);
+  }
+
+  @Override
+  public void giveUp(OutboxEvent outboxEvent, String error) {
+    SqlExecutor sqlExecutor = new SqlExecutor();
+    List<Object> params = new ArrayList<>();
+    params.add(error);
+    params.add(outboxEvent.id());
+    sqlExecutor.execute(GIVE_UP_SQL, params);
+  }
+}
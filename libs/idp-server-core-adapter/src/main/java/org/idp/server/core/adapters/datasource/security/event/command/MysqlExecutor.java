@@ -24,13 +24,8 @@ import org.idp.server.platform.security.SecurityEvent;
 
 public class MysqlExecutor implements SecurityEventSqlExecutor {
 
-  JsonConverter converter = JsonConverter.snakeCaseInstance();
-
-  @Override
-  public void insert(SecurityEvent securityEvent) {
-    SqlExecutor sqlExecutor = new SqlExecutor();
-    String sqlTemplate =
-        """
+  private static final String INSERT_SQL =
+      """
            INSERT IGNORE INTO security_event (
                id,
                type,
@@ -64,6 +59,26 @@ public class MysqlExecutor implements SecurityEventSqlExecutor {
                ?
                );
                 """;
+
+  JsonConverter converter = JsonConverter.snakeCaseInstance();
+
+  @Override
+  public void insert(SecurityEvent securityEvent) {
+    SqlExecutor sqlExecutor = new SqlExecutor();
+    sqlExecutor.execute(INSERT_SQL, insertParams(securityEvent));
+  }
+
+  @Override
+  public void bulkInsert(List<SecurityEvent> securityEvents) {
+    SqlExecutor sqlExecutor = new SqlExecutor();
+    List<List<Object>> paramsList = new ArrayList<>();
+    for (SecurityEvent securityEvent : securityEvents) {
+      paramsList.add(insertParams(securityEvent));
+    }
+    sqlExecutor.executeBatch(INSERT_SQL, paramsList);
+  }
+
+  private List<Object> insertParams(SecurityEvent securityEvent) {
     List<Object> params = new ArrayList<>();
     params.add(securityEvent.identifier().value());
     params.add(securityEvent.type().value());
@@ -89,6 +104,6 @@ public class MysqlExecutor implements SecurityEventSqlExecutor {
     params.add(converter.write(securityEvent.detail().toMap()));
     params.add(securityEvent.createdAt().value());
 
-    sqlExecutor.execute(sqlTemplate, params);
+    return params;
   }
 }
@@ -16,6 +16,7 @@
 
 package org.idp.server.core.adapters.datasource.security.event.command;
 
+import java.util.List;
 import org.idp.server.platform.json.JsonConverter;
 import org.idp.server.platform.multi_tenancy.tenant.Tenant;
 import org.idp.server.platform.security.SecurityEvent;
@@ -35,4 +36,9 @@ public class SecurityEventCommandDataSource implements SecurityEventCommandRepos
   public void register(Tenant tenant, SecurityEvent securityEvent) {
     executor.insert(securityEvent);
   }
+
+  @Override
+  public void bulkRegister(Tenant tenant, List<SecurityEvent> securityEvents) {
+    executor.bulkInsert(securityEvents);
+  }
 }
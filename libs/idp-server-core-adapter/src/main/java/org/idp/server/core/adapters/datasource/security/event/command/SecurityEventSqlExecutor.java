@@ -16,8 +16,11 @@
 
 package org.idp.server.core.adapters.datasource.security.event.command;
 
+import java.util.List;
 import org.idp.server.platform.security.SecurityEvent;
 
 public interface SecurityEventSqlExecutor {
   void insert(SecurityEvent securityEvent);
+
+  void bulkInsert(List<SecurityEvent> securityEvents);
 }
@@ -21,6 +21,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import org.idp.server.platform.datasource.CountSqlExecutor;
+import org.idp.server.platform.datasource.CountStrategy;
 import org.idp.server.platform.datasource.SqlExecutor;
 import org.idp.server.platform.json.JsonNestingBuilder;
 import org.idp.server.platform.multi_tenancy.tenant.Tenant;
@@ -133,6 +135,14 @@ public class PostgresqlExecutor implements SecurityEventSqlExecutor {
       }
     }
 
+    CountStrategy countStrategy = queries.countStrategy();
+    if (countStrategy.isCapped()) {
+      return CountSqlExecutor.capped(sql.toString(), params);
+    }
+    if (countStrategy.isEstimated()) {
+      return CountSqlExecutor.estimateWithPostgresql(sql.toString(), params);
+    }
+
     String countSql = "SELECT COUNT(*) FROM (" + sql.toString() + " LIMIT 1000001) t";
     return sqlExecutor.selectOne(countSql, params);
   }
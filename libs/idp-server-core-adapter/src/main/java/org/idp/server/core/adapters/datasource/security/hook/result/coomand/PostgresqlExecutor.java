@@ -26,42 +26,28 @@ import org.idp.server.platform.security.hook.SecurityEventHookStatus;
 
 public class PostgresqlExecutor implements SecurityEventHoolResultSqlExecutor {
 
+  private static final String INSERT_SQL =
+      """
+          INSERT INTO security_event_hook_results
+          (
+           id,
+           tenant_id,
+           security_event_id,
+           security_event_type,
+           security_event_hook,
+           security_event_payload,
+           security_event_hook_execution_payload,
+           status
+          )
+          VALUES (?::uuid, ?::uuid, ?::uuid, ?, ?, ?::jsonb, ?::jsonb, ?);
+          """;
+
   JsonConverter converter = JsonConverter.snakeCaseInstance();
 
   @Override
   public void insert(Tenant tenant, SecurityEventHookResult result) {
     SqlExecutor sqlExecutor = new SqlExecutor();
-    StringBuilder sql =
-        new StringBuilder(
-            """
-              INSERT INTO security_event_hook_results
-              (
-               id,
-               tenant_id,
-               security_event_id,
-               security_event_type,
-               security_event_hook,
-               security_event_payload,
-               security_event_hook_execution_payload,
-               status
-              )
-              VALUES
-          """);
-
-    List<Object> params = new ArrayList<>();
-    sql.append("(?::uuid, ?::uuid, ?::uuid, ?, ?, ?::jsonb, ?::jsonb, ?)");
-    params.add(result.identifier().valueAsUuid());
-    params.add(tenant.identifierUUID());
-    params.add(result.securityEvent().identifier().valueAsUuid());
-    params.add(result.securityEvent().type().value());
-    params.add(result.type().name());
-    params.add(converter.write(result.securityEvent().toMap()));
-    String executionPayload = converter.write(result.contents());
-    params.add(executionPayload);
-    params.add(result.status().name());
-    sql.append(";");
-
-    sqlExecutor.execute(sql.toString(), params);
+    sqlExecutor.execute(INSERT_SQL, insertParams(tenant, result));
   }
 
   @Override
@@ -87,42 +73,23 @@ public class PostgresqlExecutor implements SecurityEventHoolResultSqlExecutor {
   @Override
   public void bulkInsert(Tenant tenant, List<SecurityEventHookResult> results) {
     SqlExecutor sqlExecutor = new SqlExecutor();
-    StringBuilder sql =
-        new StringBuilder(
-            """
-      INSERT INTO security_event_hook_results
-      (
-       id,
-       tenant_id,
-       security_event_id,
-       security_event_type,
-       security_event_hook,
-       security_event_payload,
-       security_event_hook_execution_payload,
-       status
-      )
-      VALUES
-  """);
-
-    List<Object> params = new ArrayList<>();
-    for (int i = 0; i < results.size(); i++) {
-      SecurityEventHookResult result = results.get(i);
-      if (i > 0) {
-        sql.append(", ");
-      }
-      sql.append("(?::uuid, ?::uuid, ?::uuid, ?, ?, ?::jsonb, ?::jsonb, ?)");
-      params.add(result.identifier().valueAsUuid());
-      params.add(tenant.identifierUUID());
-      params.add(result.securityEvent().identifier().valueAsUuid());
-      params.add(result.securityEvent().type().value());
-      params.add(result.type().name());
-      params.add(converter.write(result.securityEvent().toMap()));
-      String executionPayload = converter.write(result.contents());
-      params.add(executionPayload);
-      params.add(result.status().name());
+    List<List<Object>> paramsList = new ArrayList<>();
+    for (SecurityEventHookResult result : results) {
+      paramsList.add(insertParams(tenant, result));
     }
-    sql.append(";");
+    sqlExecutor.executeBatch(INSERT_SQL, paramsList);
+  }
 
-    sqlExecutor.execute(sql.toString(), params);
+  private List<Object> insertParams(Tenant tenant, SecurityEventHookResult result) {
+    List<Object> params = new ArrayList<>();
+    params.add(result.identifier().valueAsUuid());
+    params.add(tenant.identifierUUID());
+    params.add(result.securityEvent().identifier().valueAsUuid());
+    params.add(result.securityEvent().type().value());
+    params.add(result.type().name());
+    params.add(converter.write(result.securityEvent().toMap()));
+    params.add(converter.write(result.contents()));
+    params.add(result.status().name());
+    return params;
   }
 }
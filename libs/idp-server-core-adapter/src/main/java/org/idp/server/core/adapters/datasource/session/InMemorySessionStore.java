@@ -18,10 +18,14 @@ package org.idp.server.core.adapters.datasource.session;
 
 import java.time.Instant;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 import org.idp.server.platform.datasource.session.SessionStore;
 
 /**
@@ -34,6 +38,7 @@ public class InMemorySessionStore implements SessionStore {
 
   private final Map<String, Entry> store = new ConcurrentHashMap<>();
   private final Map<String, Set<String>> sets = new ConcurrentHashMap<>();
+  private final Map<String, Map<String, Double>> sortedSets = new ConcurrentHashMap<>();
   private final Map<String, Instant> setExpirations = new ConcurrentHashMap<>();
 
   @Override
@@ -55,6 +60,38 @@ public class InMemorySessionStore implements SessionStore {
     return Optional.of(entry.value());
   }
 
+  @Override
+  public Map<String, String> getAll(List<String> keys) {
+    Map<String, String> found = new LinkedHashMap<>();
+    for (String key : keys) {
+      get(key).ifPresent(value -> found.put(key, value));
+    }
+    return found;
+  }
+
+  @Override
+  public Optional<String> getAndDelete(String key) {
+    Entry entry = store.remove(key);
+    if (entry == null || entry.isExpired()) {
+      return Optional.empty();
+    }
+    return Optional.of(entry.value());
+  }
+
+  @Override
+  public boolean setIfAbsent(String key, String value, long ttlSeconds) {
+    Entry created = new Entry(value, Instant.now().plusSeconds(ttlSeconds));
+    Entry current =
+        store.compute(key, (k, entry) -> entry == null || entry.isExpired() ? created : entry);
+    return current == created;
+  }
+
+  @Override
+  public boolean deleteIfEquals(String key, String value) {
+    Entry entry = store.get(key);
+    return entry != null && entry.value().equals(value) && store.remove(key, entry);
+  }
+
   @Override
   public void delete(String... keys) {
     if (keys == null) {
@@ -63,6 +100,7 @@ public class InMemorySessionStore implements SessionStore {
     for (String key : keys) {
       store.remove(key);
       sets.remove(key);
+      sortedSets.remove(key);
       setExpirations.remove(key);
     }
   }
@@ -94,6 +132,55 @@ public class InMemorySessionStore implements SessionStore {
     return set != null ? Collections.unmodifiableSet(set) : Collections.emptySet();
   }
 
+  @Override
+  public void sortedSetAdd(String key, String member, double score) {
+    sortedSets.computeIfAbsent(key, k -> new ConcurrentHashMap<>()).put(member, score);
+  }
+
+  @Override
+  public void sortedSetRemove(String key, String member) {
+    Map<String, Double> sortedSet = sortedSets.get(key);
+    if (sortedSet != null) {
+      sortedSet.remove(member);
+    }
+  }
+
+  @Override
+  public void sortedSetRemoveByScore(String key, double min, double max) {
+    Map<String, Double> sortedSet = sortedSets.get(key);
+    if (sortedSet != null) {
+      sortedSet.values().removeIf(score -> score >= min && score <= max);
+    }
+  }
+
+  @Override
+  public long sortedSetCount(String key, double min, double max) {
+    return sortedSetEntries(key, min, max).count();
+  }
+
+  @Override
+  public List<String> sortedSetRangeByScoreDescending(
+      String key, double min, double max, int offset, int count) {
+    Stream<String> members =
+        sortedSetEntries(key, min, max)
+            .sorted(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder()))
+            .map(Map.Entry::getKey)
+            .skip(offset);
+    return (count < 0 ? members : members.limit(count)).toList();
+  }
+
+  private Stream<Map.Entry<String, Double>> sortedSetEntries(String key, double min, double max) {
+    Instant expiration = setExpirations.get(key);
+    if (expiration != null && Instant.now().isAfter(expiration)) {
+      sortedSets.remove(key);
+      setExpirations.remove(key);
+      return Stream.empty();
+    }
+    Map<String, Double> sortedSet = sortedSets.getOrDefault(key, Map.of());
+    return sortedSet.entrySet().stream()
+        .filter(entry -> entry.getValue() >= min && entry.getValue() <= max);
+  }
+
   @Override
   public void expire(String key, long ttlSeconds) {
     // For regular entries
@@ -103,8 +190,8 @@ public class InMemorySessionStore implements SessionStore {
       store.put(key, new Entry(entry.value(), expiresAt));
     }
 
-    // For set entries
-    if (sets.containsKey(key)) {
+    // For set and sorted set entries
+    if (sets.containsKey(key) || sortedSets.containsKey(key)) {
       if (ttlSeconds > 0) {
         setExpirations.put(key, Instant.now().plusSeconds(ttlSeconds));
       } else {
@@ -133,7 +220,7 @@ public class InMemorySessionStore implements SessionStore {
     }
 
     // Check if set exists without expiration
-    if (sets.containsKey(key)) {
+    if (sets.containsKey(key) || sortedSets.containsKey(key)) {
       return -1; // No expiration
     }
 
@@ -144,6 +231,7 @@ public class InMemorySessionStore implements SessionStore {
   public void clear() {
     store.clear();
     sets.clear();
+    sortedSets.clear();
     setExpirations.clear();
   }
 
@@ -17,6 +17,9 @@
 package org.idp.server.core.adapters.datasource.session;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import org.idp.server.platform.datasource.session.SessionConfiguration;
@@ -26,6 +29,7 @@ import org.idp.server.platform.log.LoggerWrapper;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.params.SetParams;
 
 /**
  * JedisSessionStore
@@ -35,6 +39,8 @@ import redis.clients.jedis.JedisPoolConfig;
 public class JedisSessionStore implements SessionStore {
 
   private static final LoggerWrapper log = LoggerWrapper.getLogger(JedisSessionStore.class);
+  private static final String DELETE_IF_EQUALS_SCRIPT =
+      "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) else return 0 end";
 
   private final JedisPool jedisPool;
 
@@ -86,6 +92,59 @@ public class JedisSessionStore implements SessionStore {
     }
   }
 
+  @Override
+  public Map<String, String> getAll(List<String> keys) {
+    if (keys.isEmpty()) {
+      return Map.of();
+    }
+    try (Jedis jedis = jedisPool.getResource()) {
+      List<String> values = jedis.mget(keys.toArray(String[]::new));
+      Map<String, String> found = new LinkedHashMap<>();
+      for (int i = 0; i < keys.size(); i++) {
+        if (values.get(i) != null) {
+          found.put(keys.get(i), values.get(i));
+        }
+      }
+      return found;
+    } catch (Exception e) {
+      log.error("Failed to get keys: count={}", keys.size(), e);
+      return Map.of();
+    }
+  }
+
+  @Override
+  public Optional<String> getAndDelete(String key) {
+    try (Jedis jedis = jedisPool.getResource()) {
+      String value = jedis.getDel(key);
+      return Optional.ofNullable(value);
+    } catch (Exception e) {
+      log.error("Failed to get and delete key: {}", key, e);
+      throw new SessionStoreException("Failed to consume session data", e);
+    }
+  }
+
+  @Override
+  public boolean setIfAbsent(String key, String value, long ttlSeconds) {
+    try (Jedis jedis = jedisPool.getResource()) {
+      String result = jedis.set(key, value, SetParams.setParams().nx().ex(ttlSeconds));
+      return "OK".equals(result);
+    } catch (Exception e) {
+      log.error("Failed to set key if absent: {}", key, e);
+      throw new SessionStoreException("Failed to set session data", e);
+    }
+  }
+
+  @Override
+  public boolean deleteIfEquals(String key, String value) {
+    try (Jedis jedis = jedisPool.getResource()) {
+      Object result = jedis.eval(DELETE_IF_EQUALS_SCRIPT, 1, key, value);
+      return Long.valueOf(1L).equals(result);
+    } catch (Exception e) {
+      log.error("Failed to delete key if equals: {}", key, e);
+      throw new SessionStoreException("Failed to delete session data", e);
+    }
+  }
+
   @Override
   public void delete(String... keys) {
     if (keys == null || keys.length == 0) {
@@ -130,6 +189,58 @@ public class JedisSessionStore implements SessionStore {
     }
   }
 
+  @Override
+  public void sortedSetAdd(String key, String member, double score) {
+    try (Jedis jedis = jedisPool.getResource()) {
+      jedis.zadd(key, score, member);
+    } catch (Exception e) {
+      log.error("Failed to add to sorted set: {}", key, e);
+      throw new SessionStoreException("Failed to add to session index", e);
+    }
+  }
+
+  @Override
+  public void sortedSetRemove(String key, String member) {
+    try (Jedis jedis = jedisPool.getResource()) {
+      jedis.zrem(key, member);
+    } catch (Exception e) {
+      log.error("Failed to remove from sorted set: {}", key, e);
+      throw new SessionStoreException("Failed to remove from session index", e);
+    }
+  }
+
+  @Override
+  public void sortedSetRemoveByScore(String key, double min, double max) {
+    try (Jedis jedis = jedisPool.getResource()) {
+      jedis.zremrangeByScore(key, min, max);
+    } catch (Exception e) {
+      log.error("Failed to remove from sorted set by score: {}", key, e);
+      throw new SessionStoreException("Failed to remove from session index", e);
+    }
+  }
+
+  @Override
+  public long sortedSetCount(String key, double min, double max) {
+    try (Jedis jedis = jedisPool.getResource()) {
+      return jedis.zcount(key, min, max);
+    } catch (Exception e) {
+      log.error("Failed to count sorted set: {}", key, e);
+      return 0;
+    }
+  }
+
+  @Override
+  public List<String> sortedSetRangeByScoreDescending(
+      String key, double min, double max, int offset, int count) {
+    try (Jedis jedis = jedisPool.getResource()) {
+      List<String> members = jedis.zrevrangeByScore(key, max, min, offset, count);
+      return members != null ? members : List.of();
+    } catch (Exception e) {
+      log.error("Failed to get sorted set range: {}", key, e);
+      return List.of();
+    }
+  }
+
   @Override
   public void expire(String key, long ttlSeconds) {
     try (Jedis jedis = jedisPool.getResource()) {
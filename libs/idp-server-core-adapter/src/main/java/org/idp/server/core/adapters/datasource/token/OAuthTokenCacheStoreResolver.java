@@ -32,6 +32,8 @@ public class OAuthTokenCacheStoreResolver {
     // (Aurora: typically 10-20ms, spikes under write-heavy load; non-Aurora replicas can lag
     // seconds). When the cache backend is disabled (CACHE_ENABLE=false), the resolved CacheStore
     // is a NoOperationCacheStore, so this degrades safely to a no-op.
+    // DB_REPLICA_CONSISTENCY_MODE=shared covers the same case at the connection level for
+    // non-Aurora replicas (see ReplicaConsistency).
     String tokenCacheEnabled = System.getenv(ENV_TOKEN_CACHE_ENABLED);
     if ("false".equalsIgnoreCase(tokenCacheEnabled)) {
       return new NoOperationCacheStore();
@@ -84,10 +84,13 @@ public class OAuthTokenCommandDataSource implements OAuthTokenCommandRepository
         executor.selectHashedAccessTokensByUserAndClient(
             tenant.identifierValue(), user.sub(), clientId.value());
 
-    for (String hashedAccessToken : hashedAccessTokens) {
-      cacheStore.delete(
-          OAuthTokenCacheKeyBuilder.build(tenant.identifierValue(), hashedAccessToken));
-    }
+    List<String> cacheKeys =
+        hashedAccessTokens.stream()
+            .map(
+                hashedAccessToken ->
+                    OAuthTokenCacheKeyBuilder.build(tenant.identifierValue(), hashedAccessToken))
+            .toList();
+    cacheStore.deleteAll(cacheKeys);
 
     executor.deleteByUserAndClient(tenant.identifierValue(), user.sub(), clientId.value());
   }
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.adapters.datasource.authentication.transaction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.idp.server.core.adapters.datasource.authentication.transaction.command.AuthenticationTransactionCommandRedisDataSource;
+import org.idp.server.core.adapters.datasource.authentication.transaction.query.AuthenticationTransactionQueryRedisDataSource;
+import org.idp.server.core.adapters.datasource.session.InMemorySessionStore;
+import org.idp.server.core.openid.authentication.AuthenticationContext;
+import org.idp.server.core.openid.authentication.AuthenticationInteractionResults;
+import org.idp.server.core.openid.authentication.AuthenticationRequest;
+import org.idp.server.core.openid.authentication.AuthenticationTransaction;
+import org.idp.server.core.openid.authentication.AuthenticationTransactionAttributes;
+import org.idp.server.core.openid.authentication.AuthenticationTransactionIdentifier;
+import org.idp.server.core.openid.authentication.AuthenticationTransactionQueries;
+import org.idp.server.core.openid.authentication.AuthorizationIdentifier;
+import org.idp.server.core.openid.authentication.exception.AuthenticationTransactionNotFoundException;
+import org.idp.server.core.openid.authentication.policy.AuthenticationPolicy;
+import org.idp.server.core.openid.identity.User;
+import org.idp.server.core.openid.identity.device.AuthenticationDevice;
+import org.idp.server.core.openid.identity.device.AuthenticationDeviceIdentifier;
+import org.idp.server.core.openid.oauth.configuration.client.ClientAttributes;
+import org.idp.server.core.openid.oauth.rar.AuthorizationDetails;
+import org.idp.server.core.openid.oauth.type.AuthFlow;
+import org.idp.server.core.openid.oauth.type.ciba.BindingMessage;
+import org.idp.server.core.openid.oauth.type.oauth.RequestedClientId;
+import org.idp.server.core.openid.oauth.type.oauth.Scopes;
+import org.idp.server.core.openid.oauth.type.oidc.AcrValues;
+import org.idp.server.platform.date.SystemDateTime;
+import org.idp.server.platform.multi_tenancy.tenant.Tenant;
+import org.idp.server.platform.multi_tenancy.tenant.TenantAttributes;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AuthenticationTransactionRedisDataSourceTest {
+
+  TenantIdentifier tenantIdentifier = new TenantIdentifier("123e4567-e89b-12d3-a456-426614174000");
+  AuthenticationTransactionIdentifier transactionIdentifier =
+      new AuthenticationTransactionIdentifier("223e4567-e89b-12d3-a456-426614174000");
+  AuthorizationIdentifier authorizationIdentifier =
+      new AuthorizationIdentifier("323e4567-e89b-12d3-a456-426614174000");
+  AuthenticationDeviceIdentifier deviceIdentifier =
+      new AuthenticationDeviceIdentifier("423e4567-e89b-12d3-a456-426614174000");
+
+  InMemorySessionStore sessionStore;
+  AuthenticationTransactionCommandRedisDataSource commandDataSource;
+  AuthenticationTransactionQueryRedisDataSource queryDataSource;
+  Tenant tenant;
+
+  @BeforeEach
+  void setUp() {
+    sessionStore = new InMemorySessionStore();
+    commandDataSource = new AuthenticationTransactionCommandRedisDataSource(sessionStore);
+    queryDataSource = new AuthenticationTransactionQueryRedisDataSource(sessionStore);
+    tenant =
+        new Tenant() {
+          @Override
+          public TenantIdentifier identifier() {
+            return tenantIdentifier;
+          }
+
+          @Override
+          public String identifierValue() {
+            return tenantIdentifier.value();
+          }
+
+          @Override
+          public TenantAttributes attributes() {
+            return new TenantAttributes();
+          }
+        };
+  }
+
+  @Test
+  void registeredTransactionIsFoundByIdAndAuthorizationId() {
+    commandDataSource.register(tenant, transaction(new AuthenticationDevice()));
+
+    AuthenticationTransaction byId = queryDataSource.get(tenant, transactionIdentifier);
+    AuthenticationTransaction byAuthorization =
+        queryDataSource.get(tenant, authorizationIdentifier);
+
+    assertEquals(transactionIdentifier.value(), byId.identifier().value());
+    assertEquals("client-001", byId.request().requestedClientId().value());
+    assertEquals(transactionIdentifier.value(), byAuthorization.identifier().value());
+    long ttl =
+        sessionStore.ttl(
+            AuthenticationTransactionStoreKeys.transaction(
+                tenantIdentifier, transactionIdentifier));
+    assertTrue(ttl > 0 && ttl <= 600, "ttl=" + ttl);
+  }
+
+  @Test
+  void updateIndexesDeviceAttachedLater() {
+    commandDataSource.register(tenant, transaction(new AuthenticationDevice()));
+    assertTrue(
+        queryDataSource
+            .findList(tenant, deviceIdentifier, new AuthenticationTransactionQueries(Map.of()))
+            .isEmpty());
+
+    commandDataSource.update(tenant, transaction(device()));
+
+    List<AuthenticationTransaction> found =
+        queryDataSource.findList(
+            tenant, deviceIdentifier, new AuthenticationTransactionQueries(Map.of()));
+    assertEquals(1, found.size());
+    assertEquals(deviceIdentifier.value(), found.get(0).authenticationDevice().id());
+    assertEquals(
+        1,
+        queryDataSource.findTotalCount(
+            tenant, deviceIdentifier, new AuthenticationTransactionQueries(Map.of())));
+  }
+
+  @Test
+  void listingAppliesQueries() {
+    commandDataSource.register(tenant, transaction(device()));
+
+    assertEquals(
+        1,
+        queryDataSource.findTotalCount(
+            tenant, new AuthenticationTransactionQueries(Map.of("client_id", "client-001"))));
+    assertEquals(
+        0,
+        queryDataSource.findTotalCount(
+            tenant, new AuthenticationTransactionQueries(Map.of("client_id", "other"))));
+    assertEquals(
+        0,
+        queryDataSource
+            .findList(tenant, new AuthenticationTransactionQueries(Map.of("offset", "1")))
+            .size());
+  }
+
+  @Test
+  void deleteByAuthorizationIdentifierRemovesTransactionAndIndexes() {
+    commandDataSource.register(tenant, transaction(device()));
+
+    commandDataSource.deleteByAuthorizationIdentifier(tenant, authorizationIdentifier);
+
+    assertFalse(queryDataSource.find(tenant, transactionIdentifier).exists());
+    assertThrows(
+        AuthenticationTransactionNotFoundException.class,
+        () -> queryDataSource.get(tenant, authorizationIdentifier));
+    assertEquals(
+        0,
+        indexSize(
+            AuthenticationTransactionStoreKeys.deviceIndex(tenantIdentifier, deviceIdentifier)));
+    assertEquals(0, indexSize(AuthenticationTransactionStoreKeys.tenantIndex(tenantIdentifier)));
+  }
+
+  @Test
+  void expiredTransactionIsDroppedFromIndexOnRead() {
+    commandDataSource.register(tenant, transaction(device()));
+    sessionStore.delete(
+        AuthenticationTransactionStoreKeys.transaction(tenantIdentifier, transactionIdentifier));
+
+    assertTrue(
+        queryDataSource.findList(tenant, new AuthenticationTransactionQueries(Map.of())).isEmpty());
+    assertEquals(0, indexSize(AuthenticationTransactionStoreKeys.tenantIndex(tenantIdentifier)));
+  }
+
+  @Test
+  void registerPrunesExpiredIndexMembers() {
+    String tenantIndex = AuthenticationTransactionStoreKeys.tenantIndex(tenantIdentifier);
+    sessionStore.sortedSetAdd(
+        tenantIndex, "expired", SystemDateTime.currentEpochMilliSecond() - 1_000);
+
+    commandDataSource.register(tenant, transaction(device()));
+
+    assertEquals(
+        List.of(transactionIdentifier.value()),
+        sessionStore.sortedSetRangeByScoreDescending(
+            tenantIndex, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 0, -1));
+  }
+
+  @Test
+  void unfilteredListingPagesTheIndexNewestExpiryFirst() {
+    AuthenticationTransactionIdentifier first =
+        new AuthenticationTransactionIdentifier("523e4567-e89b-12d3-a456-426614174000");
+    AuthenticationTransactionIdentifier second =
+        new AuthenticationTransactionIdentifier("623e4567-e89b-12d3-a456-426614174000");
+    AuthenticationTransactionIdentifier third =
+        new AuthenticationTransactionIdentifier("723e4567-e89b-12d3-a456-426614174000");
+    commandDataSource.register(tenant, transaction(first, new AuthenticationDevice(), 600));
+    commandDataSource.register(tenant, transaction(second, new AuthenticationDevice(), 700));
+    commandDataSource.register(tenant, transaction(third, new AuthenticationDevice(), 800));
+
+    List<AuthenticationTransaction> firstPage =
+        queryDataSource.findList(
+            tenant, new AuthenticationTransactionQueries(Map.of("limit", "2")));
+    List<AuthenticationTransaction> secondPage =
+        queryDataSource.findList(
+            tenant, new AuthenticationTransactionQueries(Map.of("limit", "2", "offset", "2")));
+
+    assertEquals(
+        List.of(third.value(), second.value()),
+        firstPage.stream().map(transaction -> transaction.identifier().value()).toList());
+    assertEquals(
+        List.of(first.value()),
+        secondPage.stream().map(transaction -> transaction.identifier().value()).toList());
+    assertEquals(
+        3, queryDataSource.findTotalCount(tenant, new AuthenticationTransactionQueries(Map.of())));
+  }
+
+  private long indexSize(String indexKey) {
+    return sessionStore.sortedSetCount(
+        indexKey, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+  }
+
+  private AuthenticationTransaction transaction(AuthenticationDevice device) {
+    return transaction(transactionIdentifier, device, 600);
+  }
+
+  private AuthenticationTransaction transaction(
+      AuthenticationTransactionIdentifier identifier,
+      AuthenticationDevice device,
+      long lifetimeSeconds) {
+    LocalDateTime now = SystemDateTime.now();
+    AuthenticationRequest request =
+        new AuthenticationRequest(
+            new AuthFlow("oauth"),
+            tenantIdentifier,
+            new TenantAttributes(),
+            new RequestedClientId("client-001"),
+            new ClientAttributes(),
+            User.notFound(),
+            device,
+            new AuthenticationContext(
+                new AcrValues(""),
+                new Scopes("openid"),
+                new BindingMessage(""),
+                new AuthorizationDetails()),
+            now,
+            now.plusSeconds(lifetimeSeconds));
+    return new AuthenticationTransaction(
+        identifier,
+        authorizationIdentifier,
+        request,
+        new AuthenticationPolicy(),
+        new AuthenticationInteractionResults(),
+        new AuthenticationTransactionAttributes());
+  }
+
+  private AuthenticationDevice device() {
+    return new AuthenticationDevice(
+        deviceIdentifier.value(), "app", "ios", "17", "iPhone", "ja", "fcm", "token", List.of(), 1);
+  }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.adapters.datasource.authentication.transaction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import org.idp.server.core.adapters.datasource.authentication.transaction.command.AuthenticationTransactionCommandRedisDataSource;
+import org.idp.server.core.adapters.datasource.authentication.transaction.query.AuthenticationTransactionQueryRedisDataSource;
+import org.idp.server.core.adapters.datasource.session.InMemorySessionStore;
+import org.idp.server.core.openid.authentication.AuthenticationContext;
+import org.idp.server.core.openid.authentication.AuthenticationInteractionRequestResult;
+import org.idp.server.core.openid.authentication.AuthenticationInteractionResults;
+import org.idp.server.core.openid.authentication.AuthenticationInteractionStatus;
+import org.idp.server.core.openid.authentication.AuthenticationRequest;
+import org.idp.server.core.openid.authentication.AuthenticationTransaction;
+import org.idp.server.core.openid.authentication.AuthenticationTransactionAttributes;
+import org.idp.server.core.openid.authentication.AuthenticationTransactionIdentifier;
+import org.idp.server.core.openid.authentication.AuthorizationIdentifier;
+import org.idp.server.core.openid.authentication.OperationType;
+import org.idp.server.core.openid.authentication.StandardAuthenticationInteraction;
+import org.idp.server.core.openid.authentication.policy.AuthenticationPolicy;
+import org.idp.server.core.openid.identity.User;
+import org.idp.server.core.openid.identity.device.AuthenticationDevice;
+import org.idp.server.core.openid.oauth.configuration.client.ClientAttributes;
+import org.idp.server.core.openid.oauth.rar.AuthorizationDetails;
+import org.idp.server.core.openid.oauth.type.AuthFlow;
+import org.idp.server.core.openid.oauth.type.ciba.BindingMessage;
+import org.idp.server.core.openid.oauth.type.oauth.RequestedClientId;
+import org.idp.server.core.openid.oauth.type.oauth.Scopes;
+import org.idp.server.core.openid.oauth.type.oidc.AcrValues;
+import org.idp.server.platform.datasource.DatabaseType;
+import org.idp.server.platform.datasource.TransactionManager;
+import org.idp.server.platform.date.SystemDateTime;
+import org.idp.server.platform.multi_tenancy.tenant.Tenant;
+import org.idp.server.platform.multi_tenancy.tenant.TenantAttributes;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+import org.idp.server.platform.security.event.DefaultSecurityEventType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AuthenticationTransactionRedisLockTest {
+
+  static final String PASSWORD =
+      StandardAuthenticationInteraction.PASSWORD_AUTHENTICATION.toType().name();
+
+  TenantIdentifier tenantIdentifier = new TenantIdentifier("123e4567-e89b-12d3-a456-426614174000");
+  AuthenticationTransactionIdentifier transactionIdentifier =
+      new AuthenticationTransactionIdentifier("223e4567-e89b-12d3-a456-426614174000");
+  AuthorizationIdentifier authorizationIdentifier =
+      new AuthorizationIdentifier("323e4567-e89b-12d3-a456-426614174000");
+
+  InMemorySessionStore sessionStore;
+  AuthenticationTransactionCommandRedisDataSource commandDataSource;
+  AuthenticationTransactionQueryRedisDataSource queryDataSource;
+  Tenant tenant;
+
+  @BeforeEach
+  void setUp() {
+    sessionStore = new InMemorySessionStore();
+    commandDataSource = new AuthenticationTransactionCommandRedisDataSource(sessionStore);
+    queryDataSource = new AuthenticationTransactionQueryRedisDataSource(sessionStore);
+    tenant =
+        new Tenant() {
+          @Override
+          public TenantIdentifier identifier() {
+            return tenantIdentifier;
+          }
+
+          @Override
+          public String identifierValue() {
+            return tenantIdentifier.value();
+          }
+
+          @Override
+          public TenantAttributes attributes() {
+            return new TenantAttributes();
+          }
+        };
+    TransactionManager.configure(
+        (databaseType, isAdmin) ->
+            (Connection)
+                Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[] {Connection.class},
+                    (proxy, method, args) ->
+                        method.getReturnType() == boolean.class ? false : null));
+    commandDataSource.register(tenant, transaction());
+  }
+
+  @Test
+  void concurrentFailedAttemptsAreAllCounted() throws Exception {
+    int attempts = 20;
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> results = new ArrayList<>();
+
+    try (ExecutorService executor = Executors.newFixedThreadPool(attempts)) {
+      for (int i = 0; i < attempts; i++) {
+        results.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  recordFailedPassword(
+                      () -> queryDataSource.getForUpdate(tenant, transactionIdentifier));
+                  return null;
+                }));
+      }
+      start.countDown();
+      for (Future<?> result : results) {
+        result.get();
+      }
+    }
+
+    AuthenticationTransaction updated = queryDataSource.get(tenant, transactionIdentifier);
+    assertEquals(attempts, updated.interactionResults().get(PASSWORD).failureCount());
+  }
+
+  @Test
+  void lockIsReleasedOnRollbackAndReentrantWithinTransaction() {
+    String lockKey =
+        AuthenticationTransactionStoreKeys.lock(tenantIdentifier, transactionIdentifier.value());
+
+    TransactionManager.beginTransaction(DatabaseType.MYSQL, tenantIdentifier);
+    queryDataSource.getForUpdate(tenant, transactionIdentifier);
+    queryDataSource.getForUpdate(tenant, authorizationIdentifier);
+    assertTrue(sessionStore.get(lockKey).isPresent());
+    TransactionManager.rollbackTransaction();
+
+    assertFalse(sessionStore.get(lockKey).isPresent());
+  }
+
+  @Test
+  void lookupByAuthorizationIdentifierTakesTheSameLock() throws Exception {
+    int attempts = 10;
+    List<Future<?>> results = new ArrayList<>();
+
+    try (ExecutorService executor = Executors.newFixedThreadPool(attempts)) {
+      for (int i = 0; i < attempts; i++) {
+        boolean byAuthorization = i % 2 == 0;
+        results.add(
+            executor.submit(
+                () -> {
+                  recordFailedPassword(
+                      () ->
+                          byAuthorization
+                              ? queryDataSource.getForUpdate(tenant, authorizationIdentifier)
+                              : queryDataSource.getForUpdate(tenant, transactionIdentifier));
+                  return null;
+                }));
+      }
+      for (Future<?> result : results) {
+        result.get();
+      }
+    }
+
+    AuthenticationTransaction updated = queryDataSource.get(tenant, transactionIdentifier);
+    assertEquals(attempts, updated.interactionResults().get(PASSWORD).failureCount());
+  }
+
+  /** One interaction step as the entry service runs it: lock, read, update, commit. */
+  private void recordFailedPassword(Supplier<AuthenticationTransaction> getForUpdate) {
+    TransactionManager.beginTransaction(DatabaseType.MYSQL, tenantIdentifier);
+    try {
+      AuthenticationTransaction current = getForUpdate.get();
+      AuthenticationInteractionRequestResult failure =
+          new AuthenticationInteractionRequestResult(
+              AuthenticationInteractionStatus.CLIENT_ERROR,
+              StandardAuthenticationInteraction.PASSWORD_AUTHENTICATION.toType(),
+              OperationType.AUTHENTICATION,
+              "password",
+              Map.of(),
+              DefaultSecurityEventType.password_failure);
+      commandDataSource.update(tenant, current.updateWith(failure));
+      TransactionManager.commitTransaction();
+    } catch (RuntimeException e) {
+      TransactionManager.rollbackTransaction();
+      throw e;
+    }
+  }
+
+  private AuthenticationTransaction transaction() {
+    LocalDateTime now = SystemDateTime.now();
+    AuthenticationRequest request =
+        new AuthenticationRequest(
+            new AuthFlow("oauth"),
+            tenantIdentifier,
+            new TenantAttributes(),
+            new RequestedClientId("client-001"),
+            new ClientAttributes(),
+            User.notFound(),
+            new AuthenticationDevice(),
+            new AuthenticationContext(
+                new AcrValues(""),
+                new Scopes("openid"),
+                new BindingMessage(""),
+                new AuthorizationDetails()),
+            now,
+            now.plusSeconds(600));
+    return new AuthenticationTransaction(
+        transactionIdentifier,
+        authorizationIdentifier,
+        request,
+        new AuthenticationPolicy(),
+        new AuthenticationInteractionResults(),
+        new AuthenticationTransactionAttributes());
+  }
+}
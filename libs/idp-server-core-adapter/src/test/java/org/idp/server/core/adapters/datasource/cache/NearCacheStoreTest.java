@@ -0,0 +1,260 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.adapters.datasource.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.idp.server.platform.datasource.cache.CacheStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NearCacheStoreTest {
+
+  private AtomicLong now;
+  private CountingCacheStore delegate;
+  private RecordingBroadcaster broadcaster;
+  private NearCacheStore store;
+
+  @BeforeEach
+  void setUp() {
+    now = new AtomicLong(1_000_000);
+    delegate = new CountingCacheStore();
+    broadcaster = new RecordingBroadcaster();
+    NearCache nearCache = new NearCache(2, 1024, now::get);
+    store = new NearCacheStore(delegate, nearCache, broadcaster, 30, Set.of(Sample.class));
+  }
+
+  @Test
+  void find_shouldServeSecondReadFromNearCache() {
+    delegate.put("k1", new Sample("v1"));
+
+    Sample first = store.find("k1", Sample.class).orElseThrow();
+    Sample second = store.find("k1", Sample.class).orElseThrow();
+
+    assertEquals("v1", second.value);
+    assertSame(first, second);
+    assertEquals(1, delegate.findCount.get());
+  }
+
+  @Test
+  void find_shouldBypassNearCache_forNonCacheableTypes() {
+    delegate.put("counter", "text");
+
+    store.find("counter", String.class);
+    store.find("counter", String.class);
+
+    assertEquals(2, delegate.findCount.get());
+  }
+
+  @Test
+  void find_shouldReloadAfterTimeToLive() {
+    delegate.put("k1", new Sample("v1"));
+    store.find("k1", Sample.class);
+
+    now.addAndGet(31_000);
+    store.find("k1", Sample.class);
+
+    assertEquals(2, delegate.findCount.get());
+  }
+
+  @Test
+  void delete_shouldInvalidateLocallyAndBroadcast() {
+    delegate.put("k1", new Sample("v1"));
+    store.find("k1", Sample.class);
+
+    store.delete("k1");
+
+    assertTrue(store.find("k1", Sample.class).isEmpty());
+    assertEquals(1, broadcaster.published.size());
+    assertEquals(CacheInvalidation.Type.KEY, broadcaster.published.get(0).type());
+    assertEquals("k1", broadcaster.published.get(0).value());
+  }
+
+  @Test
+  void findAll_shouldLoadOnlyNearCacheMissesFromDelegate() {
+    delegate.put("k1", new Sample("v1"));
+    delegate.put("k2", new Sample("v2"));
+    store.find("k1", Sample.class);
+
+    Map<String, Sample> found = store.findAll(List.of("k1", "k2", "k3"), Sample.class);
+
+    assertEquals(List.of("k1", "k2"), new ArrayList<>(found.keySet()));
+    assertEquals("v2", found.get("k2").value);
+    assertEquals(List.of("k2", "k3"), delegate.findAllKeys);
+    assertSame(found.get("k2"), store.find("k2", Sample.class).orElseThrow());
+  }
+
+  @Test
+  void deleteAll_shouldInvalidateLocallyAndBroadcastEveryKey() {
+    delegate.put("k1", new Sample("v1"));
+    delegate.put("k2", new Sample("v2"));
+    store.findAll(List.of("k1", "k2"), Sample.class);
+
+    store.deleteAll(List.of("k1", "k2"));
+
+    assertTrue(store.findAll(List.of("k1", "k2"), Sample.class).isEmpty());
+    assertEquals(
+        List.of("k1", "k2"), broadcaster.published.stream().map(CacheInvalidation::value).toList());
+  }
+
+  @Test
+  void remoteInvalidation_shouldDropNearCacheEntriesByPrefix() {
+    delegate.put("tenantId:a:Sample", new Sample("v1"));
+    delegate.put("tenantId:b:Sample", new Sample("v2"));
+    store.find("tenantId:a:Sample", Sample.class);
+    store.find("tenantId:b:Sample", Sample.class);
+
+    broadcaster.listener.onInvalidation(CacheInvalidation.prefix("tenantId:a:"));
+    store.find("tenantId:a:Sample", Sample.class);
+    store.find("tenantId:b:Sample", Sample.class);
+
+    assertEquals(3, delegate.findCount.get());
+  }
+
+  @Test
+  void nearCache_shouldEvictLeastRecentlyUsed_whenEntryLimitIsExceeded() {
+    NearCache nearCache = new NearCache(2, 1024, now::get);
+
+    nearCache.put("a", "1", 1, 1000, nearCache.generation());
+    nearCache.put("b", "2", 1, 1000, nearCache.generation());
+    nearCache.get("a");
+    nearCache.put("c", "3", 1, 1000, nearCache.generation());
+
+    assertTrue(nearCache.get("a").isPresent());
+    assertTrue(nearCache.get("b").isEmpty());
+    assertTrue(nearCache.get("c").isPresent());
+  }
+
+  @Test
+  void nearCache_shouldEvict_whenWeightLimitIsExceeded() {
+    NearCache nearCache = new NearCache(100, 10, now::get);
+
+    nearCache.put("a", "1", 6, 1000, nearCache.generation());
+    nearCache.put("b", "2", 6, 1000, nearCache.generation());
+    nearCache.put("huge", "3", 11, 1000, nearCache.generation());
+
+    assertTrue(nearCache.get("a").isEmpty());
+    assertTrue(nearCache.get("b").isPresent());
+    assertTrue(nearCache.get("huge").isEmpty());
+    assertEquals(6, nearCache.weight());
+  }
+
+  @Test
+  void nearCache_shouldNotStoreValueReadBeforeConcurrentInvalidation() {
+    NearCache nearCache = new NearCache(100, 1024, now::get);
+    long generation = nearCache.generation();
+
+    nearCache.invalidate("a");
+    nearCache.put("a", "stale", 1, 1000, generation);
+
+    assertTrue(nearCache.get("a").isEmpty());
+  }
+
+  public static class Sample {
+    public String value;
+
+    public Sample() {}
+
+    public Sample(String value) {
+      this.value = value;
+    }
+  }
+
+  private static class RecordingBroadcaster implements CacheInvalidationBroadcaster {
+    List<CacheInvalidation> published = new ArrayList<>();
+    CacheInvalidationListener listener;
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+      published.add(invalidation);
+    }
+
+    @Override
+    public void subscribe(CacheInvalidationListener listener) {
+      this.listener = listener;
+    }
+
+    @Override
+    public void close() {}
+  }
+
+  private static class CountingCacheStore implements CacheStore {
+    Map<String, Object> cache = new HashMap<>();
+    AtomicInteger findCount = new AtomicInteger();
+    List<String> findAllKeys = new ArrayList<>();
+
+    @Override
+    public <T> void put(String key, T value) {
+      cache.put(key, value);
+    }
+
+    @Override
+    public <T> void put(String key, T value, int timeToLiveSeconds) {
+      cache.put(key, value);
+    }
+
+    @Override
+    public <T> Optional<T> find(String key, Class<T> type) {
+      findCount.incrementAndGet();
+      Object value = cache.get(key);
+      return type.isInstance(value) ? Optional.of(type.cast(value)) : Optional.empty();
+    }
+
+    @Override
+    public <T> Map<String, T> findAll(Collection<String> keys, Class<T> type) {
+      findAllKeys.addAll(keys);
+      Map<String, T> found = new LinkedHashMap<>();
+      for (String key : keys) {
+        Object value = cache.get(key);
+        if (type.isInstance(value)) {
+          found.put(key, type.cast(value));
+        }
+      }
+      return found;
+    }
+
+    @Override
+    public boolean exists(String key) {
+      return cache.containsKey(key);
+    }
+
+    @Override
+    public void delete(String key) {
+      cache.remove(key);
+    }
+
+    @Override
+    public void deleteByPrefix(String prefix) {
+      cache.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    @Override
+    public long increment(String key, int timeToLiveSeconds) {
+      return 0;
+    }
+  }
+}
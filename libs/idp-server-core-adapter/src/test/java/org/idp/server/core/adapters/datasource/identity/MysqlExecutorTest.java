@@ -0,0 +1,88 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.adapters.datasource.identity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.idp.server.core.openid.identity.repository.UserSearchMode;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The indexed search must never return fewer rows than the plain {@code LIKE}: the ngram {@code
+ * MATCH} is only added for terms whose phrase match is guaranteed to include every {@code LIKE}
+ * hit.
+ */
+class MysqlExecutorTest {
+
+  @Test
+  void indexedModeMatchesFulltextForAlphanumericTerm() {
+    List<Object> params = new ArrayList<>();
+    String where = appendContains(UserSearchMode.INDEXED, "tanaka", params);
+
+    assertEquals(
+        " AND MATCH(idp_user.name) AGAINST (? IN BOOLEAN MODE) AND LOWER(idp_user.name) LIKE ?",
+        where);
+    assertEquals(List.of("\"tanaka\"", "%tanaka%"), params);
+  }
+
+  @Test
+  void indexedModeMatchesFulltextForMultibyteTerm() {
+    List<Object> params = new ArrayList<>();
+    String where = appendContains(UserSearchMode.INDEXED, "田中", params);
+
+    assertEquals(
+        " AND MATCH(idp_user.name) AGAINST (? IN BOOLEAN MODE) AND LOWER(idp_user.name) LIKE ?",
+        where);
+    assertEquals(List.of("\"田中\"", "%田中%"), params);
+  }
+
+  @Test
+  void indexedModeUsesOnlyLikeForTermsWithSeparators() {
+    for (String term : List.of("a.b", "x@y", "john doe", "taro.yamada@example.com", "o'brien")) {
+      List<Object> params = new ArrayList<>();
+      String where = appendContains(UserSearchMode.INDEXED, term, params);
+
+      assertEquals(" AND LOWER(idp_user.name) LIKE ?", where, term);
+      assertEquals(List.of("%" + term + "%"), params, term);
+    }
+  }
+
+  @Test
+  void indexedModeUsesOnlyLikeForTermsShorterThanTokenSize() {
+    List<Object> params = new ArrayList<>();
+    String where = appendContains(UserSearchMode.INDEXED, "a", params);
+
+    assertEquals(" AND LOWER(idp_user.name) LIKE ?", where);
+    assertEquals(List.of("%a%"), params);
+  }
+
+  @Test
+  void patternModeUsesOnlyLike() {
+    List<Object> params = new ArrayList<>();
+    String where = appendContains(UserSearchMode.PATTERN, "Tanaka", params);
+
+    assertEquals(" AND LOWER(idp_user.name) LIKE ?", where);
+    assertEquals(List.of("%tanaka%"), params);
+  }
+
+  private String appendContains(UserSearchMode searchMode, String term, List<Object> params) {
+    StringBuilder where = new StringBuilder();
+    new MysqlExecutor(searchMode).appendContains(where, params, "idp_user.name", term);
+    return where.toString();
+  }
+}
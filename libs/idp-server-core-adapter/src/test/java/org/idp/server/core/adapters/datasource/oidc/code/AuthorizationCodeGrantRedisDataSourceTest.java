@@ -0,0 +1,179 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.adapters.datasource.oidc.code;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.idp.server.core.adapters.datasource.oidc.AuthorizationFlowStoreKeys;
+import org.idp.server.core.adapters.datasource.session.InMemorySessionStore;
+import org.idp.server.core.openid.authentication.Authentication;
+import org.idp.server.core.openid.grant_management.grant.AuthorizationCodeGrant;
+import org.idp.server.core.openid.grant_management.grant.AuthorizationGrant;
+import org.idp.server.core.openid.grant_management.grant.GrantIdTokenClaims;
+import org.idp.server.core.openid.grant_management.grant.GrantUserinfoClaims;
+import org.idp.server.core.openid.grant_management.grant.consent.ConsentClaims;
+import org.idp.server.core.openid.identity.User;
+import org.idp.server.core.openid.oauth.configuration.client.ClientAttributes;
+import org.idp.server.core.openid.oauth.rar.AuthorizationDetails;
+import org.idp.server.core.openid.oauth.request.AuthorizationRequestIdentifier;
+import org.idp.server.core.openid.oauth.type.extension.CustomProperties;
+import org.idp.server.core.openid.oauth.type.extension.ExpiresAt;
+import org.idp.server.core.openid.oauth.type.oauth.AuthorizationCode;
+import org.idp.server.core.openid.oauth.type.oauth.GrantType;
+import org.idp.server.core.openid.oauth.type.oauth.RequestedClientId;
+import org.idp.server.core.openid.oauth.type.oauth.Scopes;
+import org.idp.server.platform.date.SystemDateTime;
+import org.idp.server.platform.multi_tenancy.tenant.Tenant;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AuthorizationCodeGrantRedisDataSourceTest {
+
+  TenantIdentifier tenantIdentifier = new TenantIdentifier("123e4567-e89b-12d3-a456-426614174000");
+  AuthorizationRequestIdentifier requestIdentifier =
+      new AuthorizationRequestIdentifier("223e4567-e89b-12d3-a456-426614174000");
+  AuthorizationCode code = new AuthorizationCode("code-001");
+
+  InMemorySessionStore sessionStore;
+  AuthorizationCodeGrantRedisDataSource dataSource;
+  Tenant tenant;
+
+  @BeforeEach
+  void setUp() {
+    sessionStore = new InMemorySessionStore();
+    dataSource = new AuthorizationCodeGrantRedisDataSource(sessionStore);
+    tenant =
+        new Tenant() {
+          @Override
+          public TenantIdentifier identifier() {
+            return tenantIdentifier;
+          }
+        };
+  }
+
+  @Test
+  void registeredGrantIsReadBackWithTimeToLive() {
+    dataSource.register(tenant, authorizationCodeGrant());
+
+    AuthorizationCodeGrant found = dataSource.find(tenant, code);
+
+    assertTrue(found.exists());
+    assertEquals(code.value(), found.authorizationCode().value());
+    assertEquals(requestIdentifier.value(), found.authorizationRequestIdentifier().value());
+    assertEquals("client-001", found.clientId().value());
+    assertEquals("openid profile", found.scopes().toStringValues());
+    long ttl =
+        sessionStore.ttl(AuthorizationFlowStoreKeys.authorizationCodeGrant(tenantIdentifier, code));
+    assertTrue(ttl > 0 && ttl <= 600, "ttl=" + ttl);
+  }
+
+  @Test
+  void findForUpdateDoesNotConsumeTheGrant() {
+    dataSource.register(tenant, authorizationCodeGrant());
+
+    // a token request that fails verification after the lookup
+    dataSource.findForUpdate(tenant, code);
+
+    AuthorizationCodeGrant retried = dataSource.findForUpdate(tenant, code);
+    assertTrue(retried.exists());
+    assertTrue(dataSource.consume(tenant, retried));
+  }
+
+  @Test
+  void consumeRemovesTheGrantOnlyOnce() {
+    dataSource.register(tenant, authorizationCodeGrant());
+    AuthorizationCodeGrant grant = dataSource.findForUpdate(tenant, code);
+
+    assertTrue(dataSource.consume(tenant, grant));
+    assertFalse(dataSource.consume(tenant, grant));
+    assertFalse(dataSource.findForUpdate(tenant, code).exists());
+  }
+
+  @Test
+  void concurrentRedemptionSucceedsOnlyOnce() throws Exception {
+    dataSource.register(tenant, authorizationCodeGrant());
+    int threads = 8;
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        Callable<Boolean> redeem =
+            () -> {
+              start.await();
+              AuthorizationCodeGrant grant = dataSource.findForUpdate(tenant, code);
+              return grant.exists() && dataSource.consume(tenant, grant);
+            };
+        results.add(executor.submit(redeem));
+      }
+      start.countDown();
+
+      int redeemed = 0;
+      for (Future<Boolean> result : results) {
+        if (result.get()) {
+          redeemed++;
+        }
+      }
+      assertEquals(1, redeemed);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void registerExtendsShorterLivedAuthorizationRequest() {
+    String requestKey =
+        AuthorizationFlowStoreKeys.authorizationRequest(tenantIdentifier, requestIdentifier);
+    sessionStore.set(requestKey, "{}", 5);
+
+    dataSource.register(tenant, authorizationCodeGrant());
+
+    assertTrue(sessionStore.ttl(requestKey) > 5);
+  }
+
+  private AuthorizationCodeGrant authorizationCodeGrant() {
+    AuthorizationGrant authorizationGrant =
+        new AuthorizationGrant(
+            tenantIdentifier,
+            new User().setSub("323e4567-e89b-12d3-a456-426614174000"),
+            new Authentication(),
+            new RequestedClientId("client-001"),
+            new ClientAttributes(),
+            GrantType.authorization_code,
+            new Scopes("openid profile"),
+            new GrantIdTokenClaims(""),
+            new GrantUserinfoClaims(""),
+            new CustomProperties(),
+            new AuthorizationDetails(),
+            new ConsentClaims());
+    return new AuthorizationCodeGrant(
+        requestIdentifier,
+        authorizationGrant,
+        code,
+        new ExpiresAt(SystemDateTime.now().plusSeconds(600)));
+  }
+}
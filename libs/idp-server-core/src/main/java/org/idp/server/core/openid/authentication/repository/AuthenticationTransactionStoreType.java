@@ -0,0 +1,52 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.openid.authentication.repository;
+
+import org.idp.server.platform.exception.UnSupportedException;
+
+/**
+ * Where authentication transactions are kept while a login is in progress.
+ *
+ * <ul>
+ *   <li>{@link #DATABASE}: rows in {@code authentication_transaction}, rewritten on every
+ *       interaction step and removed by the cleanup job once expired.
+ *   <li>{@link #REDIS}: entries in the session store that expire on their own TTL, with secondary
+ *       indexes by authorization id, authentication device id and tenant.
+ * </ul>
+ */
+public enum AuthenticationTransactionStoreType {
+  DATABASE,
+  REDIS;
+
+  public static AuthenticationTransactionStoreType of(String value) {
+    if (value == null || value.isEmpty()) {
+      return DATABASE;
+    }
+
+    for (AuthenticationTransactionStoreType type : AuthenticationTransactionStoreType.values()) {
+      if (type.name().equalsIgnoreCase(value)) {
+        return type;
+      }
+    }
+
+    throw new UnSupportedException("Unsupported authentication transaction store type: " + value);
+  }
+
+  public boolean isRedis() {
+    return this == REDIS;
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.openid.discovery;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Map;
+import org.idp.server.platform.hash.MessageDigestable;
+import org.idp.server.platform.json.JsonConverter;
+
+/**
+ * A discovery document (OpenID Provider metadata or JWKS) rendered once into its JSON bytes,
+ * together with a strong entity tag derived from those bytes.
+ *
+ * <p>The entity tag only depends on the content, so every node produces the same tag for the same
+ * configuration and conditional requests keep working behind a load balancer.
+ */
+public class DiscoveryDocument implements MessageDigestable {
+
+  private static final JsonConverter jsonConverter = JsonConverter.defaultInstance();
+
+  Map<String, Object> content;
+  byte[] body;
+  String etag;
+
+  public static DiscoveryDocument render(Map<String, Object> content) {
+    return new DiscoveryDocument(content);
+  }
+
+  private DiscoveryDocument(Map<String, Object> content) {
+    this.content = content;
+    this.body = jsonConverter.write(content).getBytes(StandardCharsets.UTF_8);
+    byte[] digest = digestWithSha256(body);
+    this.etag = "\"" + HexFormat.of().formatHex(Arrays.copyOf(digest, 16)) + "\"";
+  }
+
+  public Map<String, Object> content() {
+    return content;
+  }
+
+  /** The returned array is shared; callers must not modify it. */
+  public byte[] body() {
+    return body;
+  }
+
+  public String etag() {
+    return etag;
+  }
+
+  /**
+   * Evaluates an {@code If-None-Match} header value against this document (RFC 9110 13.1.2). The
+   * weak comparison function is used, so {@code W/} prefixed tags match as well.
+   */
+  public boolean matches(String ifNoneMatch) {
+    if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+      return false;
+    }
+    if (ifNoneMatch.trim().equals("*")) {
+      return true;
+    }
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = candidate.trim();
+      if (tag.startsWith("W/")) {
+        tag = tag.substring(2);
+      }
+      if (tag.equals(etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.openid.discovery;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.idp.server.core.openid.oauth.configuration.AuthorizationServerConfiguration;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+
+/**
+ * Per-tenant cache of pre-rendered discovery documents.
+ *
+ * <p>Documents are keyed by tenant and reused while their content is unchanged, which also detects
+ * updates made on other nodes. The JWKS document is compared by the private JWKS string. The
+ * provider metadata document is compared by the metadata map, which is cheap to build compared to
+ * serializing and hashing it; when the {@link AuthorizationServerConfiguration} instance is the one
+ * last seen (shared by the near cache) even that is skipped.
+ */
+public class DiscoveryDocumentCache {
+
+  private static final DiscoveryDocumentCache INSTANCE = new DiscoveryDocumentCache();
+
+  private final Map<String, ConfigurationEntry> configurations = new ConcurrentHashMap<>();
+  private final Map<String, JwksEntry> jwks = new ConcurrentHashMap<>();
+
+  public static DiscoveryDocumentCache getInstance() {
+    return INSTANCE;
+  }
+
+  DiscoveryDocumentCache() {}
+
+  public DiscoveryDocument configuration(
+      TenantIdentifier tenantIdentifier,
+      AuthorizationServerConfiguration authorizationServerConfiguration,
+      Supplier<Map<String, Object>> renderer) {
+    ConfigurationEntry cached = configurations.get(tenantIdentifier.value());
+    if (cached != null && cached.source == authorizationServerConfiguration) {
+      return cached.document;
+    }
+
+    Map<String, Object> content = renderer.get();
+    DiscoveryDocument document =
+        cached != null && cached.document.content().equals(content)
+            ? cached.document
+            : DiscoveryDocument.render(content);
+    configurations.put(
+        tenantIdentifier.value(),
+        new ConfigurationEntry(authorizationServerConfiguration, document));
+    return document;
+  }
+
+  public DiscoveryDocument jwks(
+      TenantIdentifier tenantIdentifier,
+      String privateJwks,
+      Supplier<Map<String, Object>> renderer) {
+    if (privateJwks == null) {
+      return DiscoveryDocument.render(renderer.get());
+    }
+
+    JwksEntry cached = jwks.get(tenantIdentifier.value());
+    if (cached != null && cached.source.equals(privateJwks)) {
+      return cached.document;
+    }
+
+    DiscoveryDocument document = DiscoveryDocument.render(renderer.get());
+    jwks.put(tenantIdentifier.value(), new JwksEntry(privateJwks, document));
+    return document;
+  }
+
+  public void invalidate(TenantIdentifier tenantIdentifier) {
+    configurations.remove(tenantIdentifier.value());
+    jwks.remove(tenantIdentifier.value());
+  }
+
+  static class ConfigurationEntry {
+    AuthorizationServerConfiguration source;
+    DiscoveryDocument document;
+
+    ConfigurationEntry(AuthorizationServerConfiguration source, DiscoveryDocument document) {
+      this.source = source;
+      this.document = document;
+    }
+  }
+
+  static class JwksEntry {
+    String source;
+    DiscoveryDocument document;
+
+    JwksEntry(String source, DiscoveryDocument document) {
+      this.source = source;
+      this.document = document;
+    }
+  }
+}
@@ -16,7 +16,8 @@
 
 package org.idp.server.core.openid.discovery.handler;
 
-import java.util.Map;
+import org.idp.server.core.openid.discovery.DiscoveryDocument;
+import org.idp.server.core.openid.discovery.DiscoveryDocumentCache;
 import org.idp.server.core.openid.discovery.JwksResponseCreator;
 import org.idp.server.core.openid.discovery.ServerConfigurationResponseCreator;
 import org.idp.server.core.openid.discovery.handler.io.JwksRequestResponse;
@@ -30,33 +31,40 @@ import org.idp.server.platform.multi_tenancy.tenant.Tenant;
 public class DiscoveryHandler {
 
   AuthorizationServerConfigurationQueryRepository authorizationServerConfigurationQueryRepository;
+  DiscoveryDocumentCache discoveryDocumentCache;
 
   public DiscoveryHandler(
       AuthorizationServerConfigurationQueryRepository
           authorizationServerConfigurationQueryRepository) {
     this.authorizationServerConfigurationQueryRepository =
         authorizationServerConfigurationQueryRepository;
+    this.discoveryDocumentCache = DiscoveryDocumentCache.getInstance();
   }
 
   public ServerConfigurationRequestResponse getConfiguration(Tenant tenant) {
     AuthorizationServerConfiguration authorizationServerConfiguration =
         authorizationServerConfigurationQueryRepository.get(tenant);
 
-    ServerConfigurationResponseCreator serverConfigurationResponseCreator =
-        new ServerConfigurationResponseCreator(authorizationServerConfiguration);
-    Map<String, Object> content = serverConfigurationResponseCreator.create();
+    DiscoveryDocument document =
+        discoveryDocumentCache.configuration(
+            tenant.identifier(),
+            authorizationServerConfiguration,
+            () ->
+                new ServerConfigurationResponseCreator(authorizationServerConfiguration).create());
 
-    return new ServerConfigurationRequestResponse(ServerConfigurationRequestStatus.OK, content);
+    return new ServerConfigurationRequestResponse(ServerConfigurationRequestStatus.OK, document);
   }
 
   public JwksRequestResponse getJwks(Tenant tenant) {
     AuthorizationServerConfiguration authorizationServerConfiguration =
         authorizationServerConfigurationQueryRepository.get(tenant);
 
-    JwksResponseCreator jwksResponseCreator =
-        new JwksResponseCreator(authorizationServerConfiguration);
-    Map<String, Object> content = jwksResponseCreator.create();
+    DiscoveryDocument document =
+        discoveryDocumentCache.jwks(
+            tenant.identifier(),
+            authorizationServerConfiguration.jwks(),
+            () -> new JwksResponseCreator(authorizationServerConfiguration).create());
 
-    return new JwksRequestResponse(JwksRequestStatus.OK, content);
+    return new JwksRequestResponse(JwksRequestStatus.OK, document);
   }
 }
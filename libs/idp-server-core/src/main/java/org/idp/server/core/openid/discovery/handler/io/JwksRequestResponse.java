@@ -17,16 +17,24 @@
 package org.idp.server.core.openid.discovery.handler.io;
 
 import java.util.Map;
+import org.idp.server.core.openid.discovery.DiscoveryDocument;
 
 public class JwksRequestResponse {
   JwksRequestStatus status;
   Map<String, Object> content;
+  DiscoveryDocument document;
 
   public JwksRequestResponse(JwksRequestStatus status, Map<String, Object> content) {
     this.status = status;
     this.content = content;
   }
 
+  public JwksRequestResponse(JwksRequestStatus status, DiscoveryDocument document) {
+    this.status = status;
+    this.content = document.content();
+    this.document = document;
+  }
+
   public JwksRequestStatus status() {
     return status;
   }
@@ -38,4 +46,12 @@ public class JwksRequestResponse {
   public int statusCode() {
     return status.statusCode();
   }
+
+  public boolean hasDocument() {
+    return document != null;
+  }
+
+  public DiscoveryDocument document() {
+    return document;
+  }
 }
@@ -17,11 +17,13 @@
 package org.idp.server.core.openid.discovery.handler.io;
 
 import java.util.Map;
+import org.idp.server.core.openid.discovery.DiscoveryDocument;
 
 public class ServerConfigurationRequestResponse {
 
   ServerConfigurationRequestStatus status;
   Map<String, Object> content;
+  DiscoveryDocument document;
 
   public ServerConfigurationRequestResponse(
       ServerConfigurationRequestStatus status, Map<String, Object> content) {
@@ -29,6 +31,13 @@ public class ServerConfigurationRequestResponse {
     this.content = content;
   }
 
+  public ServerConfigurationRequestResponse(
+      ServerConfigurationRequestStatus status, DiscoveryDocument document) {
+    this.status = status;
+    this.content = document.content();
+    this.document = document;
+  }
+
   public ServerConfigurationRequestStatus status() {
     return status;
   }
@@ -40,4 +49,12 @@ public class ServerConfigurationRequestResponse {
   public int statusCode() {
     return status.statusCode();
   }
+
+  public boolean hasDocument() {
+    return document != null;
+  }
+
+  public DiscoveryDocument document() {
+    return document;
+  }
 }
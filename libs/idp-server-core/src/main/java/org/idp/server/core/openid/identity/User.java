@@ -471,6 +471,51 @@ public class User implements JsonReadable, Serializable, UuidConvertable {
     return this;
   }
 
+  /**
+   * Returns a copy without {@code hashedPassword} and {@code rawPassword}, for storing the user
+   * outside the user tables (e.g. in an event payload).
+   */
+  public User withoutPasswords() {
+    return new User(
+        sub,
+        providerId,
+        externalUserId,
+        externalProviderOriginalPayload,
+        name,
+        givenName,
+        familyName,
+        middleName,
+        nickname,
+        preferredUsername,
+        profile,
+        picture,
+        website,
+        email,
+        emailVerified,
+        gender,
+        birthdate,
+        zoneinfo,
+        locale,
+        phoneNumber,
+        phoneNumberVerified,
+        address,
+        createdAt,
+        updatedAt,
+        null,
+        null,
+        authenticationDevices,
+        customProperties,
+        credentials,
+        roles,
+        permissions,
+        currentTenant,
+        assignedTenants,
+        currentOrganizationId,
+        assignedOrganizations,
+        verifiedClaims,
+        status);
+  }
+
   public boolean hasRawPassword() {
     return Objects.nonNull(rawPassword) && !rawPassword.isEmpty();
   }
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.openid.identity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+import org.idp.server.platform.date.LocalDateTimeParser;
+import org.idp.server.platform.exception.BadRequestException;
+import org.idp.server.platform.uuid.UuidConvertable;
+
+/**
+ * Position in a user list ordered by {@code created_at DESC, id DESC}.
+ *
+ * <p>Encoded as an opaque URL-safe token. The next page is read with {@code (created_at, id) <
+ * (cursor.created_at, cursor.id)}, which seeks through the {@code (tenant_id, created_at)} index
+ * instead of skipping {@code offset} rows, so every page costs the same regardless of depth.
+ */
+public class UserListCursor implements UuidConvertable {
+
+  private static final String SEPARATOR = "|";
+
+  LocalDateTime createdAt;
+  String id;
+
+  public UserListCursor(LocalDateTime createdAt, String id) {
+    this.createdAt = createdAt;
+    this.id = id;
+  }
+
+  public static UserListCursor of(User user) {
+    return new UserListCursor(user.createdAt(), user.sub());
+  }
+
+  public static UserListCursor decode(String value) {
+    try {
+      String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+      int index = decoded.indexOf(SEPARATOR);
+      if (index < 0) {
+        throw new BadRequestException("invalid cursor");
+      }
+      LocalDateTime createdAt = LocalDateTimeParser.parse(decoded.substring(0, index));
+      String id = decoded.substring(index + 1);
+      UUID.fromString(id);
+      return new UserListCursor(createdAt, id);
+    } catch (BadRequestException exception) {
+      throw exception;
+    } catch (RuntimeException exception) {
+      throw new BadRequestException("invalid cursor", exception);
+    }
+  }
+
+  public String encode() {
+    String raw = createdAt.toString() + SEPARATOR + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public LocalDateTime createdAt() {
+    return createdAt;
+  }
+
+  public String id() {
+    return id;
+  }
+
+  public UUID idAsUuid() {
+    return convertUuid(id);
+  }
+}
@@ -21,6 +21,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import org.idp.server.platform.datasource.CountStrategy;
 import org.idp.server.platform.date.LocalDateTimeParser;
 import org.idp.server.platform.uuid.UuidConvertable;
 
@@ -215,6 +216,28 @@ public class UserQueries implements UuidConvertable {
     return Integer.parseInt(values.get("offset"));
   }
 
+  public CountStrategy countStrategy() {
+    return CountStrategy.of(values.get("count_strategy"));
+  }
+
+  /**
+   * Whether the caller pages with {@code cursor} (keyset) instead of {@code offset}.
+   *
+   * <p>The first page is requested with {@code pagination=cursor}; following pages pass the {@code
+   * next_cursor} of the previous response as {@code cursor}.
+   */
+  public boolean isCursorPagination() {
+    return "cursor".equals(values.get("pagination")) || hasCursor();
+  }
+
+  public boolean hasCursor() {
+    return values.containsKey("cursor") && !values.get("cursor").isEmpty();
+  }
+
+  public UserListCursor cursor() {
+    return UserListCursor.decode(values.get("cursor"));
+  }
+
   public Map<String, Object> toMap() {
     Map<String, Object> map = new HashMap<>();
     for (Map.Entry<String, String> entry : values.entrySet()) {
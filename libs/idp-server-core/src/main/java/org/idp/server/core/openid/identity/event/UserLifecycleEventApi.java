@@ -21,4 +21,7 @@ import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
 public interface UserLifecycleEventApi {
 
   void handle(TenantIdentifier tenantIdentifier, UserLifecycleEvent userLifecycleEvent);
+
+  /** Handles an event relayed from the outbox, loading the tenant it was stored without. */
+  void handle(TenantIdentifier tenantIdentifier, UserLifecycleOutboxEvent userLifecycleOutboxEvent);
 }
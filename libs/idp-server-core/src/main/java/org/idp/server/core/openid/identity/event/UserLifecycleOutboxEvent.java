@@ -0,0 +1,77 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.openid.identity.event;
+
+import org.idp.server.core.openid.identity.User;
+import org.idp.server.platform.multi_tenancy.tenant.Tenant;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+
+/**
+ * What the event outbox stores for a {@link UserLifecycleEvent}.
+ *
+ * <p>The payload keeps only what delivery needs: the tenant identifier instead of the whole tenant,
+ * and the user without its password fields. The user itself is kept rather than its {@code sub}
+ * because a {@link UserLifecycleType#DELETE} event is relayed after the user row is gone. The
+ * tenant is loaded again when the event is relayed.
+ */
+public class UserLifecycleOutboxEvent {
+  String tenantId;
+  User user;
+  UserLifecycleType lifecycleType;
+  UserLifecycleEventPayload payload;
+
+  public UserLifecycleOutboxEvent() {}
+
+  public UserLifecycleOutboxEvent(
+      String tenantId,
+      User user,
+      UserLifecycleType lifecycleType,
+      UserLifecycleEventPayload payload) {
+    this.tenantId = tenantId;
+    this.user = user;
+    this.lifecycleType = lifecycleType;
+    this.payload = payload;
+  }
+
+  public static UserLifecycleOutboxEvent from(UserLifecycleEvent userLifecycleEvent) {
+    return new UserLifecycleOutboxEvent(
+        userLifecycleEvent.tenantIdentifier().value(),
+        userLifecycleEvent.user().withoutPasswords(),
+        userLifecycleEvent.lifecycleType(),
+        userLifecycleEvent.payload());
+  }
+
+  public UserLifecycleEvent toEvent(Tenant tenant) {
+    return new UserLifecycleEvent(tenant, user, lifecycleType, payload);
+  }
+
+  public TenantIdentifier tenantIdentifier() {
+    return new TenantIdentifier(tenantId);
+  }
+
+  public User user() {
+    return user;
+  }
+
+  public UserLifecycleType lifecycleType() {
+    return lifecycleType;
+  }
+
+  public UserLifecycleEventPayload payload() {
+    return payload;
+  }
+}
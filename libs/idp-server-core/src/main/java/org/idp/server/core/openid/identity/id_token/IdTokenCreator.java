@@ -80,9 +80,10 @@ public class IdTokenCreator implements IndividualClaimsCreatable, ClaimHashable
       // algorithm (OIDC Core 3.3.2.11: "the hash algorithm used in the alg Header Parameter of the
       // ID Token's JOSE Header"), and the same key signs the JWS below — so the JWKS is parsed only
       // once and the hash algorithm is guaranteed to match the signature algorithm.
-      JsonWebKeys jsonWebKeys = JwkParser.parseKeys(authorizationServerConfiguration.jwks());
+      JsonWebKeyMaterial keyMaterial =
+          JsonWebKeyMaterialCache.getInstance().get(authorizationServerConfiguration.jwks());
       JsonWebKey idTokenSigningKey =
-          jsonWebKeys.findBy(authorizationServerConfiguration.idTokenSignedKeyId());
+          keyMaterial.findBy(authorizationServerConfiguration.idTokenSignedKeyId());
       String idTokenSigningAlgorithm = idTokenSigningKey.algorithm();
 
       Map<String, Object> standardClaims =
@@ -115,7 +116,8 @@ public class IdTokenCreator implements IndividualClaimsCreatable, ClaimHashable
 
       JsonWebSignatureFactory jsonWebSignatureFactory = new JsonWebSignatureFactory();
       JsonWebSignature jsonWebSignature =
-          jsonWebSignatureFactory.createWithAsymmetricKey(claims, Map.of(), idTokenSigningKey);
+          jsonWebSignatureFactory.createWithAsymmetricKey(
+              claims, Map.of(), keyMaterial, idTokenSigningKey);
 
       if (clientConfiguration.hasEncryptedIdTokenMeta()) {
 
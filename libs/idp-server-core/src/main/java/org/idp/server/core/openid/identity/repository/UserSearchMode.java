@@ -0,0 +1,54 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.openid.identity.repository;
+
+import org.idp.server.platform.exception.UnSupportedException;
+
+/**
+ * How partial-match filters on user attributes (name, given_name, preferred_username, ...) are
+ * translated into SQL.
+ *
+ * <ul>
+ *   <li>{@link #PATTERN}: plain {@code LIKE '%term%'}, which scans every user of the tenant.
+ *   <li>{@link #INDEXED}: uses the attribute search indexes created by {@code
+ *       V0_13_0_3__idp_user_attribute_search_index}. PostgreSQL serves {@code ILIKE} from the
+ *       {@code pg_trgm} GIN indexes as is; MySQL narrows the rows with {@code MATCH ... AGAINST} on
+ *       the ngram FULLTEXT indexes before the {@code LIKE} check. Requires the indexes to exist.
+ * </ul>
+ */
+public enum UserSearchMode {
+  PATTERN,
+  INDEXED;
+
+  public static UserSearchMode of(String value) {
+    if (value == null || value.isEmpty()) {
+      return PATTERN;
+    }
+
+    for (UserSearchMode mode : UserSearchMode.values()) {
+      if (mode.name().equalsIgnoreCase(value)) {
+        return mode;
+      }
+    }
+
+    throw new UnSupportedException("Unsupported user search mode: " + value);
+  }
+
+  public boolean isIndexed() {
+    return this == INDEXED;
+  }
+}
@@ -33,8 +33,20 @@ public interface AuthorizationCodeGrantRepository {
    * of the same code blocks until this transaction commits (which deletes the row), then finds no
    * row and is rejected. Prevents the find-verify-delete race that would otherwise issue two token
    * sets from one code.
+   *
+   * <p>Stores without row locks only read the grant here and enforce single use in {@link
+   * #consume}.
    */
   AuthorizationCodeGrant findForUpdate(Tenant tenant, AuthorizationCode authorizationCode);
 
+  /**
+   * Removes the authorization code grant as the single-use consume step of the token exchange.
+   *
+   * <p>Called after the token request has been verified, so a request that fails verification
+   * leaves the code usable for the legitimate client. Tokens must only be issued when this returns
+   * {@code true}; {@code false} means a concurrent exchange consumed the code first.
+   */
+  boolean consume(Tenant tenant, AuthorizationCodeGrant authorizationCodeGrant);
+
   void delete(Tenant tenant, AuthorizationCodeGrant authorizationCodeGrant);
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.openid.oauth.repository;
+
+import org.idp.server.platform.exception.UnSupportedException;
+
+/**
+ * Where short-lived authorization flow state (authorization requests and authorization codes) is
+ * kept.
+ *
+ * <ul>
+ *   <li>{@link #DATABASE}: rows in {@code authorization_request} / {@code
+ *       authorization_code_grant}, removed by the cleanup job once expired.
+ *   <li>{@link #REDIS}: entries in the session store that expire on their own TTL; authorization
+ *       codes are consumed atomically so that each code can be redeemed only once.
+ * </ul>
+ */
+public enum AuthorizationFlowStoreType {
+  DATABASE,
+  REDIS;
+
+  public static AuthorizationFlowStoreType of(String value) {
+    if (value == null || value.isEmpty()) {
+      return DATABASE;
+    }
+
+    for (AuthorizationFlowStoreType type : AuthorizationFlowStoreType.values()) {
+      if (type.name().equalsIgnoreCase(value)) {
+        return type;
+      }
+    }
+
+    throw new UnSupportedException("Unsupported authorization flow store type: " + value);
+  }
+
+  public boolean isRedis() {
+    return this == REDIS;
+  }
+}
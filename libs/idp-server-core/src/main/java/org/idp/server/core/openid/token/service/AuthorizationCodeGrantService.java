@@ -224,8 +224,10 @@ public class AuthorizationCodeGrantService
 
     OAuthToken oAuthToken = oAuthTokenBuilder.build();
 
+    if (!authorizationCodeGrantRepository.consume(tenant, authorizationCodeGrant)) {
+      throw new TokenBadRequestException("invalid_grant", "not found authorization code.");
+    }
     oAuthTokenCommandRepository.register(tenant, oAuthToken);
-    authorizationCodeGrantRepository.delete(tokenRequestContext.tenant(), authorizationCodeGrant);
     authorizationRequestRepository.delete(
         tokenRequestContext.tenant(), authorizationCodeGrant.authorizationRequestIdentifier());
 
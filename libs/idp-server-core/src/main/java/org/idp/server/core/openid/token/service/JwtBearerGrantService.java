@@ -19,6 +19,7 @@ package org.idp.server.core.openid.token.service;
 import java.net.URI;
 import java.net.http.HttpRequest;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -55,6 +56,8 @@ import org.idp.server.platform.jose.JsonWebSignature;
 import org.idp.server.platform.jose.JsonWebTokenClaims;
 import org.idp.server.platform.jose.JwtCredential;
 import org.idp.server.platform.jose.JwtSignatureVerifier;
+import org.idp.server.platform.jose.RemoteJwksResolver;
+import org.idp.server.platform.jose.RemoteJwksResult;
 import org.idp.server.platform.log.LoggerWrapper;
 import org.idp.server.platform.multi_tenancy.tenant.Tenant;
 
@@ -260,7 +263,7 @@ public class JwtBearerGrantService implements OAuthTokenCreationService, Refresh
 
   private void verifyExternalIdpSignature(JsonWebSignature jws, AvailableFederation federation) {
     try {
-      String jwks = resolveJwks(federation);
+      String jwks = resolveJwks(federation, jws.hasKeyId() ? jws.keyId() : null);
 
       JwtCredential jwtCredential = JwtCredential.asymmetric(jwks);
       JwtSignatureVerifier signatureVerifier = new JwtSignatureVerifier();
@@ -273,12 +276,12 @@ public class JwtBearerGrantService implements OAuthTokenCreationService, Refresh
     }
   }
 
-  private String resolveJwks(AvailableFederation federation) {
+  private String resolveJwks(AvailableFederation federation, String keyId) {
     if (federation.hasJwks()) {
       return federation.jwks();
     }
     if (federation.hasJwksUri()) {
-      return fetchJwks(federation.jwksUri());
+      return fetchJwks(federation.jwksUri(), keyId);
     }
     throw new TokenBadRequestException(
         "invalid_grant",
@@ -287,7 +290,25 @@ public class JwtBearerGrantService implements OAuthTokenCreationService, Refresh
             federation.issuer()));
   }
 
-  private String fetchJwks(String jwksUri) {
+  private String fetchJwks(String jwksUri, String keyId) {
+    RemoteJwksResult result =
+        RemoteJwksResolver.getInstance().resolve(jwksUri, keyId, this::requestJwks);
+
+    if (result.isError() && result.body() != null) {
+      throw new TokenBadRequestException(
+          "invalid_grant",
+          String.format("Failed to fetch JWKS from '%s': %s", jwksUri, result.body()));
+    }
+    if (result.isError()) {
+      throw new TokenBadRequestException(
+          "invalid_grant",
+          String.format("Failed to fetch JWKS from '%s': HTTP %d", jwksUri, result.statusCode()));
+    }
+
+    return result.body();
+  }
+
+  private RemoteJwksResult requestJwks(String jwksUri) {
     try {
       HttpRequest request =
           HttpRequest.newBuilder()
@@ -299,18 +320,13 @@ public class JwtBearerGrantService implements OAuthTokenCreationService, Refresh
       HttpRequestResult result = httpRequestExecutor.execute(request);
 
       if (result.isClientError() || result.isServerError()) {
-        throw new TokenBadRequestException(
-            "invalid_grant",
-            String.format("Failed to fetch JWKS from '%s': HTTP %d", jwksUri, result.statusCode()));
+        return new RemoteJwksResult(result.statusCode(), result.headers(), null);
       }
 
-      return result.body().toString();
-    } catch (TokenBadRequestException e) {
-      throw e;
+      return new RemoteJwksResult(result.statusCode(), result.headers(), result.body().toString());
     } catch (Exception e) {
-      throw new TokenBadRequestException(
-          "invalid_grant",
-          String.format("Failed to fetch JWKS from '%s': %s", jwksUri, e.getMessage()));
+      // Reported as a failed fetch so that the resolver can keep serving the previous key set.
+      return new RemoteJwksResult(500, Map.of(), e.getMessage());
     }
   }
 }
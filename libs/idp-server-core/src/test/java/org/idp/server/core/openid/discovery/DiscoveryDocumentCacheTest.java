@@ -0,0 +1,148 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.openid.discovery;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.idp.server.core.openid.oauth.configuration.AuthorizationServerConfiguration;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DiscoveryDocumentCacheTest {
+
+  private static final TenantIdentifier TENANT = new TenantIdentifier("tenant-a");
+
+  private DiscoveryDocumentCache cache;
+  private AtomicInteger renders;
+
+  @BeforeEach
+  void setUp() {
+    cache = new DiscoveryDocumentCache();
+    renders = new AtomicInteger();
+  }
+
+  private Map<String, Object> render(String issuer) {
+    renders.incrementAndGet();
+    return Map.of("issuer", issuer);
+  }
+
+  @Test
+  void configuration_shouldBeRenderedOnce_forSameConfigurationInstance() {
+    AuthorizationServerConfiguration configuration = new AuthorizationServerConfiguration();
+
+    DiscoveryDocument first = cache.configuration(TENANT, configuration, () -> render("a"));
+    DiscoveryDocument second = cache.configuration(TENANT, configuration, () -> render("a"));
+
+    assertSame(first, second);
+    assertEquals(1, renders.get());
+  }
+
+  @Test
+  void configuration_shouldBeRenderedAgain_whenContentChanges() {
+    cache.configuration(TENANT, new AuthorizationServerConfiguration(), () -> render("a"));
+    DiscoveryDocument updated =
+        cache.configuration(TENANT, new AuthorizationServerConfiguration(), () -> render("b"));
+
+    assertEquals("b", updated.content().get("issuer"));
+    assertEquals(2, renders.get());
+  }
+
+  @Test
+  void configuration_shouldBeReused_forEqualConfigurationInstances() {
+    DiscoveryDocument first =
+        cache.configuration(TENANT, new AuthorizationServerConfiguration(), () -> render("a"));
+    DiscoveryDocument second =
+        cache.configuration(TENANT, new AuthorizationServerConfiguration(), () -> render("a"));
+    DiscoveryDocument third =
+        cache.configuration(TENANT, new AuthorizationServerConfiguration(), () -> render("a"));
+
+    assertSame(first, second);
+    assertSame(first, third);
+  }
+
+  @Test
+  void configuration_shouldBeCachedPerTenant() {
+    DiscoveryDocument a =
+        cache.configuration(TENANT, new AuthorizationServerConfiguration(), () -> render("a"));
+    DiscoveryDocument b =
+        cache.configuration(
+            new TenantIdentifier("tenant-b"),
+            new AuthorizationServerConfiguration(),
+            () -> render("b"));
+
+    assertEquals("a", a.content().get("issuer"));
+    assertEquals("b", b.content().get("issuer"));
+    assertSame(
+        a, cache.configuration(TENANT, new AuthorizationServerConfiguration(), () -> render("a")));
+  }
+
+  @Test
+  void jwks_shouldBeReused_whileContentIsUnchanged() {
+    String jwks = "{\"keys\":[]}";
+
+    DiscoveryDocument first = cache.jwks(TENANT, jwks, () -> render("a"));
+    DiscoveryDocument second =
+        cache.jwks(TENANT, new String(jwks.toCharArray()), () -> render("a"));
+
+    assertSame(first, second);
+    assertEquals(1, renders.get());
+  }
+
+  @Test
+  void jwks_shouldBeRenderedAgain_whenJwksChanges() {
+    cache.jwks(TENANT, "{\"keys\":[]}", () -> render("a"));
+    cache.jwks(TENANT, "{\"keys\":[{}]}", () -> render("b"));
+
+    assertEquals(2, renders.get());
+  }
+
+  @Test
+  void invalidate_shouldDropTenantDocuments() {
+    AuthorizationServerConfiguration configuration = new AuthorizationServerConfiguration();
+    cache.configuration(TENANT, configuration, () -> render("a"));
+
+    cache.invalidate(TENANT);
+    cache.configuration(TENANT, configuration, () -> render("a"));
+
+    assertEquals(2, renders.get());
+  }
+
+  @Test
+  void etag_shouldDependOnContentOnly() {
+    DiscoveryDocument first = DiscoveryDocument.render(Map.of("issuer", "a"));
+    DiscoveryDocument same = DiscoveryDocument.render(Map.of("issuer", "a"));
+    DiscoveryDocument other = DiscoveryDocument.render(Map.of("issuer", "b"));
+
+    assertEquals(first.etag(), same.etag());
+    assertNotEquals(first.etag(), other.etag());
+    assertTrue(first.etag().startsWith("\"") && first.etag().endsWith("\""));
+  }
+
+  @Test
+  void matches_shouldEvaluateIfNoneMatch() {
+    DiscoveryDocument document = DiscoveryDocument.render(Map.of("issuer", "a"));
+
+    assertTrue(document.matches(document.etag()));
+    assertTrue(document.matches("\"other\", W/" + document.etag()));
+    assertTrue(document.matches("*"));
+    assertFalse(document.matches("\"other\""));
+    assertFalse(document.matches(null));
+  }
+}
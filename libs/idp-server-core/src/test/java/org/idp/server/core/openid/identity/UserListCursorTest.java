@@ -0,0 +1,44 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.openid.identity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.idp.server.platform.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+class UserListCursorTest {
+
+  @Test
+  void encodedCursorDecodesToSamePosition() {
+    LocalDateTime createdAt = LocalDateTime.of(2025, 1, 2, 3, 4, 5, 123456000);
+    String id = UUID.randomUUID().toString();
+
+    UserListCursor decoded = UserListCursor.decode(new UserListCursor(createdAt, id).encode());
+
+    assertEquals(createdAt, decoded.createdAt());
+    assertEquals(id, decoded.id());
+  }
+
+  @Test
+  void rejectsMalformedCursor() {
+    assertThrows(BadRequestException.class, () -> UserListCursor.decode("not-a-cursor"));
+    assertThrows(BadRequestException.class, () -> UserListCursor.decode("%%%"));
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.core.openid.identity.event;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+import org.idp.server.core.openid.identity.User;
+import org.idp.server.core.openid.identity.UserStatus;
+import org.idp.server.platform.json.JsonConverter;
+import org.idp.server.platform.multi_tenancy.tenant.Tenant;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A stored user lifecycle event must carry neither the user's password fields nor the tenant, and
+ * must still be readable back with {@link JsonConverter#read}.
+ */
+class UserLifecycleOutboxEventTest {
+
+  static final String TENANT_ID = "123e4567-e89b-12d3-a456-426614174000";
+
+  JsonConverter jsonConverter = JsonConverter.defaultInstance();
+
+  private static Tenant tenant() {
+    TenantIdentifier tenantIdentifier = new TenantIdentifier(TENANT_ID);
+    return new Tenant() {
+      @Override
+      public TenantIdentifier identifier() {
+        return tenantIdentifier;
+      }
+
+      @Override
+      public String identifierValue() {
+        return tenantIdentifier.value();
+      }
+    };
+  }
+
+  private User user() {
+    User user =
+        jsonConverter.read(
+            "{\"sub\":\"sub-1\",\"hashedPassword\":\"hashed-secret\",\"rawPassword\":\"raw-secret\"}",
+            User.class);
+    return user.setEmail("user@example.com").setName("user").setStatus(UserStatus.LOCKED);
+  }
+
+  @Test
+  void storedPayloadHasNoPasswordsAndNoTenant() {
+    User user = user();
+    UserLifecycleEvent event =
+        new UserLifecycleEvent(
+            tenant(),
+            user,
+            UserLifecycleType.DELETE,
+            new UserLifecycleEventPayload(Map.of("reason", "requested")));
+
+    String payload = jsonConverter.write(UserLifecycleOutboxEvent.from(event));
+
+    assertFalse(payload.contains("hashed-secret"), payload);
+    assertFalse(payload.contains("raw-secret"), payload);
+    assertFalse(payload.contains("\"tenant\""), payload);
+    assertEquals("hashed-secret", user.hashedPassword());
+    assertTrue(user.hasRawPassword());
+  }
+
+  @Test
+  void roundTripsThroughJsonConverter() {
+    UserLifecycleEvent event =
+        new UserLifecycleEvent(
+            tenant(),
+            user(),
+            UserLifecycleType.DELETE,
+            new UserLifecycleEventPayload(Map.of("reason", "requested")));
+
+    String payload = jsonConverter.write(UserLifecycleOutboxEvent.from(event));
+    UserLifecycleOutboxEvent restored = jsonConverter.read(payload, UserLifecycleOutboxEvent.class);
+
+    assertEquals(new TenantIdentifier(TENANT_ID), restored.tenantIdentifier());
+    assertEquals(UserLifecycleType.DELETE, restored.lifecycleType());
+    assertEquals("sub-1", restored.user().sub());
+    assertEquals("user@example.com", restored.user().email());
+    assertEquals(UserStatus.LOCKED, restored.user().status());
+    assertFalse(restored.user().hasPassword());
+    assertFalse(restored.user().hasRawPassword());
+    assertEquals("requested", restored.payload().getValueAsString("reason"));
+
+    Tenant relayedTenant = tenant();
+    UserLifecycleEvent relayed = restored.toEvent(relayedTenant);
+    assertSame(relayedTenant, relayed.tenant());
+    assertEquals("sub-1", relayed.user().sub());
+  }
+}
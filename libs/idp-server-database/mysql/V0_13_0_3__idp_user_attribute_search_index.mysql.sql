@@ -0,0 +1,39 @@
+-- =====================================================
+-- idp_user の属性部分一致検索用 ngram FULLTEXT index 追加 (MySQL)
+--
+-- See postgresql/V0_13_0_3__idp_user_attribute_search_index.sql for context.
+--
+-- MySQL の LIKE '%term%' は FULLTEXT index を使わないため、アプリ側は
+-- idp.user.search-mode=indexed のとき MATCH ... AGAINST ('"term"' IN BOOLEAN MODE)
+-- で候補を絞ってから LIKE で部分一致を確認する。MATCH の列リストは
+-- index 定義と一致する必要があるので、列ごとに index を作成する。
+--
+-- ngram_token_size (デフォルト 2) 未満の検索語は LIKE のみで検索される。
+--
+-- デフォルトのストップワード ("a", "i" など) を含む ngram は index から
+-- 除外され部分一致が欠落するため、index 作成時にストップワードを無効にする。
+--
+-- 最初の FULLTEXT index 追加はテーブル再構築 (FTS_DOC_ID 列の追加) を伴い、
+-- LOCK=NONE にできない (再構築中は書き込みがブロックされる)。本番では
+-- 本マイグレーションをメンテナンス時間帯に適用すること。
+-- =====================================================
+
+SET SESSION innodb_ft_enable_stopword = OFF;
+
+CREATE FULLTEXT INDEX idx_idp_user_name_ngram
+    ON idp_user (name) WITH PARSER ngram;
+
+CREATE FULLTEXT INDEX idx_idp_user_given_name_ngram
+    ON idp_user (given_name) WITH PARSER ngram;
+
+CREATE FULLTEXT INDEX idx_idp_user_family_name_ngram
+    ON idp_user (family_name) WITH PARSER ngram;
+
+CREATE FULLTEXT INDEX idx_idp_user_middle_name_ngram
+    ON idp_user (middle_name) WITH PARSER ngram;
+
+CREATE FULLTEXT INDEX idx_idp_user_nickname_ngram
+    ON idp_user (nickname) WITH PARSER ngram;
+
+CREATE FULLTEXT INDEX idx_idp_user_preferred_username_ngram
+    ON idp_user (preferred_username) WITH PARSER ngram;
@@ -0,0 +1,20 @@
+-- Transactional outbox for security events, audit logs and user lifecycle events.
+--
+-- With idp.event-outbox.mode=outbox an event published inside a write transaction is
+-- inserted here in that transaction, so it is stored exactly when the business change
+-- commits. EventOutboxRelay claims rows with FOR UPDATE SKIP LOCKED on every node,
+-- pushes available_at forward as a lease, and deletes rows once they are handled.
+
+CREATE TABLE event_outbox
+(
+    id           CHAR(36)                                 NOT NULL,
+    tenant_id    CHAR(36)                                 NOT NULL,
+    event_type   VARCHAR(64)                              NOT NULL,
+    payload      JSON                                     NOT NULL,
+    attempts     INT                                      NOT NULL DEFAULT 0,
+    last_error   TEXT,
+    available_at DATETIME(6) DEFAULT CURRENT_TIMESTAMP(6) NOT NULL,
+    created_at   DATETIME(6) DEFAULT CURRENT_TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_event_outbox_available_at (available_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,11 @@
+-- Stop rescanning event_outbox rows the relay has given up on.
+--
+-- A row that reached max-attempts used to stay with available_at in the past, so every
+-- claim walked over it again. EventOutboxRelay now sets given_up_at instead, and claims
+-- only rows where it is NULL. MySQL has no partial indexes: the claim reads the
+-- given_up_at IS NULL range of this index in created_at order.
+
+ALTER TABLE event_outbox
+    ADD COLUMN given_up_at DATETIME(6) NULL,
+    DROP INDEX idx_event_outbox_available_at,
+    ADD INDEX idx_event_outbox_pending (given_up_at, created_at);
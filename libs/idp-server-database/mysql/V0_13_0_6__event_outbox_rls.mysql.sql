@@ -0,0 +1,9 @@
+-- Per-tenant claims for event_outbox.
+--
+-- On PostgreSQL the table gets Row Level Security and EventOutboxRelay claims each tenant's
+-- rows separately. MySQL has no RLS, but the relay issues the same per-tenant claim: the
+-- index serves it on the given_up_at IS NULL range, in created_at order.
+
+ALTER TABLE event_outbox
+    DROP INDEX idx_event_outbox_pending,
+    ADD INDEX idx_event_outbox_pending (given_up_at, tenant_id, created_at);
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+-- =====================================================
+-- idp_user の属性部分一致検索用 pg_trgm GIN index 追加
+--
+-- 背景:
+--   管理 API のユーザー検索は name / given_name / preferred_username などを
+--   ILIKE '%term%' で絞り込む。先頭ワイルドカードのため B-tree は使えず、
+--   テナント内の全ユーザーをスキャンしている。サポート窓口からの部分一致
+--   検索が毎分数十回発生するため、トライグラム GIN index で候補行を絞る。
+--
+--   gin_trgm_ops は LIKE / ILIKE をそのままサポートするので SQL の変更は
+--   不要 (3 文字以上の検索語で有効)。tenant_id は既存の
+--   idx_idp_user_tenant_created_at と BitmapAnd で組み合わされる。
+--
+-- 開発 / ステージング環境では Flyway 適用でそのまま作成して問題ない。
+--
+-- 本番運用 (大量レコードがあるテーブル) では、通常の CREATE INDEX が
+-- 書き込みブロックを引き起こすため、Flyway 適用前に
+-- libs/idp-server-database/postgresql/operation/
+--   idp-user-attribute-search-index/create_index.sql
+-- で CONCURRENTLY を先に実行しておくこと。`IF NOT EXISTS` なので
+-- 本ファイルは no-op となり安全。
+--
+-- pg_trgm は PostgreSQL 13+ で trusted extension のため、DB owner 権限で
+-- 作成できる。
+-- =====================================================
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_idp_user_name_trgm
+    ON idp_user USING gin (name gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_idp_user_given_name_trgm
+    ON idp_user USING gin (given_name gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_idp_user_family_name_trgm
+    ON idp_user USING gin (family_name gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_idp_user_middle_name_trgm
+    ON idp_user USING gin (middle_name gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_idp_user_nickname_trgm
+    ON idp_user USING gin (nickname gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_idp_user_preferred_username_trgm
+    ON idp_user USING gin (preferred_username gin_trgm_ops);
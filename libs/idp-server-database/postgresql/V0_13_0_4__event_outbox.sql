@@ -0,0 +1,31 @@
+-- Transactional outbox for security events, audit logs and user lifecycle events.
+--
+-- With idp.event-outbox.mode=outbox an event published inside a write transaction is
+-- inserted here in that transaction, so it is stored exactly when the business change
+-- commits. EventOutboxRelay claims rows with FOR UPDATE SKIP LOCKED on every node,
+-- pushes available_at forward as a lease, and deletes rows once they are handled.
+--
+-- Like system_configuration, this table has no Row Level Security: the relay reads
+-- events of all tenants in one query, and a request for one tenant may publish an
+-- event for another (e.g. admin operations).
+
+CREATE TABLE event_outbox
+(
+    id           UUID         NOT NULL,
+    tenant_id    UUID         NOT NULL,
+    event_type   VARCHAR(64)  NOT NULL,
+    payload      JSONB        NOT NULL,
+    attempts     INTEGER      NOT NULL DEFAULT 0,
+    last_error   TEXT,
+    available_at TIMESTAMP    NOT NULL DEFAULT now(),
+    created_at   TIMESTAMP    NOT NULL DEFAULT now(),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_event_outbox_available_at ON event_outbox (available_at);
+
+COMMENT ON TABLE event_outbox IS 'Events waiting to be delivered by EventOutboxRelay';
+COMMENT ON COLUMN event_outbox.event_type IS 'security_event, audit_log or user_lifecycle_event';
+COMMENT ON COLUMN event_outbox.payload IS 'Event serialized by JsonConverter';
+COMMENT ON COLUMN event_outbox.attempts IS 'Number of claims. Rows at the configured max-attempts are no longer claimed and kept for inspection';
+COMMENT ON COLUMN event_outbox.available_at IS 'Earliest time the row can be claimed: end of the current lease or retry backoff';
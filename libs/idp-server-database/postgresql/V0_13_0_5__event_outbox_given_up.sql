@@ -0,0 +1,15 @@
+-- Stop rescanning event_outbox rows the relay has given up on.
+--
+-- A row that reached max-attempts used to stay with available_at in the past, so every
+-- claim walked over it again. EventOutboxRelay now sets given_up_at instead, and claims
+-- only rows where it is NULL. The partial index holds just the rows still to deliver,
+-- in the created_at order the claim reads them in.
+
+ALTER TABLE event_outbox ADD COLUMN given_up_at TIMESTAMP;
+
+DROP INDEX IF EXISTS idx_event_outbox_available_at;
+
+CREATE INDEX idx_event_outbox_pending ON event_outbox (created_at) WHERE given_up_at IS NULL;
+
+COMMENT ON COLUMN event_outbox.attempts IS 'Number of claims';
+COMMENT ON COLUMN event_outbox.given_up_at IS 'Set when the relay gave up after max-attempts. Such rows are kept for inspection and never claimed';
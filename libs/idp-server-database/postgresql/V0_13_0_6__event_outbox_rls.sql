@@ -0,0 +1,19 @@
+-- Row Level Security for event_outbox.
+--
+-- Payloads hold audit log before/after bodies and security event details, so the table
+-- gets the same tenant isolation as the tables those events end up in. Requests insert
+-- rows of their own tenant (EventOutbox leaves events of other tenants to the direct
+-- path). EventOutboxRelay lists the tenants with deliverable rows on the admin connection,
+-- reading tenant ids only, then claims and settles each tenant's rows in a transaction
+-- that sets app.tenant_id. The index serves that per-tenant claim.
+
+ALTER TABLE event_outbox ENABLE ROW LEVEL SECURITY;
+
+CREATE POLICY tenant_isolation_policy ON event_outbox
+    USING (tenant_id = current_setting('app.tenant_id')::uuid);
+
+ALTER TABLE event_outbox FORCE ROW LEVEL SECURITY;
+
+DROP INDEX IF EXISTS idx_event_outbox_pending;
+
+CREATE INDEX idx_event_outbox_pending ON event_outbox (tenant_id, created_at) WHERE given_up_at IS NULL;
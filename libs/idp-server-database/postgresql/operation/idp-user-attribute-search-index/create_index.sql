@@ -0,0 +1,45 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ */
+
+-- =====================================================
+-- idp_user 属性部分一致検索用 pg_trgm GIN index 追加 (本番運用向け)
+--
+-- CREATE INDEX CONCURRENTLY: 書き込みブロックなしで index を構築する。
+-- トランザクション内で実行不可なので psql から直接流す。
+-- GIN は B-tree より構築が重いので、1 本ずつ順に作成する。
+--
+-- 進行状況の監視 (別 session):
+--   SELECT phase, blocks_done, blocks_total,
+--          round(100.0 * blocks_done / NULLIF(blocks_total, 0), 1) AS pct
+--   FROM pg_stat_progress_create_index;
+-- =====================================================
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_idp_user_name_trgm
+    ON idp_user USING gin (name gin_trgm_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_idp_user_given_name_trgm
+    ON idp_user USING gin (given_name gin_trgm_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_idp_user_family_name_trgm
+    ON idp_user USING gin (family_name gin_trgm_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_idp_user_middle_name_trgm
+    ON idp_user USING gin (middle_name gin_trgm_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_idp_user_nickname_trgm
+    ON idp_user USING gin (nickname gin_trgm_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_idp_user_preferred_username_trgm
+    ON idp_user USING gin (preferred_username gin_trgm_ops);
+
+-- 完了後: INVALID な index が残っていないことを確認
+SELECT i.indexrelid::regclass AS index_name, i.indisvalid
+FROM pg_index i
+WHERE i.indrelid = 'idp_user'::regclass
+  AND NOT i.indisvalid;
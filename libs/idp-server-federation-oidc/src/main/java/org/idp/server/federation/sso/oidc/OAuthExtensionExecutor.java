@@ -107,6 +107,12 @@ public class OAuthExtensionExecutor implements OidcSsoExecutor {
     return new OidcJwksResult(200, Map.of(), null);
   }
 
+  @Override
+  public OidcJwksResult resolveJwks(
+      OidcSsoConfiguration configuration, OidcTokenResult tokenResponse) {
+    return getJwks(new OidcJwksRequest(configuration.jwksUri()));
+  }
+
   @Override
   public IdTokenVerificationResult verifyIdToken(
       OidcSsoConfiguration configuration,
@@ -152,8 +152,7 @@ public class OidcFederationInteractor implements FederationInteractor {
           federationType, ssoProvider, session, tokenResult.statusCode(), tokenResult.bodyAsMap());
     }
 
-    OidcJwksResult jwksResult =
-        oidcSsoExecutor.getJwks(new OidcJwksRequest(oidcSsoConfiguration.jwksUri()));
+    OidcJwksResult jwksResult = oidcSsoExecutor.resolveJwks(oidcSsoConfiguration, tokenResult);
 
     if (jwksResult.isError()) {
       Map<String, Object> response = new HashMap<>();
@@ -27,7 +27,10 @@ import org.idp.server.platform.date.SystemDateTime;
 import org.idp.server.platform.jose.JoseContext;
 import org.idp.server.platform.jose.JoseHandler;
 import org.idp.server.platform.jose.JoseInvalidException;
+import org.idp.server.platform.jose.JsonWebSignature;
 import org.idp.server.platform.jose.JsonWebTokenClaims;
+import org.idp.server.platform.jose.RemoteJwksResolver;
+import org.idp.server.platform.jose.RemoteJwksResult;
 import org.idp.server.platform.multi_tenancy.tenant.Tenant;
 
 public interface OidcSsoExecutor {
@@ -54,6 +57,44 @@ public interface OidcSsoExecutor {
 
   OidcJwksResult getJwks(OidcJwksRequest oidcJwksRequest);
 
+  /**
+   * Resolves the provider's JWKS through the shared {@link RemoteJwksResolver}, so the key set is
+   * fetched once per cache lifetime instead of on every callback. The {@code kid} of the ID token
+   * lets the resolver re-fetch once when the provider has rotated its keys.
+   */
+  default OidcJwksResult resolveJwks(
+      OidcSsoConfiguration configuration, OidcTokenResult tokenResponse) {
+    String jwksUri = configuration.jwksUri();
+    if (jwksUri == null || jwksUri.isEmpty()) {
+      return getJwks(new OidcJwksRequest(jwksUri));
+    }
+
+    RemoteJwksResult result =
+        RemoteJwksResolver.getInstance()
+            .resolve(
+                jwksUri,
+                idTokenKeyId(tokenResponse),
+                uri -> {
+                  OidcJwksResult fetched = getJwks(new OidcJwksRequest(uri));
+                  return new RemoteJwksResult(
+                      fetched.statusCode(), fetched.headers(), fetched.body());
+                });
+    return new OidcJwksResult(result.statusCode(), result.headers(), result.body());
+  }
+
+  private static String idTokenKeyId(OidcTokenResult tokenResponse) {
+    if (!tokenResponse.hasIdToken()) {
+      return null;
+    }
+    try {
+      JsonWebSignature jsonWebSignature = JsonWebSignature.parse(tokenResponse.idToken());
+      return jsonWebSignature.hasKeyId() ? jsonWebSignature.keyId() : null;
+    } catch (JoseInvalidException e) {
+      // Encrypted ID token: the signing kid is not visible until decryption.
+      return null;
+    }
+  }
+
   default IdTokenVerificationResult verifyIdToken(
       OidcSsoConfiguration configuration,
       OidcSsoSession ssoSession,
@@ -16,9 +16,12 @@
 
 package org.idp.server.platform.audit;
 
+import java.util.List;
 import org.idp.server.platform.multi_tenancy.tenant.Tenant;
 
 public interface AuditLogCommandRepository {
 
   void register(Tenant tenant, AuditLog auditLog);
+
+  void bulkRegister(Tenant tenant, List<AuditLog> auditLogs);
 }
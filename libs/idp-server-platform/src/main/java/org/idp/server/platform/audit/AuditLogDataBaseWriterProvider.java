@@ -16,6 +16,7 @@
 
 package org.idp.server.platform.audit;
 
+import org.idp.server.platform.datasource.ApplicationDatabaseTypeProvider;
 import org.idp.server.platform.dependency.ApplicationComponentContainer;
 
 public class AuditLogDataBaseWriterProvider implements AuditLogWriterProvider {
@@ -25,6 +26,12 @@ public class AuditLogDataBaseWriterProvider implements AuditLogWriterProvider {
 
     AuditLogCommandRepository auditLogCommandRepository =
         container.resolve(AuditLogCommandRepository.class);
+    AuditLogPersistenceConfig config = container.resolve(AuditLogPersistenceConfig.class);
+    if (config.isBuffered()) {
+      ApplicationDatabaseTypeProvider databaseTypeProvider =
+          container.resolve(ApplicationDatabaseTypeProvider.class);
+      return new BufferedAuditLogWriter(auditLogCommandRepository, databaseTypeProvider, config);
+    }
     return new AuditLogDataBaseWriter(auditLogCommandRepository);
   }
 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.audit;
+
+import org.idp.server.platform.exception.UnSupportedException;
+
+/**
+ * How audit logs are written to the {@code audit_log} table.
+ *
+ * <ul>
+ *   <li>{@link #DIRECT}: each audit log is inserted in the transaction of the thread handling it.
+ *   <li>{@link #BUFFERED}: audit logs are collected across threads and inserted in batches, one
+ *       transaction per tenant and flush.
+ * </ul>
+ */
+public enum AuditLogPersistenceMode {
+  DIRECT,
+  BUFFERED;
+
+  public static AuditLogPersistenceMode of(String value) {
+    if (value == null || value.isEmpty()) {
+      return DIRECT;
+    }
+
+    for (AuditLogPersistenceMode mode : AuditLogPersistenceMode.values()) {
+      if (mode.name().equalsIgnoreCase(value)) {
+        return mode;
+      }
+    }
+
+    throw new UnSupportedException("Unsupported audit log persistence mode: " + value);
+  }
+}
@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import org.idp.server.platform.datasource.CountStrategy;
 import org.idp.server.platform.date.LocalDateTimeParser;
 import org.idp.server.platform.uuid.UuidConvertable;
 
@@ -202,6 +203,10 @@ public class AuditLogQueries implements UuidConvertable {
     return Integer.parseInt(values.get("offset"));
   }
 
+  public CountStrategy countStrategy() {
+    return CountStrategy.of(values.get("count_strategy"));
+  }
+
   public Map<String, Object> toMap() {
     Map<String, Object> map = new HashMap<>();
     if (values != null) {
@@ -25,4 +25,7 @@ public interface AuditLogWriter {
   }
 
   void write(Tenant tenant, AuditLog auditLog);
+
+  /** Writes out anything still held by the writer. Called once on application shutdown. */
+  default void close() {}
 }
@@ -40,4 +40,17 @@ public class AuditLogWriters {
       }
     }
   }
+
+  public void close() {
+    for (AuditLogWriter writer : writers) {
+      try {
+        writer.close();
+      } catch (Exception e) {
+        log.error(
+            "AuditLogWriter close failed: {}, error={}",
+            writer.getClass().getSimpleName(),
+            e.getMessage());
+      }
+    }
+  }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.audit;
+
+import java.util.concurrent.atomic.LongAdder;
+import org.idp.server.platform.datasource.ApplicationDatabaseTypeProvider;
+import org.idp.server.platform.datasource.GroupCommitQueue;
+import org.idp.server.platform.log.LoggerWrapper;
+import org.idp.server.platform.multi_tenancy.tenant.Tenant;
+
+/**
+ * Batching database writer for audit logs.
+ *
+ * <p>Entries are queued on a {@link GroupCommitQueue} and inserted with {@link
+ * AuditLogCommandRepository#bulkRegister}, one statement batch and one transaction per tenant and
+ * flush window. A control-plane bulk operation that changes many records therefore no longer
+ * produces one audit transaction per record.
+ *
+ * <p>When a batch fails, its entries are inserted again one per transaction, so a single bad record
+ * does not take the rest of the batch with it. An audit log that still fails is dropped and logged
+ * by the queue.
+ *
+ * <p>When the queue stays full for {@code offerTimeoutMillis}, the entry is inserted in the
+ * caller's transaction as {@link AuditLogDataBaseWriter} does.
+ *
+ * <p>Queue depth, flush latency and dropped entries are available from {@link #queue()}.
+ */
+public class BufferedAuditLogWriter implements AuditLogWriter {
+
+  private static final LoggerWrapper log = LoggerWrapper.getLogger(BufferedAuditLogWriter.class);
+
+  private final AuditLogCommandRepository auditLogCommandRepository;
+  private final GroupCommitQueue<AuditLog> queue;
+  private final LongAdder directCount = new LongAdder();
+
+  public BufferedAuditLogWriter(
+      AuditLogCommandRepository auditLogCommandRepository,
+      ApplicationDatabaseTypeProvider databaseTypeProvider,
+      AuditLogPersistenceConfig config) {
+    this.auditLogCommandRepository = auditLogCommandRepository;
+    this.queue =
+        new GroupCommitQueue<>(
+            "audit-log-writer",
+            databaseTypeProvider,
+            config.batchSize(),
+            config.flushIntervalMillis(),
+            config.queueCapacity(),
+            config.offerTimeoutMillis(),
+            auditLogCommandRepository::bulkRegister);
+  }
+
+  @Override
+  public void write(Tenant tenant, AuditLog auditLog) {
+    if (queue.offer(tenant, auditLog)) {
+      return;
+    }
+    directCount.increment();
+    log.debug(
+        "audit log buffer unavailable, writing directly: id={}, queue={}",
+        auditLog.identifier().value(),
+        queue.queueDepth());
+    auditLogCommandRepository.register(tenant, auditLog);
+  }
+
+  @Override
+  public void close() {
+    queue.close();
+  }
+
+  public GroupCommitQueue<AuditLog> queue() {
+    return queue;
+  }
+
+  public long directCount() {
+    return directCount.sum();
+  }
+}
@@ -17,10 +17,10 @@
 package org.idp.server.platform.crypto;
 
 import java.nio.charset.StandardCharsets;
-import java.security.InvalidAlgorithmParameterException;
-import java.security.InvalidKeyException;
+import java.security.GeneralSecurityException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.util.Arrays;
 import java.util.Base64;
 import javax.crypto.*;
 import javax.crypto.spec.GCMParameterSpec;
@@ -31,59 +31,107 @@ public class AesCipher {
   private static final int IV_LENGTH = 12;
   private static final int TAG_LENGTH = 128;
   private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+  private static final SecureRandom RANDOM = new SecureRandom();
   SecretKey secretKey;
   Base64.Encoder encoder;
   Base64.Decoder decoder;
+  CryptoEnginePool<Cipher> cipherPool;
 
   public AesCipher(String encryptionKey) {
     byte[] decodedKey = Base64.getDecoder().decode(encryptionKey);
     this.secretKey = new SecretKeySpec(decodedKey, 0, decodedKey.length, "AES");
     this.encoder = Base64.getEncoder();
     this.decoder = Base64.getDecoder();
+    this.cipherPool = new CryptoEnginePool<>(AesCipher::createCipher);
   }
 
   public EncryptedData encrypt(String plainText) {
-    try {
-      byte[] iv = new byte[IV_LENGTH];
-      SecureRandom random = new SecureRandom();
-      random.nextBytes(iv);
+    byte[] iv = newIv();
+    byte[] cipherText =
+        doFinal(
+            Cipher.ENCRYPT_MODE,
+            iv,
+            plainText.getBytes(StandardCharsets.UTF_8),
+            "Error while encrypting data");
+
+    return new EncryptedData(encoder.encodeToString(cipherText), encoder.encodeToString(iv));
+  }
 
-      Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-      GCMParameterSpec spec = new GCMParameterSpec(128, iv);
-      cipher.init(Cipher.ENCRYPT_MODE, secretKey, spec);
-      byte[] cipherText = cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8));
+  public String decrypt(EncryptedData data) {
+    byte[] decrypted =
+        doFinal(
+            Cipher.DECRYPT_MODE,
+            decoder.decode(data.iv()),
+            decoder.decode(data.cipherText()),
+            "Error while decrypting data: " + data);
 
-      return new EncryptedData(encoder.encodeToString(cipherText), encoder.encodeToString((iv)));
-    } catch (InvalidAlgorithmParameterException
-        | InvalidKeyException
-        | IllegalBlockSizeException
-        | BadPaddingException
-        | NoSuchPaddingException
-        | NoSuchAlgorithmException exception) {
+    return new String(decrypted, StandardCharsets.UTF_8);
+  }
 
+  /**
+   * Encrypts {@code plainText} and returns {@code iv || ciphertext || tag} as a single array, for
+   * callers that store binary values and do not need the Base64 {@link EncryptedData} form.
+   */
+  public byte[] encrypt(byte[] plainText) {
+    byte[] iv = newIv();
+    try {
+      Cipher cipher = cipherPool.borrow();
+      cipher.init(Cipher.ENCRYPT_MODE, secretKey, new GCMParameterSpec(TAG_LENGTH, iv));
+      byte[] output = new byte[IV_LENGTH + cipher.getOutputSize(plainText.length)];
+      System.arraycopy(iv, 0, output, 0, IV_LENGTH);
+      int written = cipher.doFinal(plainText, 0, plainText.length, output, IV_LENGTH);
+      cipherPool.release(cipher);
+      return written + IV_LENGTH == output.length
+          ? output
+          : Arrays.copyOf(output, IV_LENGTH + written);
+    } catch (GeneralSecurityException exception) {
       throw new AesCryptoRuntimeException("Error while encrypting data", exception);
     }
   }
 
-  public String decrypt(EncryptedData data) {
+  /** Decrypts the {@code iv || ciphertext || tag} layout produced by {@link #encrypt(byte[])}. */
+  public byte[] decrypt(byte[] ivAndCipherText) {
+    if (ivAndCipherText.length <= IV_LENGTH) {
+      throw new AesCryptoRuntimeException("Error while decrypting data: input is too short");
+    }
     try {
-      Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+      Cipher cipher = cipherPool.borrow();
       cipher.init(
           Cipher.DECRYPT_MODE,
           secretKey,
-          new GCMParameterSpec(TAG_LENGTH, decoder.decode(data.iv())));
+          new GCMParameterSpec(TAG_LENGTH, ivAndCipherText, 0, IV_LENGTH));
+      byte[] decrypted =
+          cipher.doFinal(ivAndCipherText, IV_LENGTH, ivAndCipherText.length - IV_LENGTH);
+      cipherPool.release(cipher);
+      return decrypted;
+    } catch (GeneralSecurityException exception) {
+      throw new AesCryptoRuntimeException("Error while decrypting data", exception);
+    }
+  }
 
-      byte[] decrypted = cipher.doFinal(decoder.decode(data.cipherText()));
+  private byte[] doFinal(int mode, byte[] iv, byte[] input, String errorMessage) {
+    try {
+      Cipher cipher = cipherPool.borrow();
+      cipher.init(mode, secretKey, new GCMParameterSpec(TAG_LENGTH, iv));
+      byte[] output = cipher.doFinal(input);
+      cipherPool.release(cipher);
+      return output;
+    } catch (GeneralSecurityException exception) {
+      throw new AesCryptoRuntimeException(errorMessage, exception);
+    }
+  }
 
-      return new String(decrypted, StandardCharsets.UTF_8);
-    } catch (InvalidAlgorithmParameterException
-        | InvalidKeyException
-        | IllegalBlockSizeException
-        | BadPaddingException
-        | NoSuchPaddingException
-        | NoSuchAlgorithmException exception) {
+  private static byte[] newIv() {
+    byte[] iv = new byte[IV_LENGTH];
+    RANDOM.nextBytes(iv);
+    return iv;
+  }
 
-      throw new AesCryptoRuntimeException("Error while decrypting data: " + data, exception);
+  private static Cipher createCipher() {
+    try {
+      return Cipher.getInstance(TRANSFORMATION);
+    } catch (NoSuchPaddingException | NoSuchAlgorithmException exception) {
+      throw new AesCryptoRuntimeException("Error while initializing cipher", exception);
     }
   }
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.crypto;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of reusable JCA engines ({@link javax.crypto.Mac}, {@link javax.crypto.Cipher}).
+ *
+ * <p>{@code getInstance} performs a provider lookup and allocates a fresh engine on every call. A
+ * pool is used instead of a {@code ThreadLocal} because virtual threads are not reused, so a
+ * per-thread engine would be created on every request as well.
+ */
+class CryptoEnginePool<T> {
+
+  private final Supplier<T> factory;
+  private final int maxIdle;
+  private final Queue<T> idle = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger idleCount = new AtomicInteger();
+
+  CryptoEnginePool(Supplier<T> factory) {
+    this(factory, Runtime.getRuntime().availableProcessors() * 2);
+  }
+
+  CryptoEnginePool(Supplier<T> factory, int maxIdle) {
+    this.factory = factory;
+    this.maxIdle = maxIdle;
+  }
+
+  T borrow() {
+    T engine = idle.poll();
+    if (engine != null) {
+      idleCount.decrementAndGet();
+      return engine;
+    }
+    return factory.get();
+  }
+
+  /** Returns an engine that completed its operation normally; failed engines are dropped. */
+  void release(T engine) {
+    if (idleCount.incrementAndGet() > maxIdle) {
+      idleCount.decrementAndGet();
+      return;
+    }
+    idle.offer(engine);
+  }
+
+  int idleSize() {
+    return idleCount.get();
+  }
+}
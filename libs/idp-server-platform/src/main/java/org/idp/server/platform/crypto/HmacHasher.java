@@ -16,6 +16,7 @@
 
 package org.idp.server.platform.crypto;
 
+import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
@@ -25,10 +26,13 @@ import javax.crypto.spec.SecretKeySpec;
 public class HmacHasher {
 
   private static final String HMAC_ALGO = "HmacSHA256";
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
   SecretKeySpec secretKey;
+  CryptoEnginePool<Mac> macPool;
 
   public HmacHasher(String secret) {
-    this.secretKey = new SecretKeySpec(secret.getBytes(), HMAC_ALGO);
+    this.secretKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGO);
+    this.macPool = new CryptoEnginePool<>(this::createMac);
   }
 
   public String hash(String input) {
@@ -36,12 +40,28 @@ public class HmacHasher {
       throw new HmacHasherInvalidInputException("Input cannot be null");
     }
 
+    byte[] hmac = hash(input.getBytes(StandardCharsets.UTF_8));
+    return ENCODER.encodeToString(hmac);
+  }
+
+  /** Computes the raw HMAC-SHA256 of {@code input} without any string or Base64 conversion. */
+  public byte[] hash(byte[] input) {
+    if (input == null) {
+      throw new HmacHasherInvalidInputException("Input cannot be null");
+    }
+
+    Mac mac = macPool.borrow();
+    // doFinal resets the Mac to its initialized state, so it can go straight back to the pool.
+    byte[] hmac = mac.doFinal(input);
+    macPool.release(mac);
+    return hmac;
+  }
+
+  private Mac createMac() {
     try {
       Mac mac = Mac.getInstance(HMAC_ALGO);
       mac.init(secretKey);
-      byte[] hmac = mac.doFinal(input.getBytes());
-
-      return Base64.getUrlEncoder().withoutPadding().encodeToString(hmac);
+      return mac;
     } catch (InvalidKeyException | NoSuchAlgorithmException e) {
       throw new HmacHasherRuntimeException("Failed to compute HMAC", e);
     }
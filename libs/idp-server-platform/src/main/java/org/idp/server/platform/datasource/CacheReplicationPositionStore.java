@@ -0,0 +1,42 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.datasource;
+
+import java.util.Optional;
+import org.idp.server.platform.datasource.cache.CacheStore;
+
+/** {@link ReplicationPositionStore} on the shared cache, so positions are seen by all instances. */
+public class CacheReplicationPositionStore implements ReplicationPositionStore {
+
+  private static final String KEY_PREFIX = "replication_position:";
+
+  CacheStore cacheStore;
+
+  public CacheReplicationPositionStore(CacheStore cacheStore) {
+    this.cacheStore = cacheStore;
+  }
+
+  @Override
+  public void record(String scope, String position, long sequence, int timeToLiveSeconds) {
+    cacheStore.putIfNewer(KEY_PREFIX + scope, position, sequence, timeToLiveSeconds);
+  }
+
+  @Override
+  public Optional<String> find(String scope) {
+    return cacheStore.find(KEY_PREFIX + scope, String.class);
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.datasource;
+
+import java.util.List;
+import java.util.Map;
+import org.idp.server.platform.json.JsonNodeWrapper;
+
+/**
+ * Runs the non-exact count queries of {@link CountStrategy}.
+ *
+ * <p>Each method takes the row query ({@code SELECT 1 FROM ... WHERE ...}) that selects the rows to
+ * count, so dialect executors only need to build their filter once. Results use the same {@code
+ * count} column as the executors' exact counts.
+ */
+public class CountSqlExecutor {
+
+  private CountSqlExecutor() {}
+
+  /** {@code COUNT(*)} over at most {@link CountStrategy#CAP} + 1 rows. */
+  public static Map<String, String> capped(String rowSql, List<Object> params) {
+    SqlExecutor sqlExecutor = new SqlExecutor();
+    String sql =
+        "SELECT COUNT(*) AS count FROM (" + rowSql + " LIMIT " + (CountStrategy.CAP + 1) + ") t";
+    return sqlExecutor.selectOne(sql, params);
+  }
+
+  /** Top-level "Plan Rows" from {@code EXPLAIN (FORMAT JSON)}. */
+  public static Map<String, String> estimateWithPostgresql(String rowSql, List<Object> params) {
+    SqlExecutor sqlExecutor = new SqlExecutor();
+    Map<String, String> result = sqlExecutor.selectOne("EXPLAIN (FORMAT JSON) " + rowSql, params);
+    if (result == null || result.isEmpty()) {
+      return Map.of("count", "0");
+    }
+
+    JsonNodeWrapper plans = JsonNodeWrapper.fromString(result.get("QUERY PLAN"));
+    long rows = plans.elements().getFirst().getNode("Plan").getValueAsLong("Plan Rows");
+    return Map.of("count", String.valueOf(rows));
+  }
+
+  /** {@code rows * filtered / 100} of the driving table from {@code EXPLAIN}. */
+  public static Map<String, String> estimateWithMysql(String rowSql, List<Object> params) {
+    SqlExecutor sqlExecutor = new SqlExecutor();
+    List<Map<String, String>> results = sqlExecutor.selectList("EXPLAIN " + rowSql, params);
+    if (results == null || results.isEmpty()) {
+      return Map.of("count", "0");
+    }
+
+    Map<String, String> first = results.getFirst();
+    long rows = parseLong(first.get("rows"));
+    double filtered =
+        first.get("filtered") == null ? 100 : Double.parseDouble(first.get("filtered"));
+    return Map.of("count", String.valueOf(Math.round(rows * filtered / 100)));
+  }
+
+  private static long parseLong(String value) {
+    if (value == null || value.isEmpty()) {
+      return 0;
+    }
+    return Long.parseLong(value);
+  }
+}
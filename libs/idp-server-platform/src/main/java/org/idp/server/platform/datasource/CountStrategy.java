@@ -0,0 +1,67 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.datasource;
+
+import org.idp.server.platform.exception.BadRequestException;
+
+/**
+ * How the {@code total_count} of a list endpoint is computed.
+ *
+ * <ul>
+ *   <li>{@link #EXACT}: {@code COUNT(*)} over every matching row. Default.
+ *   <li>{@link #CAPPED}: counts at most {@link #CAP} + 1 rows, so the scan stops early on large
+ *       tenants. A result above {@link #CAP} is reported as "{@code CAP}+".
+ *   <li>{@link #ESTIMATED}: the query planner's row estimate for the filter, without executing it.
+ * </ul>
+ */
+public enum CountStrategy {
+  EXACT,
+  CAPPED,
+  ESTIMATED;
+
+  public static final long CAP = 10000;
+
+  public static CountStrategy of(String value) {
+    if (value == null || value.isEmpty()) {
+      return EXACT;
+    }
+
+    for (CountStrategy strategy : CountStrategy.values()) {
+      if (strategy.name().equalsIgnoreCase(value)) {
+        return strategy;
+      }
+    }
+
+    throw new BadRequestException("Unsupported count_strategy: " + value);
+  }
+
+  public boolean isExact() {
+    return this == EXACT;
+  }
+
+  public boolean isCapped() {
+    return this == CAPPED;
+  }
+
+  public boolean isEstimated() {
+    return this == ESTIMATED;
+  }
+
+  public String value() {
+    return name().toLowerCase();
+  }
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.datasource;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.idp.server.platform.log.LoggerWrapper;
+import org.idp.server.platform.multi_tenancy.tenant.Tenant;
+
+/**
+ * Bounded queue with a single writer thread that writes entries in batches (group commit).
+ *
+ * <p>The writer thread flushes every {@code batchSize} entries or {@code flushIntervalMillis},
+ * whichever comes first. Each flush writes the entries of a tenant with one {@link
+ * BatchWriter#write} call in one transaction, so every transaction stays within a single RLS
+ * tenant. When that transaction fails, the entries are written again one per transaction and only
+ * the entries that still fail are dropped.
+ *
+ * <p>{@link #offer} waits up to {@code offerTimeoutMillis} for room and returns {@code false} when
+ * the queue is still full or already closed; what to do then is up to the caller. {@link #close()}
+ * stops accepting entries and waits for the writer thread to flush what is queued.
+ *
+ * @param <T> entry type
+ */
+public class GroupCommitQueue<T> {
+
+  @FunctionalInterface
+  public interface BatchWriter<T> {
+    void write(Tenant tenant, List<T> entries);
+  }
+
+  private static final LoggerWrapper log = LoggerWrapper.getLogger(GroupCommitQueue.class);
+  private static final long CLOSE_TIMEOUT_MILLIS = 30_000;
+  private static final long IDLE_POLL_MILLIS = 100;
+
+  private final String name;
+  private final ApplicationDatabaseTypeProvider databaseTypeProvider;
+  private final BatchWriter<T> batchWriter;
+  private final int batchSize;
+  private final long flushIntervalMillis;
+  private final long offerTimeoutMillis;
+  private final BlockingQueue<Entry<T>> queue;
+  private final Thread writerThread;
+  private final LongAdder flushedCount = new LongAdder();
+  private final LongAdder droppedCount = new LongAdder();
+  private final AtomicLong lastFlushLatencyMillis = new AtomicLong();
+  private final AtomicLong maxFlushLatencyMillis = new AtomicLong();
+  // offer() enqueues under the read lock and close() stops accepting under the write lock, so
+  // every accepted entry is in the queue before the writer thread's final drain starts.
+  private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+  private volatile boolean running = true;
+
+  public GroupCommitQueue(
+      String name,
+      ApplicationDatabaseTypeProvider databaseTypeProvider,
+      int batchSize,
+      long flushIntervalMillis,
+      int queueCapacity,
+      long offerTimeoutMillis,
+      BatchWriter<T> batchWriter) {
+    this.name = name;
+    this.databaseTypeProvider = databaseTypeProvider;
+    this.batchWriter = batchWriter;
+    this.batchSize = batchSize;
+    this.flushIntervalMillis = flushIntervalMillis;
+    this.offerTimeoutMillis = offerTimeoutMillis;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.writerThread = new Thread(this::run, name);
+    this.writerThread.setDaemon(true);
+    this.writerThread.start();
+  }
+
+  /**
+   * Queues {@code entry}.
+   *
+   * @return {@code false} if the queue stayed full for {@code offerTimeoutMillis} or is closed
+   */
+  public boolean offer(Tenant tenant, T entry) {
+    closeLock.readLock().lock();
+    try {
+      if (!running) {
+        return false;
+      }
+      return queue.offer(new Entry<>(tenant, entry), offerTimeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } finally {
+      closeLock.readLock().unlock();
+    }
+  }
+
+  public void close() {
+    closeLock.writeLock().lock();
+    try {
+      running = false;
+    } finally {
+      closeLock.writeLock().unlock();
+    }
+    try {
+      writerThread.join(CLOSE_TIMEOUT_MILLIS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    int unwritten = queue.size();
+    if (unwritten > 0) {
+      droppedCount.add(unwritten);
+      log.error("{} closed with {} unwritten entries", name, unwritten);
+    }
+    log.info(
+        "{} closed: flushed={}, dropped={}, max_flush_latency_ms={}",
+        name,
+        flushedCount.sum(),
+        droppedCount.sum(),
+        maxFlushLatencyMillis.get());
+  }
+
+  public int queueDepth() {
+    return queue.size();
+  }
+
+  public long flushedCount() {
+    return flushedCount.sum();
+  }
+
+  /** Entries lost because their write failed or they were still queued when closing. */
+  public long droppedCount() {
+    return droppedCount.sum();
+  }
+
+  public long lastFlushLatencyMillis() {
+    return lastFlushLatencyMillis.get();
+  }
+
+  public long maxFlushLatencyMillis() {
+    return maxFlushLatencyMillis.get();
+  }
+
+  private void run() {
+    List<Entry<T>> batch = new ArrayList<>(batchSize);
+    while (running) {
+      try {
+        collect(batch);
+      } catch (InterruptedException e) {
+        running = false;
+      }
+      flush(batch);
+      batch.clear();
+    }
+
+    while (!queue.isEmpty()) {
+      queue.drainTo(batch, batchSize);
+      flush(batch);
+      batch.clear();
+    }
+  }
+
+  /**
+   * Waits for the first entry, then fills the batch until it is full or the interval elapses. Waits
+   * are sliced so that {@link #close()} is noticed within {@link #IDLE_POLL_MILLIS}.
+   */
+  private void collect(List<Entry<T>> batch) throws InterruptedException {
+    Entry<T> first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+    if (first == null) {
+      return;
+    }
+    batch.add(first);
+
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+    while (running && batch.size() < batchSize) {
+      queue.drainTo(batch, batchSize - batch.size());
+      long remaining = deadline - System.nanoTime();
+      if (batch.size() >= batchSize || remaining <= 0) {
+        return;
+      }
+      long wait = Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(IDLE_POLL_MILLIS));
+      Entry<T> next = queue.poll(wait, TimeUnit.NANOSECONDS);
+      if (next != null) {
+        batch.add(next);
+      }
+    }
+  }
+
+  void flush(List<Entry<T>> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    long start = System.nanoTime();
+
+    Map<String, List<Entry<T>>> byTenant = new LinkedHashMap<>();
+    for (Entry<T> entry : batch) {
+      byTenant
+          .computeIfAbsent(entry.tenant().identifierValue(), key -> new ArrayList<>())
+          .add(entry);
+    }
+
+    for (List<Entry<T>> tenantEntries : byTenant.values()) {
+      Tenant tenant = tenantEntries.getFirst().tenant();
+      List<T> values = tenantEntries.stream().map(Entry::value).toList();
+      try {
+        write(tenant, values);
+        flushedCount.add(values.size());
+      } catch (Exception e) {
+        rollback();
+        if (values.size() == 1) {
+          drop(tenant, e);
+          continue;
+        }
+        log.warn(
+            "{} failed to flush, retrying row by row: tenant={}, count={}, error={}",
+            name,
+            tenant.identifierValue(),
+            values.size(),
+            e.getMessage());
+        writeEach(tenant, values);
+      }
+    }
+
+    long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    lastFlushLatencyMillis.set(latencyMillis);
+    maxFlushLatencyMillis.accumulateAndGet(latencyMillis, Math::max);
+    log.debug(
+        "{} flushed: count={}, latency_ms={}, queue={}",
+        name,
+        batch.size(),
+        latencyMillis,
+        queue.size());
+  }
+
+  /**
+   * Writes the entries of a failed batch one per transaction, so that a single bad row (constraint
+   * violation, oversized column, ...) only loses itself instead of the whole batch.
+   */
+  private void writeEach(Tenant tenant, List<T> values) {
+    for (T value : values) {
+      try {
+        write(tenant, List.of(value));
+        flushedCount.increment();
+      } catch (Exception e) {
+        rollback();
+        drop(tenant, e);
+      }
+    }
+  }
+
+  private void write(Tenant tenant, List<T> values) {
+    TransactionManager.beginTransaction(databaseTypeProvider.provide(), tenant.identifier());
+    batchWriter.write(tenant, values);
+    TransactionManager.commitTransaction();
+  }
+
+  private void drop(Tenant tenant, Exception e) {
+    droppedCount.increment();
+    log.error(
+        "{} failed to write entry: tenant={}, error={}",
+        name,
+        tenant.identifierValue(),
+        e.getMessage(),
+        e);
+  }
+
+  private void rollback() {
+    try {
+      TransactionManager.rollbackTransaction();
+    } catch (Exception e) {
+      log.warn("{} failed to rollback flush: error={}", name, e.getMessage());
+    }
+  }
+
+  record Entry<T>(Tenant tenant, T value) {}
+}
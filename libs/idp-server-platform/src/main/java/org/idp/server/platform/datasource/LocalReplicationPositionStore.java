@@ -0,0 +1,53 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.datasource;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** In-process {@link ReplicationPositionStore}. Only covers reads served by this instance. */
+public class LocalReplicationPositionStore implements ReplicationPositionStore {
+
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+  @Override
+  public void record(String scope, String position, long sequence, int timeToLiveSeconds) {
+    long now = System.currentTimeMillis();
+    Entry recorded = new Entry(position, sequence, now + timeToLiveSeconds * 1000L);
+    entries.merge(
+        scope,
+        recorded,
+        (current, next) ->
+            current.expiresAt() > now && current.sequence() > next.sequence() ? current : next);
+  }
+
+  @Override
+  public Optional<String> find(String scope) {
+    Entry entry = entries.get(scope);
+    if (entry == null) {
+      return Optional.empty();
+    }
+    if (entry.expiresAt() <= System.currentTimeMillis()) {
+      entries.remove(scope, entry);
+      return Optional.empty();
+    }
+    return Optional.of(entry.position());
+  }
+
+  private record Entry(String position, long sequence, long expiresAt) {}
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.datasource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+import org.idp.server.platform.log.LoggerWrapper;
+
+/**
+ * Read-your-writes across the writer and reader pools.
+ *
+ * <p>After a write transaction commits, the writer's replication position is recorded for the
+ * transaction's scope (tenant): {@code pg_current_wal_lsn()} on PostgreSQL,
+ * {@code @@GLOBAL.gtid_executed} on MySQL. While that position is retained, a read connection for
+ * the same scope first asks the replica whether it has replayed it ({@code
+ * pg_last_wal_replay_lsn()} / {@code GTID_SUBSET}). If not, {@link TransactionManager} serves the
+ * read from the writer instead.
+ *
+ * <p>The scope is the tenant, not the caller: a write by any client of a tenant makes reads of all
+ * its clients check the replica, and a tenant writing continuously keeps its reads on the writer
+ * while replicas lag. This is deliberate, since the read that must observe a write is often made by
+ * another party (a resource server introspecting a token just issued to a client).
+ *
+ * <p>Positions are retained for {@code windowSeconds}; past that, replicas are assumed to have
+ * caught up and reads go to the reader pool without a check. Failures to obtain or compare a
+ * position never fail the request: recording is skipped, and an unverifiable replica is treated as
+ * behind.
+ */
+public class ReplicaConsistency {
+
+  private static final LoggerWrapper log = LoggerWrapper.getLogger(ReplicaConsistency.class);
+
+  static final String POSTGRESQL_WRITER_POSITION_SQL = "SELECT pg_current_wal_lsn()::text";
+  static final String POSTGRESQL_REPLICA_POSITION_SQL =
+      "SELECT pg_is_in_recovery(), pg_last_wal_replay_lsn()::text";
+  static final String MYSQL_WRITER_POSITION_SQL = "SELECT @@GLOBAL.gtid_executed";
+  static final String MYSQL_REPLICA_CAUGHT_UP_SQL = "SELECT GTID_SUBSET(?, @@GLOBAL.gtid_executed)";
+
+  ReplicaConsistencyMode mode;
+  ReplicationPositionStore store;
+  int windowSeconds;
+
+  public ReplicaConsistency(
+      ReplicaConsistencyMode mode, ReplicationPositionStore store, int windowSeconds) {
+    this.mode = mode;
+    this.store = store;
+    this.windowSeconds = windowSeconds;
+  }
+
+  public static ReplicaConsistency disabled() {
+    return new ReplicaConsistency(
+        ReplicaConsistencyMode.NONE, new LocalReplicationPositionStore(), 0);
+  }
+
+  public boolean isEnabled() {
+    return mode.isEnabled();
+  }
+
+  /**
+   * Records the writer position after {@code writer} has committed. Runs one statement on the
+   * writer and commits it, so the connection goes back to the pool without an open transaction.
+   */
+  public void recordWrite(DatabaseType databaseType, String scope, Connection writer) {
+    String sql =
+        databaseType == DatabaseType.POSTGRESQL
+            ? POSTGRESQL_WRITER_POSITION_SQL
+            : MYSQL_WRITER_POSITION_SQL;
+    try {
+      String position;
+      try (PreparedStatement statement = writer.prepareStatement(sql);
+          ResultSet resultSet = statement.executeQuery()) {
+        position = resultSet.next() ? resultSet.getString(1) : null;
+      }
+      writer.commit();
+
+      if (position == null || position.isEmpty()) {
+        return;
+      }
+      store.record(scope, position, sequence(databaseType, position), windowSeconds);
+      log.trace("[Replica] recorded writer position: scope={}, position={}", scope, position);
+    } catch (SQLException | RuntimeException e) {
+      log.warn("[Replica] failed to record writer position: scope={}", scope, e);
+    }
+  }
+
+  /** Whether {@code reader} may serve a read for {@code scope} without missing a recorded write. */
+  public boolean isCaughtUp(DatabaseType databaseType, String scope, Connection reader) {
+    Optional<String> required = store.find(scope);
+    if (required.isEmpty()) {
+      return true;
+    }
+
+    try {
+      boolean caughtUp =
+          databaseType == DatabaseType.POSTGRESQL
+              ? isPostgresqlCaughtUp(reader, required.get())
+              : isMysqlCaughtUp(reader, required.get());
+      if (!caughtUp) {
+        log.debug("[Replica] replica behind writer: scope={}, required={}", scope, required.get());
+      }
+      return caughtUp;
+    } catch (SQLException | RuntimeException e) {
+      log.warn("[Replica] failed to check replica position: scope={}", scope, e);
+      return false;
+    }
+  }
+
+  private boolean isPostgresqlCaughtUp(Connection reader, String required) throws SQLException {
+    try (PreparedStatement statement = reader.prepareStatement(POSTGRESQL_REPLICA_POSITION_SQL);
+        ResultSet resultSet = statement.executeQuery()) {
+      if (!resultSet.next()) {
+        return false;
+      }
+      // The reader pool may point at the primary (single-node setups): always current.
+      if (!resultSet.getBoolean(1)) {
+        return true;
+      }
+      String replayed = resultSet.getString(2);
+      return replayed != null && parseLsn(replayed) >= parseLsn(required);
+    }
+  }
+
+  private boolean isMysqlCaughtUp(Connection reader, String required) throws SQLException {
+    try (PreparedStatement statement = reader.prepareStatement(MYSQL_REPLICA_CAUGHT_UP_SQL)) {
+      statement.setString(1, required);
+      try (ResultSet resultSet = statement.executeQuery()) {
+        return resultSet.next() && resultSet.getInt(1) == 1;
+      }
+    }
+  }
+
+  /**
+   * Orders writer positions so that a later commit never has a lower value: the LSN on PostgreSQL,
+   * the number of transactions in the GTID set on MySQL ({@code gtid_executed} only grows).
+   */
+  static long sequence(DatabaseType databaseType, String position) {
+    return databaseType == DatabaseType.POSTGRESQL
+        ? parseLsn(position)
+        : countGtidTransactions(position);
+  }
+
+  /**
+   * Counts the transactions in a MySQL GTID set ({@code "uuid:1-5:7,uuid2:1-3"}). Tags of tagged
+   * GTIDs ({@code "uuid:tag:1-5"}) are skipped.
+   */
+  static long countGtidTransactions(String gtidSet) {
+    long count = 0;
+    for (String member : gtidSet.split(",")) {
+      String[] parts = member.trim().split(":");
+      for (int i = 1; i < parts.length; i++) {
+        String interval = parts[i].trim();
+        if (interval.isEmpty() || !Character.isDigit(interval.charAt(0))) {
+          continue;
+        }
+        int separator = interval.indexOf('-');
+        if (separator < 0) {
+          count++;
+        } else {
+          long start = Long.parseLong(interval.substring(0, separator));
+          long end = Long.parseLong(interval.substring(separator + 1));
+          count += end - start + 1;
+        }
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Parses a PostgreSQL {@code pg_lsn} text form ({@code "16/B374D848"}) into a comparable long.
+   */
+  static long parseLsn(String lsn) {
+    int separator = lsn.indexOf('/');
+    long high = Long.parseLong(lsn.substring(0, separator), 16);
+    long low = Long.parseLong(lsn.substring(separator + 1), 16);
+    return (high << 32) | low;
+  }
+}
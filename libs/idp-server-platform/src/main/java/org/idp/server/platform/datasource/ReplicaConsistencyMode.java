@@ -0,0 +1,59 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.datasource;
+
+import org.idp.server.platform.exception.UnSupportedException;
+
+/**
+ * Whether reads are kept consistent with preceding writes when they are routed to a replica.
+ *
+ * <ul>
+ *   <li>{@link #NONE}: reads always use the reader pool and may observe replication lag.
+ *   <li>{@link #LOCAL}: the writer position (PostgreSQL WAL LSN / MySQL GTID set) after each commit
+ *       is remembered per tenant in this instance. A read for that tenant uses the replica only
+ *       once it has replayed that position, otherwise the writer.
+ *   <li>{@link #SHARED}: as {@link #LOCAL}, but positions are kept in the cache store so that a
+ *       read on another instance (e.g. introspection right after issuance) is covered too.
+ * </ul>
+ */
+public enum ReplicaConsistencyMode {
+  NONE,
+  LOCAL,
+  SHARED;
+
+  public static ReplicaConsistencyMode of(String value) {
+    if (value == null || value.isEmpty()) {
+      return NONE;
+    }
+
+    for (ReplicaConsistencyMode mode : ReplicaConsistencyMode.values()) {
+      if (mode.name().equalsIgnoreCase(value)) {
+        return mode;
+      }
+    }
+
+    throw new UnSupportedException("Unsupported replica consistency mode: " + value);
+  }
+
+  public boolean isEnabled() {
+    return this != NONE;
+  }
+
+  public boolean isShared() {
+    return this == SHARED;
+  }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.datasource;
+
+import java.util.Optional;
+
+/**
+ * Keeps the latest writer replication position per scope (tenant) for {@link ReplicaConsistency}.
+ * Entries only need to live as long as replicas may lag behind.
+ */
+public interface ReplicationPositionStore {
+
+  /**
+   * Records {@code position} for {@code scope} unless a position with a higher {@code sequence} is
+   * already retained. Commits on different threads or instances may report their positions out of
+   * order; the store must never replace a newer position with an older one.
+   */
+  void record(String scope, String position, long sequence, int timeToLiveSeconds);
+
+  Optional<String> find(String scope);
+}
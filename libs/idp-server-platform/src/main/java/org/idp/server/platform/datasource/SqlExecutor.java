@@ -20,322 +20,178 @@ import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 
 public class SqlExecutor {
+  static final int BATCH_SIZE = 500;
   private final Connection connection;
 
   public SqlExecutor() {
-    this.connection = TransactionManager.getConnection();
+    this.connection = TransactionManager.currentConnection();
   }
 
   public Map<String, String> selectOne(String sql, List<Object> params) {
-    try (PreparedStatement prepareStatement = connection.prepareStatement(sql)) {
+    List<Map<String, String>> results = selectList(sql, params);
+    if (results.isEmpty()) {
+      return Map.of();
+    }
+    if (results.size() > 1) {
+      throw new SqlTooManyResultsException(String.format("find results (%d)", results.size()));
+    }
+    return results.getFirst();
+  }
 
-      int index = 1;
-      for (Object param : params) {
-        if (param instanceof String stringValue) {
-          prepareStatement.setString(index, stringValue);
-        }
-        if (param instanceof Integer integerValue) {
-          prepareStatement.setInt(index, integerValue);
-        }
-        if (param instanceof Long longValue) {
-          prepareStatement.setLong(index, longValue);
-        }
-        if (param instanceof Boolean booleanValue) {
-          prepareStatement.setBoolean(index, booleanValue);
-        }
-        if (param instanceof byte[] binary) {
-          prepareStatement.setBytes(index, binary);
-        }
-        if (param instanceof UUID uuid) {
-          prepareStatement.setObject(index, uuid);
-        }
-        if (param instanceof LocalDate localDate) {
-          prepareStatement.setObject(index, localDate);
-        }
-        if (param instanceof LocalDateTime localDateTime) {
-          prepareStatement.setObject(index, localDateTime);
-        }
-        if (param == null) {
-          prepareStatement.setObject(index, null);
-        }
-        index++;
-      }
+  public List<Map<String, String>> selectList(String sql, List<Object> params) {
+    List<Map<String, String>> results = selectList(sql, params, SqlExecutor::toStringMap);
+    if (results.isEmpty()) {
+      return List.of();
+    }
+    return results;
+  }
 
-      List<Map<String, String>> results = select(sql, prepareStatement);
-      if (results.isEmpty()) {
-        return Map.of();
-      }
-      if (results.size() > 1) {
-        throw new SqlTooManyResultsException(String.format("find results (%d)", results.size()));
-      }
-      return results.getFirst();
-    } catch (SQLException exception) {
-      switch (SqlErrorClassifier.classify(exception)) {
-        case UNIQUE_VIOLATION ->
-            throw new SqlDuplicateKeyException(
-                "Duplicate key violation: " + exception.getMessage(), exception);
-        case FK_VIOLATION ->
-            throw new SqlForeignKeyViolationException(
-                "Referenced resource not found: " + exception.getMessage(), exception);
-        case NOT_NULL_VIOLATION, CHECK_VIOLATION ->
-            throw new SqlBadRequestException(
-                "Invalid data for: " + exception.getMessage(), exception);
-        case DEADLOCK_DETECTED, SERIALIZATION_FAILURE ->
-            throw new SqlTransactionConflictException(
-                "Transaction conflict: " + exception.getMessage(), exception);
-        default ->
-            throw new SqlRuntimeException(
-                "Sql execution is error: " + exception.getMessage(), exception);
-      }
+  public List<Map<String, Object>> selectListWithType(String sql, List<Object> params) {
+    List<Map<String, Object>> results = selectList(sql, params, SqlExecutor::toTypedMap);
+    if (results.isEmpty()) {
+      return List.of();
     }
+    return results;
   }
 
-  public List<Map<String, String>> selectList(String sql, List<Object> params) {
-    try (PreparedStatement prepareStatement = connection.prepareStatement(sql)) {
+  public Map<String, Object> selectOneWithType(String sql, List<Object> params) {
+    List<Map<String, Object>> results = selectList(sql, params, SqlExecutor::toTypedMap);
 
-      int index = 1;
-      for (Object param : params) {
-        if (param instanceof String stringValue) {
-          prepareStatement.setString(index, stringValue);
-        }
-        if (param instanceof Integer integerValue) {
-          prepareStatement.setInt(index, integerValue);
-        }
-        if (param instanceof Long longValue) {
-          prepareStatement.setLong(index, longValue);
-        }
-        if (param instanceof Boolean booleanValue) {
-          prepareStatement.setBoolean(index, booleanValue);
-        }
-        if (param instanceof byte[] binary) {
-          prepareStatement.setBytes(index, binary);
-        }
-        if (param instanceof UUID uuid) {
-          prepareStatement.setObject(index, uuid);
-        }
-        if (param instanceof LocalDate localDate) {
-          prepareStatement.setObject(index, localDate);
-        }
-        if (param instanceof LocalDateTime localDateTime) {
-          prepareStatement.setObject(index, localDateTime);
-        }
-        if (param == null) {
-          prepareStatement.setObject(index, null);
-        }
-        index++;
-      }
+    if (results.isEmpty()) {
+      return Map.of();
+    }
 
-      List<Map<String, String>> results = select(sql, prepareStatement);
-      if (results.isEmpty()) {
-        return List.of();
-      }
-      return results;
-    } catch (SQLException exception) {
-      switch (SqlErrorClassifier.classify(exception)) {
-        case UNIQUE_VIOLATION ->
-            throw new SqlDuplicateKeyException(
-                "Duplicate key violation: " + exception.getMessage(), exception);
-        case FK_VIOLATION ->
-            throw new SqlForeignKeyViolationException(
-                "Referenced resource not found: " + exception.getMessage(), exception);
-        case NOT_NULL_VIOLATION, CHECK_VIOLATION ->
-            throw new SqlBadRequestException(
-                "Invalid data for: " + exception.getMessage(), exception);
-        case DEADLOCK_DETECTED, SERIALIZATION_FAILURE ->
-            throw new SqlTransactionConflictException(
-                "Transaction conflict: " + exception.getMessage(), exception);
-        default ->
-            throw new SqlRuntimeException(
-                "Sql execution is error: " + exception.getMessage(), exception);
-      }
+    if (results.size() > 1) {
+      throw new SqlTooManyResultsException(String.format("find results (%d)", results.size()));
     }
+
+    return results.getFirst();
   }
 
-  public List<Map<String, Object>> selectListWithType(String sql, List<Object> params) {
-    try (PreparedStatement prepareStatement = connection.prepareStatement(sql)) {
+  /**
+   * Selects at most one row and maps it with {@code rowMapper}.
+   *
+   * @throws SqlTooManyResultsException if more than one row is returned
+   */
+  public <T> Optional<T> selectOne(String sql, List<Object> params, RowMapper<T> rowMapper) {
+    List<T> results = selectList(sql, params, rowMapper);
+    if (results.isEmpty()) {
+      return Optional.empty();
+    }
+    if (results.size() > 1) {
+      throw new SqlTooManyResultsException(String.format("find results (%d)", results.size()));
+    }
+    return Optional.ofNullable(results.getFirst());
+  }
 
-      int index = 1;
-      for (Object param : params) {
-        if (param instanceof String stringValue) {
-          prepareStatement.setString(index, stringValue);
-        }
-        if (param instanceof Integer integerValue) {
-          prepareStatement.setInt(index, integerValue);
-        }
-        if (param instanceof Long longValue) {
-          prepareStatement.setLong(index, longValue);
-        }
-        if (param instanceof Boolean booleanValue) {
-          prepareStatement.setBoolean(index, booleanValue);
-        }
-        if (param instanceof byte[] binary) {
-          prepareStatement.setBytes(index, binary);
-        }
-        if (param instanceof UUID uuid) {
-          prepareStatement.setObject(index, uuid);
-        }
-        if (param instanceof LocalDate localDate) {
-          prepareStatement.setObject(index, localDate);
-        }
-        if (param instanceof LocalDateTime localDateTime) {
-          prepareStatement.setObject(index, localDateTime);
-        }
-        if (param == null) {
-          prepareStatement.setObject(index, null);
-        }
-        index++;
-      }
+  /**
+   * Selects rows and maps each one straight from the {@link ResultSet}, without building an
+   * intermediate {@code Map} per row.
+   */
+  public <T> List<T> selectList(String sql, List<Object> params, RowMapper<T> rowMapper) {
+    String pendingTenantId = TransactionManager.pendingTenantId();
+    try (PreparedStatement prepareStatement = prepare(sql, pendingTenantId)) {
+      bindParameters(prepareStatement, firstParameterIndex(pendingTenantId), params);
 
-      List<Map<String, Object>> results = selectWithType(sql, prepareStatement);
-      if (results.isEmpty()) {
-        return List.of();
+      List<T> results = new ArrayList<>();
+      try (ResultSet resultSet = executeQuery(prepareStatement, pendingTenantId)) {
+        while (resultSet.next()) {
+          results.add(rowMapper.map(resultSet));
+        }
       }
       return results;
     } catch (SQLException exception) {
-      switch (SqlErrorClassifier.classify(exception)) {
-        case UNIQUE_VIOLATION ->
-            throw new SqlDuplicateKeyException(
-                "Duplicate key violation: " + exception.getMessage(), exception);
-        case FK_VIOLATION ->
-            throw new SqlForeignKeyViolationException(
-                "Referenced resource not found: " + exception.getMessage(), exception);
-        case NOT_NULL_VIOLATION, CHECK_VIOLATION ->
-            throw new SqlBadRequestException(
-                "Invalid data for: " + exception.getMessage(), exception);
-        case DEADLOCK_DETECTED, SERIALIZATION_FAILURE ->
-            throw new SqlTransactionConflictException(
-                "Transaction conflict: " + exception.getMessage(), exception);
-        default ->
-            throw new SqlRuntimeException(
-                "Sql execution is error: " + exception.getMessage(), exception);
-      }
+      throw translate(exception);
     }
   }
 
-  public Map<String, Object> selectOneWithType(String sql, List<Object> params) {
-    try (PreparedStatement prepareStatement = connection.prepareStatement(sql)) {
-
-      int index = 1;
-      for (Object param : params) {
-        if (param instanceof String stringValue) {
-          prepareStatement.setString(index, stringValue);
-        }
-        if (param instanceof Integer integerValue) {
-          prepareStatement.setInt(index, integerValue);
-        }
-        if (param instanceof Long longValue) {
-          prepareStatement.setLong(index, longValue);
-        }
-        if (param instanceof Boolean booleanValue) {
-          prepareStatement.setBoolean(index, booleanValue);
-        }
-        if (param instanceof byte[] binary) {
-          prepareStatement.setBytes(index, binary);
-        }
-        if (param instanceof UUID uuid) {
-          prepareStatement.setObject(index, uuid);
-        }
-        if (param instanceof LocalDate localDate) {
-          prepareStatement.setObject(index, localDate);
-        }
-        if (param instanceof LocalDateTime localDateTime) {
-          prepareStatement.setObject(index, localDateTime);
-        }
-        if (param == null) {
-          prepareStatement.setObject(index, null);
+  /**
+   * Streams rows to {@code consumer} through a server-side cursor, holding at most {@code
+   * fetchSize} rows in memory at a time.
+   *
+   * <p>The PostgreSQL driver only uses a cursor inside a transaction (auto-commit off), which is
+   * always the case for connections obtained through {@link TransactionManager}. MySQL Connector/J
+   * needs {@code useCursorFetch=true} on the JDBC URL; without it the whole result is read as
+   * before.
+   *
+   * @return the number of rows passed to {@code consumer}
+   */
+  public <T> long selectCursor(
+      String sql,
+      List<Object> params,
+      int fetchSize,
+      RowMapper<T> rowMapper,
+      Consumer<? super T> consumer) {
+    String pendingTenantId = TransactionManager.pendingTenantId();
+    try (PreparedStatement prepareStatement = prepare(sql, pendingTenantId)) {
+      prepareStatement.setFetchSize(fetchSize);
+      bindParameters(prepareStatement, firstParameterIndex(pendingTenantId), params);
+
+      long count = 0;
+      try (ResultSet resultSet = executeQuery(prepareStatement, pendingTenantId)) {
+        resultSet.setFetchSize(fetchSize);
+        while (resultSet.next()) {
+          consumer.accept(rowMapper.map(resultSet));
+          count++;
         }
-        index++;
       }
-
-      List<Map<String, Object>> results = selectWithType(sql, prepareStatement);
-
-      if (results.isEmpty()) {
-        return Map.of();
-      }
-
-      if (results.size() > 1) {
-        throw new SqlTooManyResultsException(String.format("find results (%d)", results.size()));
-      }
-
-      return results.getFirst();
+      return count;
     } catch (SQLException exception) {
-      switch (SqlErrorClassifier.classify(exception)) {
-        case UNIQUE_VIOLATION ->
-            throw new SqlDuplicateKeyException(
-                "Duplicate key violation: " + exception.getMessage(), exception);
-        case FK_VIOLATION ->
-            throw new SqlForeignKeyViolationException(
-                "Referenced resource not found: " + exception.getMessage(), exception);
-        case NOT_NULL_VIOLATION, CHECK_VIOLATION ->
-            throw new SqlBadRequestException(
-                "Invalid data for: " + exception.getMessage(), exception);
-        case DEADLOCK_DETECTED, SERIALIZATION_FAILURE ->
-            throw new SqlTransactionConflictException(
-                "Transaction conflict: " + exception.getMessage(), exception);
-        default ->
-            throw new SqlRuntimeException(
-                "Sql execution is error: " + exception.getMessage(), exception);
-      }
+      throw translate(exception);
     }
   }
 
   public void execute(String sql, List<Object> params) {
-    try (PreparedStatement prepareStatement = connection.prepareStatement(sql)) {
+    String pendingTenantId = TransactionManager.pendingTenantId();
+    try (PreparedStatement prepareStatement = prepare(sql, pendingTenantId)) {
+      bindParameters(prepareStatement, firstParameterIndex(pendingTenantId), params);
+      executeUpdate(prepareStatement, pendingTenantId);
 
-      int index = 1;
-      for (Object param : params) {
+    } catch (SQLException exception) {
+      throw translate(exception);
+    }
+  }
 
-        if (param instanceof String stringValue) {
-          prepareStatement.setString(index, stringValue);
-        }
-        if (param instanceof Integer integerValue) {
-          prepareStatement.setInt(index, integerValue);
-        }
-        if (param instanceof Long longValue) {
-          prepareStatement.setLong(index, longValue);
-        }
-        if (param instanceof Boolean booleanValue) {
-          prepareStatement.setBoolean(index, booleanValue);
-        }
-        if (param instanceof byte[] binary) {
-          prepareStatement.setBytes(index, binary);
-        }
-        if (param instanceof UUID uuid) {
-          prepareStatement.setObject(index, uuid);
-        }
-        if (param instanceof LocalDate localDate) {
-          prepareStatement.setObject(index, localDate);
-        }
-        if (param instanceof LocalDateTime localDateTime) {
-          prepareStatement.setObject(index, localDateTime);
-        }
-        if (param == null) {
-          prepareStatement.setObject(index, null);
+  /**
+   * Executes {@code sql} once per parameter list as a JDBC batch.
+   *
+   * <p>Rows are sent in chunks of {@link #BATCH_SIZE}. With {@code reWriteBatchedInserts=true}
+   * (PostgreSQL) or {@code rewriteBatchedStatements=true} (MySQL) the driver rewrites each chunk of
+   * a single-row {@code INSERT ... VALUES (...)} into multi-row inserts, so callers keep one simple
+   * statement and are not bound by the bind parameter limit of hand-built multi-row SQL.
+   *
+   * <p>A pending RLS tenant ({@link TenantSettingMode#PIGGYBACK}) is applied before the batch, as a
+   * batch cannot carry the extra {@code set_config} result.
+   */
+  public void executeBatch(String sql, List<List<Object>> paramsList) {
+    if (paramsList.isEmpty()) {
+      return;
+    }
+    Connection batchConnection =
+        TransactionManager.pendingTenantId() == null
+            ? connection
+            : TransactionManager.getConnection();
+
+    try (PreparedStatement prepareStatement = batchConnection.prepareStatement(sql)) {
+      int pending = 0;
+      for (List<Object> params : paramsList) {
+        bindParameters(prepareStatement, 1, params);
+        prepareStatement.addBatch();
+        pending++;
+        if (pending == BATCH_SIZE) {
+          prepareStatement.executeBatch();
+          pending = 0;
         }
-        index++;
       }
-      prepareStatement.executeUpdate();
+      if (pending > 0) {
+        prepareStatement.executeBatch();
+      }
 
     } catch (SQLException exception) {
-      switch (SqlErrorClassifier.classify(exception)) {
-        case UNIQUE_VIOLATION ->
-            throw new SqlDuplicateKeyException(
-                "Duplicate key violation: " + exception.getMessage(), exception);
-        case FK_VIOLATION ->
-            throw new SqlForeignKeyViolationException(
-                "Referenced resource not found: " + exception.getMessage(), exception);
-        case NOT_NULL_VIOLATION, CHECK_VIOLATION ->
-            throw new SqlBadRequestException(
-                "Invalid data for: " + exception.getMessage(), exception);
-        case DEADLOCK_DETECTED, SERIALIZATION_FAILURE ->
-            throw new SqlTransactionConflictException(
-                "Transaction conflict: " + exception.getMessage(), exception);
-        default ->
-            throw new SqlRuntimeException(
-                "Sql execution is error: " + exception.getMessage(), exception);
-      }
+      throw translate(exception);
     }
   }
 
@@ -349,61 +205,15 @@ public class SqlExecutor {
    * @return true if at least one row was returned, false otherwise
    */
   public boolean executeAndCheckReturned(String sql, List<Object> params) {
-    try (PreparedStatement prepareStatement = connection.prepareStatement(sql)) {
+    String pendingTenantId = TransactionManager.pendingTenantId();
+    try (PreparedStatement prepareStatement = prepare(sql, pendingTenantId)) {
+      bindParameters(prepareStatement, firstParameterIndex(pendingTenantId), params);
 
-      int index = 1;
-      for (Object param : params) {
-        if (param instanceof String stringValue) {
-          prepareStatement.setString(index, stringValue);
-        }
-        if (param instanceof Integer integerValue) {
-          prepareStatement.setInt(index, integerValue);
-        }
-        if (param instanceof Long longValue) {
-          prepareStatement.setLong(index, longValue);
-        }
-        if (param instanceof Boolean booleanValue) {
-          prepareStatement.setBoolean(index, booleanValue);
-        }
-        if (param instanceof byte[] binary) {
-          prepareStatement.setBytes(index, binary);
-        }
-        if (param instanceof UUID uuid) {
-          prepareStatement.setObject(index, uuid);
-        }
-        if (param instanceof LocalDate localDate) {
-          prepareStatement.setObject(index, localDate);
-        }
-        if (param instanceof LocalDateTime localDateTime) {
-          prepareStatement.setObject(index, localDateTime);
-        }
-        if (param == null) {
-          prepareStatement.setObject(index, null);
-        }
-        index++;
-      }
-
-      ResultSet resultSet = prepareStatement.executeQuery();
+      ResultSet resultSet = executeQuery(prepareStatement, pendingTenantId);
       return resultSet.next(); // Returns true if at least one row was returned
 
     } catch (SQLException exception) {
-      switch (SqlErrorClassifier.classify(exception)) {
-        case UNIQUE_VIOLATION ->
-            throw new SqlDuplicateKeyException(
-                "Duplicate key violation: " + exception.getMessage(), exception);
-        case FK_VIOLATION ->
-            throw new SqlForeignKeyViolationException(
-                "Referenced resource not found: " + exception.getMessage(), exception);
-        case NOT_NULL_VIOLATION, CHECK_VIOLATION ->
-            throw new SqlBadRequestException(
-                "Invalid data for: " + exception.getMessage(), exception);
-        case DEADLOCK_DETECTED, SERIALIZATION_FAILURE ->
-            throw new SqlTransactionConflictException(
-                "Transaction conflict: " + exception.getMessage(), exception);
-        default ->
-            throw new SqlRuntimeException(
-                "Sql execution is error: " + exception.getMessage(), exception);
-      }
+      throw translate(exception);
     }
   }
 
@@ -417,103 +227,126 @@ public class SqlExecutor {
    * @return number of affected rows (1 if inserted, 0 if ignored due to duplicate)
    */
   public int executeAndReturnAffectedRows(String sql, List<Object> params) {
-    try (PreparedStatement prepareStatement = connection.prepareStatement(sql)) {
-
-      int index = 1;
-      for (Object param : params) {
-        if (param instanceof String stringValue) {
-          prepareStatement.setString(index, stringValue);
-        }
-        if (param instanceof Integer integerValue) {
-          prepareStatement.setInt(index, integerValue);
-        }
-        if (param instanceof Long longValue) {
-          prepareStatement.setLong(index, longValue);
-        }
-        if (param instanceof Boolean booleanValue) {
-          prepareStatement.setBoolean(index, booleanValue);
-        }
-        if (param instanceof byte[] binary) {
-          prepareStatement.setBytes(index, binary);
-        }
-        if (param instanceof UUID uuid) {
-          prepareStatement.setObject(index, uuid);
-        }
-        if (param instanceof LocalDate localDate) {
-          prepareStatement.setObject(index, localDate);
-        }
-        if (param instanceof LocalDateTime localDateTime) {
-          prepareStatement.setObject(index, localDateTime);
-        }
-        if (param == null) {
-          prepareStatement.setObject(index, null);
-        }
-        index++;
-      }
+    String pendingTenantId = TransactionManager.pendingTenantId();
+    try (PreparedStatement prepareStatement = prepare(sql, pendingTenantId)) {
+      bindParameters(prepareStatement, firstParameterIndex(pendingTenantId), params);
 
-      return prepareStatement.executeUpdate();
+      return executeUpdate(prepareStatement, pendingTenantId);
 
     } catch (SQLException exception) {
-      switch (SqlErrorClassifier.classify(exception)) {
-        case UNIQUE_VIOLATION ->
-            throw new SqlDuplicateKeyException(
-                "Duplicate key violation: " + exception.getMessage(), exception);
-        case FK_VIOLATION ->
-            throw new SqlForeignKeyViolationException(
-                "Referenced resource not found: " + exception.getMessage(), exception);
-        case NOT_NULL_VIOLATION, CHECK_VIOLATION ->
-            throw new SqlBadRequestException(
-                "Invalid data for: " + exception.getMessage(), exception);
-        case DEADLOCK_DETECTED, SERIALIZATION_FAILURE ->
-            throw new SqlTransactionConflictException(
-                "Transaction conflict: " + exception.getMessage(), exception);
-        default ->
-            throw new SqlRuntimeException(
-                "Sql execution is error: " + exception.getMessage(), exception);
+      throw translate(exception);
+    }
+  }
+
+  private void bindParameters(
+      PreparedStatement prepareStatement, int firstIndex, List<Object> params) throws SQLException {
+    int index = firstIndex;
+    for (Object param : params) {
+      switch (param) {
+        case null -> prepareStatement.setObject(index, null);
+        case String stringValue -> prepareStatement.setString(index, stringValue);
+        case Integer integerValue -> prepareStatement.setInt(index, integerValue);
+        case Long longValue -> prepareStatement.setLong(index, longValue);
+        case Boolean booleanValue -> prepareStatement.setBoolean(index, booleanValue);
+        case byte[] binary -> prepareStatement.setBytes(index, binary);
+        case UUID uuid -> prepareStatement.setObject(index, uuid);
+        case LocalDate localDate -> prepareStatement.setObject(index, localDate);
+        case LocalDateTime localDateTime -> prepareStatement.setObject(index, localDateTime);
+        default -> {}
       }
+      index++;
     }
   }
 
-  private List<Map<String, String>> select(String sql, PreparedStatement preparedStatement)
-      throws SQLException {
-    ResultSet resultSet = preparedStatement.executeQuery();
+  private RuntimeException translate(SQLException exception) {
+    return switch (SqlErrorClassifier.classify(exception)) {
+      case UNIQUE_VIOLATION ->
+          new SqlDuplicateKeyException(
+              "Duplicate key violation: " + exception.getMessage(), exception);
+      case FK_VIOLATION ->
+          new SqlForeignKeyViolationException(
+              "Referenced resource not found: " + exception.getMessage(), exception);
+      case NOT_NULL_VIOLATION, CHECK_VIOLATION ->
+          new SqlBadRequestException("Invalid data for: " + exception.getMessage(), exception);
+      case DEADLOCK_DETECTED, SERIALIZATION_FAILURE ->
+          new SqlTransactionConflictException(
+              "Transaction conflict: " + exception.getMessage(), exception);
+      default ->
+          new SqlRuntimeException("Sql execution is error: " + exception.getMessage(), exception);
+    };
+  }
+
+  private static Map<String, String> toStringMap(ResultSet resultSet) throws SQLException {
     ResultSetMetaData metaData = resultSet.getMetaData();
     int columnCount = metaData.getColumnCount();
-
-    List<Map<String, String>> results = new ArrayList<>();
-    while (resultSet.next()) {
-      Map<String, String> row = new HashMap<>();
-      for (int i = 1; i <= columnCount; i++) {
-        String columnName = metaData.getColumnLabel(i);
-        String value = resultSet.getString(columnName);
-        row.put(columnName, value);
-      }
-      results.add(row);
+    Map<String, String> row = new HashMap<>();
+    for (int i = 1; i <= columnCount; i++) {
+      String columnName = metaData.getColumnLabel(i);
+      String value = resultSet.getString(columnName);
+      row.put(columnName, value);
     }
-    return results;
+    return row;
   }
 
-  private List<Map<String, Object>> selectWithType(String sql, PreparedStatement preparedStatement)
-      throws SQLException {
-    ResultSet resultSet = preparedStatement.executeQuery();
+  private static Map<String, Object> toTypedMap(ResultSet resultSet) throws SQLException {
     ResultSetMetaData metaData = resultSet.getMetaData();
     int columnCount = metaData.getColumnCount();
+    Map<String, Object> row = new HashMap<>();
+    for (int i = 1; i <= columnCount; i++) {
+      String columnName = metaData.getColumnLabel(i);
+      Object value = getTypedValue(resultSet, i, metaData.getColumnType(i));
+      row.put(columnName, value);
+    }
+    return row;
+  }
 
-    List<Map<String, Object>> results = new ArrayList<>();
+  /**
+   * Prepares {@code sql}. When the RLS tenant of the current transaction has not been set yet
+   * ({@link TenantSettingMode#PIGGYBACK}), {@code set_config('app.tenant_id', ...)} is prepended as
+   * a separate statement. The PostgreSQL driver sends both statements in one round trip and runs
+   * them in order, so the tenant is in effect before {@code sql} executes.
+   */
+  private PreparedStatement prepare(String sql, String pendingTenantId) throws SQLException {
+    if (pendingTenantId == null) {
+      return connection.prepareStatement(sql);
+    }
+    PreparedStatement preparedStatement =
+        connection.prepareStatement(TransactionManager.SET_TENANT_ID_SQL + ";\n" + sql);
+    preparedStatement.setString(1, pendingTenantId);
+    return preparedStatement;
+  }
 
-    while (resultSet.next()) {
-      Map<String, Object> row = new HashMap<>();
-      for (int i = 1; i <= columnCount; i++) {
-        String columnName = metaData.getColumnLabel(i);
-        Object value = getTypedValue(resultSet, i, metaData.getColumnType(i));
-        row.put(columnName, value);
-      }
-      results.add(row);
+  private int firstParameterIndex(String pendingTenantId) {
+    return pendingTenantId == null ? 1 : 2;
+  }
+
+  private ResultSet executeQuery(PreparedStatement preparedStatement, String pendingTenantId)
+      throws SQLException {
+    if (pendingTenantId == null) {
+      return preparedStatement.executeQuery();
     }
-    return results;
+    // The first result is the set_config() row.
+    preparedStatement.execute();
+    TransactionManager.tenantIdApplied();
+    if (!preparedStatement.getMoreResults()) {
+      throw new SQLException("No result set returned by the query");
+    }
+    return preparedStatement.getResultSet();
   }
 
-  private Object getTypedValue(ResultSet resultSet, int index, int sqlType) throws SQLException {
+  private int executeUpdate(PreparedStatement preparedStatement, String pendingTenantId)
+      throws SQLException {
+    if (pendingTenantId == null) {
+      return preparedStatement.executeUpdate();
+    }
+    preparedStatement.execute();
+    TransactionManager.tenantIdApplied();
+    preparedStatement.getMoreResults();
+    return Math.max(preparedStatement.getUpdateCount(), 0);
+  }
+
+  private static Object getTypedValue(ResultSet resultSet, int index, int sqlType)
+      throws SQLException {
     return switch (sqlType) {
       case Types.INTEGER -> resultSet.getInt(index);
       case Types.BIGINT -> resultSet.getLong(index);
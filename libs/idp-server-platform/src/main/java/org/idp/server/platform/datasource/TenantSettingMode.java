@@ -0,0 +1,48 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.datasource;
+
+import org.idp.server.platform.exception.UnSupportedException;
+
+/**
+ * How the PostgreSQL RLS tenant ({@code app.tenant_id}) is set for a transaction.
+ *
+ * <ul>
+ *   <li>{@link #EAGER}: a separate {@code SELECT set_config(...)} is executed when the transaction
+ *       starts.
+ *   <li>{@link #PIGGYBACK}: the {@code set_config(...)} call is prepended to the first statement of
+ *       the transaction and sent in the same network round trip.
+ * </ul>
+ */
+public enum TenantSettingMode {
+  EAGER,
+  PIGGYBACK;
+
+  public static TenantSettingMode of(String value) {
+    if (value == null || value.isEmpty()) {
+      return EAGER;
+    }
+
+    for (TenantSettingMode mode : TenantSettingMode.values()) {
+      if (mode.name().equalsIgnoreCase(value)) {
+        return mode;
+      }
+    }
+
+    throw new UnSupportedException("Unsupported tenant setting mode: " + value);
+  }
+}
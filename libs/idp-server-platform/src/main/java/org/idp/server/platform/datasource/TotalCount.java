@@ -0,0 +1,67 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.datasource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/** A list endpoint's total count together with the {@link CountStrategy} that produced it. */
+public class TotalCount {
+
+  long value;
+  CountStrategy strategy;
+
+  public TotalCount(long value, CountStrategy strategy) {
+    this.value = value;
+    this.strategy = strategy;
+  }
+
+  public long value() {
+    return value;
+  }
+
+  public CountStrategy strategy() {
+    return strategy;
+  }
+
+  /** True when a capped count stopped at the cap and more rows exist. */
+  public boolean exceedsCap() {
+    return strategy.isCapped() && value > CountStrategy.CAP;
+  }
+
+  /**
+   * True when the count proves there are no rows. An estimate of zero does not, so the list query
+   * still runs.
+   */
+  public boolean isEmpty() {
+    return !strategy.isEstimated() && value == 0;
+  }
+
+  /**
+   * Response fields: {@code total_count}, {@code count_strategy}, and for capped counts {@code
+   * total_count_capped} (whether the real count is larger than {@code total_count}).
+   */
+  public Map<String, Object> toMap() {
+    Map<String, Object> map = new HashMap<>();
+    map.put("total_count", exceedsCap() ? CountStrategy.CAP : value);
+    map.put("count_strategy", strategy.value());
+    if (strategy.isCapped()) {
+      map.put("total_count_capped", exceedsCap());
+    }
+    return map;
+  }
+}
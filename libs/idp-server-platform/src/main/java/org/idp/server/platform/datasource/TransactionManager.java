@@ -18,19 +18,37 @@ package org.idp.server.platform.datasource;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import org.idp.server.platform.log.LoggerWrapper;
 import org.idp.server.platform.multi_tenancy.tenant.AdminTenantContext;
 import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
 
 public class TransactionManager {
   private static final LoggerWrapper log = LoggerWrapper.getLogger(TransactionManager.class);
+  static final String SET_TENANT_ID_SQL = "SELECT set_config('app.tenant_id', ?, true)";
   private static final ThreadLocal<Connection> connectionHolder = new ThreadLocal<>();
+  private static final ThreadLocal<String> pendingTenantIdHolder = new ThreadLocal<>();
+  private static final ThreadLocal<WriteScope> writeScopeHolder = new ThreadLocal<>();
+  private static final ThreadLocal<List<Runnable>> afterCommitHolder = new ThreadLocal<>();
+  private static final ThreadLocal<List<Runnable>> afterCompletionHolder = new ThreadLocal<>();
+  static final String SYSTEM_SCOPE = "system";
   private static DbConnectionProvider dbConnectionProvider;
+  private static TenantSettingMode tenantSettingMode = TenantSettingMode.EAGER;
+  private static ReplicaConsistency replicaConsistency = ReplicaConsistency.disabled();
 
   public static void configure(DbConnectionProvider provider) {
     dbConnectionProvider = provider;
   }
 
+  public static void configure(TenantSettingMode mode) {
+    tenantSettingMode = mode;
+  }
+
+  public static void configure(ReplicaConsistency consistency) {
+    replicaConsistency = consistency;
+  }
+
   public static void createConnection(
       DatabaseType databaseType, TenantIdentifier tenantIdentifier) {
     if (connectionHolder.get() != null) {
@@ -38,12 +56,12 @@ public class TransactionManager {
     }
     OperationContext.set(OperationType.READ);
     Connection conn =
-        dbConnectionProvider.getConnection(
-            databaseType, AdminTenantContext.isAdmin(tenantIdentifier));
+        openReadConnection(
+            databaseType, AdminTenantContext.isAdmin(tenantIdentifier), tenantIdentifier.value());
+    connectionHolder.set(conn);
     if (databaseType == DatabaseType.POSTGRESQL) {
-      setTenantId(conn, tenantIdentifier);
+      applyTenantId(conn, tenantIdentifier);
     }
-    connectionHolder.set(conn);
   }
 
   public static void createConnection(DatabaseType databaseType) {
@@ -51,7 +69,7 @@ public class TransactionManager {
       throw new SqlRuntimeException("Transaction already started");
     }
     OperationContext.set(OperationType.READ);
-    Connection conn = dbConnectionProvider.getConnection(databaseType, true);
+    Connection conn = openReadConnection(databaseType, true, SYSTEM_SCOPE);
     connectionHolder.set(conn);
   }
 
@@ -64,10 +82,11 @@ public class TransactionManager {
     Connection conn =
         dbConnectionProvider.getConnection(
             databaseType, AdminTenantContext.isAdmin(tenantIdentifier));
+    connectionHolder.set(conn);
+    writeScopeHolder.set(new WriteScope(databaseType, tenantIdentifier.value()));
     if (databaseType == DatabaseType.POSTGRESQL) {
-      setTenantId(conn, tenantIdentifier);
+      applyTenantId(conn, tenantIdentifier);
     }
-    connectionHolder.set(conn);
   }
 
   public static void beginTransaction(DatabaseType databaseType) {
@@ -77,9 +96,28 @@ public class TransactionManager {
     OperationContext.set(OperationType.WRITE);
     Connection conn = dbConnectionProvider.getConnection(databaseType, true);
     connectionHolder.set(conn);
+    writeScopeHolder.set(new WriteScope(databaseType, SYSTEM_SCOPE));
   }
 
+  /**
+   * Returns the connection of the current transaction.
+   *
+   * <p>A tenant setting deferred by {@link TenantSettingMode#PIGGYBACK} is applied here before the
+   * connection is handed out, because the caller may run statements that do not go through {@link
+   * SqlExecutor}.
+   */
   public static Connection getConnection() {
+    Connection conn = currentConnection();
+    String pendingTenantId = pendingTenantIdHolder.get();
+    if (pendingTenantId != null) {
+      setTenantId(conn, pendingTenantId);
+      pendingTenantIdHolder.remove();
+    }
+    return conn;
+  }
+
+  /** Returns the connection without applying a deferred tenant setting. For {@link SqlExecutor}. */
+  static Connection currentConnection() {
     Connection conn = connectionHolder.get();
     if (conn == null) {
       throw new SqlRuntimeException("No active transaction");
@@ -87,16 +125,100 @@ public class TransactionManager {
     return conn;
   }
 
+  /**
+   * Returns the tenant id that still has to be set for the current transaction, or {@code null}.
+   *
+   * <p>{@link SqlExecutor} prepends {@link #SET_TENANT_ID_SQL} to its next statement and calls
+   * {@link #tenantIdApplied()} once that statement has been executed. Until then every statement
+   * carries the setting, so a statement that fails before reaching the server does not leave the
+   * transaction without a tenant.
+   */
+  static String pendingTenantId() {
+    return pendingTenantIdHolder.get();
+  }
+
+  static void tenantIdApplied() {
+    pendingTenantIdHolder.remove();
+  }
+
+  /** Returns whether this thread is inside a transaction started by {@code beginTransaction}. */
+  public static boolean isWriteTransactionActive() {
+    return connectionHolder.get() != null && writeScopeHolder.get() != null;
+  }
+
+  /**
+   * Returns whether this thread is inside a write transaction that can write rows of {@code
+   * tenantIdentifier}. On PostgreSQL a transaction begun for another tenant is confined to that
+   * tenant's rows by row level security; the admin connection bypasses it.
+   */
+  public static boolean isWriteTransactionActive(TenantIdentifier tenantIdentifier) {
+    if (!isWriteTransactionActive()) {
+      return false;
+    }
+    WriteScope writeScope = writeScopeHolder.get();
+    if (writeScope.databaseType() != DatabaseType.POSTGRESQL
+        || writeScope.scope().equals(SYSTEM_SCOPE)
+        || writeScope.scope().equals(tenantIdentifier.value())) {
+      return true;
+    }
+    return AdminTenantContext.isAdmin(new TenantIdentifier(writeScope.scope()));
+  }
+
+  /**
+   * Runs {@code action} once the current transaction has committed, or right away when there is no
+   * transaction on this thread. Discarded if the transaction rolls back. Failures of the action are
+   * logged and do not affect the commit.
+   */
+  public static void afterCommit(Runnable action) {
+    if (connectionHolder.get() == null) {
+      run(action);
+      return;
+    }
+    List<Runnable> actions = afterCommitHolder.get();
+    if (actions == null) {
+      actions = new ArrayList<>();
+      afterCommitHolder.set(actions);
+    }
+    actions.add(action);
+  }
+
+  /**
+   * Runs {@code action} once the connection of the current transaction is released, whether it
+   * committed or rolled back, or right away when there is no connection on this thread. Used to
+   * release resources held for the duration of a transaction, such as session store locks. Failures
+   * of the action are logged.
+   */
+  public static void afterCompletion(Runnable action) {
+    if (connectionHolder.get() == null) {
+      run(action);
+      return;
+    }
+    List<Runnable> actions = afterCompletionHolder.get();
+    if (actions == null) {
+      actions = new ArrayList<>();
+      afterCompletionHolder.set(actions);
+    }
+    actions.add(action);
+  }
+
   public static void commitTransaction() {
     Connection conn = connectionHolder.get();
     if (conn == null) return;
+    List<Runnable> afterCommitActions = afterCommitHolder.get();
     try {
       conn.commit();
+      WriteScope writeScope = writeScopeHolder.get();
+      if (replicaConsistency.isEnabled() && writeScope != null) {
+        replicaConsistency.recordWrite(writeScope.databaseType(), writeScope.scope(), conn);
+      }
     } catch (SQLException e) {
       throw new SqlRuntimeException("Failed to commit transaction", e);
     } finally {
       closeConnection();
     }
+    if (afterCommitActions != null) {
+      afterCommitActions.forEach(TransactionManager::run);
+    }
   }
 
   public static void rollbackTransaction() {
@@ -145,17 +267,75 @@ public class TransactionManager {
   public static void closeConnection() {
     Connection conn = connectionHolder.get();
     if (conn != null) {
+      List<Runnable> afterCompletionActions = afterCompletionHolder.get();
       try {
         conn.close();
       } catch (SQLException e) {
         throw new SqlRuntimeException("Failed to close connection", e);
       } finally {
         connectionHolder.remove();
+        pendingTenantIdHolder.remove();
+        writeScopeHolder.remove();
+        afterCommitHolder.remove();
+        afterCompletionHolder.remove();
         OperationContext.clear();
+        if (afterCompletionActions != null) {
+          afterCompletionActions.forEach(TransactionManager::run);
+        }
       }
     }
   }
 
+  /**
+   * Opens a connection for a read. With {@link ReplicaConsistency} enabled, a reader connection
+   * whose replica has not yet replayed the scope's last recorded write is released and the read is
+   * served by the writer instead.
+   */
+  private static Connection openReadConnection(
+      DatabaseType databaseType, boolean admin, String scope) {
+    Connection reader = dbConnectionProvider.getConnection(databaseType, admin);
+    if (!replicaConsistency.isEnabled()
+        || replicaConsistency.isCaughtUp(databaseType, scope, reader)) {
+      return reader;
+    }
+
+    release(reader);
+    OperationContext.set(OperationType.WRITE);
+    try {
+      return dbConnectionProvider.getConnection(databaseType, admin);
+    } finally {
+      OperationContext.set(OperationType.READ);
+    }
+  }
+
+  private static void run(Runnable action) {
+    try {
+      action.run();
+    } catch (RuntimeException e) {
+      log.warn("Failed to run transaction callback", e);
+    }
+  }
+
+  /** Ends the check's read-only transaction with a commit (see {@link #endReadTransaction}). */
+  private static void release(Connection conn) {
+    try {
+      conn.commit();
+      conn.close();
+    } catch (SQLException e) {
+      log.warn("Failed to release reader connection", e);
+    }
+  }
+
+  private static void applyTenantId(Connection conn, TenantIdentifier tenantIdentifier) {
+    if (tenantSettingMode == TenantSettingMode.PIGGYBACK) {
+      log.trace(
+          "[RLS] defer app.tenant_id to first statement: tenant={}", tenantIdentifier.value());
+      pendingTenantIdHolder.set(tenantIdentifier.value());
+      return;
+    }
+    setTenantId(conn, tenantIdentifier.value());
+  }
+
   /**
    * Sets the current tenant identifier for Row-Level Security (RLS) using PostgreSQL's {@code
    * set_config()} function.
@@ -181,19 +361,21 @@ public class TransactionManager {
    * PostgreSQL Documentation: Configuration Settings Functions</a>
    *
    * @param conn active SQL connection (must be within an open transaction)
-   * @param tenantIdentifier the tenant ID to set in the session context
+   * @param tenantId the tenant ID to set in the session context
    * @throws SqlRuntimeException if the tenant ID could not be set
    */
-  private static void setTenantId(Connection conn, TenantIdentifier tenantIdentifier) {
-    log.trace("[RLS] SET app.tenant_id: tenant={}", tenantIdentifier.value());
+  private static void setTenantId(Connection conn, String tenantId) {
+    log.trace("[RLS] SET app.tenant_id: tenant={}", tenantId);
 
     // Use set_config() function with PreparedStatement to prevent SQL Injection
     // See: https://www.postgresql.org/docs/current/functions-admin.html#FUNCTIONS-ADMIN-SET
-    try (var stmt = conn.prepareStatement("SELECT set_config('app.tenant_id', ?, true)")) {
-      stmt.setString(1, tenantIdentifier.value());
+    try (var stmt = conn.prepareStatement(SET_TENANT_ID_SQL)) {
+      stmt.setString(1, tenantId);
       stmt.execute();
     } catch (SQLException e) {
       throw new SqlRuntimeException("Failed to set tenant_id", e);
     }
   }
+
+  private record WriteScope(DatabaseType databaseType, String scope) {}
 }
@@ -0,0 +1,432 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.datasource.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import org.idp.server.platform.json.JsonConverter;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.util.TokenBuffer;
+
+/**
+ * Compact binary cache format.
+ *
+ * <p>The value is turned into Jackson's token stream with the same snake_case mapping as {@link
+ * JsonCacheSerializer} (so field-level compatibility rules are identical), and the tokens are
+ * written as tagged binary values. Property names are written once and referenced by index
+ * afterwards, numbers are varint / fixed width, and no text escaping or number parsing is needed on
+ * a cache hit.
+ *
+ * <p>Layout:
+ *
+ * <pre>
+ *   byte 0   MAGIC (0xB1, never the first byte of UTF-8 JSON)
+ *   byte 1   format version
+ *   byte 2   flags (bit 0: body is deflate-compressed)
+ *   [varint  uncompressed body length, only when compressed]
+ *   body     tagged token stream
+ * </pre>
+ *
+ * <p>Bodies of at least {@code compressionThresholdBytes} are deflated when that makes them
+ * smaller. Entries without the magic byte are read as JSON, so existing entries written by {@link
+ * JsonCacheSerializer} stay readable. Values whose tokens cannot be represented (raw or embedded
+ * objects) are stored as JSON.
+ */
+public class BinaryCacheSerializer implements CacheSerializer {
+
+  static final byte MAGIC = (byte) 0xB1;
+  static final byte VERSION = 1;
+  static final int FLAG_COMPRESSED = 1;
+  static final int DEFAULT_COMPRESSION_THRESHOLD_BYTES = 8192;
+
+  private static final int START_OBJECT = 1;
+  private static final int END_OBJECT = 2;
+  private static final int START_ARRAY = 3;
+  private static final int END_ARRAY = 4;
+  private static final int NEW_NAME = 5;
+  private static final int NAME_REF = 6;
+  private static final int STRING = 7;
+  private static final int INTEGER = 8;
+  private static final int BIG_INTEGER = 9;
+  private static final int DOUBLE = 10;
+  private static final int FLOAT = 11;
+  private static final int BIG_DECIMAL = 12;
+  private static final int TRUE = 13;
+  private static final int FALSE = 14;
+  private static final int NULL = 15;
+  private static final int BINARY = 16;
+
+  JsonConverter jsonConverter = JsonConverter.snakeCaseInstance();
+  JsonCacheSerializer jsonCacheSerializer = new JsonCacheSerializer();
+  int compressionThresholdBytes;
+
+  public BinaryCacheSerializer() {
+    this(DEFAULT_COMPRESSION_THRESHOLD_BYTES);
+  }
+
+  /**
+   * @param compressionThresholdBytes bodies of at least this size are deflated; {@code 0} or less
+   *     disables compression
+   */
+  public BinaryCacheSerializer(int compressionThresholdBytes) {
+    this.compressionThresholdBytes = compressionThresholdBytes;
+  }
+
+  @Override
+  public CacheSerializerType type() {
+    return CacheSerializerType.BINARY;
+  }
+
+  @Override
+  public byte[] serialize(Object value) {
+    TokenBuffer tokenBuffer = jsonConverter.writeTokens(value);
+    Writer body = new Writer(256);
+    try (JsonParser parser = tokenBuffer.asParser()) {
+      if (!encode(parser, body)) {
+        return jsonCacheSerializer.serialize(value);
+      }
+    }
+
+    if (compressionThresholdBytes > 0 && body.size >= compressionThresholdBytes) {
+      byte[] compressed = deflate(body.buffer, body.size);
+      if (compressed.length < body.size) {
+        Writer output = new Writer(compressed.length + 8);
+        output.writeHeader(FLAG_COMPRESSED);
+        output.writeVarLong(body.size);
+        output.writeBytes(compressed, 0, compressed.length);
+        return output.toByteArray();
+      }
+    }
+
+    Writer output = new Writer(body.size + 3);
+    output.writeHeader(0);
+    output.writeBytes(body.buffer, 0, body.size);
+    return output.toByteArray();
+  }
+
+  @Override
+  public <T> T deserialize(byte[] bytes, Class<T> type) {
+    if (bytes.length == 0 || bytes[0] != MAGIC) {
+      return jsonCacheSerializer.deserialize(bytes, type);
+    }
+    if (bytes.length < 3 || bytes[1] != VERSION) {
+      throw new CacheSerializationException(
+          "Unsupported binary cache format version: " + (bytes.length < 2 ? "none" : bytes[1]));
+    }
+
+    Reader reader = new Reader(bytes, 3, bytes.length);
+    if ((bytes[2] & FLAG_COMPRESSED) != 0) {
+      int length = (int) reader.readVarLong();
+      byte[] inflated = inflate(bytes, reader.position, bytes.length - reader.position, length);
+      reader = new Reader(inflated, 0, inflated.length);
+    }
+
+    TokenBuffer tokenBuffer = TokenBuffer.forGeneration();
+    decode(reader, tokenBuffer);
+    return jsonConverter.readTokens(tokenBuffer, type);
+  }
+
+  private boolean encode(JsonParser parser, Writer writer) {
+    Map<String, Integer> names = new HashMap<>();
+    JsonToken token;
+    while ((token = parser.nextToken()) != null) {
+      switch (token) {
+        case START_OBJECT -> writer.write(START_OBJECT);
+        case END_OBJECT -> writer.write(END_OBJECT);
+        case START_ARRAY -> writer.write(START_ARRAY);
+        case END_ARRAY -> writer.write(END_ARRAY);
+        case PROPERTY_NAME -> {
+          String name = parser.currentName();
+          Integer index = names.get(name);
+          if (index != null) {
+            writer.write(NAME_REF);
+            writer.writeVarLong(index);
+          } else {
+            names.put(name, names.size());
+            writer.write(NEW_NAME);
+            writer.writeString(name);
+          }
+        }
+        case VALUE_STRING -> {
+          writer.write(STRING);
+          writer.writeString(parser.getString());
+        }
+        case VALUE_NUMBER_INT -> {
+          if (parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER) {
+            writer.write(BIG_INTEGER);
+            byte[] value = parser.getBigIntegerValue().toByteArray();
+            writer.writeVarLong(value.length);
+            writer.writeBytes(value, 0, value.length);
+          } else {
+            writer.write(INTEGER);
+            writer.writeZigZag(parser.getLongValue());
+          }
+        }
+        case VALUE_NUMBER_FLOAT -> {
+          switch (parser.getNumberType()) {
+            case FLOAT -> {
+              writer.write(FLOAT);
+              writer.writeFixed(Float.floatToIntBits(parser.getFloatValue()), 4);
+            }
+            case BIG_DECIMAL -> {
+              writer.write(BIG_DECIMAL);
+              writer.writeString(parser.getDecimalValue().toString());
+            }
+            default -> {
+              writer.write(DOUBLE);
+              writer.writeFixed(Double.doubleToLongBits(parser.getDoubleValue()), 8);
+            }
+          }
+        }
+        case VALUE_TRUE -> writer.write(TRUE);
+        case VALUE_FALSE -> writer.write(FALSE);
+        case VALUE_NULL -> writer.write(NULL);
+        case VALUE_EMBEDDED_OBJECT -> {
+          if (!(parser.getEmbeddedObject() instanceof byte[] value)) {
+            return false;
+          }
+          writer.write(BINARY);
+          writer.writeVarLong(value.length);
+          writer.writeBytes(value, 0, value.length);
+        }
+        default -> {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private void decode(Reader reader, TokenBuffer generator) {
+    List<String> names = new ArrayList<>();
+    while (reader.hasRemaining()) {
+      int tag = reader.read();
+      switch (tag) {
+        case START_OBJECT -> generator.writeStartObject();
+        case END_OBJECT -> generator.writeEndObject();
+        case START_ARRAY -> generator.writeStartArray();
+        case END_ARRAY -> generator.writeEndArray();
+        case NEW_NAME -> {
+          String name = reader.readString();
+          names.add(name);
+          generator.writeName(name);
+        }
+        case NAME_REF -> generator.writeName(names.get((int) reader.readVarLong()));
+        case STRING -> generator.writeString(reader.readString());
+        case INTEGER -> {
+          long value = reader.readZigZag();
+          if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            generator.writeNumber((int) value);
+          } else {
+            generator.writeNumber(value);
+          }
+        }
+        case BIG_INTEGER -> generator.writeNumber(new BigInteger(reader.readBytes()));
+        case DOUBLE -> generator.writeNumber(Double.longBitsToDouble(reader.readFixed(8)));
+        case FLOAT -> generator.writeNumber(Float.intBitsToFloat((int) reader.readFixed(4)));
+        case BIG_DECIMAL -> generator.writeNumber(new BigDecimal(reader.readString()));
+        case TRUE -> generator.writeBoolean(true);
+        case FALSE -> generator.writeBoolean(false);
+        case NULL -> generator.writeNull();
+        case BINARY -> generator.writeBinary(reader.readBytes());
+        default -> throw new CacheSerializationException("Unknown binary cache tag: " + tag);
+      }
+    }
+  }
+
+  private static byte[] deflate(byte[] input, int length) {
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      deflater.setInput(input, 0, length);
+      deflater.finish();
+      ByteArrayOutputStream output = new ByteArrayOutputStream(length / 2);
+      byte[] chunk = new byte[4096];
+      while (!deflater.finished()) {
+        int written = deflater.deflate(chunk);
+        output.write(chunk, 0, written);
+      }
+      return output.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static byte[] inflate(byte[] input, int offset, int length, int inflatedLength) {
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(input, offset, length);
+      byte[] output = new byte[inflatedLength];
+      int read = 0;
+      while (read < inflatedLength && !inflater.finished()) {
+        int inflated = inflater.inflate(output, read, inflatedLength - read);
+        if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          break;
+        }
+        read += inflated;
+      }
+      if (read != inflatedLength) {
+        throw new CacheSerializationException("Truncated compressed cache entry");
+      }
+      return output;
+    } catch (DataFormatException e) {
+      throw new CacheSerializationException("Corrupted compressed cache entry", e);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  private static class Writer {
+    byte[] buffer;
+    int size;
+
+    Writer(int capacity) {
+      this.buffer = new byte[capacity];
+    }
+
+    void writeHeader(int flags) {
+      write(MAGIC);
+      write(VERSION);
+      write(flags);
+    }
+
+    void write(int value) {
+      ensureCapacity(1);
+      buffer[size++] = (byte) value;
+    }
+
+    void writeBytes(byte[] value, int offset, int length) {
+      ensureCapacity(length);
+      System.arraycopy(value, offset, buffer, size, length);
+      size += length;
+    }
+
+    void writeString(String value) {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      writeVarLong(bytes.length);
+      writeBytes(bytes, 0, bytes.length);
+    }
+
+    void writeVarLong(long value) {
+      ensureCapacity(10);
+      while ((value & ~0x7FL) != 0) {
+        buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      buffer[size++] = (byte) value;
+    }
+
+    void writeZigZag(long value) {
+      writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    void writeFixed(long value, int bytes) {
+      ensureCapacity(bytes);
+      for (int i = bytes - 1; i >= 0; i--) {
+        buffer[size++] = (byte) (value >>> (i * 8));
+      }
+    }
+
+    byte[] toByteArray() {
+      return size == buffer.length ? buffer : Arrays.copyOf(buffer, size);
+    }
+
+    private void ensureCapacity(int additional) {
+      if (size + additional > buffer.length) {
+        buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additional));
+      }
+    }
+  }
+
+  private static class Reader {
+    final byte[] buffer;
+    final int limit;
+    int position;
+
+    Reader(byte[] buffer, int position, int limit) {
+      this.buffer = buffer;
+      this.position = position;
+      this.limit = limit;
+    }
+
+    boolean hasRemaining() {
+      return position < limit;
+    }
+
+    int read() {
+      if (position >= limit) {
+        throw new CacheSerializationException("Truncated binary cache entry");
+      }
+      return buffer[position++] & 0xFF;
+    }
+
+    long readVarLong() {
+      long value = 0;
+      for (int shift = 0; shift < 64; shift += 7) {
+        int b = read();
+        value |= (long) (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+      throw new CacheSerializationException("Malformed varint in binary cache entry");
+    }
+
+    long readZigZag() {
+      long value = readVarLong();
+      return (value >>> 1) ^ -(value & 1);
+    }
+
+    long readFixed(int bytes) {
+      long value = 0;
+      for (int i = 0; i < bytes; i++) {
+        value = (value << 8) | read();
+      }
+      return value;
+    }
+
+    byte[] readBytes() {
+      int length = (int) readVarLong();
+      if (length < 0 || position + length > limit) {
+        throw new CacheSerializationException("Truncated binary cache entry");
+      }
+      byte[] value = Arrays.copyOfRange(buffer, position, position + length);
+      position += length;
+      return value;
+    }
+
+    String readString() {
+      int length = (int) readVarLong();
+      if (length < 0 || position + length > limit) {
+        throw new CacheSerializationException("Truncated binary cache entry");
+      }
+      String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+      position += length;
+      return value;
+    }
+  }
+}
@@ -26,6 +26,8 @@ public class CacheConfiguration {
   int maxIdle;
   int minIdle;
   int timeToLiveSeconds;
+  CacheSerializerType serializerType = CacheSerializerType.JSON;
+  int compressionThresholdBytes = BinaryCacheSerializer.DEFAULT_COMPRESSION_THRESHOLD_BYTES;
 
   public CacheConfiguration() {}
 
@@ -50,6 +52,23 @@ public class CacheConfiguration {
     this.timeToLiveSeconds = timeToLiveSeconds;
   }
 
+  public CacheConfiguration(
+      String host,
+      int port,
+      int database,
+      int timeout,
+      String password,
+      int maxTotal,
+      int maxIdle,
+      int minIdle,
+      int timeToLiveSeconds,
+      CacheSerializerType serializerType,
+      int compressionThresholdBytes) {
+    this(host, port, database, timeout, password, maxTotal, maxIdle, minIdle, timeToLiveSeconds);
+    this.serializerType = serializerType;
+    this.compressionThresholdBytes = compressionThresholdBytes;
+  }
+
   public String host() {
     return host;
   }
@@ -85,4 +104,19 @@ public class CacheConfiguration {
   public int timeToLiveSeconds() {
     return timeToLiveSeconds;
   }
+
+  public CacheSerializerType serializerType() {
+    return serializerType;
+  }
+
+  public int compressionThresholdBytes() {
+    return compressionThresholdBytes;
+  }
+
+  public CacheSerializer createSerializer() {
+    return switch (serializerType) {
+      case BINARY -> new BinaryCacheSerializer(compressionThresholdBytes);
+      case JSON -> new JsonCacheSerializer();
+    };
+  }
 }
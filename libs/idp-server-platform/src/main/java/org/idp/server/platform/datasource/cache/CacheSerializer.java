@@ -0,0 +1,33 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.datasource.cache;
+
+/**
+ * Converts cached values to and from the bytes stored in a remote cache.
+ *
+ * <p>Implementations must be thread-safe. {@link #deserialize(byte[], Class)} should accept entries
+ * written by the JSON serializer as well, so that switching the serializer of a running deployment
+ * only turns existing entries into cache misses at worst.
+ */
+public interface CacheSerializer {
+
+  CacheSerializerType type();
+
+  byte[] serialize(Object value);
+
+  <T> T deserialize(byte[] bytes, Class<T> type);
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.datasource.cache;
+
+import org.idp.server.platform.exception.UnSupportedException;
+
+public enum CacheSerializerType {
+  JSON,
+  BINARY;
+
+  public static CacheSerializerType of(String value) {
+    if (value == null || value.isEmpty()) {
+      return JSON;
+    }
+
+    for (CacheSerializerType type : CacheSerializerType.values()) {
+      if (type.name().equalsIgnoreCase(value)) {
+        return type;
+      }
+    }
+
+    throw new UnSupportedException("Unsupported cache serializer: " + value);
+  }
+}
@@ -16,6 +16,9 @@
 
 package org.idp.server.platform.datasource.cache;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 
 public interface CacheStore {
@@ -25,10 +28,45 @@ public interface CacheStore {
 
   <T> Optional<T> find(String key, Class<T> type);
 
+  /**
+   * Finds several entries of the same type at once.
+   *
+   * <p>The returned map contains only the keys that were found. Network-backed stores should
+   * override this to fetch all keys in a single round trip (e.g. {@code MGET}); the default
+   * implementation falls back to {@link #find(String, Class)} per key.
+   */
+  default <T> Map<String, T> findAll(Collection<String> keys, Class<T> type) {
+    Map<String, T> found = new LinkedHashMap<>();
+    for (String key : keys) {
+      find(key, type).ifPresent(value -> found.put(key, value));
+    }
+    return found;
+  }
+
+  /**
+   * Stores several entries with the same time to live at once.
+   *
+   * <p>The default implementation falls back to {@link #put(String, Object, int)} per entry.
+   */
+  default <T> void putAll(Map<String, T> entries, int timeToLiveSeconds) {
+    entries.forEach((key, value) -> put(key, value, timeToLiveSeconds));
+  }
+
   boolean exists(String key);
 
   void delete(String key);
 
+  /**
+   * Deletes several entries at once.
+   *
+   * <p>The default implementation falls back to {@link #delete(String)} per key.
+   */
+  default void deleteAll(Collection<String> keys) {
+    for (String key : keys) {
+      delete(key);
+    }
+  }
+
   /**
    * Delete all cache entries whose key starts with the given prefix.
    *
@@ -41,4 +79,50 @@ public interface CacheStore {
   void deleteByPrefix(String prefix);
 
   long increment(String key, int timeToLiveSeconds);
+
+  /**
+   * Stores {@code value} unless {@code key} already holds a value stored with a higher {@code
+   * version}, so concurrent writers cannot move it backwards. Versions must not be negative; an
+   * equal version overwrites and refreshes the time to live.
+   *
+   * <p>The version is kept under a companion key with the same time to live. The default
+   * implementation compares and writes in separate calls; stores shared across instances should
+   * override it with an atomic compare-and-set.
+   */
+  default <T> void putIfNewer(String key, T value, long version, int timeToLiveSeconds) {
+    String versionKey = key + ":version";
+    Optional<Long> current = find(versionKey, Long.class);
+    if (current.isPresent() && current.get() > version) {
+      return;
+    }
+    put(versionKey, version, timeToLiveSeconds);
+    put(key, value, timeToLiveSeconds);
+  }
+
+  /**
+   * Returns whether {@code member} is in the set stored at {@code key}.
+   *
+   * <p>The default implementation has no set support and always answers {@code false}, so callers
+   * that use this to skip work simply do the work.
+   */
+  default boolean isMember(String key, String member) {
+    return false;
+  }
+
+  /** Adds {@code member} to the set stored at {@code key}. No-op by default. */
+  default void addMember(String key, String member, int timeToLiveSeconds) {}
+
+  /**
+   * Adds {@code element} to the cardinality estimate (e.g. a HyperLogLog) stored at {@code key}.
+   * No-op by default.
+   */
+  default void addToCardinalityEstimate(String key, String element, int timeToLiveSeconds) {}
+
+  /**
+   * Returns the approximate number of distinct elements added to {@code key}, or {@code 0} when
+   * unknown.
+   */
+  default long estimateCardinality(String key) {
+    return 0;
+  }
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.datasource.cache;
+
+import java.nio.charset.StandardCharsets;
+import org.idp.server.platform.json.JsonConverter;
+
+/** snake_case JSON text, the historical cache format. Readable with {@code redis-cli GET}. */
+public class JsonCacheSerializer implements CacheSerializer {
+
+  JsonConverter jsonConverter = JsonConverter.snakeCaseInstance();
+
+  @Override
+  public CacheSerializerType type() {
+    return CacheSerializerType.JSON;
+  }
+
+  @Override
+  public byte[] serialize(Object value) {
+    return jsonConverter.write(value).getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public <T> T deserialize(byte[] bytes, Class<T> type) {
+    return jsonConverter.read(new String(bytes, StandardCharsets.UTF_8), type);
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.datasource.cache;
+
+/**
+ * Settings for the in-process L1 cache that sits in front of the shared {@link CacheStore}.
+ *
+ * <p>{@code maxEntries} and {@code maxWeightBytes} bound the heap used by the L1. {@code
+ * timeToLiveSeconds} is a safety net for missed cross-node invalidation messages, so it should be
+ * kept much shorter than the shared cache TTL.
+ */
+public class NearCacheConfiguration {
+  boolean enabled;
+  int maxEntries;
+  long maxWeightBytes;
+  int timeToLiveSeconds;
+  String invalidationChannel;
+
+  public NearCacheConfiguration() {}
+
+  public NearCacheConfiguration(
+      boolean enabled,
+      int maxEntries,
+      long maxWeightBytes,
+      int timeToLiveSeconds,
+      String invalidationChannel) {
+    this.enabled = enabled;
+    this.maxEntries = maxEntries;
+    this.maxWeightBytes = maxWeightBytes;
+    this.timeToLiveSeconds = timeToLiveSeconds;
+    this.invalidationChannel = invalidationChannel;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public int maxEntries() {
+    return maxEntries;
+  }
+
+  public long maxWeightBytes() {
+    return maxWeightBytes;
+  }
+
+  public int timeToLiveSeconds() {
+    return timeToLiveSeconds;
+  }
+
+  public String invalidationChannel() {
+    return invalidationChannel;
+  }
+}
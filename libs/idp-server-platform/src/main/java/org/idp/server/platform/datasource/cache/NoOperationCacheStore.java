@@ -16,6 +16,8 @@
 
 package org.idp.server.platform.datasource.cache;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 public class NoOperationCacheStore implements CacheStore {
@@ -31,6 +33,14 @@ public class NoOperationCacheStore implements CacheStore {
     return Optional.empty();
   }
 
+  @Override
+  public <T> Map<String, T> findAll(Collection<String> keys, Class<T> type) {
+    return Map.of();
+  }
+
+  @Override
+  public <T> void putAll(Map<String, T> entries, int timeToLiveSeconds) {}
+
   @Override
   public boolean exists(String key) {
     return false;
@@ -39,6 +49,9 @@ public class NoOperationCacheStore implements CacheStore {
   @Override
   public void delete(String key) {}
 
+  @Override
+  public void deleteAll(Collection<String> keys) {}
+
   @Override
   public void deleteByPrefix(String prefix) {}
 
@@ -46,4 +59,7 @@ public class NoOperationCacheStore implements CacheStore {
   public long increment(String key, int timeToLiveSeconds) {
     return 0;
   }
+
+  @Override
+  public <T> void putIfNewer(String key, T value, long version, int timeToLiveSeconds) {}
 }
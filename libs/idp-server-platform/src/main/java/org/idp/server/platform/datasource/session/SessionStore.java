@@ -16,6 +16,8 @@
 
 package org.idp.server.platform.datasource.session;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -27,6 +29,7 @@ import java.util.Set;
  *
  * <ul>
  *   <li>Set operations for indexing (e.g., opSession → clientSessions mapping)
+ *   <li>Sorted set operations for indexes that are paged or pruned by score
  *   <li>TTL operations for session expiration
  * </ul>
  *
@@ -53,6 +56,46 @@ public interface SessionStore {
    */
   Optional<String> get(String key);
 
+  /**
+   * Gets several values in a single round trip.
+   *
+   * @param keys the keys
+   * @return the values of the keys that were found
+   */
+  Map<String, String> getAll(List<String> keys);
+
+  /**
+   * Gets a value and deletes its key in a single atomic step.
+   *
+   * <p>When several callers race for the same key, at most one of them receives the value. Used for
+   * entries that must be consumed only once (e.g. authorization codes).
+   *
+   * @param key the key
+   * @return the value, or empty if not found
+   */
+  Optional<String> getAndDelete(String key);
+
+  /**
+   * Sets a value only if the key does not exist, in a single atomic step.
+   *
+   * @param key the key
+   * @param value the value
+   * @param ttlSeconds time-to-live in seconds (must be positive)
+   * @return {@code true} if the value was set
+   */
+  boolean setIfAbsent(String key, String value, long ttlSeconds);
+
+  /**
+   * Deletes a key only if it currently holds {@code value}, in a single atomic step.
+   *
+   * <p>Used to release a lock without removing one that has since been taken by another owner.
+   *
+   * @param key the key
+   * @param value the expected value
+   * @return {@code true} if the key was deleted
+   */
+  boolean deleteIfEquals(String key, String value);
+
   /**
    * Deletes one or more keys.
    *
@@ -86,6 +129,57 @@ public interface SessionStore {
    */
   Set<String> setMembers(String key);
 
+  // ==================== Sorted Set Operations ====================
+
+  /**
+   * Adds a member to a sorted set, or updates its score.
+   *
+   * @param key the sorted set key
+   * @param member the member to add
+   * @param score the score
+   */
+  void sortedSetAdd(String key, String member, double score);
+
+  /**
+   * Removes a member from a sorted set.
+   *
+   * @param key the sorted set key
+   * @param member the member to remove
+   */
+  void sortedSetRemove(String key, String member);
+
+  /**
+   * Removes the members whose score is within {@code [min, max]}.
+   *
+   * @param key the sorted set key
+   * @param min the lowest score to remove
+   * @param max the highest score to remove
+   */
+  void sortedSetRemoveByScore(String key, double min, double max);
+
+  /**
+   * Counts the members whose score is within {@code [min, max]}.
+   *
+   * @param key the sorted set key
+   * @param min the lowest score
+   * @param max the highest score
+   * @return the number of members, or 0 if not found
+   */
+  long sortedSetCount(String key, double min, double max);
+
+  /**
+   * Gets the members whose score is within {@code [min, max]}, highest score first.
+   *
+   * @param key the sorted set key
+   * @param min the lowest score
+   * @param max the highest score
+   * @param offset the number of members to skip
+   * @param count the maximum number of members to return; negative returns all remaining
+   * @return the members, or empty list if not found
+   */
+  List<String> sortedSetRangeByScoreDescending(
+      String key, double min, double max, int offset, int count);
+
   // ==================== TTL Operations ====================
 
   /**
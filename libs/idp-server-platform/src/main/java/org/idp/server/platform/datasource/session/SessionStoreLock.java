@@ -0,0 +1,97 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.datasource.session;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.idp.server.platform.datasource.SqlTransactionConflictException;
+import org.idp.server.platform.datasource.TransactionManager;
+
+/**
+ * Exclusive lock on a session store key, held until the current database transaction completes.
+ *
+ * <p>Stands in for {@code SELECT ... FOR UPDATE} on entries kept in the session store: the lock is
+ * taken with {@link SessionStore#setIfAbsent} and released after commit or rollback through {@link
+ * TransactionManager#afterCompletion}, so a read-modify-write done under it cannot interleave with
+ * another one on the same key. The lease only bounds how long a crashed owner blocks the key.
+ *
+ * <p>The lock is reentrant on the thread holding it. A caller that cannot take it within {@code
+ * waitMillis} gets {@link SqlTransactionConflictException}, the same error as a database lock
+ * conflict.
+ */
+public class SessionStoreLock {
+
+  private static final long MIN_BACKOFF_MILLIS = 5;
+  private static final long MAX_BACKOFF_MILLIS = 50;
+  private static final ThreadLocal<Set<String>> heldKeys = new ThreadLocal<>();
+
+  SessionStore sessionStore;
+  long leaseSeconds;
+  long waitMillis;
+
+  public SessionStoreLock(SessionStore sessionStore, long leaseSeconds, long waitMillis) {
+    this.sessionStore = sessionStore;
+    this.leaseSeconds = leaseSeconds;
+    this.waitMillis = waitMillis;
+  }
+
+  public void lockUntilTransactionEnds(String key) {
+    Set<String> held = heldKeys.get();
+    if (held != null && held.contains(key)) {
+      return;
+    }
+
+    String owner = UUID.randomUUID().toString();
+    acquire(key, owner);
+
+    if (held == null) {
+      held = new HashSet<>();
+      heldKeys.set(held);
+    }
+    held.add(key);
+    TransactionManager.afterCompletion(() -> release(key, owner));
+  }
+
+  private void acquire(String key, String owner) {
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+    long backoffMillis = MIN_BACKOFF_MILLIS;
+    while (!sessionStore.setIfAbsent(key, owner, leaseSeconds)) {
+      if (System.nanoTime() >= deadline) {
+        throw new SqlTransactionConflictException("Timed out waiting for lock: " + key);
+      }
+      try {
+        Thread.sleep(backoffMillis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new SqlTransactionConflictException("Interrupted waiting for lock: " + key, e);
+      }
+      backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+    }
+  }
+
+  private void release(String key, String owner) {
+    Set<String> held = heldKeys.get();
+    if (held != null) {
+      held.remove(key);
+      if (held.isEmpty()) {
+        heldKeys.remove();
+      }
+    }
+    sessionStore.deleteIfEquals(key, owner);
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.jose;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSSigner;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parsed JWKS together with the {@link JWSSigner}s built from its private keys.
+ *
+ * <p>Instances are shared between threads through {@link JsonWebKeyMaterialCache}. Nimbus signers
+ * are stateless and create a fresh {@code java.security.Signature} per sign operation, so reusing
+ * them concurrently is safe.
+ */
+public class JsonWebKeyMaterial {
+
+  String fingerprint;
+  JsonWebKeys jsonWebKeys;
+  Map<JsonWebKey, JWSSigner> signers = new ConcurrentHashMap<>();
+  volatile long lastAccessedAt;
+
+  JsonWebKeyMaterial(String fingerprint, JsonWebKeys jsonWebKeys) {
+    this.fingerprint = fingerprint;
+    this.jsonWebKeys = jsonWebKeys;
+    this.lastAccessedAt = System.nanoTime();
+  }
+
+  public String fingerprint() {
+    return fingerprint;
+  }
+
+  public JsonWebKeys jsonWebKeys() {
+    return jsonWebKeys;
+  }
+
+  public JsonWebKey findBy(String keyId) {
+    return jsonWebKeys.findBy(keyId);
+  }
+
+  public JsonWebKey findByAlgorithm(String algorithm) {
+    return jsonWebKeys.findByAlgorithm(algorithm);
+  }
+
+  /**
+   * Returns the signer for a key of this material. JsonWebKey has identity equality, so the key
+   * must have been obtained from {@link #findBy(String)} or {@link #findByAlgorithm(String)}.
+   */
+  JWSSigner signer(JsonWebKey jsonWebKey, JsonWebSignatureFactory factory)
+      throws JsonWebKeyInvalidException, JOSEException {
+    JWSSigner cached = signers.get(jsonWebKey);
+    if (cached != null) {
+      return cached;
+    }
+    JWSSigner created = factory.of(jsonWebKey);
+    JWSSigner existing = signers.putIfAbsent(jsonWebKey, created);
+    return existing != null ? existing : created;
+  }
+
+  void touch() {
+    this.lastAccessedAt = System.nanoTime();
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.jose;
+
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.idp.server.platform.hash.MessageDigestable;
+
+/**
+ * Process-wide cache of {@link JsonWebKeyMaterial}, keyed by the SHA-256 fingerprint of the JWKS
+ * JSON.
+ *
+ * <p>Each tenant's authorization server configuration carries its own JWKS, so entries are
+ * effectively per tenant. Updating the configuration changes the JWKS string and therefore the
+ * fingerprint, which makes the next lookup parse the new keys on every node without any explicit
+ * invalidation. Entries of rotated-out keys are dropped by {@link #invalidate(String)} or, at the
+ * latest, by the least-recently-used bound.
+ */
+public class JsonWebKeyMaterialCache implements MessageDigestable {
+
+  private static final int DEFAULT_MAX_ENTRIES = 1024;
+  private static final JsonWebKeyMaterialCache INSTANCE =
+      new JsonWebKeyMaterialCache(DEFAULT_MAX_ENTRIES);
+
+  private final Map<String, JsonWebKeyMaterial> entries = new ConcurrentHashMap<>();
+  private final int maxEntries;
+
+  public static JsonWebKeyMaterialCache getInstance() {
+    return INSTANCE;
+  }
+
+  JsonWebKeyMaterialCache(int maxEntries) {
+    this.maxEntries = maxEntries;
+  }
+
+  public JsonWebKeyMaterial get(String jwks) throws JsonWebKeyInvalidException {
+    if (jwks == null || jwks.trim().isEmpty()) {
+      // Delegate to the parser so that callers see the same error as before.
+      JwkParser.parseKeys(jwks);
+    }
+
+    String fingerprint = fingerprint(jwks);
+    JsonWebKeyMaterial cached = entries.get(fingerprint);
+    if (cached != null) {
+      cached.touch();
+      return cached;
+    }
+
+    JsonWebKeys jsonWebKeys = JwkParser.parseKeys(jwks);
+    JsonWebKeyMaterial created = new JsonWebKeyMaterial(fingerprint, jsonWebKeys);
+    JsonWebKeyMaterial existing = entries.putIfAbsent(fingerprint, created);
+    if (existing != null) {
+      return existing;
+    }
+
+    evictIfNecessary();
+    return created;
+  }
+
+  public void invalidate(String jwks) {
+    if (jwks == null || jwks.trim().isEmpty()) {
+      return;
+    }
+    entries.remove(fingerprint(jwks));
+  }
+
+  public void clear() {
+    entries.clear();
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  private String fingerprint(String jwks) {
+    return HexFormat.of().formatHex(digestWithSha256(jwks));
+  }
+
+  private void evictIfNecessary() {
+    while (entries.size() > maxEntries) {
+      entries.values().stream()
+          .min(Comparator.comparingLong(material -> material.lastAccessedAt))
+          .ifPresent(eldest -> entries.remove(eldest.fingerprint(), eldest));
+    }
+  }
+}
@@ -42,25 +42,69 @@ public class JsonWebSignatureFactory {
   public JsonWebSignature createWithAsymmetricKey(
       Map<String, Object> claims, Map<String, Object> customHeaders, String jwks, String keyId)
       throws JsonWebKeyInvalidException, JoseInvalidException {
-    JsonWebKeys jsonWebKeys = JwkParser.parseKeys(jwks);
-    JsonWebKey jsonWebKey = jsonWebKeys.findBy(keyId);
-    return this.createWithAsymmetricKey(claims, customHeaders, jsonWebKey);
+    JsonWebKeyMaterial keyMaterial = JsonWebKeyMaterialCache.getInstance().get(jwks);
+    JsonWebKey jsonWebKey = keyMaterial.findBy(keyId);
+    return this.createWithAsymmetricKey(claims, customHeaders, keyMaterial, jsonWebKey);
   }
 
   public JsonWebSignature createWithAsymmetricKeyByAlgorithm(
       Map<String, Object> claims, Map<String, Object> customHeaders, String jwks, String algorithm)
       throws JsonWebKeyInvalidException, JoseInvalidException {
-    JsonWebKeys jsonWebKeys = JwkParser.parseKeys(jwks);
-    JsonWebKey jsonWebKey = jsonWebKeys.findByAlgorithm(algorithm);
-    return this.createWithAsymmetricKey(claims, customHeaders, jsonWebKey);
+    JsonWebKeyMaterial keyMaterial = JsonWebKeyMaterialCache.getInstance().get(jwks);
+    JsonWebKey jsonWebKey = keyMaterial.findByAlgorithm(algorithm);
+    return this.createWithAsymmetricKey(claims, customHeaders, keyMaterial, jsonWebKey);
   }
 
   public JsonWebSignature createWithAsymmetricKey(
       String claims, Map<String, Object> customHeaders, String jwks, String keyId)
       throws JsonWebKeyInvalidException, JoseInvalidException {
-    JsonWebKeys jsonWebKeys = JwkParser.parseKeys(jwks);
-    JsonWebKey jsonWebKey = jsonWebKeys.findBy(keyId);
-    return this.createWithAsymmetricKey(claims, customHeaders, jsonWebKey);
+    JsonWebKeyMaterial keyMaterial = JsonWebKeyMaterialCache.getInstance().get(jwks);
+    JsonWebKey jsonWebKey = keyMaterial.findBy(keyId);
+    try {
+      return sign(JWTClaimsSet.parse(claims), customHeaders, keyMaterial, jsonWebKey);
+    } catch (ParseException e) {
+      throw new JoseInvalidException(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Signs with a key obtained from {@link JsonWebKeyMaterial}, reusing the signer that was built
+   * for that key on an earlier call.
+   */
+  public JsonWebSignature createWithAsymmetricKey(
+      Map<String, Object> claims,
+      Map<String, Object> customHeaders,
+      JsonWebKeyMaterial keyMaterial,
+      JsonWebKey jsonWebKey)
+      throws JoseInvalidException {
+    try {
+      return sign(JWTClaimsSet.parse(claims), customHeaders, keyMaterial, jsonWebKey);
+    } catch (ParseException e) {
+      throw new JoseInvalidException(e.getMessage(), e);
+    }
+  }
+
+  private JsonWebSignature sign(
+      JWTClaimsSet claimsSet,
+      Map<String, Object> customHeaders,
+      JsonWebKeyMaterial keyMaterial,
+      JsonWebKey jsonWebKey)
+      throws JoseInvalidException {
+    try {
+      JWSAlgorithm jwsAlgorithm = JWSAlgorithm.parse(jsonWebKey.algorithm());
+      JWSHeader jwsHeader =
+          new JWSHeader.Builder(jwsAlgorithm)
+              .keyID(jsonWebKey.keyId())
+              .customParams(customHeaders)
+              .build();
+
+      SignedJWT signedJWT = new SignedJWT(jwsHeader, claimsSet);
+      JWSSigner jwsSigner = keyMaterial.signer(jsonWebKey, this);
+      signedJWT.sign(jwsSigner);
+      return new JsonWebSignature(signedJWT);
+    } catch (JsonWebKeyInvalidException | JOSEException e) {
+      throw new JoseInvalidException(e.getMessage(), e);
+    }
   }
 
   public JsonWebSignature createWithAsymmetricKey(
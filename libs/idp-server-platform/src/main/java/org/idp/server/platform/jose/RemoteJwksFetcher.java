@@ -0,0 +1,29 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.jose;
+
+/**
+ * Fetches a JWKS document from a remote {@code jwks_uri}.
+ *
+ * <p>Callers keep their own transport (SSRF-protected executor, provider specific headers, ...) and
+ * hand it to {@link RemoteJwksResolver}, which decides when a fetch is actually needed.
+ */
+@FunctionalInterface
+public interface RemoteJwksFetcher {
+
+  RemoteJwksResult fetch(String jwksUri);
+}
@@ -0,0 +1,333 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.jose;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import org.idp.server.platform.log.LoggerWrapper;
+
+/**
+ * Process-wide cache of JWKS documents fetched from remote {@code jwks_uri} endpoints.
+ *
+ * <p>Federated IdPs and JWT bearer assertion issuers publish their keys at a URI that used to be
+ * fetched once per login or token request. This resolver keeps the parsed key set per URI and:
+ *
+ * <ul>
+ *   <li>honours {@code Cache-Control: max-age} (minus {@code Age}), clamped to a sane range, and
+ *       falls back to a default lifetime when the response carries no freshness information
+ *   <li>refreshes an entry in the background once most of its lifetime has elapsed, so requests do
+ *       not wait on the remote endpoint while the keys are still valid
+ *   <li>re-fetches once when a token references a {@code kid} the cached set does not contain (key
+ *       rotation), at most once per {@link #UNKNOWN_KEY_REFETCH_INTERVAL_MILLIS} per URI
+ *   <li>collapses concurrent fetches of the same URI into a single request
+ *   <li>keeps serving the previous key set for a bounded time while the endpoint answers with
+ *       errors
+ * </ul>
+ *
+ * <p>The transport is supplied per call through {@link RemoteJwksFetcher}, so each caller keeps its
+ * own HTTP client configuration (e.g. SSRF protection).
+ */
+public class RemoteJwksResolver {
+
+  static final long DEFAULT_TIME_TO_LIVE_MILLIS = 5 * 60 * 1000L;
+  static final long MIN_TIME_TO_LIVE_MILLIS = 60 * 1000L;
+  static final long MAX_TIME_TO_LIVE_MILLIS = 24 * 60 * 60 * 1000L;
+  static final long UNKNOWN_KEY_REFETCH_INTERVAL_MILLIS = 30 * 1000L;
+  static final long ERROR_RETRY_INTERVAL_MILLIS = 30 * 1000L;
+  static final long STALE_IF_ERROR_MILLIS = 60 * 60 * 1000L;
+  private static final int DEFAULT_MAX_ENTRIES = 1024;
+
+  private static final RemoteJwksResolver INSTANCE =
+      new RemoteJwksResolver(
+          DEFAULT_MAX_ENTRIES,
+          System::currentTimeMillis,
+          Executors.newThreadPerTaskExecutor(
+              Thread.ofVirtual().name("remote-jwks-refresh-", 0).factory()));
+
+  LoggerWrapper log = LoggerWrapper.getLogger(RemoteJwksResolver.class);
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+  private final Map<String, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+  private final int maxEntries;
+  private final LongSupplier clock;
+  private final Executor refreshExecutor;
+
+  public static RemoteJwksResolver getInstance() {
+    return INSTANCE;
+  }
+
+  RemoteJwksResolver(int maxEntries, LongSupplier clock, Executor refreshExecutor) {
+    this.maxEntries = maxEntries;
+    this.clock = clock;
+    this.refreshExecutor = refreshExecutor;
+  }
+
+  public RemoteJwksResult resolve(String jwksUri, RemoteJwksFetcher fetcher) {
+    return resolve(jwksUri, null, fetcher);
+  }
+
+  /**
+   * Returns the key set published at {@code jwksUri}.
+   *
+   * @param keyId the {@code kid} the caller is about to verify with, or {@code null} when unknown.
+   *     A {@code kid} missing from the cached set triggers one rate-limited re-fetch.
+   */
+  public RemoteJwksResult resolve(String jwksUri, String keyId, RemoteJwksFetcher fetcher) {
+    long now = clock.getAsLong();
+    Entry entry = entries.get(jwksUri);
+
+    if (entry == null || entry.isExpired(now)) {
+      return load(jwksUri, fetcher, entry).result();
+    }
+
+    if (keyId != null && !entry.containsKeyId(keyId)) {
+      if (now - entry.attemptedAt >= UNKNOWN_KEY_REFETCH_INTERVAL_MILLIS) {
+        log.info("Unknown kid '{}' for JWKS {}, re-fetching key set", keyId, jwksUri);
+        return load(jwksUri, fetcher, entry).result();
+      }
+      log.debug("Unknown kid '{}' for JWKS {}, re-fetch is rate limited", keyId, jwksUri);
+      return entry.result();
+    }
+
+    if (entry.shouldRefresh(now)) {
+      refreshInBackground(jwksUri, fetcher, entry);
+    }
+    return entry.result();
+  }
+
+  public void invalidate(String jwksUri) {
+    entries.remove(jwksUri);
+  }
+
+  public void clear() {
+    entries.clear();
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  private void refreshInBackground(String jwksUri, RemoteJwksFetcher fetcher, Entry entry) {
+    if (!entry.refreshScheduled.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      refreshExecutor.execute(
+          () -> {
+            try {
+              load(jwksUri, fetcher, entry);
+            } catch (RuntimeException e) {
+              log.warn(
+                  "Background JWKS refresh failed. uri: {}, error: {}", jwksUri, e.getMessage());
+            }
+          });
+    } catch (RuntimeException e) {
+      entry.refreshScheduled.set(false);
+      log.warn("Background JWKS refresh rejected. uri: {}, error: {}", jwksUri, e.getMessage());
+    }
+  }
+
+  private Entry load(String jwksUri, RemoteJwksFetcher fetcher, Entry previous) {
+    CompletableFuture<Entry> created = new CompletableFuture<>();
+    CompletableFuture<Entry> running = inFlight.putIfAbsent(jwksUri, created);
+    if (running != null) {
+      try {
+        return running.join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+          throw runtimeException;
+        }
+        throw e;
+      }
+    }
+
+    try {
+      Entry loaded = fetch(jwksUri, fetcher, previous);
+      created.complete(loaded);
+      return loaded;
+    } catch (RuntimeException e) {
+      created.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(jwksUri, created);
+    }
+  }
+
+  private Entry fetch(String jwksUri, RemoteJwksFetcher fetcher, Entry previous) {
+    RemoteJwksResult fetched = fetcher.fetch(jwksUri);
+    long now = clock.getAsLong();
+
+    if (fetched.isSuccess()) {
+      try {
+        JsonWebKeyMaterial keyMaterial = JsonWebKeyMaterialCache.getInstance().get(fetched.body());
+        long timeToLive = timeToLive(fetched.headers());
+        long refreshAt = now + timeToLive * 4 / 5;
+        long expiresAt = now + timeToLive;
+        Entry entry =
+            new Entry(
+                fetched.withKeyMaterial(keyMaterial),
+                now,
+                refreshAt,
+                expiresAt,
+                expiresAt + STALE_IF_ERROR_MILLIS);
+        store(jwksUri, entry);
+        return entry;
+      } catch (JsonWebKeyInvalidException e) {
+        log.warn("Remote JWKS is not a valid key set. uri: {}, error: {}", jwksUri, e.getMessage());
+        fetched =
+            new RemoteJwksResult(
+                500, fetched.headers(), "invalid jwks document: " + e.getMessage());
+      }
+    }
+
+    if (previous != null && previous.hasKeyMaterial() && now < previous.staleUntil) {
+      log.warn(
+          "JWKS fetch failed, serving previous key set. uri: {}, status: {}",
+          jwksUri,
+          fetched.statusCode());
+      long retryAt = Math.min(now + ERROR_RETRY_INTERVAL_MILLIS, previous.staleUntil);
+      Entry stale = new Entry(previous.result(), now, retryAt, retryAt, previous.staleUntil);
+      store(jwksUri, stale);
+      return stale;
+    }
+
+    return new Entry(fetched, now, now, now, now);
+  }
+
+  private void store(String jwksUri, Entry entry) {
+    entries.put(jwksUri, entry);
+    if (entries.size() <= maxEntries) {
+      return;
+    }
+    entries.entrySet().stream()
+        .filter(e -> !e.getKey().equals(jwksUri))
+        .min(Comparator.comparingLong(e -> e.getValue().attemptedAt))
+        .ifPresent(eldest -> entries.remove(eldest.getKey(), eldest.getValue()));
+  }
+
+  static long timeToLive(Map<String, List<String>> headers) {
+    Long maxAge = null;
+    long age = 0;
+    for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+      if (header.getKey() == null || header.getValue() == null) {
+        continue;
+      }
+      if (header.getKey().equalsIgnoreCase("Cache-Control")) {
+        for (String value : header.getValue()) {
+          maxAge = parseMaxAge(value, maxAge);
+        }
+      } else if (header.getKey().equalsIgnoreCase("Age") && !header.getValue().isEmpty()) {
+        age = parseSeconds(header.getValue().getFirst(), 0);
+      }
+    }
+
+    if (maxAge == null) {
+      return DEFAULT_TIME_TO_LIVE_MILLIS;
+    }
+    long timeToLive = (maxAge - age) * 1000L;
+    return Math.clamp(timeToLive, MIN_TIME_TO_LIVE_MILLIS, MAX_TIME_TO_LIVE_MILLIS);
+  }
+
+  private static Long parseMaxAge(String cacheControl, Long current) {
+    Long maxAge = current;
+    for (String directive : cacheControl.split(",")) {
+      String normalized = directive.trim().toLowerCase();
+      if (normalized.equals("no-store") || normalized.equals("no-cache")) {
+        // Still cached for the minimum lifetime; re-fetching per request is what this avoids.
+        return 0L;
+      }
+      if (normalized.startsWith("max-age=")) {
+        maxAge = parseSeconds(normalized.substring("max-age=".length()), 0);
+      }
+    }
+    return maxAge;
+  }
+
+  private static long parseSeconds(String value, long defaultValue) {
+    try {
+      return Long.parseLong(value.trim().replace("\"", ""));
+    } catch (NumberFormatException e) {
+      return defaultValue;
+    }
+  }
+
+  static class Entry {
+    private final RemoteJwksResult result;
+    private final Set<String> keyIds;
+    private final long attemptedAt;
+    private final long refreshAt;
+    private final long expiresAt;
+    private final long staleUntil;
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean(false);
+
+    Entry(
+        RemoteJwksResult result,
+        long attemptedAt,
+        long refreshAt,
+        long expiresAt,
+        long staleUntil) {
+      this.result = result;
+      this.keyIds = keyIds(result);
+      this.attemptedAt = attemptedAt;
+      this.refreshAt = refreshAt;
+      this.expiresAt = expiresAt;
+      this.staleUntil = staleUntil;
+    }
+
+    private static Set<String> keyIds(RemoteJwksResult result) {
+      Set<String> keyIds = new HashSet<>();
+      if (result.hasKeyMaterial()) {
+        for (JsonWebKey jsonWebKey : result.keyMaterial().jsonWebKeys()) {
+          if (Objects.nonNull(jsonWebKey.keyId())) {
+            keyIds.add(jsonWebKey.keyId());
+          }
+        }
+      }
+      return keyIds;
+    }
+
+    RemoteJwksResult result() {
+      return result;
+    }
+
+    boolean hasKeyMaterial() {
+      return result.hasKeyMaterial();
+    }
+
+    boolean containsKeyId(String keyId) {
+      return keyIds.contains(keyId);
+    }
+
+    boolean shouldRefresh(long now) {
+      return now >= refreshAt;
+    }
+
+    boolean isExpired(long now) {
+      return now >= expiresAt;
+    }
+  }
+}
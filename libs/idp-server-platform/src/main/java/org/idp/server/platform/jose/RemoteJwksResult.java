@@ -0,0 +1,75 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.jose;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public class RemoteJwksResult {
+  int statusCode;
+  Map<String, List<String>> headers;
+  String body;
+  JsonWebKeyMaterial keyMaterial;
+
+  public RemoteJwksResult(int statusCode, Map<String, List<String>> headers, String body) {
+    this(statusCode, headers, body, null);
+  }
+
+  RemoteJwksResult(
+      int statusCode,
+      Map<String, List<String>> headers,
+      String body,
+      JsonWebKeyMaterial keyMaterial) {
+    this.statusCode = statusCode;
+    this.headers = Objects.requireNonNullElse(headers, Map.of());
+    this.body = body;
+    this.keyMaterial = keyMaterial;
+  }
+
+  public int statusCode() {
+    return statusCode;
+  }
+
+  public Map<String, List<String>> headers() {
+    return headers;
+  }
+
+  public String body() {
+    return body;
+  }
+
+  public boolean hasKeyMaterial() {
+    return Objects.nonNull(keyMaterial);
+  }
+
+  public JsonWebKeyMaterial keyMaterial() {
+    return keyMaterial;
+  }
+
+  public boolean isSuccess() {
+    return statusCode < 400;
+  }
+
+  public boolean isError() {
+    return statusCode >= 400;
+  }
+
+  RemoteJwksResult withKeyMaterial(JsonWebKeyMaterial keyMaterial) {
+    return new RemoteJwksResult(statusCode, headers, body, keyMaterial);
+  }
+}
@@ -33,6 +33,7 @@ import tools.jackson.databind.ext.javatime.deser.LocalDateTimeDeserializer;
 import tools.jackson.databind.json.JsonMapper;
 import tools.jackson.databind.module.SimpleModule;
 import tools.jackson.databind.type.LogicalType;
+import tools.jackson.databind.util.TokenBuffer;
 
 public class JsonConverter {
 
@@ -152,4 +153,27 @@ public class JsonConverter {
       throw new JsonRuntimeException(exception);
     }
   }
+
+  /**
+   * Serializes {@code value} into Jackson's token representation without producing JSON text. Used
+   * by binary codecs that encode the token stream themselves.
+   */
+  public TokenBuffer writeTokens(Object value) {
+    TokenBuffer tokenBuffer = TokenBuffer.forGeneration();
+    try {
+      jsonMapper.writeValue(tokenBuffer, value);
+      return tokenBuffer;
+    } catch (JacksonException exception) {
+      throw new JsonRuntimeException(exception);
+    }
+  }
+
+  /** Counterpart of {@link #writeTokens(Object)}. */
+  public <TYPE> TYPE readTokens(TokenBuffer tokenBuffer, Class<TYPE> typeClass) {
+    try {
+      return jsonMapper.readValue(tokenBuffer, typeClass);
+    } catch (JacksonException exception) {
+      throw new JsonRuntimeException(exception);
+    }
+  }
 }
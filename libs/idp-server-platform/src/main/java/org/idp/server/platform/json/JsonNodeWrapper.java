@@ -37,6 +37,9 @@ public class JsonNodeWrapper {
     return new JsonNodeWrapper(JsonNodeFactory.instance.objectNode());
   }
 
+  /** For deserialization of objects that hold a wrapper, such as {@code AuditLog}. */
+  JsonNodeWrapper() {}
+
   public JsonNodeWrapper(JsonNode jsonNode) {
     this.jsonNode = jsonNode;
   }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.idp.server.platform.outbox;
+
+import java.util.UUID;
+import org.idp.server.platform.datasource.TransactionManager;
+import org.idp.server.platform.json.JsonConverter;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+
+/**
+ * Write side of the transactional outbox.
+ *
+ * <p>In {@link EventOutboxMode#OUTBOX} an event published inside a write transaction is inserted
+ * into {@code event_outbox} on the same connection, so it is stored exactly when the business
+ * change commits and discarded with it on rollback. The event then survives a crash and a full
+ * executor queue, and {@link EventOutboxRelay} delivers it at least once.
+ *
+ * <p>Events published without a write transaction (read-only requests, which may run on a replica)
+ * cannot be written atomically with anything and are left to the direct path. So are events of
+ * another tenant than the one the transaction was begun for: {@code event_outbox} has row level
+ * security on PostgreSQL, and the insert would fail the business transaction.
+ */
+public class EventOutbox {
+
+  private final EventOutboxConfig config;
+  private final OutboxEventCommandRepository repository;
+  private final JsonConverter jsonConverter = JsonConverter.defaultInstance();
+
+  public EventOutbox(EventOutboxConfig config, OutboxEventCommandRepository repository) {
+    this.config = config;
+    this.repository = repository;
+  }
+
+  /**
+   * Stores {@code payload} in the outbox if this thread is in a write transaction that can write
+   * rows of {@code tenantIdentifier}.
+   *
+   * @return {@code false} if the caller has to deliver the event itself
+   */
+  public boolean enqueue(OutboxEventType type, TenantIdentifier tenantIdentifier, Object payload) {
+    if (!config.isOutbox() || !TransactionManager.isWriteTransactionActive(tenantIdentifier)) {
+      return false;
+    }
+    OutboxEvent outboxEvent =
+        new OutboxEvent(
+            UUID.randomUUID().toString(),
+            tenantIdentifier,
+            type,
+            jsonConverter.write(payload),
+            0,
+            null);
+    repository.register(outboxEvent);
+    return true;
+  }
+}
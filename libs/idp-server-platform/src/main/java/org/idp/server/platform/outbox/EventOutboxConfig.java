@@ -0,0 +1,80 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.idp.server.platform.outbox;
+
+public class EventOutboxConfig {
+
+  EventOutboxMode mode = EventOutboxMode.DIRECT;
+  long pollIntervalMillis = 1000;
+  int batchSize = 100;
+  int leaseSeconds = 60;
+  int maxAttempts = 10;
+  int concurrency = 8;
+
+  public EventOutboxConfig() {}
+
+  public EventOutboxConfig(
+      EventOutboxMode mode,
+      long pollIntervalMillis,
+      int batchSize,
+      int leaseSeconds,
+      int maxAttempts,
+      int concurrency) {
+    this.mode = mode;
+    this.pollIntervalMillis = pollIntervalMillis;
+    this.batchSize = batchSize;
+    this.leaseSeconds = leaseSeconds;
+    this.maxAttempts = maxAttempts;
+    this.concurrency = concurrency;
+  }
+
+  public EventOutboxMode mode() {
+    return mode;
+  }
+
+  public boolean isOutbox() {
+    return mode == EventOutboxMode.OUTBOX;
+  }
+
+  /** Wait between polls when the previous poll did not fill every idle worker. */
+  public long pollIntervalMillis() {
+    return pollIntervalMillis;
+  }
+
+  /** Upper bound of one claim; a claim never takes more events than there are idle workers. */
+  public int batchSize() {
+    return batchSize;
+  }
+
+  /**
+   * How long a claimed event stays invisible to other nodes. Claimed events start at once, so this
+   * only has to outlast the handling of one event. An event whose node dies before deleting it is
+   * delivered again once the lease expires.
+   */
+  public int leaseSeconds() {
+    return leaseSeconds;
+  }
+
+  /** Deliveries after which a failing event is no longer claimed and stays in the table. */
+  public int maxAttempts() {
+    return maxAttempts;
+  }
+
+  /** Worker threads per node that handle claimed events concurrently. */
+  public int concurrency() {
+    return concurrency;
+  }
+}
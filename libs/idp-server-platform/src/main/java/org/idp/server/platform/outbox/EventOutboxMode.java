@@ -0,0 +1,47 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.idp.server.platform.outbox;
+
+import org.idp.server.platform.exception.UnSupportedException;
+
+/**
+ * How security events, audit logs and user lifecycle events reach their handlers.
+ *
+ * <ul>
+ *   <li>{@link #DIRECT}: events are handed to the in-memory task executors of the application.
+ *   <li>{@link #OUTBOX}: events published inside a write transaction are inserted into {@code
+ *       event_outbox} in that transaction and delivered by {@link EventOutboxRelay}. Events
+ *       published outside a write transaction still take the direct path.
+ * </ul>
+ */
+public enum EventOutboxMode {
+  DIRECT,
+  OUTBOX;
+
+  public static EventOutboxMode of(String value) {
+    if (value == null || value.isEmpty()) {
+      return DIRECT;
+    }
+
+    for (EventOutboxMode mode : EventOutboxMode.values()) {
+      if (mode.name().equalsIgnoreCase(value)) {
+        return mode;
+      }
+    }
+
+    throw new UnSupportedException("Unsupported event outbox mode: " + value);
+  }
+}
@@ -0,0 +1,367 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.idp.server.platform.outbox;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.idp.server.platform.datasource.ApplicationDatabaseTypeProvider;
+import org.idp.server.platform.datasource.TransactionManager;
+import org.idp.server.platform.log.LoggerWrapper;
+import org.idp.server.platform.log.TenantLoggingContext;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+
+/**
+ * Delivers events stored by {@link EventOutbox}.
+ *
+ * <p>One thread per node claims events with {@link OutboxEventCommandRepository#claim}, which uses
+ * {@code FOR UPDATE SKIP LOCKED}, so any number of nodes can poll the same table without delivering
+ * an event twice at the same time. {@code event_outbox} has row level security on PostgreSQL: the
+ * thread only lists the tenants that have deliverable events, then claims each tenant's events, and
+ * settles each event, in a transaction begun for that tenant. The claim is committed before the
+ * events are handled. It never takes more events than there are idle workers (at most {@code
+ * batchSize}), so every claimed event starts at once on one of {@code concurrency} worker threads,
+ * and its lease only has to outlast its own handling, not a whole batch. Each worker deletes or
+ * reschedules its event in its own transaction as soon as it is handled. An event whose node dies
+ * in between is claimed again when its lease expires: delivery is at least once.
+ *
+ * <p>A failing event is retried with exponential backoff. After {@code maxAttempts} it is given up:
+ * it stays in the table for inspection but is never claimed again. An event claimed beyond {@code
+ * maxAttempts} (its node died during the last attempt) is given up without being handled.
+ *
+ * <p>The thread polls again immediately after a claim that filled every idle worker, otherwise it
+ * waits {@code pollIntervalMillis}.
+ */
+public class EventOutboxRelay {
+
+  private static final LoggerWrapper log = LoggerWrapper.getLogger(EventOutboxRelay.class);
+  private static final long CLOSE_TIMEOUT_MILLIS = 30_000;
+  private static final long IDLE_POLL_MILLIS = 100;
+  private static final long MAX_BACKOFF_SECONDS = 300;
+
+  private final OutboxEventCommandRepository repository;
+  private final ApplicationDatabaseTypeProvider databaseTypeProvider;
+  private final EventOutboxConfig config;
+  private final Map<OutboxEventType, OutboxEventHandler> handlers;
+  private final ExecutorService workers;
+  private final Semaphore idleWorkers;
+  private final LongAdder deliveredCount = new LongAdder();
+  private final LongAdder failedCount = new LongAdder();
+  private Thread relayThread;
+  private volatile boolean running;
+
+  public EventOutboxRelay(
+      OutboxEventCommandRepository repository,
+      ApplicationDatabaseTypeProvider databaseTypeProvider,
+      EventOutboxConfig config,
+      Map<OutboxEventType, OutboxEventHandler> handlers) {
+    this(repository, databaseTypeProvider, config, handlers, newWorkers(config.concurrency()));
+  }
+
+  EventOutboxRelay(
+      OutboxEventCommandRepository repository,
+      ApplicationDatabaseTypeProvider databaseTypeProvider,
+      EventOutboxConfig config,
+      Map<OutboxEventType, OutboxEventHandler> handlers,
+      ExecutorService workers) {
+    this.repository = repository;
+    this.databaseTypeProvider = databaseTypeProvider;
+    this.config = config;
+    this.handlers = handlers;
+    this.workers = workers;
+    this.idleWorkers = new Semaphore(config.concurrency());
+  }
+
+  private static ExecutorService newWorkers(int concurrency) {
+    AtomicInteger sequence = new AtomicInteger();
+    return Executors.newFixedThreadPool(
+        concurrency,
+        runnable -> {
+          Thread thread = new Thread(runnable, "event-outbox-worker-" + sequence.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  public void start() {
+    if (relayThread != null) {
+      return;
+    }
+    running = true;
+    relayThread = new Thread(this::run, "event-outbox-relay");
+    relayThread.setDaemon(true);
+    relayThread.start();
+  }
+
+  /** Stops claiming and waits for the events being handled to be settled. */
+  public void close() {
+    if (relayThread != null) {
+      running = false;
+      try {
+        relayThread.join(CLOSE_TIMEOUT_MILLIS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      relayThread = null;
+    }
+    workers.shutdown();
+    try {
+      if (!workers.awaitTermination(CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+        workers.shutdownNow();
+        log.warn("event-outbox-relay closed with events still being handled");
+      }
+    } catch (InterruptedException e) {
+      workers.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+    log.info(
+        "event-outbox-relay closed: delivered={}, failed={}",
+        deliveredCount.sum(),
+        failedCount.sum());
+  }
+
+  public long deliveredCount() {
+    return deliveredCount.sum();
+  }
+
+  public long failedCount() {
+    return failedCount.sum();
+  }
+
+  private void run() {
+    while (running) {
+      int limit = 0;
+      int claimed;
+      try {
+        limit = awaitIdleWorkers();
+        claimed = limit > 0 ? relay(limit) : 0;
+      } catch (InterruptedException e) {
+        running = false;
+        return;
+      } catch (Exception e) {
+        log.error("event-outbox-relay failed to poll: error={}", e.getMessage(), e);
+        claimed = 0;
+      }
+      if (limit > 0 && claimed < limit) {
+        sleep();
+      }
+    }
+  }
+
+  /**
+   * Waits until at least one worker is idle, in {@link #IDLE_POLL_MILLIS} slices so that {@link
+   * #close()} is noticed promptly.
+   *
+   * @return the number of events to claim, or 0 if closing
+   */
+  private int awaitIdleWorkers() throws InterruptedException {
+    while (running) {
+      if (idleWorkers.tryAcquire(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+        idleWorkers.release();
+        return Math.min(config.batchSize(), idleWorkers.availablePermits());
+      }
+    }
+    return 0;
+  }
+
+  /** Sleeps in {@link #IDLE_POLL_MILLIS} slices so that {@link #close()} is noticed promptly. */
+  private void sleep() {
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.pollIntervalMillis());
+    try {
+      while (running && System.nanoTime() < deadline) {
+        long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        Thread.sleep(Math.max(1, Math.min(remaining, IDLE_POLL_MILLIS)));
+      }
+    } catch (InterruptedException e) {
+      running = false;
+    }
+  }
+
+  /**
+   * Claims up to {@code limit} events, the tenants with the oldest events first, and hands each to
+   * an idle worker. Only the relay thread claims, so {@code limit} workers are idle when it is at
+   * most their number.
+   *
+   * @return the number of claimed events
+   */
+  int relay(int limit) {
+    int claimed = 0;
+    for (TenantIdentifier tenantIdentifier : claimableTenants(limit)) {
+      if (claimed >= limit) {
+        break;
+      }
+      List<OutboxEvent> outboxEvents = claim(tenantIdentifier, limit - claimed);
+      dispatch(outboxEvents);
+      claimed += outboxEvents.size();
+    }
+    return claimed;
+  }
+
+  private void dispatch(List<OutboxEvent> outboxEvents) {
+    for (OutboxEvent outboxEvent : outboxEvents) {
+      idleWorkers.acquireUninterruptibly();
+      try {
+        workers.execute(
+            () -> {
+              try {
+                process(outboxEvent);
+              } finally {
+                idleWorkers.release();
+              }
+            });
+      } catch (RejectedExecutionException e) {
+        idleWorkers.release();
+        log.warn(
+            "event-outbox-relay is closing, event is redelivered after the lease: id={}",
+            outboxEvent.id());
+      }
+    }
+  }
+
+  private List<TenantIdentifier> claimableTenants(int limit) {
+    try {
+      TransactionManager.beginTransaction(databaseTypeProvider.provide());
+      List<TenantIdentifier> tenantIdentifiers = repository.findClaimableTenants(limit);
+      TransactionManager.commitTransaction();
+      return tenantIdentifiers;
+    } catch (Exception e) {
+      rollback();
+      throw e;
+    }
+  }
+
+  private List<OutboxEvent> claim(TenantIdentifier tenantIdentifier, int limit) {
+    try {
+      TransactionManager.beginTransaction(databaseTypeProvider.provide(), tenantIdentifier);
+      List<OutboxEvent> claimed = repository.claim(tenantIdentifier, limit, config.leaseSeconds());
+      TransactionManager.commitTransaction();
+      return claimed;
+    } catch (Exception e) {
+      rollback();
+      throw e;
+    }
+  }
+
+  /** Handles one claimed event and settles it right away. */
+  void process(OutboxEvent outboxEvent) {
+    long start = System.nanoTime();
+    if (outboxEvent.attempts() > config.maxAttempts()) {
+      settleFailure(
+          outboxEvent, new IllegalStateException("lease expired during the last attempt"));
+      return;
+    }
+    try {
+      handle(outboxEvent);
+    } catch (Exception e) {
+      settleFailure(outboxEvent, e);
+      return;
+    }
+    settleDelivered(outboxEvent);
+    log.debug(
+        "event-outbox-relay delivered event: id={}, type={}, latency_ms={}",
+        outboxEvent.id(),
+        outboxEvent.type().value(),
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+  }
+
+  private void handle(OutboxEvent outboxEvent) {
+    OutboxEventHandler handler = handlers.get(outboxEvent.type());
+    if (handler == null) {
+      throw new IllegalStateException("No handler for outbox event type " + outboxEvent.type());
+    }
+    TenantLoggingContext.setTenant(outboxEvent.tenantIdentifier());
+    try {
+      handler.handle(outboxEvent);
+    } finally {
+      TenantLoggingContext.clearAll();
+    }
+  }
+
+  /**
+   * Deletes a delivered event. If this fails the claim expires and the event is delivered again.
+   */
+  private void settleDelivered(OutboxEvent outboxEvent) {
+    try {
+      TransactionManager.beginTransaction(
+          databaseTypeProvider.provide(), outboxEvent.tenantIdentifier());
+      repository.delete(List.of(outboxEvent));
+      TransactionManager.commitTransaction();
+      deliveredCount.increment();
+    } catch (Exception e) {
+      rollback();
+      log.error(
+          "event-outbox-relay failed to delete delivered event, it is redelivered after the lease: id={}, error={}",
+          outboxEvent.id(),
+          e.getMessage(),
+          e);
+    }
+  }
+
+  /** Reschedules a failed event, or gives up on it once it is out of attempts. */
+  private void settleFailure(OutboxEvent outboxEvent, Exception failure) {
+    failedCount.increment();
+    String error = failure.getMessage();
+    try {
+      TransactionManager.beginTransaction(
+          databaseTypeProvider.provide(), outboxEvent.tenantIdentifier());
+      if (outboxEvent.attempts() >= config.maxAttempts()) {
+        repository.giveUp(outboxEvent, error);
+        log.error(
+            "event-outbox-relay gave up on event: id={}, type={}, tenant={}, attempts={}, error={}",
+            outboxEvent.id(),
+            outboxEvent.type().value(),
+            outboxEvent.tenantIdentifierValue(),
+            outboxEvent.attempts(),
+            error);
+      } else {
+        repository.reschedule(outboxEvent, backoffSeconds(outboxEvent.attempts()), error);
+        log.warn(
+            "event-outbox-relay failed to handle event, retrying: id={}, type={}, tenant={}, attempts={}, error={}",
+            outboxEvent.id(),
+            outboxEvent.type().value(),
+            outboxEvent.tenantIdentifierValue(),
+            outboxEvent.attempts(),
+            error);
+      }
+      TransactionManager.commitTransaction();
+    } catch (Exception e) {
+      rollback();
+      log.error(
+          "event-outbox-relay failed to settle failed event, it is retried after the lease: id={}, error={}",
+          outboxEvent.id(),
+          e.getMessage(),
+          e);
+    }
+  }
+
+  static long backoffSeconds(int attempts) {
+    return Math.min(MAX_BACKOFF_SECONDS, 1L << Math.min(attempts, 16));
+  }
+
+  private void rollback() {
+    try {
+      TransactionManager.rollbackTransaction();
+    } catch (Exception e) {
+      log.warn("event-outbox-relay failed to rollback: error={}", e.getMessage());
+    }
+  }
+}
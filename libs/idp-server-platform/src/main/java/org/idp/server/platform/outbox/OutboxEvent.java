@@ -0,0 +1,76 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.idp.server.platform.outbox;
+
+import java.time.LocalDateTime;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+
+/** A row of {@code event_outbox}: one event serialized as JSON, waiting to be delivered. */
+public class OutboxEvent {
+
+  String id;
+  TenantIdentifier tenantIdentifier;
+  OutboxEventType type;
+  String payload;
+  int attempts;
+  LocalDateTime createdAt;
+
+  public OutboxEvent() {}
+
+  public OutboxEvent(
+      String id,
+      TenantIdentifier tenantIdentifier,
+      OutboxEventType type,
+      String payload,
+      int attempts,
+      LocalDateTime createdAt) {
+    this.id = id;
+    this.tenantIdentifier = tenantIdentifier;
+    this.type = type;
+    this.payload = payload;
+    this.attempts = attempts;
+    this.createdAt = createdAt;
+  }
+
+  public String id() {
+    return id;
+  }
+
+  public TenantIdentifier tenantIdentifier() {
+    return tenantIdentifier;
+  }
+
+  public String tenantIdentifierValue() {
+    return tenantIdentifier.value();
+  }
+
+  public OutboxEventType type() {
+    return type;
+  }
+
+  public String payload() {
+    return payload;
+  }
+
+  /** Number of times the event has been claimed, including the current claim. */
+  public int attempts() {
+    return attempts;
+  }
+
+  public LocalDateTime createdAt() {
+    return createdAt;
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.idp.server.platform.outbox;
+
+import java.util.List;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+
+public interface OutboxEventCommandRepository {
+
+  /** Inserts the event in the transaction of the current thread. */
+  void register(OutboxEvent outboxEvent);
+
+  /**
+   * Returns up to {@code limit} tenants that have deliverable events, the one with the oldest event
+   * first. Reads tenant ids only, so it can run on a connection that is not scoped to a tenant.
+   */
+  List<TenantIdentifier> findClaimableTenants(int limit);
+
+  /**
+   * Locks up to {@code limit} deliverable events of {@code tenantIdentifier} with {@code FOR UPDATE
+   * SKIP LOCKED}, increments their attempts and hides them for {@code leaseSeconds}. Rows locked by
+   * another node are skipped, so nodes polling at the same time claim disjoint batches. Events that
+   * were given up are never claimed. Runs in a transaction begun for {@code tenantIdentifier}.
+   */
+  List<OutboxEvent> claim(TenantIdentifier tenantIdentifier, int limit, int leaseSeconds);
+
+  void delete(List<OutboxEvent> outboxEvents);
+
+  /** Makes a failed event deliverable again after {@code delaySeconds}. */
+  void reschedule(OutboxEvent outboxEvent, long delaySeconds, String error);
+
+  /** Stops delivering the event; the row stays in the table for inspection. */
+  void giveUp(OutboxEvent outboxEvent, String error);
+}
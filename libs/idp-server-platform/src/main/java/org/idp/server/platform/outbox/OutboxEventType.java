@@ -0,0 +1,44 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.idp.server.platform.outbox;
+
+import org.idp.server.platform.exception.UnSupportedException;
+
+public enum OutboxEventType {
+  SECURITY_EVENT("security_event"),
+  AUDIT_LOG("audit_log"),
+  USER_LIFECYCLE_EVENT("user_lifecycle_event");
+
+  String value;
+
+  OutboxEventType(String value) {
+    this.value = value;
+  }
+
+  public String value() {
+    return value;
+  }
+
+  public static OutboxEventType of(String value) {
+    for (OutboxEventType type : OutboxEventType.values()) {
+      if (type.value.equals(value)) {
+        return type;
+      }
+    }
+
+    throw new UnSupportedException("Unsupported outbox event type: " + value);
+  }
+}
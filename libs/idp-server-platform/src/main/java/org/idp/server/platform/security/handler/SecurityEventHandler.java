@@ -20,6 +20,7 @@ import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
+import org.idp.server.platform.datasource.TransactionManager;
 import org.idp.server.platform.log.LoggerWrapper;
 import org.idp.server.platform.multi_tenancy.tenant.Tenant;
 import org.idp.server.platform.security.SecurityEvent;
@@ -28,37 +29,42 @@ import org.idp.server.platform.security.event.SecurityEventUser;
 import org.idp.server.platform.security.event.SecurityEventUserIdentifier;
 import org.idp.server.platform.security.log.SecurityEventLogConfiguration;
 import org.idp.server.platform.security.log.SecurityEventLogService;
+import org.idp.server.platform.statistics.ActiveUserFilter;
+import org.idp.server.platform.statistics.ActiveUserPeriod;
 import org.idp.server.platform.statistics.FiscalYearCalculator;
 import org.idp.server.platform.statistics.StatisticsEventRecord;
+import org.idp.server.platform.statistics.StatisticsEventWriter;
 import org.idp.server.platform.statistics.repository.DailyActiveUserCommandRepository;
 import org.idp.server.platform.statistics.repository.MonthlyActiveUserCommandRepository;
-import org.idp.server.platform.statistics.repository.StatisticsEventsCommandRepository;
 import org.idp.server.platform.statistics.repository.YearlyActiveUserCommandRepository;
 
 public class SecurityEventHandler {
 
   SecurityEventHookDispatcher hookDispatcher;
   SecurityEventLogService logService;
-  StatisticsEventsCommandRepository statisticsEventsRepository;
+  StatisticsEventWriter statisticsEventWriter;
   DailyActiveUserCommandRepository dailyActiveUserRepository;
   MonthlyActiveUserCommandRepository monthlyActiveUserRepository;
   YearlyActiveUserCommandRepository yearlyActiveUserRepository;
+  ActiveUserFilter activeUserFilter;
 
   LoggerWrapper log = LoggerWrapper.getLogger(SecurityEventHandler.class);
 
   public SecurityEventHandler(
       SecurityEventHookDispatcher hookDispatcher,
       SecurityEventLogService logService,
-      StatisticsEventsCommandRepository statisticsEventsRepository,
+      StatisticsEventWriter statisticsEventWriter,
       DailyActiveUserCommandRepository dailyActiveUserRepository,
       MonthlyActiveUserCommandRepository monthlyActiveUserRepository,
-      YearlyActiveUserCommandRepository yearlyActiveUserRepository) {
+      YearlyActiveUserCommandRepository yearlyActiveUserRepository,
+      ActiveUserFilter activeUserFilter) {
     this.hookDispatcher = hookDispatcher;
     this.logService = logService;
-    this.statisticsEventsRepository = statisticsEventsRepository;
+    this.statisticsEventWriter = statisticsEventWriter;
     this.dailyActiveUserRepository = dailyActiveUserRepository;
     this.monthlyActiveUserRepository = monthlyActiveUserRepository;
     this.yearlyActiveUserRepository = yearlyActiveUserRepository;
+    this.activeUserFilter = activeUserFilter;
   }
 
   public void handle(Tenant tenant, SecurityEvent securityEvent) {
@@ -122,6 +128,10 @@ public class SecurityEventHandler {
    * <p>Increments the event type metric (e.g., login_success, issue_token_success) and tracks
    * unique daily/monthly/yearly active users (DAU/MAU/YAU). An active user event is defined by
    * {@link DefaultSecurityEventType#isActiveUserEvent()}.
+   *
+   * <p>Users whose activity for the day is already committed are skipped via {@link
+   * ActiveUserFilter}: their DAU, MAU and YAU rows were written together, so only the event metric
+   * is counted.
    */
   private void handleActiveUserEvent(
       Tenant tenant, SecurityEventUser securityEventUser, LocalDate eventDate, String eventType) {
@@ -140,6 +150,11 @@ public class SecurityEventHandler {
     // Add the actual event type metric
     records.add(new StatisticsEventRecord(tenant.identifier(), eventDate, eventType, 1));
 
+    if (activeUserFilter.isRecorded(tenant.identifier(), eventDate, userId.value())) {
+      statisticsEventWriter.write(tenant, records);
+      return;
+    }
+
     // Track DAU - add user to daily active users table and increment DAU count if new
     boolean isNewDailyUser =
         dailyActiveUserRepository.addActiveUserAndReturnIfNew(
@@ -188,8 +203,20 @@ public class SecurityEventHandler {
       records.add(new StatisticsEventRecord(tenant.identifier(), eventDate, "new_yau", 1));
     }
 
-    // Batch upsert all statistics records in a single query
-    statisticsEventsRepository.batchUpsert(records);
+    // Batch upsert all statistics records in a single query (or aggregate them for the next flush)
+    statisticsEventWriter.write(tenant, records);
+
+    // Remember the user only once the rows are committed, so a rollback cannot hide them
+    TransactionManager.afterCommit(
+        () -> {
+          activeUserFilter.markRecorded(tenant.identifier(), eventDate, userId.value());
+          activeUserFilter.countActiveUser(
+              ActiveUserPeriod.DAILY, tenant.identifier(), eventDate, userId.value());
+          activeUserFilter.countActiveUser(
+              ActiveUserPeriod.MONTHLY, tenant.identifier(), monthStart, userId.value());
+          activeUserFilter.countActiveUser(
+              ActiveUserPeriod.YEARLY, tenant.identifier(), yearStart, userId.value());
+        });
   }
 
   /**
@@ -206,6 +233,6 @@ public class SecurityEventHandler {
         date,
         eventType);
 
-    statisticsEventsRepository.increment(tenant.identifier(), date, eventType);
+    statisticsEventWriter.increment(tenant, date, eventType);
   }
 }
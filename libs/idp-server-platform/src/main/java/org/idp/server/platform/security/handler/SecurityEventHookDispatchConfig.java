@@ -0,0 +1,50 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.idp.server.platform.security.handler;
+
+public class SecurityEventHookDispatchConfig {
+
+  SecurityEventHookDispatchMode mode = SecurityEventHookDispatchMode.SEQUENTIAL;
+  long timeoutMillis = 3000;
+  int maxConcurrencyPerType = 50;
+
+  public SecurityEventHookDispatchConfig() {}
+
+  public SecurityEventHookDispatchConfig(
+      SecurityEventHookDispatchMode mode, long timeoutMillis, int maxConcurrencyPerType) {
+    this.mode = mode;
+    this.timeoutMillis = timeoutMillis;
+    this.maxConcurrencyPerType = maxConcurrencyPerType;
+  }
+
+  public SecurityEventHookDispatchMode mode() {
+    return mode;
+  }
+
+  public boolean isParallel() {
+    return mode == SecurityEventHookDispatchMode.PARALLEL;
+  }
+
+  /** How long a dispatch waits for its hooks, including the wait for a bulkhead permit. */
+  public long timeoutMillis() {
+    return timeoutMillis;
+  }
+
+  /** Hooks of one type that may run at the same time across all events. */
+  public int maxConcurrencyPerType() {
+    return maxConcurrencyPerType;
+  }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.idp.server.platform.security.handler;
+
+import org.idp.server.platform.exception.UnSupportedException;
+
+/**
+ * How {@link SecurityEventHookDispatcher} runs the hooks of one event.
+ *
+ * <ul>
+ *   <li>{@link #SEQUENTIAL}: one after another on the calling thread.
+ *   <li>{@link #PARALLEL}: concurrently on virtual threads, bounded by a timeout and per hook type
+ *       bulkheads. The calling thread waits at most the timeout.
+ * </ul>
+ */
+public enum SecurityEventHookDispatchMode {
+  SEQUENTIAL,
+  PARALLEL;
+
+  public static SecurityEventHookDispatchMode of(String value) {
+    if (value == null || value.isEmpty()) {
+      return SEQUENTIAL;
+    }
+
+    for (SecurityEventHookDispatchMode mode : SecurityEventHookDispatchMode.values()) {
+      if (mode.name().equalsIgnoreCase(value)) {
+        return mode;
+      }
+    }
+
+    throw new UnSupportedException("Unsupported security event hook dispatch mode: " + value);
+  }
+}
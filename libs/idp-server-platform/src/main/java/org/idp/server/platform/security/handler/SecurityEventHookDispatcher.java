@@ -18,7 +18,18 @@ package org.idp.server.platform.security.handler;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import org.idp.server.platform.log.LoggerWrapper;
 import org.idp.server.platform.multi_tenancy.tenant.Tenant;
 import org.idp.server.platform.security.SecurityEvent;
@@ -29,6 +40,7 @@ import org.idp.server.platform.security.hook.configuration.SecurityEventHookConf
 import org.idp.server.platform.security.hook.configuration.SecurityEventHookConfigurations;
 import org.idp.server.platform.security.repository.SecurityEventHookConfigurationQueryRepository;
 import org.idp.server.platform.security.repository.SecurityEventHookResultCommandRepository;
+import org.slf4j.MDC;
 
 /**
  * Dispatches a {@link SecurityEvent} to every configured hook for the tenant.
@@ -41,12 +53,24 @@ import org.idp.server.platform.security.repository.SecurityEventHookResultComman
  * <p>Failures are isolated per hook (see {@link #executeHook}). Callers should invoke {@link
  * #dispatch} <em>before</em> taking the statistics row lock so that blocking hook I/O is not held
  * inside the lock window (#1442).
+ *
+ * <p>With {@link SecurityEventHookDispatchMode#PARALLEL} the hooks of an event run concurrently on
+ * virtual threads, so an event with several hooks takes as long as its slowest hook instead of
+ * their sum. Each hook type has a bulkhead of {@code maxConcurrencyPerType} permits, so a slow
+ * endpoint of one type cannot take the threads of the others. A hook that has not finished (or not
+ * obtained a permit) within {@code timeoutMillis} is interrupted and recorded as a FAILURE result;
+ * all results, in configuration order, still go to one {@code bulkRegister}. {@link #close()} stops
+ * the hook threads on shutdown; an event dispatched after that runs its hooks on the dispatching
+ * thread, so their results are still recorded.
  */
 public class SecurityEventHookDispatcher {
 
   SecurityEventHooks securityEventHooks;
   SecurityEventHookConfigurationQueryRepository securityEventHookConfigurationQueryRepository;
   SecurityEventHookResultCommandRepository resultsCommandRepository;
+  SecurityEventHookDispatchConfig dispatchConfig;
+  ExecutorService hookExecutor;
+  Map<String, Semaphore> bulkheads = new ConcurrentHashMap<>();
 
   LoggerWrapper log = LoggerWrapper.getLogger(SecurityEventHookDispatcher.class);
 
@@ -54,10 +78,28 @@ public class SecurityEventHookDispatcher {
       SecurityEventHooks securityEventHooks,
       SecurityEventHookConfigurationQueryRepository securityEventHookConfigurationQueryRepository,
       SecurityEventHookResultCommandRepository resultsCommandRepository) {
+    this(
+        securityEventHooks,
+        securityEventHookConfigurationQueryRepository,
+        resultsCommandRepository,
+        new SecurityEventHookDispatchConfig());
+  }
+
+  public SecurityEventHookDispatcher(
+      SecurityEventHooks securityEventHooks,
+      SecurityEventHookConfigurationQueryRepository securityEventHookConfigurationQueryRepository,
+      SecurityEventHookResultCommandRepository resultsCommandRepository,
+      SecurityEventHookDispatchConfig dispatchConfig) {
     this.securityEventHooks = securityEventHooks;
     this.securityEventHookConfigurationQueryRepository =
         securityEventHookConfigurationQueryRepository;
     this.resultsCommandRepository = resultsCommandRepository;
+    this.dispatchConfig = dispatchConfig;
+    if (dispatchConfig.isParallel()) {
+      this.hookExecutor =
+          Executors.newThreadPerTaskExecutor(
+              Thread.ofVirtual().name("security-event-hook-", 0).factory());
+    }
   }
 
   /**
@@ -71,7 +113,7 @@ public class SecurityEventHookDispatcher {
     SecurityEventHookConfigurations securityEventHookConfigurations =
         securityEventHookConfigurationQueryRepository.find(tenant);
 
-    List<SecurityEventHookResult> results = new ArrayList<>();
+    List<HookExecution> executions = new ArrayList<>();
     for (SecurityEventHookConfiguration hookConfiguration : securityEventHookConfigurations) {
 
       Optional<SecurityEventHook> optionalExecutor =
@@ -97,16 +139,181 @@ public class SecurityEventHookDispatcher {
                 securityEvent.clientIdentifierValue(),
                 securityEvent.userSub()));
 
-        results.add(
-            executeHook(tenant, securityEvent, hookConfiguration, securityEventHookExecutor));
+        executions.add(new HookExecution(hookConfiguration, securityEventHookExecutor));
       }
     }
 
+    List<SecurityEventHookResult> results =
+        dispatchConfig.isParallel()
+            ? executeConcurrently(tenant, securityEvent, executions)
+            : executeSequentially(tenant, securityEvent, executions);
+
     if (!results.isEmpty()) {
       resultsCommandRepository.bulkRegister(tenant, results);
     }
   }
 
+  /**
+   * Stops accepting hooks and waits up to {@code timeoutMillis} for the running ones, the longest a
+   * dispatch waits for them anyway; hooks still running after that are interrupted.
+   */
+  public void close() {
+    if (hookExecutor == null) {
+      return;
+    }
+    hookExecutor.shutdown();
+    try {
+      if (!hookExecutor.awaitTermination(dispatchConfig.timeoutMillis(), TimeUnit.MILLISECONDS)) {
+        List<Runnable> pending = hookExecutor.shutdownNow();
+        log.warn(
+            "Security event hook executor closed with running hooks interrupted: queued={}",
+            pending.size());
+      }
+    } catch (InterruptedException e) {
+      hookExecutor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private List<SecurityEventHookResult> executeSequentially(
+      Tenant tenant, SecurityEvent securityEvent, List<HookExecution> executions) {
+    List<SecurityEventHookResult> results = new ArrayList<>();
+    for (HookExecution execution : executions) {
+      results.add(
+          executeHook(tenant, securityEvent, execution.configuration(), execution.executor()));
+    }
+    return results;
+  }
+
+  /**
+   * Starts every hook on its own virtual thread and waits for all of them until a shared deadline.
+   * Hooks still running at the deadline are interrupted and reported as {@code HookTimeout}.
+   */
+  private List<SecurityEventHookResult> executeConcurrently(
+      Tenant tenant, SecurityEvent securityEvent, List<HookExecution> executions) {
+    long startTime = System.currentTimeMillis();
+    long deadline =
+        System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(dispatchConfig.timeoutMillis());
+    Map<String, String> loggingContext = MDC.getCopyOfContextMap();
+
+    List<Future<SecurityEventHookResult>> futures = new ArrayList<>();
+    for (HookExecution execution : executions) {
+      futures.add(submit(tenant, securityEvent, execution, deadline, loggingContext));
+    }
+
+    List<SecurityEventHookResult> results = new ArrayList<>();
+    for (int i = 0; i < futures.size(); i++) {
+      Future<SecurityEventHookResult> future = futures.get(i);
+      SecurityEventHookConfiguration hookConfiguration = executions.get(i).configuration();
+      try {
+        results.add(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+      } catch (TimeoutException e) {
+        future.cancel(true);
+        log.warn(
+            "Security event hook timed out: type={} tenant={} event={} timeout_ms={}",
+            hookConfiguration.hookType().name(),
+            tenant.identifierValue(),
+            securityEvent.type().value(),
+            dispatchConfig.timeoutMillis());
+        results.add(
+            failureResult(
+                securityEvent,
+                hookConfiguration,
+                startTime,
+                "HookTimeout",
+                "Security event hook did not complete within "
+                    + dispatchConfig.timeoutMillis()
+                    + "ms"));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        future.cancel(true);
+        results.add(
+            failureResult(
+                securityEvent,
+                hookConfiguration,
+                startTime,
+                "Interrupted",
+                "Security event hook dispatch was interrupted"));
+      } catch (ExecutionException e) {
+        // executeHook converts every exception into a result; this is only a safety net.
+        results.add(
+            failureResult(
+                securityEvent,
+                hookConfiguration,
+                startTime,
+                e.getCause().getClass().getSimpleName(),
+                "Security event hook execution failed: " + e.getCause().getMessage()));
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Starts the hook on the executor, or runs it on the calling thread once {@link #close()} has
+   * shut the executor down, so that events still being handled at shutdown keep their results.
+   */
+  private Future<SecurityEventHookResult> submit(
+      Tenant tenant,
+      SecurityEvent securityEvent,
+      HookExecution execution,
+      long deadline,
+      Map<String, String> loggingContext) {
+    try {
+      return hookExecutor.submit(
+          () -> executeWithBulkhead(tenant, securityEvent, execution, deadline, loggingContext));
+    } catch (RejectedExecutionException e) {
+      log.warn(
+          "Security event hook executor is closed, running hook on the dispatching thread: type={} tenant={} event={}",
+          execution.configuration().hookType().name(),
+          tenant.identifierValue(),
+          securityEvent.type().value());
+      return CompletableFuture.completedFuture(
+          executeHook(tenant, securityEvent, execution.configuration(), execution.executor()));
+    }
+  }
+
+  private SecurityEventHookResult executeWithBulkhead(
+      Tenant tenant,
+      SecurityEvent securityEvent,
+      HookExecution execution,
+      long deadline,
+      Map<String, String> loggingContext)
+      throws InterruptedException {
+    if (loggingContext != null) {
+      MDC.setContextMap(loggingContext);
+    }
+    SecurityEventHookConfiguration hookConfiguration = execution.configuration();
+    Semaphore bulkhead =
+        bulkheads.computeIfAbsent(
+            hookConfiguration.hookType().name(),
+            type -> new Semaphore(dispatchConfig.maxConcurrencyPerType()));
+    long startTime = System.currentTimeMillis();
+    try {
+      if (!bulkhead.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+        log.warn(
+            "Security event hook bulkhead full: type={} tenant={} event={} max_concurrency={}",
+            hookConfiguration.hookType().name(),
+            tenant.identifierValue(),
+            securityEvent.type().value(),
+            dispatchConfig.maxConcurrencyPerType());
+        return failureResult(
+            securityEvent,
+            hookConfiguration,
+            startTime,
+            "HookBulkheadFull",
+            "Too many concurrent security event hooks of type "
+                + hookConfiguration.hookType().name());
+      }
+      try {
+        return executeHook(tenant, securityEvent, hookConfiguration, execution.executor());
+      } finally {
+        bulkhead.release();
+      }
+    } finally {
+      MDC.clear();
+    }
+  }
+
   /**
    * Executes a single hook, isolating unexpected failures as a FAILURE result.
    *
@@ -171,4 +378,6 @@ public class SecurityEventHookDispatcher {
     return SecurityEventHookResult.failureWithContext(
         hookConfiguration, securityEvent, null, executionDurationMs, errorType, errorMessage);
   }
+
+  record HookExecution(SecurityEventHookConfiguration configuration, SecurityEventHook executor) {}
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.security.log;
+
+import java.util.concurrent.atomic.LongAdder;
+import org.idp.server.platform.datasource.ApplicationDatabaseTypeProvider;
+import org.idp.server.platform.datasource.GroupCommitQueue;
+import org.idp.server.platform.log.LoggerWrapper;
+import org.idp.server.platform.multi_tenancy.tenant.Tenant;
+import org.idp.server.platform.security.SecurityEvent;
+import org.idp.server.platform.security.repository.SecurityEventCommandRepository;
+
+/**
+ * Group-commit writer for security events.
+ *
+ * <p>Events from all threads are queued on a {@link GroupCommitQueue} and inserted with {@link
+ * SecurityEventCommandRepository#bulkRegister}, one transaction per tenant and flush.
+ *
+ * <p><strong>Backpressure</strong>: when the queue is full the caller waits up to {@code
+ * offerTimeoutMillis}; if there is still no room the event is inserted in the caller's own
+ * transaction, as in {@link SecurityEventPersistenceMode#DIRECT}. Events are never dropped for lack
+ * of buffer space.
+ */
+public class BufferedSecurityEventWriter implements SecurityEventWriter {
+
+  private static final LoggerWrapper log =
+      LoggerWrapper.getLogger(BufferedSecurityEventWriter.class);
+
+  private final SecurityEventCommandRepository repository;
+  private final GroupCommitQueue<SecurityEvent> queue;
+  private final LongAdder directCount = new LongAdder();
+
+  public BufferedSecurityEventWriter(
+      SecurityEventCommandRepository repository,
+      ApplicationDatabaseTypeProvider databaseTypeProvider,
+      SecurityEventPersistenceConfig config) {
+    this.repository = repository;
+    this.queue =
+        new GroupCommitQueue<>(
+            "security-event-writer",
+            databaseTypeProvider,
+            config.batchSize(),
+            config.flushIntervalMillis(),
+            config.queueCapacity(),
+            config.offerTimeoutMillis(),
+            repository::bulkRegister);
+  }
+
+  @Override
+  public void write(Tenant tenant, SecurityEvent securityEvent) {
+    if (queue.offer(tenant, securityEvent)) {
+      return;
+    }
+    directCount.increment();
+    log.debug(
+        "security event buffer unavailable, writing directly: id={}, queue={}",
+        securityEvent.identifier().value(),
+        queue.queueDepth());
+    repository.register(tenant, securityEvent);
+  }
+
+  @Override
+  public void close() {
+    queue.close();
+  }
+
+  public GroupCommitQueue<SecurityEvent> queue() {
+    return queue;
+  }
+
+  public long directCount() {
+    return directCount.sum();
+  }
+}
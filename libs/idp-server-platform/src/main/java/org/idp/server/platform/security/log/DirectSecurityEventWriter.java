@@ -0,0 +1,36 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.security.log;
+
+import org.idp.server.platform.multi_tenancy.tenant.Tenant;
+import org.idp.server.platform.security.SecurityEvent;
+import org.idp.server.platform.security.repository.SecurityEventCommandRepository;
+
+/** Inserts each event in the transaction of the calling thread. */
+public class DirectSecurityEventWriter implements SecurityEventWriter {
+
+  SecurityEventCommandRepository repository;
+
+  public DirectSecurityEventWriter(SecurityEventCommandRepository repository) {
+    this.repository = repository;
+  }
+
+  @Override
+  public void write(Tenant tenant, SecurityEvent securityEvent) {
+    repository.register(tenant, securityEvent);
+  }
+}
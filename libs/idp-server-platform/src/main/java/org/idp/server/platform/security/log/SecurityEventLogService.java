@@ -28,10 +28,14 @@ public class SecurityEventLogService {
   private static final LoggerWrapper log = LoggerWrapper.getLogger(SecurityEventLogService.class);
   private final Map<SecurityEventLogFormatter.Format, SecurityEventLogFormatter> formatters =
       new HashMap<>();
-  private final SecurityEventCommandRepository repository;
+  private final SecurityEventWriter writer;
 
   public SecurityEventLogService(SecurityEventCommandRepository repository) {
-    this.repository = repository;
+    this(new DirectSecurityEventWriter(repository));
+  }
+
+  public SecurityEventLogService(SecurityEventWriter writer) {
+    this.writer = writer;
     formatters.put(
         SecurityEventLogFormatter.Format.STRUCTURED_JSON, new StructuredJsonLogFormatter());
     formatters.put(SecurityEventLogFormatter.Format.SIMPLE, new SimpleLogFormatter());
@@ -66,7 +70,7 @@ public class SecurityEventLogService {
 
   private void persist(Tenant tenant, SecurityEvent securityEvent) {
     try {
-      repository.register(tenant, securityEvent);
+      writer.write(tenant, securityEvent);
     } catch (Exception e) {
       log.error("Failed to persist security event to database: error={}", e.getMessage(), e);
     }
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.security.log;
+
+public class SecurityEventPersistenceConfig {
+
+  SecurityEventPersistenceMode mode = SecurityEventPersistenceMode.DIRECT;
+  int batchSize = 500;
+  long flushIntervalMillis = 200;
+  int queueCapacity = 10000;
+  long offerTimeoutMillis = 50;
+
+  public SecurityEventPersistenceConfig() {}
+
+  public SecurityEventPersistenceConfig(
+      SecurityEventPersistenceMode mode,
+      int batchSize,
+      long flushIntervalMillis,
+      int queueCapacity,
+      long offerTimeoutMillis) {
+    this.mode = mode;
+    this.batchSize = batchSize;
+    this.flushIntervalMillis = flushIntervalMillis;
+    this.queueCapacity = queueCapacity;
+    this.offerTimeoutMillis = offerTimeoutMillis;
+  }
+
+  public SecurityEventPersistenceMode mode() {
+    return mode;
+  }
+
+  public boolean isBuffered() {
+    return mode == SecurityEventPersistenceMode.BUFFERED;
+  }
+
+  public int batchSize() {
+    return batchSize;
+  }
+
+  public long flushIntervalMillis() {
+    return flushIntervalMillis;
+  }
+
+  public int queueCapacity() {
+    return queueCapacity;
+  }
+
+  public long offerTimeoutMillis() {
+    return offerTimeoutMillis;
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.security.log;
+
+import org.idp.server.platform.exception.UnSupportedException;
+
+/**
+ * How persisted security events are written to the {@code security_event} table.
+ *
+ * <ul>
+ *   <li>{@link #DIRECT}: each event is inserted in the transaction of the thread handling it.
+ *   <li>{@link #BUFFERED}: events are collected across threads and inserted in batches, one
+ *       transaction per tenant and flush.
+ * </ul>
+ */
+public enum SecurityEventPersistenceMode {
+  DIRECT,
+  BUFFERED;
+
+  public static SecurityEventPersistenceMode of(String value) {
+    if (value == null || value.isEmpty()) {
+      return DIRECT;
+    }
+
+    for (SecurityEventPersistenceMode mode : SecurityEventPersistenceMode.values()) {
+      if (mode.name().equalsIgnoreCase(value)) {
+        return mode;
+      }
+    }
+
+    throw new UnSupportedException("Unsupported security event persistence mode: " + value);
+  }
+}
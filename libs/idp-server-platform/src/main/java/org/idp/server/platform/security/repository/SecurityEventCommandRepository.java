@@ -16,9 +16,12 @@
 
 package org.idp.server.platform.security.repository;
 
+import java.util.List;
 import org.idp.server.platform.multi_tenancy.tenant.Tenant;
 import org.idp.server.platform.security.SecurityEvent;
 
 public interface SecurityEventCommandRepository {
   void register(Tenant tenant, SecurityEvent securityEvent);
+
+  void bulkRegister(Tenant tenant, List<SecurityEvent> securityEvents);
 }
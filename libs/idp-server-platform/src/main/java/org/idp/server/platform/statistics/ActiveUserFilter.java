@@ -0,0 +1,46 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.idp.server.platform.statistics;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+
+/**
+ * Remembers users whose activity for a day has already been committed to the active user tables.
+ *
+ * <p>DAU, MAU and YAU rows of a user are written in the same transaction, so once a user is
+ * recorded for a day the month and fiscal year are recorded too and the whole DAU/MAU/YAU check can
+ * be skipped for the rest of the day. The filter is exact: it answers {@code true} only for users
+ * marked after a commit, never by probability, so skipping never loses a count.
+ */
+public interface ActiveUserFilter {
+
+  boolean isRecorded(TenantIdentifier tenantId, LocalDate date, String userId);
+
+  /** Marks the user as recorded for {@code date}. Call only after the rows are committed. */
+  void markRecorded(TenantIdentifier tenantId, LocalDate date, String userId);
+
+  /** Adds the user to the approximate distinct count of the period. No-op by default. */
+  default void countActiveUser(
+      ActiveUserPeriod period, TenantIdentifier tenantId, LocalDate periodStart, String userId) {}
+
+  /** Approximate number of distinct active users for the period, if this filter keeps one. */
+  default Optional<Long> approximateCount(
+      ActiveUserPeriod period, TenantIdentifier tenantId, LocalDate periodStart) {
+    return Optional.empty();
+  }
+}
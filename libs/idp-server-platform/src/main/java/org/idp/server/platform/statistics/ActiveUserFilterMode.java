@@ -0,0 +1,48 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.idp.server.platform.statistics;
+
+import org.idp.server.platform.exception.UnSupportedException;
+
+/**
+ * Where {@link ActiveUserFilter} remembers users already counted as active for a day.
+ *
+ * <ul>
+ *   <li>{@link #NONE}: no filter; every active-user event writes the DAU/MAU/YAU tables.
+ *   <li>{@link #LOCAL}: in this process. Each instance writes a user once per day.
+ *   <li>{@link #SHARED}: in the shared cache (Redis SET), so a user is written once per day across
+ *       all instances. Also keeps HyperLogLog estimates of DAU/MAU/YAU.
+ * </ul>
+ */
+public enum ActiveUserFilterMode {
+  NONE,
+  LOCAL,
+  SHARED;
+
+  public static ActiveUserFilterMode of(String value) {
+    if (value == null || value.isEmpty()) {
+      return NONE;
+    }
+
+    for (ActiveUserFilterMode mode : ActiveUserFilterMode.values()) {
+      if (mode.name().equalsIgnoreCase(value)) {
+        return mode;
+      }
+    }
+
+    throw new UnSupportedException("Unsupported active user filter mode: " + value);
+  }
+}
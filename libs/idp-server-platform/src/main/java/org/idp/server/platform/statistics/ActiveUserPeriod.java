@@ -0,0 +1,44 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.idp.server.platform.statistics;
+
+/**
+ * Period of an active user count, with how long its cardinality estimate is kept.
+ *
+ * <p>The period start is the date the count is stored under: the day itself, the first day of the
+ * month, or the fiscal year start.
+ */
+public enum ActiveUserPeriod {
+  DAILY("dau", 35 * 24 * 60 * 60),
+  MONTHLY("mau", 400 * 24 * 60 * 60),
+  YEARLY("yau", 800 * 24 * 60 * 60);
+
+  private final String value;
+  private final int estimateTimeToLiveSeconds;
+
+  ActiveUserPeriod(String value, int estimateTimeToLiveSeconds) {
+    this.value = value;
+    this.estimateTimeToLiveSeconds = estimateTimeToLiveSeconds;
+  }
+
+  public String value() {
+    return value;
+  }
+
+  public int estimateTimeToLiveSeconds() {
+    return estimateTimeToLiveSeconds;
+  }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.idp.server.platform.statistics;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.idp.server.platform.datasource.ApplicationDatabaseTypeProvider;
+import org.idp.server.platform.datasource.TransactionManager;
+import org.idp.server.platform.log.LoggerWrapper;
+import org.idp.server.platform.multi_tenancy.tenant.Tenant;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+import org.idp.server.platform.statistics.repository.StatisticsEventsCommandRepository;
+
+/**
+ * Sums statistics increments in memory and writes them as deltas on a fixed interval.
+ *
+ * <p>Increments are accumulated per {@code (tenant, date, event_type)} in a {@link LongAdder}. A
+ * single flush thread drains the counters every {@code flushIntervalMillis} and writes them with
+ * {@link StatisticsEventsCommandRepository#batchUpsert}, one transaction per tenant, so the number
+ * of upserts no longer grows with the event rate.
+ *
+ * <p><strong>Loss tolerance</strong>: counters that fail to flush are added back and retried on the
+ * next interval. What is not yet flushed is lost if the process dies, so {@code
+ * flushIntervalMillis} bounds the loss; {@link #close()} flushes once more on shutdown.
+ *
+ * <p><strong>Backpressure</strong>: once {@code maxPendingKeys} counters are held, increments for
+ * new keys are upserted in the caller's own transaction, as in {@link
+ * StatisticsAggregationMode#DIRECT}.
+ */
+public class AggregatedStatisticsEventWriter implements StatisticsEventWriter {
+
+  private static final LoggerWrapper log =
+      LoggerWrapper.getLogger(AggregatedStatisticsEventWriter.class);
+  private static final long CLOSE_TIMEOUT_MILLIS = 30_000;
+  private static final long IDLE_POLL_MILLIS = 100;
+
+  private final StatisticsEventsCommandRepository repository;
+  private final ApplicationDatabaseTypeProvider databaseTypeProvider;
+  private final long flushIntervalMillis;
+  private final int maxPendingKeys;
+  private final ConcurrentHashMap<Key, LongAdder> counters = new ConcurrentHashMap<>();
+  private final Thread flushThread;
+  private final LongAdder flushedCount = new LongAdder();
+  private final LongAdder directCount = new LongAdder();
+  private volatile boolean running = true;
+
+  public AggregatedStatisticsEventWriter(
+      StatisticsEventsCommandRepository repository,
+      ApplicationDatabaseTypeProvider databaseTypeProvider,
+      StatisticsAggregationConfig config) {
+    this.repository = repository;
+    this.databaseTypeProvider = databaseTypeProvider;
+    this.flushIntervalMillis = config.flushIntervalMillis();
+    this.maxPendingKeys = config.maxPendingKeys();
+    this.flushThread = new Thread(this::run, "statistics-event-writer");
+    this.flushThread.setDaemon(true);
+    this.flushThread.start();
+  }
+
+  @Override
+  public void increment(Tenant tenant, LocalDate statDate, String eventType) {
+    if (add(new Key(tenant.identifier(), statDate, eventType), 1)) {
+      return;
+    }
+    directCount.increment();
+    repository.increment(tenant.identifier(), statDate, eventType);
+  }
+
+  @Override
+  public void write(Tenant tenant, List<StatisticsEventRecord> records) {
+    List<StatisticsEventRecord> rejected = new ArrayList<>();
+    for (StatisticsEventRecord record : records) {
+      Key key = new Key(record.tenantId(), record.statDate(), record.eventType());
+      if (!add(key, record.count())) {
+        rejected.add(record);
+      }
+    }
+    if (!rejected.isEmpty()) {
+      directCount.add(rejected.size());
+      repository.batchUpsert(rejected);
+    }
+  }
+
+  @Override
+  public void close() {
+    running = false;
+    try {
+      flushThread.join(CLOSE_TIMEOUT_MILLIS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    int unwritten = counters.size();
+    if (unwritten > 0) {
+      log.error("statistics-event-writer closed with {} unwritten counters", unwritten);
+    }
+    log.info(
+        "statistics-event-writer closed: flushed={}, direct={}",
+        flushedCount.sum(),
+        directCount.sum());
+  }
+
+  public int pendingKeys() {
+    return counters.size();
+  }
+
+  /** Counter rows written by the flush thread. */
+  public long flushedCount() {
+    return flushedCount.sum();
+  }
+
+  /** Increments written in the caller's transaction because {@code maxPendingKeys} was reached. */
+  public long directCount() {
+    return directCount.sum();
+  }
+
+  /**
+   * Adds {@code delta} to the counter for {@code key}.
+   *
+   * @return {@code false} if the writer is closed or {@code maxPendingKeys} is reached for a new
+   *     key
+   */
+  private boolean add(Key key, long delta) {
+    if (!running) {
+      return false;
+    }
+    if (counters.size() >= maxPendingKeys && !counters.containsKey(key)) {
+      return false;
+    }
+    addToCounter(key, delta);
+    return true;
+  }
+
+  /**
+   * Adds {@code delta} without taking the map's bin lock once the counter exists. {@link #drain()}
+   * may remove the counter between the lookup and the add; the add is then moved to the counter now
+   * in the map. Both sides take the orphaned value with {@link LongAdder#sumThenReset()}, so each
+   * increment is either flushed or moved, never both and never neither.
+   */
+  private void addToCounter(Key key, long delta) {
+    LongAdder counter = counters.computeIfAbsent(key, k -> new LongAdder());
+    counter.add(delta);
+    while (counters.get(key) != counter) {
+      long orphaned = counter.sumThenReset();
+      if (orphaned == 0) {
+        return;
+      }
+      counter = counters.computeIfAbsent(key, k -> new LongAdder());
+      counter.add(orphaned);
+    }
+  }
+
+  /** Sleeps in {@link #IDLE_POLL_MILLIS} slices so that {@link #close()} is noticed promptly. */
+  private void run() {
+    while (running) {
+      try {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        while (running && System.nanoTime() < deadline) {
+          long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+          Thread.sleep(Math.max(1, Math.min(remaining, IDLE_POLL_MILLIS)));
+        }
+      } catch (InterruptedException e) {
+        running = false;
+      }
+      flush();
+    }
+
+    flush();
+  }
+
+  void flush() {
+    Map<TenantIdentifier, List<StatisticsEventRecord>> byTenant = drain();
+    if (byTenant.isEmpty()) {
+      return;
+    }
+    long start = System.nanoTime();
+    int count = 0;
+
+    for (Map.Entry<TenantIdentifier, List<StatisticsEventRecord>> entry : byTenant.entrySet()) {
+      TenantIdentifier tenantIdentifier = entry.getKey();
+      List<StatisticsEventRecord> records = entry.getValue();
+      try {
+        TransactionManager.beginTransaction(databaseTypeProvider.provide(), tenantIdentifier);
+        repository.batchUpsert(records);
+        TransactionManager.commitTransaction();
+        flushedCount.add(records.size());
+        count += records.size();
+      } catch (Exception e) {
+        rollback();
+        restore(records);
+        log.error(
+            "statistics-event-writer failed to flush, retrying on next interval: tenant={}, count={}, error={}",
+            tenantIdentifier.value(),
+            records.size(),
+            e.getMessage(),
+            e);
+      }
+    }
+
+    log.debug(
+        "statistics-event-writer flushed: count={}, latency_ms={}, pending={}",
+        count,
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+        counters.size());
+  }
+
+  /**
+   * Removes every counter and returns its value grouped by tenant. Increments racing with the
+   * removal are moved to a new counter by {@link #addToCounter} and flushed on the next interval.
+   */
+  private Map<TenantIdentifier, List<StatisticsEventRecord>> drain() {
+    Map<TenantIdentifier, List<StatisticsEventRecord>> byTenant = new LinkedHashMap<>();
+    for (Map.Entry<Key, LongAdder> entry : counters.entrySet()) {
+      Key key = entry.getKey();
+      LongAdder adder = entry.getValue();
+      counters.remove(key, adder);
+      long sum = adder.sumThenReset();
+      if (sum > 0) {
+        byTenant
+            .computeIfAbsent(key.tenantId(), tenantId -> new ArrayList<>())
+            .add(new StatisticsEventRecord(key.tenantId(), key.statDate(), key.eventType(), sum));
+      }
+    }
+    return byTenant;
+  }
+
+  /** Puts back the deltas of a failed flush; ignores {@code maxPendingKeys} so nothing is lost. */
+  private void restore(List<StatisticsEventRecord> records) {
+    for (StatisticsEventRecord record : records) {
+      addToCounter(
+          new Key(record.tenantId(), record.statDate(), record.eventType()), record.count());
+    }
+  }
+
+  private void rollback() {
+    try {
+      TransactionManager.rollbackTransaction();
+    } catch (Exception e) {
+      log.warn("statistics-event-writer failed to rollback flush: error={}", e.getMessage());
+    }
+  }
+
+  record Key(TenantIdentifier tenantId, LocalDate statDate, String eventType) {}
+}
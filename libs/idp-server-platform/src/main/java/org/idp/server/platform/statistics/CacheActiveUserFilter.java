@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.idp.server.platform.statistics;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import org.idp.server.platform.datasource.cache.CacheStore;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+
+/**
+ * {@link ActiveUserFilter} on the shared cache.
+ *
+ * <p>Recorded users are kept in one set per tenant and day, expiring after two days so late events
+ * of the previous day are still filtered. Distinct counts are kept as HyperLogLog estimates per
+ * period (about 12 KB each regardless of the number of users).
+ */
+public class CacheActiveUserFilter implements ActiveUserFilter {
+
+  private static final String MEMBER_KEY_PREFIX = "active_user:";
+  private static final String ESTIMATE_KEY_PREFIX = "active_user_estimate:";
+  private static final int MEMBER_TIME_TO_LIVE_SECONDS = 2 * 24 * 60 * 60;
+
+  CacheStore cacheStore;
+
+  public CacheActiveUserFilter(CacheStore cacheStore) {
+    this.cacheStore = cacheStore;
+  }
+
+  @Override
+  public boolean isRecorded(TenantIdentifier tenantId, LocalDate date, String userId) {
+    return cacheStore.isMember(memberKey(tenantId, date), userId);
+  }
+
+  @Override
+  public void markRecorded(TenantIdentifier tenantId, LocalDate date, String userId) {
+    cacheStore.addMember(memberKey(tenantId, date), userId, MEMBER_TIME_TO_LIVE_SECONDS);
+  }
+
+  @Override
+  public void countActiveUser(
+      ActiveUserPeriod period, TenantIdentifier tenantId, LocalDate periodStart, String userId) {
+    cacheStore.addToCardinalityEstimate(
+        estimateKey(period, tenantId, periodStart), userId, period.estimateTimeToLiveSeconds());
+  }
+
+  @Override
+  public Optional<Long> approximateCount(
+      ActiveUserPeriod period, TenantIdentifier tenantId, LocalDate periodStart) {
+    return Optional.of(cacheStore.estimateCardinality(estimateKey(period, tenantId, periodStart)));
+  }
+
+  private static String memberKey(TenantIdentifier tenantId, LocalDate date) {
+    return MEMBER_KEY_PREFIX + tenantId.value() + ":" + date;
+  }
+
+  private static String estimateKey(
+      ActiveUserPeriod period, TenantIdentifier tenantId, LocalDate periodStart) {
+    return ESTIMATE_KEY_PREFIX + period.value() + ":" + tenantId.value() + ":" + periodStart;
+  }
+}
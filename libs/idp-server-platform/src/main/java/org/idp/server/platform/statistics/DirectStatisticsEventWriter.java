@@ -0,0 +1,41 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.idp.server.platform.statistics;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.idp.server.platform.multi_tenancy.tenant.Tenant;
+import org.idp.server.platform.statistics.repository.StatisticsEventsCommandRepository;
+
+/** Upserts the counters of each event in the transaction of the calling thread. */
+public class DirectStatisticsEventWriter implements StatisticsEventWriter {
+
+  StatisticsEventsCommandRepository repository;
+
+  public DirectStatisticsEventWriter(StatisticsEventsCommandRepository repository) {
+    this.repository = repository;
+  }
+
+  @Override
+  public void increment(Tenant tenant, LocalDate statDate, String eventType) {
+    repository.increment(tenant.identifier(), statDate, eventType);
+  }
+
+  @Override
+  public void write(Tenant tenant, List<StatisticsEventRecord> records) {
+    repository.batchUpsert(records);
+  }
+}
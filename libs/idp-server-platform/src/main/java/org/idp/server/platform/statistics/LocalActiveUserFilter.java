@@ -0,0 +1,81 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.idp.server.platform.statistics;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+
+/**
+ * In-process {@link ActiveUserFilter}.
+ *
+ * <p>Keeps one set of user ids per tenant and day. When a new day is seen, days more than two days
+ * older are dropped for all tenants (tenant time zones are at most a day apart). Once {@code
+ * maxMembers} users are held, further users are not remembered and simply go to the database on
+ * every event, as without a filter.
+ */
+public class LocalActiveUserFilter implements ActiveUserFilter {
+
+  private final ConcurrentHashMap<DayKey, Set<String>> days = new ConcurrentHashMap<>();
+  private final AtomicLong memberCount = new AtomicLong();
+  private final long maxMembers;
+
+  public LocalActiveUserFilter(long maxMembers) {
+    this.maxMembers = maxMembers;
+  }
+
+  @Override
+  public boolean isRecorded(TenantIdentifier tenantId, LocalDate date, String userId) {
+    Set<String> members = days.get(new DayKey(tenantId, date));
+    return members != null && members.contains(userId);
+  }
+
+  @Override
+  public void markRecorded(TenantIdentifier tenantId, LocalDate date, String userId) {
+    if (memberCount.get() >= maxMembers) {
+      return;
+    }
+    DayKey key = new DayKey(tenantId, date);
+    Set<String> members = days.get(key);
+    if (members == null) {
+      evictBefore(date.minusDays(2));
+      members = days.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet());
+    }
+    if (members.add(userId)) {
+      memberCount.incrementAndGet();
+    }
+  }
+
+  public long memberCount() {
+    return memberCount.get();
+  }
+
+  private void evictBefore(LocalDate oldest) {
+    days.entrySet()
+        .removeIf(
+            entry -> {
+              if (entry.getKey().date().isBefore(oldest)) {
+                memberCount.addAndGet(-entry.getValue().size());
+                return true;
+              }
+              return false;
+            });
+  }
+
+  record DayKey(TenantIdentifier tenantId, LocalDate date) {}
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.idp.server.platform.statistics;
+
+public class StatisticsAggregationConfig {
+
+  StatisticsAggregationMode mode = StatisticsAggregationMode.DIRECT;
+  long flushIntervalMillis = 5000;
+  int maxPendingKeys = 100000;
+
+  public StatisticsAggregationConfig() {}
+
+  public StatisticsAggregationConfig(
+      StatisticsAggregationMode mode, long flushIntervalMillis, int maxPendingKeys) {
+    this.mode = mode;
+    this.flushIntervalMillis = flushIntervalMillis;
+    this.maxPendingKeys = maxPendingKeys;
+  }
+
+  public StatisticsAggregationMode mode() {
+    return mode;
+  }
+
+  public boolean isAggregated() {
+    return mode == StatisticsAggregationMode.AGGREGATED;
+  }
+
+  /** Upper bound on how long increments stay in memory, i.e. what a crash can lose. */
+  public long flushIntervalMillis() {
+    return flushIntervalMillis;
+  }
+
+  public int maxPendingKeys() {
+    return maxPendingKeys;
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.idp.server.platform.statistics;
+
+import org.idp.server.platform.exception.UnSupportedException;
+
+/**
+ * How security event statistics are written to {@code statistics_event_buckets}.
+ *
+ * <ul>
+ *   <li>{@link #DIRECT}: each event upserts its counters in the transaction of the thread handling
+ *       it.
+ *   <li>{@link #AGGREGATED}: increments are summed in memory per {@code (tenant, date, event_type)}
+ *       and written as deltas by a periodic flush, one transaction per tenant.
+ * </ul>
+ */
+public enum StatisticsAggregationMode {
+  DIRECT,
+  AGGREGATED;
+
+  public static StatisticsAggregationMode of(String value) {
+    if (value == null || value.isEmpty()) {
+      return DIRECT;
+    }
+
+    for (StatisticsAggregationMode mode : StatisticsAggregationMode.values()) {
+      if (mode.name().equalsIgnoreCase(value)) {
+        return mode;
+      }
+    }
+
+    throw new UnSupportedException("Unsupported statistics aggregation mode: " + value);
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.audit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.idp.server.platform.datasource.ApplicationDatabaseTypeProvider;
+import org.idp.server.platform.datasource.DatabaseType;
+import org.idp.server.platform.datasource.DbConnectionProvider;
+import org.idp.server.platform.datasource.TransactionManager;
+import org.idp.server.platform.dependency.ApplicationComponentContainer;
+import org.idp.server.platform.multi_tenancy.tenant.Tenant;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("BufferedAuditLogWriter")
+class BufferedAuditLogWriterTest {
+
+  AuditLogCommandRepository repository;
+  ApplicationComponentContainer container;
+
+  @BeforeEach
+  void setUp() {
+    repository = mock(AuditLogCommandRepository.class);
+    DbConnectionProvider provider = mock(DbConnectionProvider.class);
+    when(provider.getConnection(any(DatabaseType.class), anyBoolean()))
+        .thenReturn(mock(Connection.class));
+    TransactionManager.configure(provider);
+
+    container = new ApplicationComponentContainer();
+    container.register(AuditLogCommandRepository.class, repository);
+    container.register(
+        ApplicationDatabaseTypeProvider.class,
+        (ApplicationDatabaseTypeProvider) () -> DatabaseType.MYSQL);
+  }
+
+  private Tenant tenant() {
+    String id = UUID.randomUUID().toString();
+    Tenant tenant = mock(Tenant.class);
+    when(tenant.identifier()).thenReturn(new TenantIdentifier(id));
+    when(tenant.identifierValue()).thenReturn(id);
+    return tenant;
+  }
+
+  @Test
+  @DisplayName("既定の設定では AuditLogDataBaseWriter が提供される")
+  void providesDirectWriterByDefault() {
+    container.register(AuditLogPersistenceConfig.class, new AuditLogPersistenceConfig());
+
+    AuditLogWriter writer = new AuditLogDataBaseWriterProvider().provide(container);
+
+    assertInstanceOf(AuditLogDataBaseWriter.class, writer);
+  }
+
+  @Test
+  @DisplayName("buffered 設定ではフラッシュ時にまとめて bulkRegister する")
+  void buffersAndWritesWithBulkRegister() {
+    container.register(
+        AuditLogPersistenceConfig.class,
+        new AuditLogPersistenceConfig(AuditLogPersistenceMode.BUFFERED, 100, 60_000, 100, 10));
+    AuditLogWriter writer = new AuditLogDataBaseWriterProvider().provide(container);
+    Tenant tenant = tenant();
+    AuditLog first = mock(AuditLog.class);
+    AuditLog second = mock(AuditLog.class);
+
+    writer.write(tenant, first);
+    writer.write(tenant, second);
+    verify(repository, never()).bulkRegister(any(), anyList());
+    writer.close();
+
+    assertInstanceOf(BufferedAuditLogWriter.class, writer);
+    verify(repository).bulkRegister(tenant, List.of(first, second));
+    verify(repository, never()).register(any(), any());
+    assertEquals(0, ((BufferedAuditLogWriter) writer).queue().queueDepth());
+  }
+
+  @Test
+  @DisplayName("バッチの一部が書き込めない場合も、他の監査ログは1件ずつ書き込まれる")
+  void writesRemainingAuditLogsWhenOneRowFails() {
+    container.register(
+        AuditLogPersistenceConfig.class,
+        new AuditLogPersistenceConfig(AuditLogPersistenceMode.BUFFERED, 100, 60_000, 100, 10));
+    BufferedAuditLogWriter writer =
+        (BufferedAuditLogWriter) new AuditLogDataBaseWriterProvider().provide(container);
+    Tenant tenant = tenant();
+    AuditLog first = mock(AuditLog.class);
+    AuditLog broken = mock(AuditLog.class);
+    AuditLog last = mock(AuditLog.class);
+    List<AuditLog> written = new ArrayList<>();
+    doAnswer(
+            invocation -> {
+              List<AuditLog> auditLogs = invocation.getArgument(1);
+              if (auditLogs.contains(broken)) {
+                throw new RuntimeException("value too long for column");
+              }
+              written.addAll(auditLogs);
+              return null;
+            })
+        .when(repository)
+        .bulkRegister(eq(tenant), anyList());
+
+    writer.write(tenant, first);
+    writer.write(tenant, broken);
+    writer.write(tenant, last);
+    writer.close();
+
+    assertEquals(List.of(first, last), written);
+    verify(repository).bulkRegister(tenant, List.of(broken));
+    assertEquals(2, writer.queue().flushedCount());
+    assertEquals(1, writer.queue().droppedCount());
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.crypto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class AesCipherTest {
+
+  AesCipher aesCipher = new AesCipher(Base64.getEncoder().encodeToString(new byte[32]));
+
+  @Test
+  void encryptedData_shouldRoundTrip() {
+    EncryptedData encrypted = aesCipher.encrypt("access-token-value");
+
+    assertEquals("access-token-value", aesCipher.decrypt(encrypted));
+    assertEquals(12, Base64.getDecoder().decode(encrypted.iv()).length);
+  }
+
+  @Test
+  void bytes_shouldRoundTrip_andUseFreshIv() {
+    byte[] plain = "refresh-token-value".getBytes(StandardCharsets.UTF_8);
+
+    byte[] first = aesCipher.encrypt(plain);
+    byte[] second = aesCipher.encrypt(plain);
+
+    assertEquals(12 + plain.length + 16, first.length);
+    assertFalse(Arrays.equals(first, second));
+    assertArrayEquals(plain, aesCipher.decrypt(first));
+    assertArrayEquals(plain, aesCipher.decrypt(second));
+  }
+
+  @Test
+  void decrypt_shouldFail_whenCipherTextIsTampered() {
+    byte[] encrypted = aesCipher.encrypt("value".getBytes(StandardCharsets.UTF_8));
+    encrypted[encrypted.length - 1] ^= 1;
+
+    assertThrows(AesCryptoRuntimeException.class, () -> aesCipher.decrypt(encrypted));
+    // The pool must still hand out usable ciphers afterwards.
+    assertEquals("value", aesCipher.decrypt(aesCipher.encrypt("value")));
+  }
+
+  @Test
+  void pooledCiphers_shouldBeSafeUnderConcurrency() throws Exception {
+    ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    try {
+      List<Callable<Boolean>> tasks =
+          IntStream.range(0, 200)
+              .<Callable<Boolean>>mapToObj(
+                  i ->
+                      () -> {
+                        String value = "token-" + i;
+                        return value.equals(aesCipher.decrypt(aesCipher.encrypt(value)));
+                      })
+              .toList();
+      for (Future<Boolean> future : executor.invokeAll(tasks)) {
+        assertTrue(future.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
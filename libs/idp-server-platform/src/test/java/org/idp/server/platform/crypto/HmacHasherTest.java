@@ -0,0 +1,53 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.crypto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HexFormat;
+import org.junit.jupiter.api.Test;
+
+class HmacHasherTest {
+
+  // RFC 4231 test case 2
+  HmacHasher hmacHasher = new HmacHasher("Jefe");
+  byte[] expected =
+      HexFormat.of().parseHex("5bdcc146bf60754e6a042426089575c75a003f089d2739839dec58b964ec3843");
+
+  @Test
+  void hash_shouldMatchKnownVector() {
+    assertArrayEquals(
+        expected, hmacHasher.hash("what do ya want for nothing?".getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  void hashString_shouldBeBase64UrlOfRawHash() {
+    String hashed = hmacHasher.hash("what do ya want for nothing?");
+
+    assertEquals(Base64.getUrlEncoder().withoutPadding().encodeToString(expected), hashed);
+    // Pooled Mac instances must be reset between calls.
+    assertEquals(hashed, hmacHasher.hash("what do ya want for nothing?"));
+  }
+
+  @Test
+  void hash_shouldRejectNull() {
+    assertThrows(HmacHasherInvalidInputException.class, () -> hmacHasher.hash((String) null));
+    assertThrows(HmacHasherInvalidInputException.class, () -> hmacHasher.hash((byte[]) null));
+  }
+}
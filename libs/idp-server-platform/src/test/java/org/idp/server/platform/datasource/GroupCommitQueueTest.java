@@ -0,0 +1,201 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.datasource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.idp.server.platform.multi_tenancy.tenant.Tenant;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("GroupCommitQueue")
+class GroupCommitQueueTest {
+
+  Connection connection;
+  GroupCommitQueue.BatchWriter<String> batchWriter;
+  GroupCommitQueue<String> queue;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    connection = mock(Connection.class);
+    DbConnectionProvider provider = mock(DbConnectionProvider.class);
+    when(provider.getConnection(any(DatabaseType.class), anyBoolean())).thenReturn(connection);
+    TransactionManager.configure(provider);
+    batchWriter = mock(GroupCommitQueue.BatchWriter.class);
+  }
+
+  @AfterEach
+  void tearDown() {
+    queue.close();
+  }
+
+  private GroupCommitQueue<String> createQueue(int batchSize, int queueCapacity) {
+    return new GroupCommitQueue<>(
+        "test-writer", () -> DatabaseType.MYSQL, batchSize, 60_000, queueCapacity, 10, batchWriter);
+  }
+
+  private Tenant tenant() {
+    String id = UUID.randomUUID().toString();
+    Tenant tenant = mock(Tenant.class);
+    when(tenant.identifier()).thenReturn(new TenantIdentifier(id));
+    when(tenant.identifierValue()).thenReturn(id);
+    return tenant;
+  }
+
+  @Test
+  @DisplayName("flush はテナントごとに1トランザクションで書き込み、レイテンシを記録する")
+  void flushGroupsByTenant() throws Exception {
+    queue = createQueue(10, 10);
+    Tenant tenantA = tenant();
+    Tenant tenantB = tenant();
+
+    queue.flush(
+        List.of(
+            new GroupCommitQueue.Entry<>(tenantA, "a1"),
+            new GroupCommitQueue.Entry<>(tenantB, "b1"),
+            new GroupCommitQueue.Entry<>(tenantA, "a2")));
+
+    verify(batchWriter).write(tenantA, List.of("a1", "a2"));
+    verify(batchWriter).write(tenantB, List.of("b1"));
+    verify(connection, times(2)).commit();
+    assertEquals(3, queue.flushedCount());
+    assertTrue(queue.maxFlushLatencyMillis() >= queue.lastFlushLatencyMillis());
+  }
+
+  @Test
+  @DisplayName("書き込みに失敗したテナントはロールバックされ、破棄件数に計上される")
+  void failedTenantIsRolledBackAndCountedAsDropped() throws Exception {
+    queue = createQueue(10, 10);
+    Tenant failing = tenant();
+    Tenant healthy = tenant();
+    doThrow(new RuntimeException("db down")).when(batchWriter).write(eq(failing), anyList());
+
+    queue.flush(
+        List.of(
+            new GroupCommitQueue.Entry<>(failing, "lost"),
+            new GroupCommitQueue.Entry<>(healthy, "kept")));
+
+    verify(connection).rollback();
+    verify(batchWriter).write(healthy, List.of("kept"));
+    assertEquals(1, queue.droppedCount());
+    assertEquals(1, queue.flushedCount());
+  }
+
+  @Test
+  @DisplayName("バッチの書き込みに失敗した場合は1件ずつ再実行し、失敗した行だけを破棄する")
+  void failedBatchIsRetriedRowByRow() throws Exception {
+    List<String> written = new ArrayList<>();
+    batchWriter =
+        (tenant, entries) -> {
+          if (entries.contains("bad")) {
+            throw new RuntimeException("value too long");
+          }
+          written.addAll(entries);
+        };
+    queue = createQueue(10, 10);
+    Tenant tenant = tenant();
+
+    queue.flush(
+        List.of(
+            new GroupCommitQueue.Entry<>(tenant, "a"),
+            new GroupCommitQueue.Entry<>(tenant, "bad"),
+            new GroupCommitQueue.Entry<>(tenant, "b")));
+
+    assertEquals(List.of("a", "b"), written);
+    verify(connection, times(2)).rollback();
+    verify(connection, times(2)).commit();
+    assertEquals(2, queue.flushedCount());
+    assertEquals(1, queue.droppedCount());
+  }
+
+  @Test
+  @DisplayName("キューが満杯のまま offerTimeout を過ぎると false を返す")
+  void offerReturnsFalseWhenFull() throws Exception {
+    List<String> written = Collections.synchronizedList(new ArrayList<>());
+    CountDownLatch writing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    batchWriter =
+        (tenant, entries) -> {
+          writing.countDown();
+          written.addAll(entries);
+          try {
+            release.await(5, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        };
+    queue = createQueue(1, 1);
+    Tenant tenant = tenant();
+
+    assertTrue(queue.offer(tenant, "first"));
+    assertTrue(writing.await(5, TimeUnit.SECONDS));
+    assertTrue(queue.offer(tenant, "second"));
+    assertFalse(queue.offer(tenant, "third"));
+
+    release.countDown();
+    queue.close();
+    assertEquals(List.of("first", "second"), written);
+    assertFalse(queue.offer(tenant, "after-close"));
+  }
+
+  @Test
+  @DisplayName("close と同時に offer された要素も、受け付けたものはすべて書き込まれる")
+  void acceptedEntriesRacingWithCloseAreWritten() throws Exception {
+    List<String> written = Collections.synchronizedList(new ArrayList<>());
+    batchWriter = (tenant, entries) -> written.addAll(entries);
+    queue = createQueue(10, 10_000);
+    Tenant tenant = tenant();
+    AtomicInteger accepted = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(4);
+    ExecutorService producers = Executors.newFixedThreadPool(4);
+    for (int i = 0; i < 4; i++) {
+      producers.submit(
+          () -> {
+            started.countDown();
+            while (queue.offer(tenant, "entry")) {
+              accepted.incrementAndGet();
+            }
+          });
+    }
+
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    Thread.sleep(20);
+    queue.close();
+    producers.shutdown();
+    assertTrue(producers.awaitTermination(5, TimeUnit.SECONDS));
+
+    assertEquals(accepted.get(), written.size());
+    assertEquals(accepted.get(), queue.flushedCount());
+    assertEquals(0, queue.droppedCount());
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.datasource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SqlExecutor")
+class SqlExecutorTest {
+
+  static final String SQL = "SELECT id, name FROM example WHERE tenant_id = ?";
+
+  Connection connection;
+  PreparedStatement preparedStatement;
+  ResultSet resultSet;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    connection = mock(Connection.class);
+    preparedStatement = mock(PreparedStatement.class);
+    resultSet = mock(ResultSet.class);
+    DbConnectionProvider provider = mock(DbConnectionProvider.class);
+    when(provider.getConnection(any(DatabaseType.class), anyBoolean())).thenReturn(connection);
+    when(connection.prepareStatement(SQL)).thenReturn(preparedStatement);
+    when(preparedStatement.executeQuery()).thenReturn(resultSet);
+    TransactionManager.configure(provider);
+    TransactionManager.createConnection(DatabaseType.POSTGRESQL);
+  }
+
+  @AfterEach
+  void cleanUp() {
+    TransactionManager.closeConnection();
+  }
+
+  private void rows(String... names) throws SQLException {
+    AtomicInteger cursor = new AtomicInteger(-1);
+    when(resultSet.next()).thenAnswer(invocation -> cursor.incrementAndGet() < names.length);
+    when(resultSet.getString("name")).thenAnswer(invocation -> names[cursor.get()]);
+  }
+
+  @Test
+  @DisplayName("RowMapper で ResultSet から直接マッピングする")
+  void selectListWithRowMapper() throws Exception {
+    rows("a", "b");
+    UUID tenantId = UUID.randomUUID();
+
+    List<String> names =
+        new SqlExecutor().selectList(SQL, List.of(tenantId), rs -> rs.getString("name"));
+
+    assertEquals(List.of("a", "b"), names);
+    verify(preparedStatement).setObject(1, tenantId);
+    verify(resultSet).close();
+    verify(resultSet, never()).getMetaData();
+  }
+
+  @Test
+  @DisplayName("selectOne は該当なしで Optional.empty を返す")
+  void selectOneReturnsEmpty() throws Exception {
+    when(resultSet.next()).thenReturn(false);
+
+    Optional<String> name =
+        new SqlExecutor().selectOne(SQL, List.of("tenant"), rs -> rs.getString("name"));
+
+    assertTrue(name.isEmpty());
+  }
+
+  @Test
+  @DisplayName("selectOne は複数行で SqlTooManyResultsException を投げる")
+  void selectOneThrowsOnMultipleRows() throws Exception {
+    rows("a", "b");
+
+    assertThrows(
+        SqlTooManyResultsException.class,
+        () -> new SqlExecutor().selectOne(SQL, List.of("tenant"), rs -> rs.getString("name")));
+  }
+
+  @Test
+  @DisplayName("selectCursor は fetch size を設定し、行ごとに consumer を呼ぶ")
+  void selectCursorStreamsRows() throws Exception {
+    rows("a", "b", "c");
+    List<String> consumed = new ArrayList<>();
+
+    long count =
+        new SqlExecutor()
+            .selectCursor(SQL, List.of("tenant"), 2, rs -> rs.getString("name"), consumed::add);
+
+    assertEquals(3, count);
+    assertEquals(List.of("a", "b", "c"), consumed);
+    verify(preparedStatement).setFetchSize(2);
+  }
+
+  @Test
+  @DisplayName("SQLException は分類された例外に変換される")
+  void translatesSqlException() throws Exception {
+    when(preparedStatement.executeQuery()).thenThrow(new SQLException("duplicate", "23505"));
+
+    assertThrows(
+        SqlDuplicateKeyException.class,
+        () -> new SqlExecutor().selectList(SQL, List.of("tenant"), rs -> rs.getString("name")));
+  }
+
+  @Test
+  @DisplayName("executeBatch は BATCH_SIZE ごとに executeBatch を呼ぶ")
+  void executeBatchFlushesInChunks() throws Exception {
+    String insert = "INSERT INTO example (id, name) VALUES (?, ?)";
+    when(connection.prepareStatement(insert)).thenReturn(preparedStatement);
+    List<List<Object>> paramsList = new ArrayList<>();
+    for (int i = 0; i < SqlExecutor.BATCH_SIZE + 1; i++) {
+      paramsList.add(List.of(i, "name" + i));
+    }
+
+    new SqlExecutor().executeBatch(insert, paramsList);
+
+    verify(preparedStatement, times(SqlExecutor.BATCH_SIZE + 1)).addBatch();
+    verify(preparedStatement, times(2)).executeBatch();
+    verify(preparedStatement, never()).executeUpdate();
+  }
+
+  @Test
+  @DisplayName("executeBatch は空のリストでステートメントを作らない")
+  void executeBatchSkipsEmptyList() throws Exception {
+    new SqlExecutor().executeBatch("INSERT INTO example (id) VALUES (?)", List.of());
+
+    verify(connection, never()).prepareStatement(anyString());
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.datasource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+import org.idp.server.platform.exception.BadRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("TotalCount")
+class TotalCountTest {
+
+  @Test
+  @DisplayName("count_strategy の既定値は exact で、未知の値は拒否される")
+  void parsesCountStrategy() {
+    assertEquals(CountStrategy.EXACT, CountStrategy.of(null));
+    assertEquals(CountStrategy.CAPPED, CountStrategy.of("capped"));
+    assertEquals(CountStrategy.ESTIMATED, CountStrategy.of("ESTIMATED"));
+    assertThrows(BadRequestException.class, () -> CountStrategy.of("approximate"));
+  }
+
+  @Test
+  @DisplayName("exact の件数はそのまま返される")
+  void exactCount() {
+    Map<String, Object> map = new TotalCount(42, CountStrategy.EXACT).toMap();
+
+    assertEquals(42L, map.get("total_count"));
+    assertEquals("exact", map.get("count_strategy"));
+    assertFalse(map.containsKey("total_count_capped"));
+  }
+
+  @Test
+  @DisplayName("capped で上限を超えた件数は上限値と capped フラグで返される")
+  void cappedCountAboveCap() {
+    TotalCount totalCount = new TotalCount(CountStrategy.CAP + 1, CountStrategy.CAPPED);
+
+    Map<String, Object> map = totalCount.toMap();
+
+    assertTrue(totalCount.exceedsCap());
+    assertEquals(CountStrategy.CAP, map.get("total_count"));
+    assertEquals(true, map.get("total_count_capped"));
+  }
+
+  @Test
+  @DisplayName("capped で上限以内の件数は正確な値で返される")
+  void cappedCountWithinCap() {
+    Map<String, Object> map = new TotalCount(CountStrategy.CAP, CountStrategy.CAPPED).toMap();
+
+    assertEquals(CountStrategy.CAP, map.get("total_count"));
+    assertEquals(false, map.get("total_count_capped"));
+  }
+
+  @Test
+  @DisplayName("推定件数が 0 でも一覧の検索は省略されない")
+  void zeroEstimateIsNotEmpty() {
+    assertTrue(new TotalCount(0, CountStrategy.EXACT).isEmpty());
+    assertTrue(new TotalCount(0, CountStrategy.CAPPED).isEmpty());
+    assertFalse(new TotalCount(0, CountStrategy.ESTIMATED).isEmpty());
+  }
+}
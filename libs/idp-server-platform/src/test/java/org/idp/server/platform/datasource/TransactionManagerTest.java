@@ -21,7 +21,18 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -38,6 +49,8 @@ class TransactionManagerTest {
     } catch (Exception ignored) {
       // テスト失敗時の保険、無視してよい
     }
+    TransactionManager.configure(TenantSettingMode.EAGER);
+    TransactionManager.configure(ReplicaConsistency.disabled());
   }
 
   @Nested
@@ -84,4 +97,386 @@ class TransactionManagerTest {
       verify(mockConn, times(1)).close();
     }
   }
+
+  @Nested
+  @DisplayName("TenantSettingMode.PIGGYBACK")
+  class PiggybackTenantSettingTest {
+
+    static final String TENANT_ID = "67e7eae6-62b0-4500-9eff-87459f63fc66";
+
+    Connection mockConn;
+
+    void begin() throws Exception {
+      mockConn = mock(Connection.class);
+      DbConnectionProvider mockProvider = mock(DbConnectionProvider.class);
+      when(mockProvider.getConnection(any(DatabaseType.class), anyBoolean())).thenReturn(mockConn);
+      TransactionManager.configure(mockProvider);
+      TransactionManager.configure(TenantSettingMode.PIGGYBACK);
+
+      TransactionManager.beginTransaction(DatabaseType.POSTGRESQL, new TenantIdentifier(TENANT_ID));
+    }
+
+    @Test
+    @DisplayName("トランザクション開始時には set_config を発行しない")
+    void doesNotSetTenantOnBegin() throws Exception {
+      begin();
+
+      verify(mockConn, never()).prepareStatement(anyString());
+    }
+
+    @Test
+    @DisplayName("最初の SQL に set_config を前置し、以降の SQL はそのまま発行する")
+    void prependsSetConfigToFirstStatementOnly() throws Exception {
+      begin();
+      PreparedStatement first = mock(PreparedStatement.class);
+      PreparedStatement second = mock(PreparedStatement.class);
+      String sql = "UPDATE example SET name = ? WHERE id = ?";
+      when(mockConn.prepareStatement(TransactionManager.SET_TENANT_ID_SQL + ";\n" + sql))
+          .thenReturn(first);
+      when(mockConn.prepareStatement(sql)).thenReturn(second);
+      when(first.getUpdateCount()).thenReturn(1);
+      when(second.executeUpdate()).thenReturn(1);
+
+      SqlExecutor sqlExecutor = new SqlExecutor();
+      int firstRows = sqlExecutor.executeAndReturnAffectedRows(sql, List.of("name", "id"));
+      int secondRows = sqlExecutor.executeAndReturnAffectedRows(sql, List.of("name", "id"));
+
+      assertEquals(1, firstRows);
+      assertEquals(1, secondRows);
+      verify(first).setString(1, TENANT_ID);
+      verify(first).setString(2, "name");
+      verify(first).setString(3, "id");
+      verify(first).execute();
+      verify(first).getMoreResults();
+      verify(second).setString(1, "name");
+      verify(second).setString(2, "id");
+    }
+
+    @Test
+    @DisplayName("SQL が失敗した場合は次の SQL にも set_config を前置する")
+    void keepsPendingTenantWhenStatementFails() throws Exception {
+      begin();
+      PreparedStatement failed = mock(PreparedStatement.class);
+      PreparedStatement retried = mock(PreparedStatement.class);
+      when(mockConn.prepareStatement(startsWith(TransactionManager.SET_TENANT_ID_SQL)))
+          .thenReturn(failed, retried);
+      when(failed.execute()).thenThrow(new SQLException("failed"));
+
+      SqlExecutor sqlExecutor = new SqlExecutor();
+      assertThrows(
+          SqlRuntimeException.class,
+          () -> sqlExecutor.execute("DELETE FROM example WHERE id = ?", List.of("id")));
+      sqlExecutor.execute("DELETE FROM example WHERE id = ?", List.of("id"));
+
+      verify(retried).setString(1, TENANT_ID);
+      verify(retried).execute();
+    }
+
+    @Test
+    @DisplayName("getConnection() は保留中の set_config を即時に発行する")
+    void getConnectionAppliesPendingTenant() throws Exception {
+      begin();
+      PreparedStatement setConfig = mock(PreparedStatement.class);
+      when(mockConn.prepareStatement(TransactionManager.SET_TENANT_ID_SQL)).thenReturn(setConfig);
+
+      TransactionManager.getConnection();
+      TransactionManager.getConnection();
+
+      verify(setConfig, times(1)).setString(1, TENANT_ID);
+      verify(setConfig, times(1)).execute();
+    }
+  }
+
+  @Nested
+  @DisplayName("ReplicaConsistency")
+  class ReplicaConsistencyTest {
+
+    static final String TENANT_ID = "67e7eae6-62b0-4500-9eff-87459f63fc66";
+
+    Connection reader;
+    Connection writer;
+    DbConnectionProvider provider;
+    LocalReplicationPositionStore store;
+
+    void configure() throws Exception {
+      reader = mock(Connection.class);
+      writer = mock(Connection.class);
+      provider = mock(DbConnectionProvider.class);
+      when(provider.getConnection(any(DatabaseType.class), anyBoolean()))
+          .thenAnswer(invocation -> OperationContext.get() == OperationType.READ ? reader : writer);
+      PreparedStatement setConfig = mock(PreparedStatement.class);
+      when(reader.prepareStatement(TransactionManager.SET_TENANT_ID_SQL)).thenReturn(setConfig);
+      when(writer.prepareStatement(TransactionManager.SET_TENANT_ID_SQL)).thenReturn(setConfig);
+      store = new LocalReplicationPositionStore();
+      TransactionManager.configure(provider);
+      TransactionManager.configure(new ReplicaConsistency(ReplicaConsistencyMode.LOCAL, store, 10));
+    }
+
+    void replicaReplayed(String lsn) throws Exception {
+      PreparedStatement statement = mock(PreparedStatement.class);
+      ResultSet resultSet = mock(ResultSet.class);
+      when(reader.prepareStatement(ReplicaConsistency.POSTGRESQL_REPLICA_POSITION_SQL))
+          .thenReturn(statement);
+      when(statement.executeQuery()).thenReturn(resultSet);
+      when(resultSet.next()).thenReturn(true);
+      when(resultSet.getBoolean(1)).thenReturn(true);
+      when(resultSet.getString(2)).thenReturn(lsn);
+    }
+
+    @Test
+    @DisplayName("書き込み記録がないテナントはレプリカ位置を確認せずリーダーを使う")
+    void usesReaderWithoutRecordedWrite() throws Exception {
+      configure();
+
+      TransactionManager.createConnection(DatabaseType.POSTGRESQL, new TenantIdentifier(TENANT_ID));
+
+      assertSame(reader, TransactionManager.getConnection());
+      verify(reader, never()).prepareStatement(ReplicaConsistency.POSTGRESQL_REPLICA_POSITION_SQL);
+    }
+
+    @Test
+    @DisplayName("レプリカが記録済みの位置を再生済みならリーダーを使う")
+    void usesReaderWhenCaughtUp() throws Exception {
+      configure();
+      store.record(TENANT_ID, "0/3000060", ReplicaConsistency.parseLsn("0/3000060"), 10);
+      replicaReplayed("0/3000060");
+
+      TransactionManager.createConnection(DatabaseType.POSTGRESQL, new TenantIdentifier(TENANT_ID));
+
+      assertSame(reader, TransactionManager.getConnection());
+      assertEquals(OperationType.READ, OperationContext.get());
+    }
+
+    @Test
+    @DisplayName("レプリカが遅れている場合はリーダーを返却してライターで読み取る")
+    void fallsBackToWriterWhenBehind() throws Exception {
+      configure();
+      store.record(TENANT_ID, "1/0", ReplicaConsistency.parseLsn("1/0"), 10);
+      replicaReplayed("0/FFFFFFFF");
+
+      TransactionManager.createConnection(DatabaseType.POSTGRESQL, new TenantIdentifier(TENANT_ID));
+
+      assertSame(writer, TransactionManager.getConnection());
+      assertEquals(OperationType.READ, OperationContext.get());
+      verify(reader).commit();
+      verify(reader).close();
+    }
+
+    @Test
+    @DisplayName("コミット後にライターの WAL 位置をテナント単位で記録する")
+    void recordsWriterPositionOnCommit() throws Exception {
+      configure();
+      PreparedStatement statement = mock(PreparedStatement.class);
+      ResultSet resultSet = mock(ResultSet.class);
+      when(writer.prepareStatement(ReplicaConsistency.POSTGRESQL_WRITER_POSITION_SQL))
+          .thenReturn(statement);
+      when(statement.executeQuery()).thenReturn(resultSet);
+      when(resultSet.next()).thenReturn(true);
+      when(resultSet.getString(1)).thenReturn("0/3000060");
+
+      TransactionManager.beginTransaction(DatabaseType.POSTGRESQL, new TenantIdentifier(TENANT_ID));
+      TransactionManager.commitTransaction();
+
+      assertEquals("0/3000060", store.find(TENANT_ID).orElseThrow());
+      verify(writer, times(2)).commit();
+    }
+
+    @Test
+    @DisplayName("pg_lsn のテキスト表現を上位/下位 32bit として比較できる")
+    void parsesLsn() {
+      assertTrue(ReplicaConsistency.parseLsn("1/0") > ReplicaConsistency.parseLsn("0/FFFFFFFF"));
+      assertEquals(0x16B374D848L, ReplicaConsistency.parseLsn("16/B374D848"));
+    }
+
+    @Test
+    @DisplayName("古い位置が後から記録されても新しい位置を保持する")
+    void keepsNewestPositionWhenRecordedOutOfOrder() {
+      store = new LocalReplicationPositionStore();
+
+      store.record(TENANT_ID, "0/3000060", ReplicaConsistency.parseLsn("0/3000060"), 10);
+      store.record(TENANT_ID, "0/2000000", ReplicaConsistency.parseLsn("0/2000000"), 10);
+      assertEquals("0/3000060", store.find(TENANT_ID).orElseThrow());
+
+      store.record(TENANT_ID, "0/4000000", ReplicaConsistency.parseLsn("0/4000000"), 10);
+      assertEquals("0/4000000", store.find(TENANT_ID).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("有効期限切れの位置は古い位置でも置き換える")
+    void replacesExpiredPosition() {
+      store = new LocalReplicationPositionStore();
+
+      store.record(TENANT_ID, "0/3000060", ReplicaConsistency.parseLsn("0/3000060"), 0);
+      store.record(TENANT_ID, "0/2000000", ReplicaConsistency.parseLsn("0/2000000"), 10);
+
+      assertEquals("0/2000000", store.find(TENANT_ID).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("GTID セットはトランザクション数で順序付けする")
+    void ordersGtidSetsByTransactionCount() {
+      String uuid = "3e11fa47-71ca-11e1-9e33-c80aa9429562";
+      String other = "4f22fb58-82db-22f2-af44-d91bba5530a3";
+
+      assertEquals(
+          12, ReplicaConsistency.countGtidTransactions(uuid + ":1-5:7-12,\n" + other + ":3"));
+      assertEquals(5, ReplicaConsistency.countGtidTransactions(uuid + ":tag:1-5"));
+      assertTrue(
+          ReplicaConsistency.sequence(DatabaseType.MYSQL, uuid + ":1-10," + other + ":1")
+              > ReplicaConsistency.sequence(DatabaseType.MYSQL, uuid + ":1-10"));
+    }
+  }
+
+  @Nested
+  @DisplayName("afterCommit")
+  class AfterCommitTest {
+
+    Connection connection;
+
+    void configure() {
+      connection = mock(Connection.class);
+      DbConnectionProvider provider = mock(DbConnectionProvider.class);
+      when(provider.getConnection(any(DatabaseType.class), anyBoolean())).thenReturn(connection);
+      TransactionManager.configure(provider);
+    }
+
+    @Test
+    @DisplayName("コミット後に登録した処理を実行する")
+    void runsAfterCommit() throws Exception {
+      configure();
+      List<String> calls = new ArrayList<>();
+
+      TransactionManager.beginTransaction(DatabaseType.MYSQL);
+      TransactionManager.afterCommit(() -> calls.add("after"));
+      assertTrue(calls.isEmpty());
+      TransactionManager.commitTransaction();
+
+      assertEquals(List.of("after"), calls);
+    }
+
+    @Test
+    @DisplayName("ロールバック時は登録した処理を破棄する")
+    void discardsOnRollback() {
+      configure();
+      List<String> calls = new ArrayList<>();
+
+      TransactionManager.beginTransaction(DatabaseType.MYSQL);
+      TransactionManager.afterCommit(() -> calls.add("after"));
+      TransactionManager.rollbackTransaction();
+      TransactionManager.beginTransaction(DatabaseType.MYSQL);
+      TransactionManager.commitTransaction();
+
+      assertTrue(calls.isEmpty());
+    }
+
+    @Test
+    @DisplayName("トランザクション外では即時に実行し、処理の例外は呼び出し元に伝播しない")
+    void runsImmediatelyWithoutTransaction() {
+      List<String> calls = new ArrayList<>();
+
+      TransactionManager.afterCommit(() -> calls.add("now"));
+      TransactionManager.afterCommit(
+          () -> {
+            throw new IllegalStateException("cache down");
+          });
+
+      assertEquals(List.of("now"), calls);
+    }
+  }
+
+  @Nested
+  @DisplayName("afterCompletion")
+  class AfterCompletionTest {
+
+    Connection connection;
+
+    void configure() {
+      connection = mock(Connection.class);
+      DbConnectionProvider provider = mock(DbConnectionProvider.class);
+      when(provider.getConnection(any(DatabaseType.class), anyBoolean())).thenReturn(connection);
+      TransactionManager.configure(provider);
+    }
+
+    @Test
+    @DisplayName("コミット時はコネクションを解放した後に実行する")
+    void runsAfterCommit() throws Exception {
+      configure();
+      List<String> calls = new ArrayList<>();
+
+      TransactionManager.beginTransaction(DatabaseType.MYSQL);
+      TransactionManager.afterCompletion(
+          () -> calls.add(TransactionManager.isWriteTransactionActive() ? "active" : "released"));
+      assertTrue(calls.isEmpty());
+      TransactionManager.commitTransaction();
+
+      assertEquals(List.of("released"), calls);
+      verify(connection).close();
+    }
+
+    @Test
+    @DisplayName("ロールバック時も実行する")
+    void runsAfterRollback() throws Exception {
+      configure();
+      List<String> calls = new ArrayList<>();
+
+      TransactionManager.beginTransaction(DatabaseType.MYSQL);
+      TransactionManager.afterCompletion(() -> calls.add("completed"));
+      TransactionManager.rollbackTransaction();
+
+      verify(connection).rollback();
+      assertEquals(List.of("completed"), calls);
+    }
+
+    @Test
+    @DisplayName("トランザクション外では即時に実行する")
+    void runsImmediatelyWithoutTransaction() {
+      List<String> calls = new ArrayList<>();
+
+      TransactionManager.afterCompletion(() -> calls.add("now"));
+
+      assertEquals(List.of("now"), calls);
+    }
+  }
+
+  @Nested
+  @DisplayName("仮想スレッド")
+  class VirtualThreadTest {
+
+    @Test
+    @DisplayName("同時に実行される仮想スレッドがそれぞれ独立したコネクションと操作種別を保持する")
+    void keepsTransactionPerVirtualThread() throws Exception {
+      DbConnectionProvider provider = mock(DbConnectionProvider.class);
+      when(provider.getConnection(any(DatabaseType.class), anyBoolean()))
+          .thenAnswer(invocation -> mock(Connection.class));
+      TransactionManager.configure(provider);
+      Set<Connection> connections = ConcurrentHashMap.newKeySet();
+      List<Future<?>> futures = new ArrayList<>();
+
+      try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+        for (int i = 0; i < 200; i++) {
+          futures.add(
+              executor.submit(
+                  () -> {
+                    TenantIdentifier tenant = new TenantIdentifier(UUID.randomUUID().toString());
+                    TransactionManager.beginTransaction(DatabaseType.MYSQL, tenant);
+                    Connection connection = TransactionManager.getConnection();
+                    // Unmounts the virtual thread so that others run on the same carrier.
+                    Thread.sleep(5);
+                    assertSame(connection, TransactionManager.getConnection());
+                    assertEquals(OperationType.WRITE, OperationContext.get());
+                    TransactionManager.commitTransaction();
+                    assertFalse(TransactionManager.isWriteTransactionActive());
+                    connections.add(connection);
+                    return null;
+                  }));
+        }
+        for (Future<?> future : futures) {
+          future.get();
+        }
+      }
+
+      assertEquals(200, connections.size());
+      assertFalse(TransactionManager.isWriteTransactionActive());
+    }
+  }
 }
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.datasource.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.idp.server.platform.exception.UnSupportedException;
+import org.junit.jupiter.api.Test;
+
+public class BinaryCacheSerializerTest {
+
+  static class Sample {
+    String clientId;
+    int count;
+    long expiresAt;
+    double ratio;
+    boolean enabled;
+    String nullable;
+    BigInteger largeNumber;
+    BigDecimal amount;
+    LocalDateTime createdAt;
+    List<String> scopes = new ArrayList<>();
+    Map<String, Object> metadata = new LinkedHashMap<>();
+    List<Sample> children = new ArrayList<>();
+  }
+
+  private static Sample sample() {
+    Sample sample = new Sample();
+    sample.clientId = "client-日本語";
+    sample.count = -42;
+    sample.expiresAt = Long.MAX_VALUE;
+    sample.ratio = 0.125;
+    sample.enabled = true;
+    sample.largeNumber = new BigInteger("123456789012345678901234567890");
+    sample.amount = new BigDecimal("12.3400");
+    sample.createdAt = LocalDateTime.of(2025, 1, 2, 3, 4, 5);
+    sample.scopes = List.of("openid", "profile");
+    sample.metadata.put("nested", Map.of("key", "value"));
+    sample.metadata.put("number", 1);
+    Sample child = new Sample();
+    child.clientId = "child";
+    sample.children = List.of(child, child);
+    return sample;
+  }
+
+  private static void assertSample(Sample expected, Sample actual) {
+    assertEquals(expected.clientId, actual.clientId);
+    assertEquals(expected.count, actual.count);
+    assertEquals(expected.expiresAt, actual.expiresAt);
+    assertEquals(expected.ratio, actual.ratio);
+    assertEquals(expected.enabled, actual.enabled);
+    assertNull(actual.nullable);
+    assertEquals(expected.largeNumber, actual.largeNumber);
+    assertEquals(expected.amount, actual.amount);
+    assertEquals(expected.createdAt, actual.createdAt);
+    assertEquals(expected.scopes, actual.scopes);
+    assertEquals(expected.metadata, actual.metadata);
+    assertEquals(2, actual.children.size());
+    assertEquals("child", actual.children.get(1).clientId);
+  }
+
+  @Test
+  void roundTrip() {
+    BinaryCacheSerializer serializer = new BinaryCacheSerializer();
+    Sample sample = sample();
+
+    byte[] bytes = serializer.serialize(sample);
+
+    assertEquals(BinaryCacheSerializer.MAGIC, bytes[0]);
+    assertEquals(0, bytes[2] & BinaryCacheSerializer.FLAG_COMPRESSED);
+    assertSample(sample, serializer.deserialize(bytes, Sample.class));
+  }
+
+  @Test
+  void smallerThanJson() {
+    Sample sample = sample();
+
+    byte[] binary = new BinaryCacheSerializer(0).serialize(sample);
+    byte[] json = new JsonCacheSerializer().serialize(sample);
+
+    assertTrue(binary.length < json.length, binary.length + " >= " + json.length);
+  }
+
+  @Test
+  void compressesLargeValues() {
+    BinaryCacheSerializer serializer = new BinaryCacheSerializer(256);
+    Sample sample = sample();
+    List<String> scopes = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      scopes.add("scope:" + i);
+    }
+    sample.scopes = scopes;
+
+    byte[] compressed = serializer.serialize(sample);
+    byte[] uncompressed = new BinaryCacheSerializer(0).serialize(sample);
+
+    assertEquals(
+        BinaryCacheSerializer.FLAG_COMPRESSED,
+        compressed[2] & BinaryCacheSerializer.FLAG_COMPRESSED);
+    assertTrue(compressed.length < uncompressed.length);
+    assertSample(sample, serializer.deserialize(compressed, Sample.class));
+  }
+
+  @Test
+  void readsJsonEntries() {
+    Sample sample = sample();
+    byte[] json = new JsonCacheSerializer().serialize(sample);
+
+    assertSample(sample, new BinaryCacheSerializer().deserialize(json, Sample.class));
+  }
+
+  @Test
+  void rejectsUnknownVersion() {
+    byte[] bytes = new BinaryCacheSerializer().serialize(sample());
+    bytes[1] = 99;
+
+    assertThrows(
+        CacheSerializationException.class,
+        () -> new BinaryCacheSerializer().deserialize(bytes, Sample.class));
+  }
+
+  @Test
+  void rejectsTruncatedEntries() {
+    byte[] bytes = new BinaryCacheSerializer(0).serialize(sample());
+    byte[] truncated = Arrays.copyOf(bytes, bytes.length / 2);
+
+    assertThrows(
+        RuntimeException.class,
+        () -> new BinaryCacheSerializer().deserialize(truncated, Sample.class));
+  }
+
+  @Test
+  void serializerType() {
+    assertEquals(CacheSerializerType.JSON, CacheSerializerType.of(null));
+    assertEquals(CacheSerializerType.BINARY, CacheSerializerType.of("binary"));
+    assertThrows(UnSupportedException.class, () -> CacheSerializerType.of("smile"));
+    assertInstanceOf(
+        BinaryCacheSerializer.class,
+        new CacheConfiguration(
+                "localhost", 6379, 0, 1000, null, 1, 1, 1, 60, CacheSerializerType.BINARY, 1024)
+            .createSerializer());
+    assertInstanceOf(JsonCacheSerializer.class, new CacheConfiguration().createSerializer());
+  }
+}
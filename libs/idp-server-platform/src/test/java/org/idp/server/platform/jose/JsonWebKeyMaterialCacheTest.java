@@ -0,0 +1,118 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.jose;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JsonWebKeyMaterialCacheTest {
+
+  private JsonWebKeyMaterialCache cache;
+  private ECKey ecKey;
+  private String jwks;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    cache = new JsonWebKeyMaterialCache(2);
+    ecKey =
+        new ECKeyGenerator(Curve.P_256)
+            .keyID("signing-key")
+            .algorithm(JWSAlgorithm.ES256)
+            .generate();
+    jwks = new JWKSet(ecKey).toString(false);
+  }
+
+  @Test
+  void get_shouldReturnSameMaterial_forSameJwks() throws Exception {
+    JsonWebKeyMaterial first = cache.get(jwks);
+    JsonWebKeyMaterial second = cache.get(new String(jwks.toCharArray()));
+
+    assertSame(first, second);
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  void get_shouldParseAgain_whenJwksChanges() throws Exception {
+    JsonWebKeyMaterial before = cache.get(jwks);
+    ECKey rotated =
+        new ECKeyGenerator(Curve.P_256)
+            .keyID("rotated-key")
+            .algorithm(JWSAlgorithm.ES256)
+            .generate();
+
+    JsonWebKeyMaterial after = cache.get(new JWKSet(rotated).toString(false));
+
+    assertNotEquals(before.fingerprint(), after.fingerprint());
+    assertEquals("rotated-key", after.findBy("rotated-key").keyId());
+  }
+
+  @Test
+  void signer_shouldBeBuiltOncePerKey() throws Exception {
+    JsonWebKeyMaterial material = cache.get(jwks);
+    JsonWebKey key = material.findBy("signing-key");
+    JsonWebSignatureFactory factory = new JsonWebSignatureFactory();
+
+    JWSSigner first = material.signer(key, factory);
+    JWSSigner second = material.signer(key, factory);
+
+    assertSame(first, second);
+  }
+
+  @Test
+  void invalidate_shouldRemoveEntry() throws Exception {
+    cache.get(jwks);
+
+    cache.invalidate(jwks);
+
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void get_shouldEvictLeastRecentlyUsed_whenLimitIsExceeded() throws Exception {
+    cache.get(jwks);
+    cache.get(new JWKSet(new ECKeyGenerator(Curve.P_256).keyID("b").generate()).toString(false));
+    cache.get(new JWKSet(new ECKeyGenerator(Curve.P_256).keyID("c").generate()).toString(false));
+
+    assertEquals(2, cache.size());
+  }
+
+  @Test
+  void get_shouldRejectEmptyJwks() {
+    assertThrows(JsonWebKeyInvalidException.class, () -> cache.get(""));
+  }
+
+  @Test
+  void factory_shouldProduceVerifiableSignature_withCachedMaterial() throws Exception {
+    JsonWebSignatureFactory factory = new JsonWebSignatureFactory();
+
+    JsonWebSignature jws =
+        factory.createWithAsymmetricKey(Map.of("sub", "user"), Map.of(), jwks, "signing-key");
+
+    assertEquals("signing-key", jws.keyId());
+    assertTrue(jws.verify(new ECDSAVerifier(ecKey.toPublicJWK().toECPublicKey())));
+  }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.jose;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RemoteJwksResolverTest {
+
+  private static final String JWKS_URI = "https://idp.example.com/jwks";
+
+  private AtomicLong now;
+  private List<Runnable> scheduled;
+  private RemoteJwksResolver resolver;
+  private AtomicInteger fetchCount;
+  private String jwks;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    now = new AtomicLong(1_000_000L);
+    scheduled = new ArrayList<>();
+    resolver = new RemoteJwksResolver(16, now::get, scheduled::add);
+    fetchCount = new AtomicInteger();
+    jwks = jwks("key-1");
+  }
+
+  @Test
+  void resolve_shouldFetchOnce_whileFresh() {
+    RemoteJwksFetcher fetcher = fetcher(200, Map.of(), jwks);
+
+    RemoteJwksResult first = resolver.resolve(JWKS_URI, fetcher);
+    now.addAndGet(RemoteJwksResolver.DEFAULT_TIME_TO_LIVE_MILLIS / 2);
+    RemoteJwksResult second = resolver.resolve(JWKS_URI, "key-1", fetcher);
+
+    assertEquals(1, fetchCount.get());
+    assertSame(first, second);
+    assertTrue(first.hasKeyMaterial());
+    assertEquals("key-1", first.keyMaterial().findBy("key-1").keyId());
+  }
+
+  @Test
+  void resolve_shouldHonourCacheControlMaxAge() {
+    RemoteJwksFetcher fetcher =
+        fetcher(200, Map.of("cache-control", List.of("public, max-age=120")), jwks);
+
+    resolver.resolve(JWKS_URI, fetcher);
+    now.addAndGet(119_000L);
+    resolver.resolve(JWKS_URI, fetcher);
+    assertEquals(1, fetchCount.get());
+
+    now.addAndGet(1_000L);
+    resolver.resolve(JWKS_URI, fetcher);
+    assertEquals(2, fetchCount.get());
+  }
+
+  @Test
+  void timeToLive_shouldSubtractAgeAndClamp() {
+    assertEquals(
+        100_000L,
+        RemoteJwksResolver.timeToLive(
+            Map.of("Cache-Control", List.of("max-age=300"), "Age", List.of("200"))));
+    assertEquals(
+        RemoteJwksResolver.MIN_TIME_TO_LIVE_MILLIS,
+        RemoteJwksResolver.timeToLive(Map.of("Cache-Control", List.of("no-store"))));
+    assertEquals(
+        RemoteJwksResolver.MAX_TIME_TO_LIVE_MILLIS,
+        RemoteJwksResolver.timeToLive(Map.of("Cache-Control", List.of("max-age=31536000"))));
+    assertEquals(
+        RemoteJwksResolver.DEFAULT_TIME_TO_LIVE_MILLIS, RemoteJwksResolver.timeToLive(Map.of()));
+  }
+
+  @Test
+  void resolve_shouldRefreshInBackground_beforeExpiry() {
+    RemoteJwksFetcher fetcher = fetcher(200, Map.of("Cache-Control", List.of("max-age=100")), jwks);
+
+    RemoteJwksResult first = resolver.resolve(JWKS_URI, fetcher);
+    now.addAndGet(90_000L);
+    RemoteJwksResult served = resolver.resolve(JWKS_URI, fetcher);
+    resolver.resolve(JWKS_URI, fetcher);
+
+    assertSame(first, served);
+    assertEquals(1, scheduled.size());
+    scheduled.getFirst().run();
+    assertEquals(2, fetchCount.get());
+    assertNotSame(first, resolver.resolve(JWKS_URI, fetcher));
+  }
+
+  @Test
+  void resolve_shouldRefetchOnce_forUnknownKid_withRateLimit() throws Exception {
+    String rotated = jwks("key-2");
+    List<String> bodies = new ArrayList<>(List.of(jwks, rotated, rotated));
+    RemoteJwksFetcher fetcher =
+        uri -> {
+          fetchCount.incrementAndGet();
+          return new RemoteJwksResult(200, Map.of(), bodies.removeFirst());
+        };
+
+    resolver.resolve(JWKS_URI, "key-1", fetcher);
+    RemoteJwksResult limited = resolver.resolve(JWKS_URI, "key-2", fetcher);
+    assertEquals(1, fetchCount.get());
+    assertEquals("key-1", limited.keyMaterial().jsonWebKeys().getFirst().keyId());
+
+    now.addAndGet(RemoteJwksResolver.UNKNOWN_KEY_REFETCH_INTERVAL_MILLIS);
+    RemoteJwksResult refetched = resolver.resolve(JWKS_URI, "key-2", fetcher);
+    assertEquals(2, fetchCount.get());
+    assertEquals("key-2", refetched.keyMaterial().jsonWebKeys().getFirst().keyId());
+
+    resolver.resolve(JWKS_URI, "unknown", fetcher);
+    assertEquals(2, fetchCount.get());
+  }
+
+  @Test
+  void resolve_shouldServePreviousKeys_whenRefreshFails() {
+    AtomicInteger status = new AtomicInteger(200);
+    RemoteJwksFetcher fetcher =
+        uri -> {
+          fetchCount.incrementAndGet();
+          return new RemoteJwksResult(status.get(), Map.of(), status.get() == 200 ? jwks : "down");
+        };
+
+    RemoteJwksResult first = resolver.resolve(JWKS_URI, fetcher);
+    status.set(503);
+    now.addAndGet(RemoteJwksResolver.DEFAULT_TIME_TO_LIVE_MILLIS);
+
+    RemoteJwksResult stale = resolver.resolve(JWKS_URI, fetcher);
+    assertSame(first, stale);
+
+    now.addAndGet(RemoteJwksResolver.STALE_IF_ERROR_MILLIS);
+    RemoteJwksResult error = resolver.resolve(JWKS_URI, fetcher);
+    assertTrue(error.isError());
+    assertEquals(503, error.statusCode());
+  }
+
+  @Test
+  void resolve_shouldNotCacheErrors_withoutPreviousKeys() {
+    RemoteJwksFetcher fetcher = fetcher(500, Map.of(), "error");
+
+    assertTrue(resolver.resolve(JWKS_URI, fetcher).isError());
+    assertTrue(resolver.resolve(JWKS_URI, fetcher).isError());
+
+    assertEquals(2, fetchCount.get());
+    assertEquals(0, resolver.size());
+  }
+
+  @Test
+  void resolve_shouldCollapseConcurrentFetches() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    RemoteJwksFetcher fetcher =
+        uri -> {
+          fetchCount.incrementAndGet();
+          try {
+            release.await(5, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return new RemoteJwksResult(200, Map.of(), jwks);
+        };
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<RemoteJwksResult>> futures = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        futures.add(executor.submit(() -> resolver.resolve(JWKS_URI, fetcher)));
+      }
+      Thread.sleep(200);
+      release.countDown();
+
+      for (Future<RemoteJwksResult> future : futures) {
+        assertTrue(future.get(5, TimeUnit.SECONDS).isSuccess());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(1, fetchCount.get());
+  }
+
+  private RemoteJwksFetcher fetcher(int status, Map<String, List<String>> headers, String body) {
+    return uri -> {
+      fetchCount.incrementAndGet();
+      return new RemoteJwksResult(status, headers, body);
+    };
+  }
+
+  private static String jwks(String keyId) throws Exception {
+    return new JWKSet(
+            new ECKeyGenerator(Curve.P_256).keyID(keyId).algorithm(JWSAlgorithm.ES256).generate())
+        .toPublicJWKSet()
+        .toString(false);
+  }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.idp.server.platform.outbox;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.idp.server.platform.datasource.ApplicationDatabaseTypeProvider;
+import org.idp.server.platform.datasource.DatabaseType;
+import org.idp.server.platform.datasource.DbConnectionProvider;
+import org.idp.server.platform.datasource.TransactionManager;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("EventOutboxRelay")
+class EventOutboxRelayTest {
+
+  OutboxEventCommandRepository repository;
+  Connection connection;
+  List<String> handled = Collections.synchronizedList(new ArrayList<>());
+  ApplicationDatabaseTypeProvider databaseTypeProvider = () -> DatabaseType.POSTGRESQL;
+  EventOutboxConfig config = new EventOutboxConfig(EventOutboxMode.OUTBOX, 1000, 10, 60, 3, 4);
+
+  @BeforeEach
+  void setUp() {
+    repository = mock(OutboxEventCommandRepository.class);
+    connection = mock(Connection.class);
+    DbConnectionProvider provider = mock(DbConnectionProvider.class);
+    when(provider.getConnection(any(DatabaseType.class), anyBoolean())).thenReturn(connection);
+    TransactionManager.configure(provider);
+  }
+
+  /** Makes {@code events} claimable, each tenant's events in one claim. */
+  private void claimable(int limit, OutboxEvent... events) throws Exception {
+    when(connection.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+    List<TenantIdentifier> tenantIdentifiers =
+        Arrays.stream(events).map(OutboxEvent::tenantIdentifier).distinct().toList();
+    when(repository.findClaimableTenants(limit)).thenReturn(tenantIdentifiers);
+    for (TenantIdentifier tenantIdentifier : tenantIdentifiers) {
+      when(repository.claim(eq(tenantIdentifier), anyInt(), eq(60)))
+          .thenReturn(
+              Arrays.stream(events)
+                  .filter(event -> event.tenantIdentifier().equals(tenantIdentifier))
+                  .toList());
+    }
+  }
+
+  private OutboxEvent event(String payload, int attempts) {
+    return event(new TenantIdentifier(UUID.randomUUID().toString()), payload, attempts);
+  }
+
+  private OutboxEvent event(TenantIdentifier tenantIdentifier, String payload, int attempts) {
+    return new OutboxEvent(
+        UUID.randomUUID().toString(),
+        tenantIdentifier,
+        OutboxEventType.SECURITY_EVENT,
+        payload,
+        attempts,
+        null);
+  }
+
+  private EventOutboxRelay relay() {
+    return relay(
+        outboxEvent -> {
+          if (outboxEvent.payload().equals("broken")) {
+            throw new IllegalStateException("handler failed");
+          }
+          handled.add(outboxEvent.payload());
+        });
+  }
+
+  private EventOutboxRelay relay(OutboxEventHandler handler) {
+    return new EventOutboxRelay(
+        repository, databaseTypeProvider, config, Map.of(OutboxEventType.SECURITY_EVENT, handler));
+  }
+
+  /** Claims once and waits, through {@link EventOutboxRelay#close()}, for the workers to settle. */
+  private EventOutboxRelay relayOnce(EventOutboxRelay relay, int limit) {
+    relay.relay(limit);
+    relay.close();
+    return relay;
+  }
+
+  @Test
+  @DisplayName("claim したイベントを配信し、配信済みのイベントを1件ずつ削除する")
+  void deletesDeliveredEvents() throws Exception {
+    OutboxEvent first = event("first", 1);
+    OutboxEvent second = event("second", 1);
+    claimable(4, first, second);
+
+    EventOutboxRelay relay = relayOnce(relay(), 4);
+
+    assertEquals(List.of("first", "second"), handled.stream().sorted().toList());
+    verify(repository).delete(List.of(first));
+    verify(repository).delete(List.of(second));
+    verify(repository, never()).reschedule(any(), anyLong(), any());
+    verify(repository, never()).giveUp(any(), any());
+    verify(connection, times(5)).commit();
+    assertEquals(2, relay.deliveredCount());
+  }
+
+  @Test
+  @DisplayName("各イベントは処理が終わり次第、後続のイベントを待たずに削除する")
+  void settlesEachEventAsSoonAsItIsHandled() throws Exception {
+    config = new EventOutboxConfig(EventOutboxMode.OUTBOX, 1000, 10, 60, 3, 1);
+    OutboxEvent first = event("first", 1);
+    OutboxEvent second = event("second", 1);
+    claimable(2, first, second);
+    List<Boolean> firstDeletedBeforeSecond = new ArrayList<>();
+
+    relayOnce(
+        relay(
+            outboxEvent -> {
+              if (outboxEvent == second) {
+                firstDeletedBeforeSecond.add(
+                    mockingDetails(repository).getInvocations().stream()
+                        .anyMatch(
+                            invocation ->
+                                invocation.getMethod().getName().equals("delete")
+                                    && invocation.getArgument(0).equals(List.of(first))));
+              }
+            }),
+        2);
+
+    assertEquals(List.of(true), firstDeletedBeforeSecond);
+    verify(repository).delete(List.of(second));
+  }
+
+  @Test
+  @DisplayName("空いているワーカー数を超えてイベントを claim しない")
+  void claimsNoMoreThanIdleWorkers() throws Exception {
+    config = new EventOutboxConfig(EventOutboxMode.OUTBOX, 10, 10, 60, 3, 2);
+    CountDownLatch release = new CountDownLatch(1);
+    OutboxEvent slow = event("slow", 1);
+    claimable(2, slow);
+    when(repository.findClaimableTenants(2))
+        .thenReturn(List.of(slow.tenantIdentifier()), List.of());
+
+    EventOutboxRelay relay =
+        relay(
+            outboxEvent -> {
+              try {
+                release.await(5, TimeUnit.SECONDS);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            });
+    relay.start();
+    try {
+      verify(repository, timeout(2000).atLeastOnce()).findClaimableTenants(1);
+      verify(repository, never()).delete(any());
+    } finally {
+      release.countDown();
+      relay.close();
+    }
+    verify(repository).delete(List.of(slow));
+  }
+
+  @Test
+  @DisplayName("配信に失敗したイベントはバックオフ付きで再スケジュールし、他のイベントの配信は続ける")
+  void reschedulesFailedEvents() throws Exception {
+    OutboxEvent broken = event("broken", 2);
+    OutboxEvent ok = event("ok", 1);
+    claimable(4, broken, ok);
+
+    EventOutboxRelay relay = relayOnce(relay(), 4);
+
+    assertEquals(List.of("ok"), handled);
+    verify(repository).delete(List.of(ok));
+    verify(repository).reschedule(broken, 4, "handler failed");
+    assertEquals(1, relay.deliveredCount());
+    assertEquals(1, relay.failedCount());
+  }
+
+  @Test
+  @DisplayName("最大試行回数で失敗したイベントは再スケジュールせず配信を打ち切る")
+  void givesUpAfterMaxAttempts() throws Exception {
+    OutboxEvent broken = event("broken", 3);
+    claimable(4, broken);
+
+    relayOnce(relay(), 4);
+
+    verify(repository).giveUp(broken, "handler failed");
+    verify(repository, never()).reschedule(any(), anyLong(), any());
+  }
+
+  @Test
+  @DisplayName("最終試行中にリースが切れたイベントは処理せずに配信を打ち切る")
+  void givesUpWhenLeaseExpiredDuringLastAttempt() throws Exception {
+    OutboxEvent stranded = event("stranded", 4);
+    OutboxEvent ok = event("ok", 1);
+    claimable(4, stranded, ok);
+
+    EventOutboxRelay relay = relayOnce(relay(), 4);
+
+    assertEquals(List.of("ok"), handled);
+    verify(repository).delete(List.of(ok));
+    verify(repository).giveUp(stranded, "lease expired during the last attempt");
+    assertEquals(1, relay.failedCount());
+  }
+
+  @Test
+  @DisplayName("claim できるイベントがなければ何もしない")
+  void doesNothingWhenEmpty() throws Exception {
+    claimable(4);
+
+    EventOutboxRelay relay = relay();
+    assertEquals(0, relay.relay(4));
+    relay.close();
+    verify(repository, never()).claim(any(), anyInt(), anyInt());
+    verify(repository, never()).delete(any());
+  }
+
+  @Test
+  @DisplayName("テナントごとに app.tenant_id を設定したトランザクションで claim し、空いているワーカー数で打ち切る")
+  void claimsPerTenantUnderItsTenantId() throws Exception {
+    TenantIdentifier tenantA = new TenantIdentifier(UUID.randomUUID().toString());
+    TenantIdentifier tenantB = new TenantIdentifier(UUID.randomUUID().toString());
+    TenantIdentifier tenantC = new TenantIdentifier(UUID.randomUUID().toString());
+    OutboxEvent a1 = event(tenantA, "a1", 1);
+    OutboxEvent a2 = event(tenantA, "a2", 1);
+    OutboxEvent b1 = event(tenantB, "b1", 1);
+    OutboxEvent c1 = event(tenantC, "c1", 1);
+    claimable(3, a1, a2, b1, c1);
+    PreparedStatement setConfig = mock(PreparedStatement.class);
+    when(connection.prepareStatement("SELECT set_config('app.tenant_id', ?, true)"))
+        .thenReturn(setConfig);
+
+    EventOutboxRelay relay = relay();
+    assertEquals(3, relay.relay(3));
+    relay.close();
+
+    verify(repository).claim(tenantA, 3, 60);
+    verify(repository).claim(tenantB, 1, 60);
+    verify(repository, never()).claim(eq(tenantC), anyInt(), anyInt());
+    // One transaction for the claim and one per settled event.
+    verify(setConfig, times(3)).setString(1, tenantA.value());
+    verify(setConfig, times(2)).setString(1, tenantB.value());
+    verify(setConfig, never()).setString(1, tenantC.value());
+    assertEquals(List.of("a1", "a2", "b1"), handled.stream().sorted().toList());
+  }
+
+  @Test
+  @DisplayName("バックオフは試行回数ごとに倍増し上限で止まる")
+  void backoffIsCapped() {
+    assertEquals(2, EventOutboxRelay.backoffSeconds(1));
+    assertEquals(8, EventOutboxRelay.backoffSeconds(3));
+    assertEquals(300, EventOutboxRelay.backoffSeconds(20));
+  }
+}
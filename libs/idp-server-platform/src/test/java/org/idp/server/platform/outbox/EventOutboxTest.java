@@ -0,0 +1,230 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.idp.server.platform.outbox;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.idp.server.platform.audit.AuditLog;
+import org.idp.server.platform.datasource.DatabaseType;
+import org.idp.server.platform.datasource.DbConnectionProvider;
+import org.idp.server.platform.datasource.TransactionManager;
+import org.idp.server.platform.json.JsonConverter;
+import org.idp.server.platform.json.JsonNodeWrapper;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+import org.idp.server.platform.security.SecurityEvent;
+import org.idp.server.platform.security.event.SecurityEventBuilder;
+import org.idp.server.platform.security.event.SecurityEventClient;
+import org.idp.server.platform.security.event.SecurityEventDescription;
+import org.idp.server.platform.security.event.SecurityEventDetail;
+import org.idp.server.platform.security.event.SecurityEventTenant;
+import org.idp.server.platform.security.event.SecurityEventType;
+import org.idp.server.platform.security.event.SecurityEventUser;
+import org.idp.server.platform.security.type.IpAddress;
+import org.idp.server.platform.security.type.UserAgent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+@DisplayName("EventOutbox")
+class EventOutboxTest {
+
+  OutboxEventCommandRepository repository;
+  TenantIdentifier tenantIdentifier = new TenantIdentifier(UUID.randomUUID().toString());
+
+  @BeforeEach
+  void setUp() throws Exception {
+    repository = mock(OutboxEventCommandRepository.class);
+    Connection connection = mock(Connection.class);
+    when(connection.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+    DbConnectionProvider provider = mock(DbConnectionProvider.class);
+    when(provider.getConnection(any(DatabaseType.class), anyBoolean())).thenReturn(connection);
+    TransactionManager.configure(provider);
+  }
+
+  @AfterEach
+  void tearDown() {
+    TransactionManager.closeConnection();
+  }
+
+  private EventOutbox outbox(EventOutboxMode mode) {
+    return new EventOutbox(new EventOutboxConfig(mode, 1000, 100, 60, 10, 8), repository);
+  }
+
+  @Test
+  @DisplayName("書き込みトランザクション内ではイベントを outbox に登録する")
+  void registersInsideWriteTransaction() {
+    TransactionManager.beginTransaction(DatabaseType.POSTGRESQL);
+
+    boolean enqueued =
+        outbox(EventOutboxMode.OUTBOX)
+            .enqueue(OutboxEventType.SECURITY_EVENT, tenantIdentifier, Map.of("type", "login"));
+
+    assertTrue(enqueued);
+    ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+    verify(repository).register(captor.capture());
+    assertEquals(OutboxEventType.SECURITY_EVENT, captor.getValue().type());
+    assertEquals(tenantIdentifier, captor.getValue().tenantIdentifier());
+    assertEquals("{\"type\":\"login\"}", captor.getValue().payload());
+  }
+
+  @Test
+  @DisplayName("同じテナントのトランザクション内ではイベントを outbox に登録する")
+  void registersInsideTransactionOfSameTenant() {
+    TransactionManager.beginTransaction(DatabaseType.POSTGRESQL, tenantIdentifier);
+
+    boolean enqueued =
+        outbox(EventOutboxMode.OUTBOX)
+            .enqueue(OutboxEventType.SECURITY_EVENT, tenantIdentifier, Map.of());
+
+    assertTrue(enqueued);
+    verify(repository).register(any());
+  }
+
+  @Test
+  @DisplayName("PostgreSQL で別テナントのトランザクション内では RLS に阻まれるため登録しない")
+  void fallsBackInsideTransactionOfAnotherTenant() {
+    TransactionManager.beginTransaction(
+        DatabaseType.POSTGRESQL, new TenantIdentifier(UUID.randomUUID().toString()));
+
+    boolean enqueued =
+        outbox(EventOutboxMode.OUTBOX)
+            .enqueue(OutboxEventType.SECURITY_EVENT, tenantIdentifier, Map.of());
+
+    assertFalse(enqueued);
+    verify(repository, never()).register(any());
+  }
+
+  @Test
+  @DisplayName("MySQL には RLS がないため別テナントのトランザクション内でも登録する")
+  void registersInsideTransactionOfAnotherTenantOnMysql() {
+    TransactionManager.beginTransaction(
+        DatabaseType.MYSQL, new TenantIdentifier(UUID.randomUUID().toString()));
+
+    boolean enqueued =
+        outbox(EventOutboxMode.OUTBOX)
+            .enqueue(OutboxEventType.SECURITY_EVENT, tenantIdentifier, Map.of());
+
+    assertTrue(enqueued);
+    verify(repository).register(any());
+  }
+
+  @Test
+  @DisplayName("トランザクション外では登録せず呼び出し元に配信を任せる")
+  void fallsBackWithoutTransaction() {
+    boolean enqueued =
+        outbox(EventOutboxMode.OUTBOX)
+            .enqueue(OutboxEventType.SECURITY_EVENT, tenantIdentifier, Map.of());
+
+    assertFalse(enqueued);
+    verify(repository, never()).register(any());
+  }
+
+  @Test
+  @DisplayName("DIRECT モードでは登録しない")
+  void skipsInDirectMode() {
+    TransactionManager.beginTransaction(DatabaseType.POSTGRESQL);
+
+    boolean enqueued =
+        outbox(EventOutboxMode.DIRECT)
+            .enqueue(OutboxEventType.AUDIT_LOG, tenantIdentifier, Map.of());
+
+    assertFalse(enqueued);
+    verify(repository, never()).register(any());
+  }
+
+  @Test
+  @DisplayName("監査ログは JSON から復元できる形で登録される")
+  void auditLogRoundTrips() {
+    TransactionManager.beginTransaction(DatabaseType.POSTGRESQL);
+    AuditLog auditLog =
+        new AuditLog(
+            UUID.randomUUID().toString(),
+            "UserManagementApi.update",
+            "update user",
+            tenantIdentifier.value(),
+            "client",
+            UUID.randomUUID().toString(),
+            "external",
+            JsonNodeWrapper.fromMap(Map.of("sub", "user")),
+            "/users",
+            "PUT",
+            JsonNodeWrapper.empty(),
+            JsonNodeWrapper.fromMap(Map.of("name", "before")),
+            JsonNodeWrapper.fromMap(Map.of("name", "after")),
+            "success",
+            null,
+            null,
+            "127.0.0.1",
+            "agent",
+            JsonNodeWrapper.empty(),
+            false,
+            LocalDateTime.of(2025, 4, 1, 12, 0));
+
+    outbox(EventOutboxMode.OUTBOX).enqueue(OutboxEventType.AUDIT_LOG, tenantIdentifier, auditLog);
+
+    ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+    verify(repository).register(captor.capture());
+    AuditLog restored =
+        JsonConverter.defaultInstance().read(captor.getValue().payload(), AuditLog.class);
+    assertEquals(auditLog.toMap(), restored.toMap());
+  }
+
+  @Test
+  @DisplayName("セキュリティイベントは JSON から復元できる形で登録される")
+  void securityEventRoundTrips() {
+    TransactionManager.beginTransaction(DatabaseType.POSTGRESQL);
+    SecurityEvent securityEvent =
+        new SecurityEventBuilder()
+            .add(new SecurityEventType("password_success"))
+            .add(new SecurityEventDescription("password authentication succeeded"))
+            .add(
+                new SecurityEventTenant(
+                    tenantIdentifier.value(), "https://idp.example.com", "example"))
+            .add(new SecurityEventClient("client-id", "client"))
+            .add(
+                new SecurityEventUser(
+                    UUID.randomUUID().toString(),
+                    "user",
+                    "external-sub",
+                    "user@example.com",
+                    "+81-90-0000-0000"))
+            .add(new IpAddress("127.0.0.1"))
+            .add(new UserAgent("agent"))
+            .add(new SecurityEventDetail(Map.of("acr", "urn:password", "amr", List.of("pwd"))))
+            .build();
+
+    outbox(EventOutboxMode.OUTBOX)
+        .enqueue(OutboxEventType.SECURITY_EVENT, tenantIdentifier, securityEvent);
+
+    ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+    verify(repository).register(captor.capture());
+    SecurityEvent restored =
+        JsonConverter.defaultInstance().read(captor.getValue().payload(), SecurityEvent.class);
+    assertEquals(securityEvent.toMap(), restored.toMap());
+    assertEquals(tenantIdentifier, restored.tenantIdentifier());
+    assertEquals(securityEvent.userSub(), restored.userSub());
+  }
+}
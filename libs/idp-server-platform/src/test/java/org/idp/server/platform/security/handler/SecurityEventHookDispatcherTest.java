@@ -22,6 +22,9 @@ import static org.mockito.Mockito.*;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.idp.server.platform.multi_tenancy.tenant.Tenant;
 import org.idp.server.platform.security.SecurityEvent;
 import org.idp.server.platform.security.event.SecurityEventType;
@@ -185,4 +188,190 @@ class SecurityEventHookDispatcherTest {
 
     verify(resultsCommandRepository, never()).bulkRegister(any(), any());
   }
+
+  private SecurityEventHookDispatcher parallelDispatcher(
+      SecurityEventHooks hooks, long timeoutMillis, int maxConcurrencyPerType) {
+    return new SecurityEventHookDispatcher(
+        hooks,
+        queryRepository,
+        resultsCommandRepository,
+        new SecurityEventHookDispatchConfig(
+            SecurityEventHookDispatchMode.PARALLEL, timeoutMillis, maxConcurrencyPerType));
+  }
+
+  private SecurityEventHook sleepingExecutor(
+      SecurityEventHookConfiguration configuration, long sleepMillis) {
+    SecurityEventHook executor = mockExecutor();
+    when(executor.execute(any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              Thread.sleep(sleepMillis);
+              return SecurityEventHookResult.successWithContext(
+                  configuration, securityEvent, Map.of(), sleepMillis);
+            });
+    return executor;
+  }
+
+  @Test
+  void parallelDispatch_runsHooksConcurrently_andKeepsConfigurationOrder() {
+    stubEventLogging();
+
+    SecurityEventHookType webhookType = new SecurityEventHookType("WEBHOOK");
+    SecurityEventHookType slackType = new SecurityEventHookType("SLACK");
+    SecurityEventHookConfiguration webhookConfig = mockConfiguration(webhookType, "hook-webhook");
+    SecurityEventHookConfiguration slackConfig = mockConfiguration(slackType, "hook-slack");
+    when(queryRepository.find(tenant))
+        .thenReturn(new SecurityEventHookConfigurations(List.of(webhookConfig, slackConfig)));
+
+    SecurityEventHooks hooks =
+        new SecurityEventHooks(
+            Map.of(
+                webhookType,
+                sleepingExecutor(webhookConfig, 400),
+                slackType,
+                sleepingExecutor(slackConfig, 400)));
+    SecurityEventHookDispatcher dispatcher = parallelDispatcher(hooks, 5_000, 10);
+
+    long start = System.currentTimeMillis();
+    dispatcher.dispatch(tenant, securityEvent);
+    long elapsed = System.currentTimeMillis() - start;
+
+    assertTrue(elapsed < 750, "hooks ran concurrently, elapsed=" + elapsed);
+    verify(resultsCommandRepository).bulkRegister(eq(tenant), resultsCaptor.capture());
+    List<SecurityEventHookResult> persisted = resultsCaptor.getValue();
+    assertEquals(2, persisted.size());
+    assertEquals("WEBHOOK", persisted.get(0).type().name());
+    assertEquals("SLACK", persisted.get(1).type().name());
+    assertTrue(persisted.stream().allMatch(SecurityEventHookResult::isSuccess));
+  }
+
+  @Test
+  void parallelDispatch_slowHookTimesOut_withoutDelayingOtherResults() {
+    stubEventLogging();
+
+    SecurityEventHookType webhookType = new SecurityEventHookType("WEBHOOK");
+    SecurityEventHookType slackType = new SecurityEventHookType("SLACK");
+    SecurityEventHookConfiguration webhookConfig = mockConfiguration(webhookType, "hook-webhook");
+    SecurityEventHookConfiguration slackConfig = mockConfiguration(slackType, "hook-slack");
+    when(queryRepository.find(tenant))
+        .thenReturn(new SecurityEventHookConfigurations(List.of(webhookConfig, slackConfig)));
+
+    SecurityEventHooks hooks =
+        new SecurityEventHooks(
+            Map.of(
+                webhookType,
+                sleepingExecutor(webhookConfig, 10),
+                slackType,
+                sleepingExecutor(slackConfig, 10_000)));
+    SecurityEventHookDispatcher dispatcher = parallelDispatcher(hooks, 300, 10);
+
+    long start = System.currentTimeMillis();
+    dispatcher.dispatch(tenant, securityEvent);
+    long elapsed = System.currentTimeMillis() - start;
+
+    assertTrue(elapsed < 2_000, "dispatch bounded by timeout, elapsed=" + elapsed);
+    verify(resultsCommandRepository).bulkRegister(eq(tenant), resultsCaptor.capture());
+    List<SecurityEventHookResult> persisted = resultsCaptor.getValue();
+    assertTrue(persisted.get(0).isSuccess(), "fast hook recorded as SUCCESS");
+    assertTrue(persisted.get(1).isFailure(), "slow hook recorded as FAILURE");
+  }
+
+  @Test
+  void parallelDispatch_bulkheadLimitsConcurrencyPerHookType() {
+    stubEventLogging();
+
+    SecurityEventHookType webhookType = new SecurityEventHookType("WEBHOOK");
+    SecurityEventHookConfiguration first = mockConfiguration(webhookType, "hook-webhook-1");
+    SecurityEventHookConfiguration second = mockConfiguration(webhookType, "hook-webhook-2");
+    SecurityEventHookConfiguration third = mockConfiguration(webhookType, "hook-webhook-3");
+    when(queryRepository.find(tenant))
+        .thenReturn(new SecurityEventHookConfigurations(List.of(first, second, third)));
+
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    SecurityEventHook executor = mockExecutor();
+    when(executor.execute(any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+              Thread.sleep(100);
+              running.decrementAndGet();
+              return SecurityEventHookResult.successWithContext(
+                  invocation.getArgument(2), securityEvent, Map.of(), 100L);
+            });
+
+    SecurityEventHooks hooks = new SecurityEventHooks(Map.of(webhookType, executor));
+    SecurityEventHookDispatcher dispatcher = parallelDispatcher(hooks, 5_000, 1);
+
+    dispatcher.dispatch(tenant, securityEvent);
+
+    assertEquals(1, maxRunning.get());
+    verify(resultsCommandRepository).bulkRegister(eq(tenant), resultsCaptor.capture());
+    assertEquals(3, resultsCaptor.getValue().size());
+    assertTrue(resultsCaptor.getValue().stream().allMatch(SecurityEventHookResult::isSuccess));
+  }
+
+  @Test
+  void close_waitsForRunningHooksUpToTimeout_thenStopsExecutor() throws Exception {
+    stubEventLogging();
+
+    SecurityEventHookType slackType = new SecurityEventHookType("SLACK");
+    SecurityEventHookConfiguration slackConfig = mockConfiguration(slackType, "hook-slack");
+    when(queryRepository.find(tenant))
+        .thenReturn(new SecurityEventHookConfigurations(List.of(slackConfig)));
+    CountDownLatch started = new CountDownLatch(1);
+    SecurityEventHook executor = mockExecutor();
+    when(executor.execute(any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              started.countDown();
+              Thread.sleep(10_000);
+              return SecurityEventHookResult.successWithContext(
+                  slackConfig, securityEvent, Map.of(), 10_000L);
+            });
+    SecurityEventHookDispatcher dispatcher =
+        parallelDispatcher(new SecurityEventHooks(Map.of(slackType, executor)), 300, 10);
+
+    Thread dispatching = Thread.ofVirtual().start(() -> dispatcher.dispatch(tenant, securityEvent));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    long start = System.currentTimeMillis();
+    dispatcher.close();
+    long elapsed = System.currentTimeMillis() - start;
+
+    assertTrue(elapsed < 2_000, "close bounded by timeout, elapsed=" + elapsed);
+    assertTrue(dispatcher.hookExecutor.awaitTermination(1, TimeUnit.SECONDS));
+    dispatching.join(5_000);
+  }
+
+  @Test
+  void dispatchAfterClose_runsHooksOnCallingThread_andRecordsResults() {
+    stubEventLogging();
+
+    SecurityEventHookType webhookType = new SecurityEventHookType("WEBHOOK");
+    SecurityEventHookConfiguration webhookConfig = mockConfiguration(webhookType, "hook-webhook");
+    when(queryRepository.find(tenant))
+        .thenReturn(new SecurityEventHookConfigurations(List.of(webhookConfig)));
+    SecurityEventHookDispatcher dispatcher =
+        parallelDispatcher(
+            new SecurityEventHooks(Map.of(webhookType, sleepingExecutor(webhookConfig, 10))),
+            5_000,
+            10);
+    dispatcher.close();
+
+    assertDoesNotThrow(() -> dispatcher.dispatch(tenant, securityEvent));
+
+    verify(resultsCommandRepository).bulkRegister(eq(tenant), resultsCaptor.capture());
+    assertEquals(1, resultsCaptor.getValue().size());
+    assertTrue(resultsCaptor.getValue().getFirst().isSuccess());
+  }
+
+  @Test
+  void close_isNoOpForSequentialDispatch() {
+    SecurityEventHookDispatcher dispatcher =
+        new SecurityEventHookDispatcher(
+            new SecurityEventHooks(Map.of()), queryRepository, resultsCommandRepository);
+
+    assertDoesNotThrow(dispatcher::close);
+  }
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.platform.security.log;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.UUID;
+import org.idp.server.platform.datasource.ApplicationDatabaseTypeProvider;
+import org.idp.server.platform.datasource.DatabaseType;
+import org.idp.server.platform.datasource.DbConnectionProvider;
+import org.idp.server.platform.datasource.TransactionManager;
+import org.idp.server.platform.multi_tenancy.tenant.Tenant;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+import org.idp.server.platform.security.SecurityEvent;
+import org.idp.server.platform.security.event.SecurityEventIdentifier;
+import org.idp.server.platform.security.repository.SecurityEventCommandRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("BufferedSecurityEventWriter")
+class BufferedSecurityEventWriterTest {
+
+  SecurityEventCommandRepository repository;
+  Connection connection;
+  BufferedSecurityEventWriter writer;
+
+  @BeforeEach
+  void setUp() {
+    repository = mock(SecurityEventCommandRepository.class);
+    connection = mock(Connection.class);
+    DbConnectionProvider provider = mock(DbConnectionProvider.class);
+    when(provider.getConnection(any(DatabaseType.class), anyBoolean())).thenReturn(connection);
+    TransactionManager.configure(provider);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (writer != null) {
+      writer.close();
+    }
+  }
+
+  private BufferedSecurityEventWriter createWriter(int batchSize, long flushIntervalMillis) {
+    ApplicationDatabaseTypeProvider databaseTypeProvider = () -> DatabaseType.MYSQL;
+    SecurityEventPersistenceConfig config =
+        new SecurityEventPersistenceConfig(
+            SecurityEventPersistenceMode.BUFFERED, batchSize, flushIntervalMillis, 100, 10);
+    return new BufferedSecurityEventWriter(repository, databaseTypeProvider, config);
+  }
+
+  private Tenant tenant() {
+    String id = UUID.randomUUID().toString();
+    Tenant tenant = mock(Tenant.class);
+    when(tenant.identifier()).thenReturn(new TenantIdentifier(id));
+    when(tenant.identifierValue()).thenReturn(id);
+    return tenant;
+  }
+
+  private SecurityEvent event() {
+    SecurityEvent securityEvent = mock(SecurityEvent.class);
+    when(securityEvent.identifier())
+        .thenReturn(new SecurityEventIdentifier(UUID.randomUUID().toString()));
+    return securityEvent;
+  }
+
+  @Test
+  @DisplayName("batchSize に達したイベントを1回の bulkRegister と1回のコミットで書き込む")
+  void flushesFullBatchAsOneInsert() throws Exception {
+    writer = createWriter(3, 60_000);
+    Tenant tenant = tenant();
+    SecurityEvent first = event();
+    SecurityEvent second = event();
+    SecurityEvent third = event();
+
+    writer.write(tenant, first);
+    writer.write(tenant, second);
+    writer.write(tenant, third);
+
+    verify(repository, timeout(5_000)).bulkRegister(tenant, List.of(first, second, third));
+    verify(connection, timeout(5_000)).commit();
+    verify(repository, never()).register(any(), any());
+  }
+
+  @Test
+  @DisplayName("close で未フラッシュのイベントを書き込み、以降は呼び出し元で直接書き込む")
+  void closeFlushesPendingEvents() {
+    writer = createWriter(100, 60_000);
+    Tenant tenant = tenant();
+    SecurityEvent pending = event();
+    SecurityEvent afterClose = event();
+
+    writer.write(tenant, pending);
+    writer.close();
+    writer.write(tenant, afterClose);
+
+    verify(repository).bulkRegister(tenant, List.of(pending));
+    verify(repository).register(tenant, afterClose);
+    assertEquals(0, writer.queue().queueDepth());
+    assertEquals(1, writer.directCount());
+  }
+}
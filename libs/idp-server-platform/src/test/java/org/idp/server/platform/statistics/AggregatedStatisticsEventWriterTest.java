@@ -0,0 +1,240 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.idp.server.platform.statistics;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+import org.idp.server.platform.datasource.ApplicationDatabaseTypeProvider;
+import org.idp.server.platform.datasource.DatabaseType;
+import org.idp.server.platform.datasource.DbConnectionProvider;
+import org.idp.server.platform.datasource.TransactionManager;
+import org.idp.server.platform.multi_tenancy.tenant.Tenant;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+import org.idp.server.platform.statistics.repository.StatisticsEventsCommandRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("AggregatedStatisticsEventWriter")
+class AggregatedStatisticsEventWriterTest {
+
+  static final LocalDate DATE = LocalDate.of(2025, 4, 1);
+
+  StatisticsEventsCommandRepository repository;
+  Connection connection;
+  AggregatedStatisticsEventWriter writer;
+
+  @BeforeEach
+  void setUp() {
+    repository = mock(StatisticsEventsCommandRepository.class);
+    connection = mock(Connection.class);
+    DbConnectionProvider provider = mock(DbConnectionProvider.class);
+    when(provider.getConnection(any(DatabaseType.class), anyBoolean())).thenReturn(connection);
+    TransactionManager.configure(provider);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (writer != null) {
+      writer.close();
+    }
+  }
+
+  private AggregatedStatisticsEventWriter createWriter(int maxPendingKeys) {
+    ApplicationDatabaseTypeProvider databaseTypeProvider = () -> DatabaseType.MYSQL;
+    StatisticsAggregationConfig config =
+        new StatisticsAggregationConfig(
+            StatisticsAggregationMode.AGGREGATED, 60_000, maxPendingKeys);
+    return new AggregatedStatisticsEventWriter(repository, databaseTypeProvider, config);
+  }
+
+  private Tenant tenant() {
+    String id = UUID.randomUUID().toString();
+    Tenant tenant = mock(Tenant.class);
+    when(tenant.identifier()).thenReturn(new TenantIdentifier(id));
+    when(tenant.identifierValue()).thenReturn(id);
+    return tenant;
+  }
+
+  @Test
+  @DisplayName("同じキーへの増分を合算し、1回の batchUpsert と1回のコミットで書き込む")
+  void flushesSummedDelta() throws Exception {
+    writer = createWriter(100);
+    Tenant tenant = tenant();
+
+    for (int i = 0; i < 1000; i++) {
+      writer.increment(tenant, DATE, "login_success");
+    }
+    writer.write(tenant, List.of(new StatisticsEventRecord(tenant.identifier(), DATE, "dau", 3)));
+    writer.flush();
+
+    verify(repository)
+        .batchUpsert(
+            argThat(
+                records ->
+                    records.size() == 2
+                        && records.contains(
+                            new StatisticsEventRecord(
+                                tenant.identifier(), DATE, "login_success", 1000))
+                        && records.contains(
+                            new StatisticsEventRecord(tenant.identifier(), DATE, "dau", 3))));
+    verify(connection).commit();
+    verify(repository, never()).increment(any(), any(), any());
+    assertEquals(0, writer.pendingKeys());
+  }
+
+  @Test
+  @DisplayName("テナントごとに別のトランザクションで書き込む")
+  void flushesOneTransactionPerTenant() throws Exception {
+    writer = createWriter(100);
+    Tenant first = tenant();
+    Tenant second = tenant();
+
+    writer.increment(first, DATE, "login_success");
+    writer.increment(second, DATE, "login_success");
+    writer.flush();
+
+    verify(repository)
+        .batchUpsert(
+            List.of(new StatisticsEventRecord(first.identifier(), DATE, "login_success", 1)));
+    verify(repository)
+        .batchUpsert(
+            List.of(new StatisticsEventRecord(second.identifier(), DATE, "login_success", 1)));
+    verify(connection, times(2)).commit();
+  }
+
+  @Test
+  @DisplayName("フラッシュに失敗した増分は戻され、次のフラッシュで後続の増分と合算される")
+  void restoresDeltaOnFailedFlush() {
+    writer = createWriter(100);
+    Tenant tenant = tenant();
+    doThrow(new RuntimeException("deadlock")).doNothing().when(repository).batchUpsert(anyList());
+
+    writer.increment(tenant, DATE, "login_success");
+    writer.flush();
+    writer.increment(tenant, DATE, "login_success");
+    writer.flush();
+
+    verify(repository)
+        .batchUpsert(
+            List.of(new StatisticsEventRecord(tenant.identifier(), DATE, "login_success", 1)));
+    verify(repository)
+        .batchUpsert(
+            List.of(new StatisticsEventRecord(tenant.identifier(), DATE, "login_success", 2)));
+    assertEquals(0, writer.pendingKeys());
+  }
+
+  @Test
+  @DisplayName("フラッシュと並行した増分も失われず、重複もせずに書き込まれる")
+  void keepsIncrementsRacingWithFlush() throws Exception {
+    writer = createWriter(100);
+    Tenant tenant = tenant();
+    LongAdder written = new LongAdder();
+    doAnswer(
+            invocation -> {
+              List<StatisticsEventRecord> records = invocation.getArgument(0);
+              records.forEach(record -> written.add(record.count()));
+              return null;
+            })
+        .when(repository)
+        .batchUpsert(anyList());
+    int threads = 8;
+    int incrementsPerThread = 20_000;
+    CountDownLatch start = new CountDownLatch(1);
+    AtomicBoolean incrementing = new AtomicBoolean(true);
+
+    try (ExecutorService executor = Executors.newFixedThreadPool(threads + 1)) {
+      Future<?> flusher =
+          executor.submit(
+              () -> {
+                start.await();
+                while (incrementing.get()) {
+                  writer.flush();
+                }
+                return null;
+              });
+      List<Future<?>> incrementers =
+          IntStream.range(0, threads)
+              .<Future<?>>mapToObj(
+                  i ->
+                      executor.submit(
+                          () -> {
+                            start.await();
+                            for (int n = 0; n < incrementsPerThread; n++) {
+                              writer.increment(tenant, DATE, "login_success");
+                            }
+                            return null;
+                          }))
+              .toList();
+      start.countDown();
+      for (Future<?> incrementer : incrementers) {
+        incrementer.get();
+      }
+      incrementing.set(false);
+      flusher.get();
+    }
+    writer.flush();
+
+    assertEquals((long) threads * incrementsPerThread, written.sum());
+    assertEquals(0, writer.pendingKeys());
+  }
+
+  @Test
+  @DisplayName("保持キー数が上限に達すると新しいキーは呼び出し元で直接書き込む")
+  void writesDirectlyWhenPendingKeysExceeded() {
+    writer = createWriter(1);
+    Tenant tenant = tenant();
+
+    writer.increment(tenant, DATE, "login_success");
+    writer.increment(tenant, DATE, "login_success");
+    writer.increment(tenant, DATE, "logout");
+
+    verify(repository).increment(tenant.identifier(), DATE, "logout");
+    assertEquals(1, writer.pendingKeys());
+    assertEquals(1, writer.directCount());
+  }
+
+  @Test
+  @DisplayName("close で未フラッシュの増分を書き込み、以降は呼び出し元で直接書き込む")
+  void closeFlushesPendingCounters() {
+    writer = createWriter(100);
+    Tenant tenant = tenant();
+
+    writer.increment(tenant, DATE, "login_success");
+    writer.close();
+    writer.increment(tenant, DATE, "login_success");
+
+    verify(repository)
+        .batchUpsert(
+            List.of(new StatisticsEventRecord(tenant.identifier(), DATE, "login_success", 1)));
+    verify(repository).increment(tenant.identifier(), DATE, "login_success");
+    assertEquals(0, writer.pendingKeys());
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.idp.server.platform.statistics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("LocalActiveUserFilter")
+class LocalActiveUserFilterTest {
+
+  static final TenantIdentifier TENANT =
+      new TenantIdentifier("67e7eae6-62b0-4500-9eff-87459f63fc66");
+  static final LocalDate DATE = LocalDate.of(2025, 4, 1);
+
+  @Test
+  @DisplayName("記録したユーザーは同じ日についてのみ記録済みと判定する")
+  void recordsPerDay() {
+    LocalActiveUserFilter filter = new LocalActiveUserFilter(100);
+
+    assertFalse(filter.isRecorded(TENANT, DATE, "user-1"));
+    filter.markRecorded(TENANT, DATE, "user-1");
+
+    assertTrue(filter.isRecorded(TENANT, DATE, "user-1"));
+    assertFalse(filter.isRecorded(TENANT, DATE.plusDays(1), "user-1"));
+    assertFalse(filter.isRecorded(TENANT, DATE, "user-2"));
+  }
+
+  @Test
+  @DisplayName("新しい日を記録すると2日より前の日を破棄する")
+  void evictsOldDays() {
+    LocalActiveUserFilter filter = new LocalActiveUserFilter(100);
+
+    filter.markRecorded(TENANT, DATE, "user-1");
+    filter.markRecorded(TENANT, DATE.plusDays(1), "user-1");
+    filter.markRecorded(TENANT, DATE.plusDays(2), "user-1");
+    assertTrue(filter.isRecorded(TENANT, DATE, "user-1"));
+
+    filter.markRecorded(TENANT, DATE.plusDays(3), "user-1");
+
+    assertFalse(filter.isRecorded(TENANT, DATE, "user-1"));
+    assertTrue(filter.isRecorded(TENANT, DATE.plusDays(1), "user-1"));
+    assertEquals(3, filter.memberCount());
+  }
+
+  @Test
+  @DisplayName("保持数の上限を超えたユーザーは記録せず、DBへの書き込み対象のままにする")
+  void stopsRecordingAtMaxMembers() {
+    LocalActiveUserFilter filter = new LocalActiveUserFilter(1);
+
+    filter.markRecorded(TENANT, DATE, "user-1");
+    filter.markRecorded(TENANT, DATE, "user-2");
+
+    assertTrue(filter.isRecorded(TENANT, DATE, "user-1"));
+    assertFalse(filter.isRecorded(TENANT, DATE, "user-2"));
+  }
+}
@@ -16,12 +16,14 @@
 
 package org.idp.server.adapters.springboot;
 
+import java.util.function.BiConsumer;
 import org.idp.server.adapters.springboot.application.event.*;
 import org.idp.server.core.openid.identity.event.UserLifecycleEvent;
 import org.idp.server.platform.audit.AuditLog;
 import org.idp.server.platform.log.LoggerWrapper;
 import org.idp.server.platform.security.SecurityEvent;
 import org.idp.server.platform.security.event.DefaultSecurityEventType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -34,6 +36,14 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
  * <p>Provides three ThreadPoolTaskExecutors for asynchronous processing of SecurityEvent,
  * UserLifecycleEvent, and AuditLog.
  *
+ * <h2>Virtual Threads</h2>
+ *
+ * <p>With {@code spring.threads.virtual.enabled=true} (which also moves Tomcat request handling to
+ * virtual threads) each executor is a {@link BoundedVirtualThreadTaskExecutor} instead. Tasks run
+ * on their own virtual thread, at most {@code max-pool-size} at a time, so the event handlers hold
+ * no more database connections than the pool did; up to {@code queue-capacity} more wait for a
+ * slot. Tasks beyond that go to the retry schedulers as before. {@code core-pool-size} is not used.
+ *
  * <h2>Graceful Shutdown</h2>
  *
  * <p>Each executor supports graceful shutdown:
@@ -61,7 +71,8 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
  *
  * <ol>
  *   <li>GracefulShutdownLifecycle: 5 second delay (waiting for Kubernetes endpoint removal)
- *   <li>ThreadPoolTaskExecutor: Wait for queued tasks to complete (up to 30 seconds)
+ *   <li>ThreadPoolTaskExecutor / BoundedVirtualThreadTaskExecutor: Wait for queued or running tasks
+ *       to complete (up to 30 seconds)
  *   <li>RetryScheduler @PreDestroy: Attempt to flush retry queue
  * </ol>
  *
@@ -74,134 +85,138 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 @EnableConfigurationProperties(AsyncProperties.class)
 public class AsyncConfig {
 
+  private static final int AWAIT_TERMINATION_SECONDS = 30;
+
   LoggerWrapper logger = LoggerWrapper.getLogger(AsyncConfig.class);
   SecurityEventRetryScheduler securityEventRetryScheduler;
   UserLifecycleEventRetryScheduler userLifecycleEventRetryScheduler;
   AuditLogRetryScheduler auditLogRetryScheduler;
   AsyncProperties asyncProperties;
+  boolean virtualThreads;
 
   public AsyncConfig(
       SecurityEventRetryScheduler securityEventRetryScheduler,
       UserLifecycleEventRetryScheduler userLifecycleEventRetryScheduler,
       AuditLogRetryScheduler auditLogRetryScheduler,
-      AsyncProperties asyncProperties) {
+      AsyncProperties asyncProperties,
+      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
     this.securityEventRetryScheduler = securityEventRetryScheduler;
     this.userLifecycleEventRetryScheduler = userLifecycleEventRetryScheduler;
     this.auditLogRetryScheduler = auditLogRetryScheduler;
     this.asyncProperties = asyncProperties;
+    this.virtualThreads = virtualThreads;
   }
 
   @Bean("securityEventTaskExecutor")
   public TaskExecutor securityEventTaskExecutor() {
-    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-    AsyncProperties.ExecutorProperties props = asyncProperties.getSecurityEvent();
-    executor.setCorePoolSize(props.getCorePoolSize());
-    executor.setMaxPoolSize(props.getMaxPoolSize());
-    executor.setQueueCapacity(props.getQueueCapacity());
-    executor.setThreadNamePrefix("SecurityEvent-Async-");
-    executor.setWaitForTasksToCompleteOnShutdown(true);
-    executor.setAwaitTerminationSeconds(30);
-
-    executor.setRejectedExecutionHandler(
-        (r, executorRef) -> {
-          if (r instanceof SecurityEventRunnable) {
-            SecurityEvent securityEvent = ((SecurityEventRunnable) r).getEvent();
-            DefaultSecurityEventType eventType =
-                DefaultSecurityEventType.findByValue(securityEvent.type().value());
-
-            if (eventType != null && eventType.isDiscardable()) {
-              logger.info(
-                  "security event discarded (low priority): id={}, type={}, pool=[active={}, queue={}, completed={}]",
-                  securityEvent.identifier().value(),
-                  securityEvent.type().value(),
-                  executor.getActiveCount(),
-                  executor.getThreadPoolExecutor().getQueue().size(),
-                  executor.getThreadPoolExecutor().getCompletedTaskCount());
-            } else {
-              logger.warn(
-                  "security event rejected, queuing for retry: id={}, type={}, pool=[active={}, queue={}, completed={}]",
-                  securityEvent.identifier().value(),
-                  securityEvent.type().value(),
-                  executor.getActiveCount(),
-                  executor.getThreadPoolExecutor().getQueue().size(),
-                  executor.getThreadPoolExecutor().getCompletedTaskCount());
-              securityEventRetryScheduler.enqueue(securityEvent);
-            }
-          } else {
-            logger.error(
-                "unknown runnable rejected from security event executor: {}",
-                r.getClass().getName());
-          }
-        });
-
-    executor.initialize();
-    return executor;
+    return createExecutor(
+        "SecurityEvent-Async-", asyncProperties.getSecurityEvent(), this::rejectSecurityEvent);
   }
 
   @Bean("userLifecycleEventTaskExecutor")
   public TaskExecutor userLifecycleEventTaskExecutor() {
-    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-    AsyncProperties.ExecutorProperties props = asyncProperties.getUserLifecycleEvent();
-    executor.setCorePoolSize(props.getCorePoolSize());
-    executor.setMaxPoolSize(props.getMaxPoolSize());
-    executor.setQueueCapacity(props.getQueueCapacity());
-    executor.setThreadNamePrefix("UserLifecycleEvent-Async-");
-    executor.setWaitForTasksToCompleteOnShutdown(true);
-    executor.setAwaitTerminationSeconds(30);
-
-    executor.setRejectedExecutionHandler(
-        (r, executorRef) -> {
-          if (r instanceof UserLifecycleEventRunnable) {
-            UserLifecycleEvent userLifecycleEvent = ((UserLifecycleEventRunnable) r).getEvent();
-            logger.warn(
-                "user lifecycle event rejected, queuing for retry: type={}, user={}, pool=[active={}, queue={}, completed={}]",
-                userLifecycleEvent.lifecycleType().name(),
-                userLifecycleEvent.user().sub(),
-                executor.getActiveCount(),
-                executor.getThreadPoolExecutor().getQueue().size(),
-                executor.getThreadPoolExecutor().getCompletedTaskCount());
-            userLifecycleEventRetryScheduler.enqueue(userLifecycleEvent);
-          } else {
-            logger.error(
-                "unknown runnable rejected from user lifecycle event executor: {}",
-                r.getClass().getName());
-          }
-        });
-
-    executor.initialize();
-    return executor;
+    return createExecutor(
+        "UserLifecycleEvent-Async-",
+        asyncProperties.getUserLifecycleEvent(),
+        this::rejectUserLifecycleEvent);
   }
 
   @Bean("auditLogTaskExecutor")
   public TaskExecutor auditLogTaskExecutor() {
+    return createExecutor("AuditLog-Async-", asyncProperties.getAuditLog(), this::rejectAuditLog);
+  }
+
+  /**
+   * Creates a bounded pool, or a {@link BoundedVirtualThreadTaskExecutor} when virtual threads are
+   * enabled. {@code rejectedHandler} receives the rejected task and a description of the executor
+   * state for logging.
+   */
+  private TaskExecutor createExecutor(
+      String threadNamePrefix,
+      AsyncProperties.ExecutorProperties props,
+      BiConsumer<Runnable, String> rejectedHandler) {
+    if (virtualThreads) {
+      return new BoundedVirtualThreadTaskExecutor(
+          threadNamePrefix,
+          props.getMaxPoolSize(),
+          props.getQueueCapacity(),
+          AWAIT_TERMINATION_SECONDS * 1000L,
+          rejectedHandler);
+    }
+
     ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-    AsyncProperties.ExecutorProperties props = asyncProperties.getAuditLog();
     executor.setCorePoolSize(props.getCorePoolSize());
     executor.setMaxPoolSize(props.getMaxPoolSize());
     executor.setQueueCapacity(props.getQueueCapacity());
-    executor.setThreadNamePrefix("AuditLog-Async-");
+    executor.setThreadNamePrefix(threadNamePrefix);
     executor.setWaitForTasksToCompleteOnShutdown(true);
-    executor.setAwaitTerminationSeconds(30);
-
+    executor.setAwaitTerminationSeconds(AWAIT_TERMINATION_SECONDS);
     executor.setRejectedExecutionHandler(
-        (r, executorRef) -> {
-          if (r instanceof AuditLogRunnable) {
-            AuditLog auditLog = ((AuditLogRunnable) r).getAuditLog();
-            logger.warn(
-                "audit log rejected, queuing for retry: id={}, type={}, pool=[active={}, queue={}, completed={}]",
-                auditLog.id(),
-                auditLog.type(),
-                executor.getActiveCount(),
-                executor.getThreadPoolExecutor().getQueue().size(),
-                executor.getThreadPoolExecutor().getCompletedTaskCount());
-            auditLogRetryScheduler.enqueue(auditLog);
-          } else {
-            logger.error(
-                "unknown runnable rejected from audit log executor: {}", r.getClass().getName());
-          }
-        });
-
+        (r, executorRef) ->
+            rejectedHandler.accept(
+                r,
+                String.format(
+                    "active=%d, queue=%d, completed=%d",
+                    executor.getActiveCount(),
+                    executor.getThreadPoolExecutor().getQueue().size(),
+                    executor.getThreadPoolExecutor().getCompletedTaskCount())));
     executor.initialize();
     return executor;
   }
+
+  private void rejectSecurityEvent(Runnable r, String executorState) {
+    if (r instanceof SecurityEventRunnable) {
+      SecurityEvent securityEvent = ((SecurityEventRunnable) r).getEvent();
+      DefaultSecurityEventType eventType =
+          DefaultSecurityEventType.findByValue(securityEvent.type().value());
+
+      if (eventType != null && eventType.isDiscardable()) {
+        logger.info(
+            "security event discarded (low priority): id={}, type={}, pool=[{}]",
+            securityEvent.identifier().value(),
+            securityEvent.type().value(),
+            executorState);
+      } else {
+        logger.warn(
+            "security event rejected, queuing for retry: id={}, type={}, pool=[{}]",
+            securityEvent.identifier().value(),
+            securityEvent.type().value(),
+            executorState);
+        securityEventRetryScheduler.enqueue(securityEvent);
+      }
+    } else {
+      logger.error(
+          "unknown runnable rejected from security event executor: {}", r.getClass().getName());
+    }
+  }
+
+  private void rejectUserLifecycleEvent(Runnable r, String executorState) {
+    if (r instanceof UserLifecycleEventRunnable) {
+      UserLifecycleEvent userLifecycleEvent = ((UserLifecycleEventRunnable) r).getEvent();
+      logger.warn(
+          "user lifecycle event rejected, queuing for retry: type={}, user={}, pool=[{}]",
+          userLifecycleEvent.lifecycleType().name(),
+          userLifecycleEvent.user().sub(),
+          executorState);
+      userLifecycleEventRetryScheduler.enqueue(userLifecycleEvent);
+    } else {
+      logger.error(
+          "unknown runnable rejected from user lifecycle event executor: {}",
+          r.getClass().getName());
+    }
+  }
+
+  private void rejectAuditLog(Runnable r, String executorState) {
+    if (r instanceof AuditLogRunnable) {
+      AuditLog auditLog = ((AuditLogRunnable) r).getAuditLog();
+      logger.warn(
+          "audit log rejected, queuing for retry: id={}, type={}, pool=[{}]",
+          auditLog.id(),
+          auditLog.type(),
+          executorState);
+      auditLogRetryScheduler.enqueue(auditLog);
+    } else {
+      logger.error("unknown runnable rejected from audit log executor: {}", r.getClass().getName());
+    }
+  }
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.adapters.springboot;
+
+import java.util.concurrent.Semaphore;
+import java.util.function.BiConsumer;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+
+/**
+ * Runs each task on a new virtual thread, with at most {@code maxConcurrency} tasks running and at
+ * most {@code queueCapacity} more waiting.
+ *
+ * <p>Stands in for a {@code ThreadPoolTaskExecutor} when virtual threads are enabled. A task beyond
+ * {@code maxConcurrency} parks its virtual thread until a running task finishes, which is what a
+ * pool's queue does, so the event handlers never hold more database connections than the pool
+ * would. A task that arrives when {@code maxConcurrency + queueCapacity} are already admitted is
+ * handed to {@code rejectedHandler} right away instead of blocking the publishing request thread,
+ * matching the rejection behaviour of the bounded pool. {@link #close()} waits up to {@code
+ * terminationTimeoutMillis} for running and waiting tasks.
+ *
+ * <p>{@code rejectedHandler} receives the rejected task and a description of the executor state for
+ * logging.
+ */
+public class BoundedVirtualThreadTaskExecutor implements TaskExecutor, AutoCloseable {
+
+  SimpleAsyncTaskExecutor delegate;
+  int maxConcurrency;
+  int queueCapacity;
+  Semaphore admitted;
+  Semaphore running;
+  BiConsumer<Runnable, String> rejectedHandler;
+
+  public BoundedVirtualThreadTaskExecutor(
+      String threadNamePrefix,
+      int maxConcurrency,
+      int queueCapacity,
+      long terminationTimeoutMillis,
+      BiConsumer<Runnable, String> rejectedHandler) {
+    this.delegate = new SimpleAsyncTaskExecutor(threadNamePrefix);
+    this.delegate.setVirtualThreads(true);
+    this.delegate.setTaskTerminationTimeout(terminationTimeoutMillis);
+    this.maxConcurrency = maxConcurrency;
+    this.queueCapacity = queueCapacity;
+    this.admitted = new Semaphore(maxConcurrency + queueCapacity);
+    this.running = new Semaphore(maxConcurrency, true);
+    this.rejectedHandler = rejectedHandler;
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    if (!admitted.tryAcquire()) {
+      reject(task);
+      return;
+    }
+    try {
+      delegate.execute(() -> run(task));
+    } catch (RuntimeException e) {
+      admitted.release();
+      reject(task);
+    }
+  }
+
+  private void run(Runnable task) {
+    try {
+      running.acquire();
+    } catch (InterruptedException e) {
+      admitted.release();
+      Thread.currentThread().interrupt();
+      reject(task);
+      return;
+    }
+    try {
+      task.run();
+    } finally {
+      running.release();
+      admitted.release();
+    }
+  }
+
+  private void reject(Runnable task) {
+    rejectedHandler.accept(
+        task, String.format("virtual, active=%d, queue=%d", activeCount(), queueSize()));
+  }
+
+  public int maxConcurrency() {
+    return maxConcurrency;
+  }
+
+  public int queueCapacity() {
+    return queueCapacity;
+  }
+
+  /** Number of tasks currently running. */
+  public int activeCount() {
+    return maxConcurrency - running.availablePermits();
+  }
+
+  /** Number of admitted tasks waiting for one of the {@code maxConcurrency} slots. */
+  public int queueSize() {
+    return Math.max(
+        0, maxConcurrency + queueCapacity - admitted.availablePermits() - activeCount());
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+}
@@ -17,6 +17,7 @@
 package org.idp.server.adapters.springboot;
 
 import java.util.Map;
+import java.util.Set;
 import org.idp.server.adapters.springboot.application.delegation.PasswordEncoder;
 import org.idp.server.adapters.springboot.application.delegation.PasswordVerification;
 import org.idp.server.adapters.springboot.application.event.AuditLogPublisherService;
@@ -26,21 +27,53 @@ import org.idp.server.adapters.springboot.application.property.AppDatabaseConfig
 import org.idp.server.adapters.springboot.application.property.ControlPlaneDatabaseConfigProperties;
 import org.idp.server.adapters.springboot.application.session.AuthSessionCookieService;
 import org.idp.server.adapters.springboot.application.session.SessionCookieService;
+import org.idp.server.core.adapters.datasource.cache.JedisCacheInvalidationBroadcaster;
 import org.idp.server.core.adapters.datasource.cache.JedisCacheStore;
+import org.idp.server.core.adapters.datasource.cache.NearCacheStore;
 import org.idp.server.core.adapters.datasource.config.HikariConnectionProvider;
 import org.idp.server.core.adapters.datasource.session.InMemorySessionStore;
 import org.idp.server.core.adapters.datasource.session.JedisSessionStore;
+import org.idp.server.core.openid.authentication.repository.AuthenticationTransactionStoreType;
+import org.idp.server.core.openid.identity.repository.UserSearchMode;
+import org.idp.server.core.openid.oauth.configuration.AuthorizationServerConfiguration;
+import org.idp.server.core.openid.oauth.configuration.client.ClientConfiguration;
+import org.idp.server.core.openid.oauth.repository.AuthorizationFlowStoreType;
+import org.idp.server.platform.audit.AuditLogPersistenceConfig;
+import org.idp.server.platform.audit.AuditLogPersistenceMode;
 import org.idp.server.platform.datasource.ApplicationDatabaseTypeProvider;
+import org.idp.server.platform.datasource.CacheReplicationPositionStore;
 import org.idp.server.platform.datasource.ConfigurableApplicationDatabaseTypeProvider;
 import org.idp.server.platform.datasource.DatabaseConfig;
 import org.idp.server.platform.datasource.DatabaseType;
 import org.idp.server.platform.datasource.DbConfig;
+import org.idp.server.platform.datasource.LocalReplicationPositionStore;
+import org.idp.server.platform.datasource.ReplicaConsistency;
+import org.idp.server.platform.datasource.ReplicaConsistencyMode;
+import org.idp.server.platform.datasource.ReplicationPositionStore;
+import org.idp.server.platform.datasource.TenantSettingMode;
+import org.idp.server.platform.datasource.TransactionManager;
 import org.idp.server.platform.datasource.cache.CacheConfiguration;
+import org.idp.server.platform.datasource.cache.CacheSerializerType;
 import org.idp.server.platform.datasource.cache.CacheStore;
+import org.idp.server.platform.datasource.cache.NearCacheConfiguration;
 import org.idp.server.platform.datasource.cache.NoOperationCacheStore;
 import org.idp.server.platform.datasource.session.SessionConfiguration;
 import org.idp.server.platform.datasource.session.SessionStore;
 import org.idp.server.platform.date.TimeConfig;
+import org.idp.server.platform.multi_tenancy.tenant.Tenant;
+import org.idp.server.platform.outbox.EventOutboxConfig;
+import org.idp.server.platform.outbox.EventOutboxMode;
+import org.idp.server.platform.security.handler.SecurityEventHookDispatchConfig;
+import org.idp.server.platform.security.handler.SecurityEventHookDispatchMode;
+import org.idp.server.platform.security.log.SecurityEventPersistenceConfig;
+import org.idp.server.platform.security.log.SecurityEventPersistenceMode;
+import org.idp.server.platform.statistics.ActiveUserFilter;
+import org.idp.server.platform.statistics.ActiveUserFilterMode;
+import org.idp.server.platform.statistics.CacheActiveUserFilter;
+import org.idp.server.platform.statistics.LocalActiveUserFilter;
+import org.idp.server.platform.statistics.NoOperationActiveUserFilter;
+import org.idp.server.platform.statistics.StatisticsAggregationConfig;
+import org.idp.server.platform.statistics.StatisticsAggregationMode;
 import org.idp.server.usecases.IdpServerApplication;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -96,6 +129,27 @@ public class IdPServerConfiguration {
   @Value("${idp.cache.redis.minIdle}")
   int minIdle;
 
+  @Value("${idp.cache.serializer:json}")
+  String cacheSerializer;
+
+  @Value("${idp.cache.compressionThresholdBytes:8192}")
+  int cacheCompressionThresholdBytes;
+
+  @Value("${idp.cache.near.enabled:false}")
+  boolean nearCacheEnabled;
+
+  @Value("${idp.cache.near.maxEntries:10000}")
+  int nearCacheMaxEntries;
+
+  @Value("${idp.cache.near.maxWeightBytes:67108864}")
+  long nearCacheMaxWeightBytes;
+
+  @Value("${idp.cache.near.timeToLiveSecond:30}")
+  int nearCacheTimeToLiveSecond;
+
+  @Value("${idp.cache.near.invalidationChannel:idp:cache:invalidation}")
+  String nearCacheInvalidationChannel;
+
   @Value("${idp.session.enabled}")
   boolean sessionEnabled;
 
@@ -126,10 +180,100 @@ public class IdPServerConfiguration {
   @Value("${idp.time.zone}")
   String timeZone;
 
+  @Value("${idp.datasource.tenant-setting-mode:eager}")
+  String tenantSettingMode;
+
+  @Value("${idp.datasource.replica-consistency.mode:none}")
+  String replicaConsistencyMode;
+
+  @Value("${idp.datasource.replica-consistency.window-seconds:10}")
+  int replicaConsistencyWindowSeconds;
+
+  @Value("${idp.security-event.persistence.mode:direct}")
+  String securityEventPersistenceMode;
+
+  @Value("${idp.security-event.persistence.batch-size:500}")
+  int securityEventPersistenceBatchSize;
+
+  @Value("${idp.security-event.persistence.flush-interval-millis:200}")
+  long securityEventPersistenceFlushIntervalMillis;
+
+  @Value("${idp.security-event.persistence.queue-capacity:10000}")
+  int securityEventPersistenceQueueCapacity;
+
+  @Value("${idp.security-event.persistence.offer-timeout-millis:50}")
+  long securityEventPersistenceOfferTimeoutMillis;
+
+  @Value("${idp.security-event.hook.dispatch.mode:sequential}")
+  String securityEventHookDispatchMode;
+
+  @Value("${idp.security-event.hook.dispatch.timeout-millis:3000}")
+  long securityEventHookDispatchTimeoutMillis;
+
+  @Value("${idp.security-event.hook.dispatch.max-concurrency-per-type:50}")
+  int securityEventHookDispatchMaxConcurrencyPerType;
+
+  @Value("${idp.audit-log.persistence.mode:direct}")
+  String auditLogPersistenceMode;
+
+  @Value("${idp.audit-log.persistence.batch-size:500}")
+  int auditLogPersistenceBatchSize;
+
+  @Value("${idp.audit-log.persistence.flush-interval-millis:200}")
+  long auditLogPersistenceFlushIntervalMillis;
+
+  @Value("${idp.audit-log.persistence.queue-capacity:10000}")
+  int auditLogPersistenceQueueCapacity;
+
+  @Value("${idp.audit-log.persistence.offer-timeout-millis:50}")
+  long auditLogPersistenceOfferTimeoutMillis;
+
+  @Value("${idp.statistics.aggregation.mode:direct}")
+  String statisticsAggregationMode;
+
+  @Value("${idp.statistics.aggregation.flush-interval-millis:5000}")
+  long statisticsAggregationFlushIntervalMillis;
+
+  @Value("${idp.statistics.aggregation.max-pending-keys:100000}")
+  int statisticsAggregationMaxPendingKeys;
+
+  @Value("${idp.event-outbox.mode:direct}")
+  String eventOutboxMode;
+
+  @Value("${idp.event-outbox.poll-interval-millis:1000}")
+  long eventOutboxPollIntervalMillis;
+
+  @Value("${idp.event-outbox.batch-size:100}")
+  int eventOutboxBatchSize;
+
+  @Value("${idp.event-outbox.lease-seconds:60}")
+  int eventOutboxLeaseSeconds;
+
+  @Value("${idp.event-outbox.max-attempts:10}")
+  int eventOutboxMaxAttempts;
+
+  @Value("${idp.event-outbox.concurrency:8}")
+  int eventOutboxConcurrency;
+
+  @Value("${idp.statistics.active-user-filter.mode:none}")
+  String activeUserFilterMode;
+
+  @Value("${idp.statistics.active-user-filter.max-local-members:1000000}")
+  long activeUserFilterMaxLocalMembers;
+
+  @Value("${idp.oauth.flow-store:database}")
+  String oauthFlowStore;
+
+  @Value("${idp.authentication.transaction-store:database}")
+  String authenticationTransactionStore;
+
+  @Value("${idp.user.search-mode:pattern}")
+  String userSearchMode;
+
   @Autowired ControlPlaneDatabaseConfigProperties controlPlaneDatabaseConfigProperties;
   @Autowired AppDatabaseConfigProperties appDatabaseConfigProperties;
 
-  @Bean
+  @Bean(destroyMethod = "shutdown")
   public IdpServerApplication idpServerApplication(
       SessionCookieService sessionCookieService,
       AuthSessionCookieService authSessionCookieService,
@@ -141,14 +285,48 @@ public class IdPServerConfiguration {
         new ConfigurableApplicationDatabaseTypeProvider(databaseType);
 
     HikariConnectionProvider dbConnectionProvider = createHikariConnectionProvider();
+    TransactionManager.configure(TenantSettingMode.of(tenantSettingMode));
 
     CacheStore cacheStore = createCacheStore();
     SessionStore sessionStore = createSessionStore();
+    TransactionManager.configure(createReplicaConsistency(cacheStore));
 
     BCryptPasswordEncoder bCryptPasswordEncoder = new BCryptPasswordEncoder();
     PasswordEncoder passwordEncoder = new PasswordEncoder(bCryptPasswordEncoder);
     PasswordVerification passwordVerification = new PasswordVerification(bCryptPasswordEncoder);
     TimeConfig timeConfig = new TimeConfig(timeZone);
+    SecurityEventPersistenceConfig securityEventPersistenceConfig =
+        new SecurityEventPersistenceConfig(
+            SecurityEventPersistenceMode.of(securityEventPersistenceMode),
+            securityEventPersistenceBatchSize,
+            securityEventPersistenceFlushIntervalMillis,
+            securityEventPersistenceQueueCapacity,
+            securityEventPersistenceOfferTimeoutMillis);
+    SecurityEventHookDispatchConfig securityEventHookDispatchConfig =
+        new SecurityEventHookDispatchConfig(
+            SecurityEventHookDispatchMode.of(securityEventHookDispatchMode),
+            securityEventHookDispatchTimeoutMillis,
+            securityEventHookDispatchMaxConcurrencyPerType);
+    AuditLogPersistenceConfig auditLogPersistenceConfig =
+        new AuditLogPersistenceConfig(
+            AuditLogPersistenceMode.of(auditLogPersistenceMode),
+            auditLogPersistenceBatchSize,
+            auditLogPersistenceFlushIntervalMillis,
+            auditLogPersistenceQueueCapacity,
+            auditLogPersistenceOfferTimeoutMillis);
+    StatisticsAggregationConfig statisticsAggregationConfig =
+        new StatisticsAggregationConfig(
+            StatisticsAggregationMode.of(statisticsAggregationMode),
+            statisticsAggregationFlushIntervalMillis,
+            statisticsAggregationMaxPendingKeys);
+    EventOutboxConfig eventOutboxConfig =
+        new EventOutboxConfig(
+            EventOutboxMode.of(eventOutboxMode),
+            eventOutboxPollIntervalMillis,
+            eventOutboxBatchSize,
+            eventOutboxLeaseSeconds,
+            eventOutboxMaxAttempts,
+            eventOutboxConcurrency);
 
     return new IdpServerApplication(
         adminTenantId,
@@ -165,7 +343,16 @@ public class IdPServerConfiguration {
         eventPublisherService,
         auditLogPublisher,
         userLifecycleEventPublisherService,
-        timeConfig);
+        timeConfig,
+        securityEventPersistenceConfig,
+        securityEventHookDispatchConfig,
+        auditLogPersistenceConfig,
+        statisticsAggregationConfig,
+        eventOutboxConfig,
+        createActiveUserFilter(cacheStore),
+        AuthorizationFlowStoreType.of(oauthFlowStore),
+        AuthenticationTransactionStoreType.of(authenticationTransactionStore),
+        UserSearchMode.of(userSearchMode));
   }
 
   private HikariConnectionProvider createHikariConnectionProvider() {
@@ -194,6 +381,23 @@ public class IdPServerConfiguration {
     return new HikariConnectionProvider(controlPlaneDatabaseConfig, appDatabaseConfig);
   }
 
+  private ReplicaConsistency createReplicaConsistency(CacheStore cacheStore) {
+    ReplicaConsistencyMode mode = ReplicaConsistencyMode.of(replicaConsistencyMode);
+    ReplicationPositionStore store =
+        mode.isShared()
+            ? new CacheReplicationPositionStore(cacheStore)
+            : new LocalReplicationPositionStore();
+    return new ReplicaConsistency(mode, store, replicaConsistencyWindowSeconds);
+  }
+
+  private ActiveUserFilter createActiveUserFilter(CacheStore cacheStore) {
+    return switch (ActiveUserFilterMode.of(activeUserFilterMode)) {
+      case NONE -> new NoOperationActiveUserFilter();
+      case LOCAL -> new LocalActiveUserFilter(activeUserFilterMaxLocalMembers);
+      case SHARED -> new CacheActiveUserFilter(cacheStore);
+    };
+  }
+
   private CacheStore createCacheStore() {
     if (enabledCache) {
       CacheConfiguration cacheConfiguration =
@@ -206,13 +410,37 @@ public class IdPServerConfiguration {
               maxTotal,
               maxIdle,
               minIdle,
-              timeToLiveSecond);
-      return new JedisCacheStore(cacheConfiguration);
+              timeToLiveSecond,
+              CacheSerializerType.of(cacheSerializer),
+              cacheCompressionThresholdBytes);
+      JedisCacheStore jedisCacheStore = new JedisCacheStore(cacheConfiguration);
+      if (nearCacheEnabled) {
+        return createNearCacheStore(cacheConfiguration, jedisCacheStore);
+      }
+      return jedisCacheStore;
     }
 
     return new NoOperationCacheStore();
   }
 
+  private CacheStore createNearCacheStore(
+      CacheConfiguration cacheConfiguration, JedisCacheStore jedisCacheStore) {
+    NearCacheConfiguration nearCacheConfiguration =
+        new NearCacheConfiguration(
+            nearCacheEnabled,
+            nearCacheMaxEntries,
+            nearCacheMaxWeightBytes,
+            nearCacheTimeToLiveSecond,
+            nearCacheInvalidationChannel);
+    JedisCacheInvalidationBroadcaster broadcaster =
+        new JedisCacheInvalidationBroadcaster(cacheConfiguration, nearCacheInvalidationChannel);
+    // Read-mostly configuration entities only. Tokens and counters stay on the shared store.
+    Set<Class<?>> nearCacheableTypes =
+        Set.of(Tenant.class, AuthorizationServerConfiguration.class, ClientConfiguration.class);
+    return new NearCacheStore(
+        jedisCacheStore, broadcaster, nearCacheConfiguration, nearCacheableTypes);
+  }
+
   private SessionStore createSessionStore() {
     if (sessionEnabled) {
       SessionConfiguration sessionConfiguration =
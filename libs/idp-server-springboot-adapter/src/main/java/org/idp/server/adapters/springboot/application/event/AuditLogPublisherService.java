@@ -18,26 +18,39 @@ package org.idp.server.adapters.springboot.application.event;
 
 import org.idp.server.platform.audit.AuditLog;
 import org.idp.server.platform.audit.AuditLogPublisher;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+import org.idp.server.platform.outbox.OutboxEventType;
+import org.idp.server.usecases.IdpServerApplication;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
 /**
  * Spring-based implementation of AuditLogPublisher.
  *
  * <p>This implementation uses Spring's ApplicationEventPublisher to publish audit log events for
- * asynchronous processing by AuditLogEventListener.
+ * asynchronous processing by AuditLogEventListener. When the event outbox is enabled and the caller
+ * is in a write transaction, the audit log is stored in the outbox instead.
  */
 @Component
 public class AuditLogPublisherService implements AuditLogPublisher {
 
   private final ApplicationEventPublisher eventPublisher;
+  private final IdpServerApplication idpServerApplication;
 
-  public AuditLogPublisherService(ApplicationEventPublisher eventPublisher) {
+  public AuditLogPublisherService(
+      ApplicationEventPublisher eventPublisher, @Lazy IdpServerApplication idpServerApplication) {
     this.eventPublisher = eventPublisher;
+    this.idpServerApplication = idpServerApplication;
   }
 
   @Override
   public void publish(AuditLog auditLog) {
+    if (idpServerApplication
+        .eventOutbox()
+        .enqueue(OutboxEventType.AUDIT_LOG, new TenantIdentifier(auditLog.tenantId()), auditLog)) {
+      return;
+    }
     eventPublisher.publishEvent(auditLog);
   }
 }
@@ -16,6 +16,7 @@
 
 package org.idp.server.adapters.springboot.application.event;
 
+import org.idp.server.platform.outbox.OutboxEventType;
 import org.idp.server.platform.security.SecurityEvent;
 import org.idp.server.platform.security.SecurityEventPublisher;
 import org.idp.server.usecases.IdpServerApplication;
@@ -29,9 +30,10 @@ import org.springframework.stereotype.Service;
  * <p>Provides two publishing strategies:
  *
  * <ul>
- *   <li>{@link #publish(SecurityEvent)} — delegates to Spring's {@link ApplicationEventPublisher},
- *       which delivers the event to an {@code @Async @EventListener} on a separate thread
- *       (fire-and-forget).
+ *   <li>{@link #publish(SecurityEvent)} — stores the event in the event outbox when it is enabled
+ *       and the caller is in a write transaction; otherwise delegates to Spring's {@link
+ *       ApplicationEventPublisher}, which delivers the event to an {@code @Async @EventListener} on
+ *       a separate thread (fire-and-forget).
  *   <li>{@link #publishSync(SecurityEvent)} — invokes {@code SecurityEventApi.handle()} directly
  *       via {@link IdpServerApplication#rawSecurityEventApi()}, reusing the caller's thread and
  *       transaction. The raw (non-proxied) API is used to avoid a "Transaction already started"
@@ -40,7 +42,7 @@ import org.springframework.stereotype.Service;
  *
  * <p>{@code IdpServerApplication} is injected with {@link Lazy @Lazy} to break a circular
  * dependency: {@code IdpServerApplication} depends on this service at construction time, while this
- * service depends on {@code IdpServerApplication} for synchronous dispatch.
+ * service depends on {@code IdpServerApplication} for synchronous dispatch and the event outbox.
  */
 @Service
 public class SecurityEventPublisherService implements SecurityEventPublisher {
@@ -55,9 +57,17 @@ public class SecurityEventPublisherService implements SecurityEventPublisher {
     this.idpServerApplication = idpServerApplication;
   }
 
-  /** {@inheritDoc} Delegates to Spring's {@code @Async @EventListener} (fire-and-forget). */
+  /**
+   * {@inheritDoc} Stored in the event outbox if possible, otherwise delegates to Spring's
+   * {@code @Async @EventListener} (fire-and-forget).
+   */
   @Override
   public void publish(SecurityEvent securityEvent) {
+    if (idpServerApplication
+        .eventOutbox()
+        .enqueue(OutboxEventType.SECURITY_EVENT, securityEvent.tenantIdentifier(), securityEvent)) {
+      return;
+    }
     applicationEventPublisher.publishEvent(securityEvent);
   }
 
@@ -18,20 +18,36 @@ package org.idp.server.adapters.springboot.application.event;
 
 import org.idp.server.core.openid.identity.event.UserLifecycleEvent;
 import org.idp.server.core.openid.identity.event.UserLifecycleEventPublisher;
+import org.idp.server.core.openid.identity.event.UserLifecycleOutboxEvent;
+import org.idp.server.platform.outbox.OutboxEventType;
+import org.idp.server.usecases.IdpServerApplication;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 @Service
 public class UserLifecycleEventPublisherService implements UserLifecycleEventPublisher {
 
   ApplicationEventPublisher applicationEventPublisher;
+  IdpServerApplication idpServerApplication;
 
-  public UserLifecycleEventPublisherService(ApplicationEventPublisher applicationEventPublisher) {
+  public UserLifecycleEventPublisherService(
+      ApplicationEventPublisher applicationEventPublisher,
+      @Lazy IdpServerApplication idpServerApplication) {
     this.applicationEventPublisher = applicationEventPublisher;
+    this.idpServerApplication = idpServerApplication;
   }
 
   @Override
   public void publish(UserLifecycleEvent userLifecycleEvent) {
+    if (idpServerApplication
+        .eventOutbox()
+        .enqueue(
+            OutboxEventType.USER_LIFECYCLE_EVENT,
+            userLifecycleEvent.tenantIdentifier(),
+            UserLifecycleOutboxEvent.from(userLifecycleEvent))) {
+      return;
+    }
     applicationEventPublisher.publishEvent(userLifecycleEvent);
   }
 }
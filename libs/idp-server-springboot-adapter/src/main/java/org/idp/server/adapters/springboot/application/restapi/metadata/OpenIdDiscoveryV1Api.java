@@ -17,6 +17,7 @@
 package org.idp.server.adapters.springboot.application.restapi.metadata;
 
 import org.idp.server.adapters.springboot.application.restapi.SecurityHeaderConfigurable;
+import org.idp.server.core.openid.discovery.DiscoveryDocument;
 import org.idp.server.core.openid.discovery.OidcMetaDataApi;
 import org.idp.server.core.openid.discovery.handler.io.JwksRequestResponse;
 import org.idp.server.core.openid.discovery.handler.io.ServerConfigurationRequestResponse;
@@ -28,6 +29,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -42,7 +44,9 @@ public class OpenIdDiscoveryV1Api implements SecurityHeaderConfigurable {
   }
 
   @GetMapping("{tenant-id}/.well-known/openid-configuration")
-  public ResponseEntity<?> getConfiguration(@PathVariable("tenant-id") TenantIdentifier tenantId) {
+  public ResponseEntity<?> getConfiguration(
+      @PathVariable("tenant-id") TenantIdentifier tenantId,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
     ServerConfigurationRequestResponse response = oidcMetaDataApi.getConfiguration(tenantId);
 
@@ -50,12 +54,18 @@ public class OpenIdDiscoveryV1Api implements SecurityHeaderConfigurable {
     headers.setCacheControl("public, max-age=3600");
     headers.setContentType(MediaType.APPLICATION_JSON);
 
+    if (response.hasDocument()) {
+      return documentResponse(response.document(), ifNoneMatch, headers);
+    }
+
     return new ResponseEntity<>(
         response.content(), headers, HttpStatus.valueOf(response.statusCode()));
   }
 
   @GetMapping("{tenant-id}/v1/jwks")
-  public ResponseEntity<?> getJwks(@PathVariable("tenant-id") TenantIdentifier tenantId) {
+  public ResponseEntity<?> getJwks(
+      @PathVariable("tenant-id") TenantIdentifier tenantId,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
     JwksRequestResponse response = oidcMetaDataApi.getJwks(tenantId);
 
@@ -63,7 +73,20 @@ public class OpenIdDiscoveryV1Api implements SecurityHeaderConfigurable {
     headers.setCacheControl("public, max-age=3600");
     headers.setContentType(MediaType.APPLICATION_JSON);
 
+    if (response.hasDocument()) {
+      return documentResponse(response.document(), ifNoneMatch, headers);
+    }
+
     return new ResponseEntity<>(
         response.content(), headers, HttpStatus.valueOf(response.statusCode()));
   }
+
+  private ResponseEntity<?> documentResponse(
+      DiscoveryDocument document, String ifNoneMatch, HttpHeaders headers) {
+    headers.setETag(document.etag());
+    if (document.matches(ifNoneMatch)) {
+      return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+    }
+    return new ResponseEntity<>(document.body(), headers, HttpStatus.OK);
+  }
 }
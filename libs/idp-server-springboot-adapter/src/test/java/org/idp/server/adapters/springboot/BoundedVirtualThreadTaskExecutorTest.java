@@ -0,0 +1,102 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.adapters.springboot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class BoundedVirtualThreadTaskExecutorTest {
+
+  @Test
+  void runsAtMostMaxConcurrencyTasks_andQueuesTheRest() throws Exception {
+    List<Runnable> rejected = new CopyOnWriteArrayList<>();
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    AtomicInteger completed = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    BoundedVirtualThreadTaskExecutor executor =
+        new BoundedVirtualThreadTaskExecutor(
+            "test-", 2, 3, 5_000, (task, state) -> rejected.add(task));
+
+    for (int i = 0; i < 5; i++) {
+      executor.execute(
+          () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+              release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            completed.incrementAndGet();
+          });
+    }
+    awaitActiveCount(executor, 2);
+
+    assertEquals(2, executor.activeCount());
+    assertEquals(3, executor.queueSize());
+    assertTrue(rejected.isEmpty());
+
+    release.countDown();
+    executor.close();
+
+    assertEquals(2, maxRunning.get());
+    assertEquals(5, completed.get());
+  }
+
+  @Test
+  void rejectsTasksBeyondMaxConcurrencyPlusQueueCapacity() throws Exception {
+    List<String> rejectedStates = new CopyOnWriteArrayList<>();
+    CountDownLatch release = new CountDownLatch(1);
+    BoundedVirtualThreadTaskExecutor executor =
+        new BoundedVirtualThreadTaskExecutor(
+            "test-", 1, 1, 5_000, (task, state) -> rejectedStates.add(state));
+    Runnable blocking =
+        () -> {
+          try {
+            release.await(5, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        };
+
+    executor.execute(blocking);
+    executor.execute(blocking);
+    executor.execute(blocking);
+    awaitActiveCount(executor, 1);
+
+    assertEquals(1, rejectedStates.size());
+    assertTrue(rejectedStates.getFirst().startsWith("virtual, active="));
+
+    release.countDown();
+    executor.close();
+  }
+
+  private void awaitActiveCount(BoundedVirtualThreadTaskExecutor executor, int expected)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (executor.activeCount() < expected && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.usecases;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.idp.server.core.openid.identity.User;
+import org.idp.server.platform.datasource.OperationType;
+import org.idp.server.platform.datasource.Transaction;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+
+/**
+ * Per-method metadata used by the entry service proxies, computed once from reflection.
+ *
+ * <p>Transaction attributes are resolved with the same precedence as before: a method is
+ * transactional when the interface method or the implementation class is annotated, and the
+ * read-only flag comes from the implementation method, falling back to the implementation class.
+ *
+ * <p>Argument indexes are narrowed by the declared parameter types. A parameter is a candidate when
+ * a runtime value of the looked-up type can be passed to it, so the per-call {@code instanceof}
+ * checks give the same result as scanning every argument.
+ */
+class EntryServiceInvocationPlan {
+
+  final String serviceName;
+  final String methodName;
+  final boolean transactional;
+  final OperationType operationType;
+  final int[] tenantIdentifierIndexes;
+  final int[] userIndexes;
+  final int[] clientIdIndexes;
+
+  private EntryServiceInvocationPlan(
+      String serviceName,
+      String methodName,
+      boolean transactional,
+      OperationType operationType,
+      int[] tenantIdentifierIndexes,
+      int[] userIndexes,
+      int[] clientIdIndexes) {
+    this.serviceName = serviceName;
+    this.methodName = methodName;
+    this.transactional = transactional;
+    this.operationType = operationType;
+    this.tenantIdentifierIndexes = tenantIdentifierIndexes;
+    this.userIndexes = userIndexes;
+    this.clientIdIndexes = clientIdIndexes;
+  }
+
+  static EntryServiceInvocationPlan create(Class<?> targetClass, Method method) {
+    Transaction classTransaction = targetClass.getAnnotation(Transaction.class);
+    boolean transactional =
+        method.isAnnotationPresent(Transaction.class) || classTransaction != null;
+
+    Transaction transaction = null;
+    try {
+      Method implMethod = targetClass.getMethod(method.getName(), method.getParameterTypes());
+      transaction = implMethod.getAnnotation(Transaction.class);
+    } catch (NoSuchMethodException ignored) {
+      // Fall back to the class level annotation.
+    }
+    if (transaction == null) {
+      transaction = classTransaction;
+    }
+    boolean readOnly = transaction != null && transaction.readOnly();
+
+    Class<?>[] parameterTypes = method.getParameterTypes();
+    return new EntryServiceInvocationPlan(
+        targetClass.getSimpleName(),
+        method.getName(),
+        transactional,
+        readOnly ? OperationType.READ : OperationType.WRITE,
+        indexesOf(parameterTypes, TenantIdentifier.class),
+        indexesOf(parameterTypes, User.class),
+        indexesOf(parameterTypes, Map.class, String.class));
+  }
+
+  boolean isRead() {
+    return transactional && operationType == OperationType.READ;
+  }
+
+  boolean isWrite() {
+    return transactional && operationType == OperationType.WRITE;
+  }
+
+  private static int[] indexesOf(Class<?>[] parameterTypes, Class<?>... types) {
+    List<Integer> indexes = new ArrayList<>();
+    for (int i = 0; i < parameterTypes.length; i++) {
+      for (Class<?> type : types) {
+        if (type.isAssignableFrom(parameterTypes[i]) || parameterTypes[i].isAssignableFrom(type)) {
+          indexes.add(i);
+          break;
+        }
+      }
+    }
+    return indexes.stream().mapToInt(Integer::intValue).toArray();
+  }
+}
@@ -119,6 +119,7 @@ import org.idp.server.core.openid.identity.permission.PermissionCommandRepositor
 import org.idp.server.core.openid.identity.permission.PermissionQueryRepository;
 import org.idp.server.core.openid.identity.repository.UserCommandRepository;
 import org.idp.server.core.openid.identity.repository.UserQueryRepository;
+import org.idp.server.core.openid.identity.repository.UserSearchMode;
 import org.idp.server.core.openid.identity.role.RoleCommandRepository;
 import org.idp.server.core.openid.identity.role.RoleQueryRepository;
 import org.idp.server.core.openid.oauth.*;
@@ -127,6 +128,7 @@ import org.idp.server.core.openid.oauth.configuration.AuthorizationServerConfigu
 import org.idp.server.core.openid.oauth.configuration.client.ClientConfigurationCommandRepository;
 import org.idp.server.core.openid.oauth.configuration.client.ClientConfigurationQueryRepository;
 import org.idp.server.core.openid.oauth.repository.AuthorizationCodeGrantOperationCommandRepository;
+import org.idp.server.core.openid.oauth.repository.AuthorizationFlowStoreType;
 import org.idp.server.core.openid.oauth.repository.AuthorizationRequestOperationCommandRepository;
 import org.idp.server.core.openid.plugin.AuthenticationDependencyContainerPluginLoader;
 import org.idp.server.core.openid.plugin.FederationDependencyContainerPluginLoader;
@@ -151,7 +153,9 @@ import org.idp.server.core.openid.userinfo.UserinfoProtocol;
 import org.idp.server.core.openid.userinfo.UserinfoProtocols;
 import org.idp.server.federation.sso.oidc.OidcSsoExecutorPluginLoader;
 import org.idp.server.federation.sso.oidc.OidcSsoExecutors;
+import org.idp.server.platform.audit.AuditLog;
 import org.idp.server.platform.audit.AuditLogApi;
+import org.idp.server.platform.audit.AuditLogPersistenceConfig;
 import org.idp.server.platform.audit.AuditLogPublisher;
 import org.idp.server.platform.audit.AuditLogQueryRepository;
 import org.idp.server.platform.audit.AuditLogWriters;
@@ -170,17 +174,35 @@ import org.idp.server.platform.health.HealthCheckApi;
 import org.idp.server.platform.http.HttpClientFactory;
 import org.idp.server.platform.http.HttpRequestExecutor;
 import org.idp.server.platform.http.SsrfProtectedHttpClient;
+import org.idp.server.platform.json.JsonConverter;
 import org.idp.server.platform.multi_tenancy.organization.OrganizationRepository;
 import org.idp.server.platform.multi_tenancy.organization.OrganizationTenantResolverApi;
 import org.idp.server.platform.multi_tenancy.tenant.*;
 import org.idp.server.platform.notification.email.EmailSenders;
 import org.idp.server.platform.notification.sms.SmsSenders;
 import org.idp.server.platform.oauth.OAuthAuthorizationResolvers;
+import org.idp.server.platform.outbox.EventOutbox;
+import org.idp.server.platform.outbox.EventOutboxConfig;
+import org.idp.server.platform.outbox.EventOutboxRelay;
+import org.idp.server.platform.outbox.OutboxEventCommandRepository;
+import org.idp.server.platform.outbox.OutboxEventType;
 import org.idp.server.platform.plugin.*;
+import org.idp.server.platform.security.SecurityEvent;
 import org.idp.server.platform.security.SecurityEventApi;
 import org.idp.server.platform.security.SecurityEventPublisher;
+import org.idp.server.platform.security.handler.SecurityEventHookDispatchConfig;
+import org.idp.server.platform.security.handler.SecurityEventHookDispatcher;
 import org.idp.server.platform.security.hook.SecurityEventHooks;
+import org.idp.server.platform.security.log.BufferedSecurityEventWriter;
+import org.idp.server.platform.security.log.DirectSecurityEventWriter;
+import org.idp.server.platform.security.log.SecurityEventPersistenceConfig;
+import org.idp.server.platform.security.log.SecurityEventWriter;
 import org.idp.server.platform.security.repository.*;
+import org.idp.server.platform.statistics.ActiveUserFilter;
+import org.idp.server.platform.statistics.AggregatedStatisticsEventWriter;
+import org.idp.server.platform.statistics.DirectStatisticsEventWriter;
+import org.idp.server.platform.statistics.StatisticsAggregationConfig;
+import org.idp.server.platform.statistics.StatisticsEventWriter;
 import org.idp.server.platform.statistics.repository.DailyActiveUserCommandRepository;
 import org.idp.server.platform.statistics.repository.MonthlyActiveUserCommandRepository;
 import org.idp.server.platform.statistics.repository.StatisticsEventsCommandRepository;
@@ -286,6 +308,12 @@ public class IdpServerApplication {
   OrganizationUserAuthenticationApi organizationUserAuthenticationApi;
   OrgSecurityEventHookManagementApi orgSecurityEventHookManagementApi;
   OrgGrantManagementApi orgGrantManagementApi;
+  SecurityEventWriter securityEventWriter;
+  SecurityEventHookDispatcher securityEventHookDispatcher;
+  AuditLogWriters auditLogWriters;
+  StatisticsEventWriter statisticsEventWriter;
+  EventOutbox eventOutbox;
+  EventOutboxRelay eventOutboxRelay;
 
   public IdpServerApplication(
       String adminTenantId,
@@ -302,7 +330,16 @@ public class IdpServerApplication {
       SecurityEventPublisher securityEventPublisher,
       AuditLogPublisher auditLogPublisher,
       UserLifecycleEventPublisher userLifecycleEventPublisher,
-      TimeConfig timeConfig) {
+      TimeConfig timeConfig,
+      SecurityEventPersistenceConfig securityEventPersistenceConfig,
+      SecurityEventHookDispatchConfig securityEventHookDispatchConfig,
+      AuditLogPersistenceConfig auditLogPersistenceConfig,
+      StatisticsAggregationConfig statisticsAggregationConfig,
+      EventOutboxConfig eventOutboxConfig,
+      ActiveUserFilter activeUserFilter,
+      AuthorizationFlowStoreType authorizationFlowStoreType,
+      AuthenticationTransactionStoreType authenticationTransactionStoreType,
+      UserSearchMode userSearchMode) {
 
     AdminTenantContext.configure(adminTenantId);
     TransactionManager.configure(dbConnectionProvider);
@@ -317,6 +354,10 @@ public class IdpServerApplication {
     dependencyContainer.register(HmacHasher.class, hmacHasher);
     dependencyContainer.register(CacheStore.class, cacheStore);
     dependencyContainer.register(SessionStore.class, sessionStore);
+    dependencyContainer.register(AuthorizationFlowStoreType.class, authorizationFlowStoreType);
+    dependencyContainer.register(
+        AuthenticationTransactionStoreType.class, authenticationTransactionStoreType);
+    dependencyContainer.register(UserSearchMode.class, userSearchMode);
     DatabaseTypeConfiguration databaseTypeConfig = new DatabaseTypeConfiguration(databaseType);
     dependencyContainer.register(DatabaseTypeConfiguration.class, databaseTypeConfig);
     ApplicationComponentContainer applicationComponentContainer =
@@ -339,8 +380,18 @@ public class IdpServerApplication {
         applicationComponentContainer.resolve(ClientConfigurationQueryRepository.class);
     SecurityEventCommandRepository securityEventCommandRepository =
         applicationComponentContainer.resolve(SecurityEventCommandRepository.class);
+    this.securityEventWriter =
+        securityEventPersistenceConfig.isBuffered()
+            ? new BufferedSecurityEventWriter(
+                securityEventCommandRepository,
+                databaseTypeProvider,
+                securityEventPersistenceConfig)
+            : new DirectSecurityEventWriter(securityEventCommandRepository);
     SecurityEventHookResultCommandRepository securityEventHookResultCommandRepository =
         applicationComponentContainer.resolve(SecurityEventHookResultCommandRepository.class);
+    OutboxEventCommandRepository outboxEventCommandRepository =
+        applicationComponentContainer.resolve(OutboxEventCommandRepository.class);
+    this.eventOutbox = new EventOutbox(eventOutboxConfig, outboxEventCommandRepository);
     UserCommandRepository userCommandRepository =
         applicationComponentContainer.resolve(UserCommandRepository.class);
     UserQueryRepository userQueryRepository =
@@ -448,6 +499,13 @@ public class IdpServerApplication {
         applicationComponentContainer.resolve(TenantYearlyStatisticsQueryRepository.class);
     StatisticsEventsCommandRepository statisticsEventsCommandRepository =
         applicationComponentContainer.resolve(StatisticsEventsCommandRepository.class);
+    this.statisticsEventWriter =
+        statisticsAggregationConfig.isAggregated()
+            ? new AggregatedStatisticsEventWriter(
+                statisticsEventsCommandRepository,
+                databaseTypeProvider,
+                statisticsAggregationConfig)
+            : new DirectStatisticsEventWriter(statisticsEventsCommandRepository);
     DailyActiveUserCommandRepository dailyActiveUserCommandRepository =
         applicationComponentContainer.resolve(DailyActiveUserCommandRepository.class);
     MonthlyActiveUserCommandRepository monthlyActiveUserCommandRepository =
@@ -618,8 +676,11 @@ public class IdpServerApplication {
 
     ControlPlaneV1SchemaReader.initialValidate();
 
-    AuditLogWriters auditLogWriters =
-        AuditLogWriterPluginLoader.load(applicationComponentContainer);
+    applicationComponentContainer.register(
+        AuditLogPersistenceConfig.class, auditLogPersistenceConfig);
+    applicationComponentContainer.register(
+        ApplicationDatabaseTypeProvider.class, databaseTypeProvider);
+    this.auditLogWriters = AuditLogWriterPluginLoader.load(applicationComponentContainer);
 
     OAuthFlowEntryService oAuthFlowEntryService =
         new OAuthFlowEntryService(
@@ -779,17 +840,22 @@ public class IdpServerApplication {
             IdentityVerificationApi.class,
             databaseTypeProvider);
 
-    SecurityEventEntryService securityEventEntryService =
-        new SecurityEventEntryService(
+    this.securityEventHookDispatcher =
+        new SecurityEventHookDispatcher(
             securityEventHooks,
-            securityEventCommandRepository,
-            securityEventHookResultCommandRepository,
             hookQueryRepository,
+            securityEventHookResultCommandRepository,
+            securityEventHookDispatchConfig);
+    SecurityEventEntryService securityEventEntryService =
+        new SecurityEventEntryService(
+            securityEventHookDispatcher,
+            securityEventWriter,
             tenantQueryRepository,
-            statisticsEventsCommandRepository,
+            statisticsEventWriter,
             dailyActiveUserCommandRepository,
             monthlyActiveUserCommandRepository,
-            yearlyActiveUserCommandRepository);
+            yearlyActiveUserCommandRepository,
+            activeUserFilter);
     this.rawSecurityEventApi = securityEventEntryService;
     this.securityEventApi =
         TenantAwareEntryServiceProxy.createProxy(
@@ -837,10 +903,39 @@ public class IdpServerApplication {
     this.userLifecycleEventApi =
         TenantAwareEntryServiceProxy.createProxy(
             new UserLifecycleEventEntryService(
-                userLifecycleEventExecutorsMap, userLifecycleEventResultCommandRepository),
+                userLifecycleEventExecutorsMap,
+                userLifecycleEventResultCommandRepository,
+                tenantQueryRepository),
             UserLifecycleEventApi.class,
             databaseTypeProvider);
 
+    JsonConverter outboxJsonConverter = JsonConverter.defaultInstance();
+    this.eventOutboxRelay =
+        new EventOutboxRelay(
+            outboxEventCommandRepository,
+            databaseTypeProvider,
+            eventOutboxConfig,
+            Map.of(
+                OutboxEventType.SECURITY_EVENT,
+                outboxEvent ->
+                    securityEventApi.handle(
+                        outboxEvent.tenantIdentifier(),
+                        outboxJsonConverter.read(outboxEvent.payload(), SecurityEvent.class)),
+                OutboxEventType.AUDIT_LOG,
+                outboxEvent ->
+                    auditLogApi.handle(
+                        outboxEvent.tenantIdentifier(),
+                        outboxJsonConverter.read(outboxEvent.payload(), AuditLog.class)),
+                OutboxEventType.USER_LIFECYCLE_EVENT,
+                outboxEvent ->
+                    userLifecycleEventApi.handle(
+                        outboxEvent.tenantIdentifier(),
+                        outboxJsonConverter.read(
+                            outboxEvent.payload(), UserLifecycleOutboxEvent.class))));
+    if (eventOutboxConfig.isOutbox()) {
+      eventOutboxRelay.start();
+    }
+
     AuthenticationDeviceLogEventPublisher authenticationDeviceLogEventPublisher =
         new AuthenticationDeviceLogEventPublisher(securityEventPublisher);
 
@@ -913,7 +1008,8 @@ public class IdpServerApplication {
                 tenantStatisticsQueryRepository,
                 tenantYearlyStatisticsQueryRepository,
                 tenantQueryRepository,
-                auditLogPublisher),
+                auditLogPublisher,
+                activeUserFilter),
             TenantStatisticsApi.class,
             databaseTypeProvider);
 
@@ -1136,7 +1232,8 @@ public class IdpServerApplication {
                 tenantYearlyStatisticsQueryRepository,
                 organizationRepository,
                 tenantQueryRepository,
-                auditLogPublisher),
+                auditLogPublisher,
+                activeUserFilter),
             OrgTenantStatisticsApi.class,
             databaseTypeProvider);
 
@@ -1399,6 +1496,10 @@ public class IdpServerApplication {
     return auditLogApi;
   }
 
+  public EventOutbox eventOutbox() {
+    return eventOutbox;
+  }
+
   public TenantMetaDataApi tenantMetadataApi() {
     return tenantMetaDataApi;
   }
@@ -1625,4 +1726,13 @@ public class IdpServerApplication {
   public HealthCheckApi healthCheckApi() {
     return healthCheckApi;
   }
+
+  /** Flushes buffered writes. Called once when the application shuts down. */
+  public void shutdown() {
+    eventOutboxRelay.close();
+    securityEventHookDispatcher.close();
+    securityEventWriter.close();
+    auditLogWriters.close();
+    statisticsEventWriter.close();
+  }
 }
@@ -20,6 +20,8 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.idp.server.platform.datasource.*;
 import org.idp.server.platform.log.LoggerWrapper;
 import org.idp.server.platform.log.TenantLoggingContext;
@@ -63,6 +65,7 @@ public class ManagementTypeEntryServiceProxy implements InvocationHandler {
 
   private final Object target;
   private final ApplicationDatabaseTypeProvider applicationDatabaseTypeProvider;
+  private final Map<Method, EntryServiceInvocationPlan> plans = new ConcurrentHashMap<>();
   private final LoggerWrapper log = LoggerWrapper.getLogger(ManagementTypeEntryServiceProxy.class);
 
   private ManagementTypeEntryServiceProxy(
@@ -93,28 +96,10 @@ public class ManagementTypeEntryServiceProxy implements InvocationHandler {
   @Override
   public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
 
-    // Standard transaction handling for regular methods
-    boolean isTransactional =
-        method.isAnnotationPresent(Transaction.class)
-            || target.getClass().isAnnotationPresent(Transaction.class);
+    EntryServiceInvocationPlan plan = plan(method);
+    OperationType operationType = plan.operationType;
 
-    Transaction tx = method.getClass().getAnnotation(Transaction.class);
-    if (tx == null) {
-      try {
-        Method implMethod =
-            target.getClass().getMethod(method.getName(), method.getParameterTypes());
-        tx = implMethod.getAnnotation(Transaction.class);
-      } catch (NoSuchMethodException e) {
-        log.trace("Method not found for transaction annotation lookup: {}", e.getMessage());
-      }
-    }
-    if (tx == null) {
-      tx = target.getClass().getAnnotation(Transaction.class);
-    }
-    boolean readOnly = tx != null && tx.readOnly();
-    OperationType operationType = readOnly ? OperationType.READ : OperationType.WRITE;
-
-    if (isTransactional && operationType == OperationType.READ) {
+    if (plan.isRead()) {
       try {
         OperationContext.set(operationType);
         TenantLoggingContext.setRequestId();
@@ -146,7 +131,7 @@ public class ManagementTypeEntryServiceProxy implements InvocationHandler {
         TenantLoggingContext.clearAll();
         TransactionManager.closeConnection();
       }
-    } else if (isTransactional && operationType == OperationType.WRITE) {
+    } else if (plan.isWrite()) {
       try {
         OperationContext.set(operationType);
         TenantLoggingContext.setRequestId();
@@ -197,4 +182,9 @@ public class ManagementTypeEntryServiceProxy implements InvocationHandler {
       return method.invoke(target, args);
     }
   }
+
+  EntryServiceInvocationPlan plan(Method method) {
+    return plans.computeIfAbsent(
+        method, key -> EntryServiceInvocationPlan.create(target.getClass(), key));
+  }
 }
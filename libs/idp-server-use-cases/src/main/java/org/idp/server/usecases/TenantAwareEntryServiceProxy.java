@@ -20,6 +20,8 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.idp.server.core.openid.identity.User;
 import org.idp.server.platform.datasource.*;
 import org.idp.server.platform.log.LoggerWrapper;
@@ -50,6 +52,9 @@ import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
  *   <li>Tenant logging context
  * </ul>
  *
+ * <p>Annotation lookups and argument positions are resolved once per method into an {@link
+ * EntryServiceInvocationPlan}; each call only executes the plan.
+ *
  * <h2>Usage</h2>
  *
  * <pre>{@code
@@ -67,6 +72,7 @@ import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
 public class TenantAwareEntryServiceProxy implements InvocationHandler {
   protected final Object target;
   private final ApplicationDatabaseTypeProvider applicationDatabaseTypeProvider;
+  private final Map<Method, EntryServiceInvocationPlan> plans = new ConcurrentHashMap<>();
   LoggerWrapper log = LoggerWrapper.getLogger(TenantAwareEntryServiceProxy.class);
 
   public TenantAwareEntryServiceProxy(
@@ -77,41 +83,20 @@ public class TenantAwareEntryServiceProxy implements InvocationHandler {
 
   @Override
   public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-    boolean isTransactional =
-        method.isAnnotationPresent(Transaction.class)
-            || target.getClass().isAnnotationPresent(Transaction.class);
+    EntryServiceInvocationPlan plan = plan(method);
+    OperationType operationType = plan.operationType;
 
-    Transaction tx = method.getClass().getAnnotation(Transaction.class);
-    if (tx == null) {
-      try {
-        Method implMethod =
-            target.getClass().getMethod(method.getName(), method.getParameterTypes());
-        tx = implMethod.getAnnotation(Transaction.class);
-      } catch (NoSuchMethodException e) {
-        log.trace(
-            "Method not found for transaction annotation lookup: class={}, method={}, error={}",
-            target.getClass().getSimpleName(),
-            method.getName(),
-            e.getMessage());
-      }
-    }
-    if (tx == null) {
-      tx = target.getClass().getAnnotation(Transaction.class);
-    }
-    boolean readOnly = tx != null && tx.readOnly();
-    OperationType operationType = readOnly ? OperationType.READ : OperationType.WRITE;
-
-    if (isTransactional && operationType == OperationType.READ) {
+    if (plan.isRead()) {
       long startTime = System.currentTimeMillis();
       try {
         OperationContext.set(operationType);
         TenantLoggingContext.setRequestId();
-        TenantIdentifier tenantIdentifier = resolveTenantIdentifier(args);
+        TenantIdentifier tenantIdentifier = resolveTenantIdentifier(plan, args);
         TenantLoggingContext.setTenant(tenantIdentifier);
 
-        resolveUserContext(args);
+        resolveUserContext(plan, args);
 
-        String clientId = resolveClientIdAsString(args);
+        String clientId = resolveClientIdAsString(plan, args);
         if (clientId != null) {
           TenantLoggingContext.setClientId(clientId);
         }
@@ -119,8 +104,8 @@ public class TenantAwareEntryServiceProxy implements InvocationHandler {
         log.trace(
             "Transaction started: operation={}, service={}, method={}",
             operationType,
-            target.getClass().getSimpleName(),
-            method.getName());
+            plan.serviceName,
+            plan.methodName);
 
         DatabaseType databaseType = applicationDatabaseTypeProvider.provide();
         TransactionManager.createConnection(databaseType, tenantIdentifier);
@@ -133,8 +118,8 @@ public class TenantAwareEntryServiceProxy implements InvocationHandler {
           log.warn(
               "Long-running transaction completed: operation={}, service={}, method={}, duration={}ms",
               operationType,
-              target.getClass().getSimpleName(),
-              method.getName(),
+              plan.serviceName,
+              plan.methodName,
               duration);
         }
 
@@ -143,15 +128,15 @@ public class TenantAwareEntryServiceProxy implements InvocationHandler {
         log.trace(
             "Transaction failed: operation={}, service={}, method={}",
             operationType,
-            target.getClass().getSimpleName(),
-            method.getName());
+            plan.serviceName,
+            plan.methodName);
         throw e.getTargetException();
       } catch (Throwable e) {
         log.error(
             "Transaction failed: operation={}, service={}, method={}, cause={}",
             operationType,
-            target.getClass().getSimpleName(),
-            method.getName(),
+            plan.serviceName,
+            plan.methodName,
             e.getMessage(),
             e);
         throw e;
@@ -159,17 +144,17 @@ public class TenantAwareEntryServiceProxy implements InvocationHandler {
         TenantLoggingContext.clearAll();
         TransactionManager.closeConnection();
       }
-    } else if (isTransactional && operationType == OperationType.WRITE) {
+    } else if (plan.isWrite()) {
       long startTime = System.currentTimeMillis();
       try {
         OperationContext.set(operationType);
         TenantLoggingContext.setRequestId();
-        TenantIdentifier tenantIdentifier = resolveTenantIdentifier(args);
+        TenantIdentifier tenantIdentifier = resolveTenantIdentifier(plan, args);
         TenantLoggingContext.setTenant(tenantIdentifier);
 
-        resolveUserContext(args);
+        resolveUserContext(plan, args);
 
-        String clientId = resolveClientIdAsString(args);
+        String clientId = resolveClientIdAsString(plan, args);
         if (clientId != null) {
           TenantLoggingContext.setClientId(clientId);
         }
@@ -180,8 +165,8 @@ public class TenantAwareEntryServiceProxy implements InvocationHandler {
         log.trace(
             "Transaction started: operation={}, service={}, method={}, db_type={}",
             operationType,
-            target.getClass().getSimpleName(),
-            method.getName(),
+            plan.serviceName,
+            plan.methodName,
             databaseType.name());
 
         Object result = method.invoke(target, args);
@@ -191,8 +176,8 @@ public class TenantAwareEntryServiceProxy implements InvocationHandler {
         log.trace(
             "Transaction committed: operation={}, service={}, method={}, db_type={}, duration={}ms",
             operationType,
-            target.getClass().getSimpleName(),
-            method.getName(),
+            plan.serviceName,
+            plan.methodName,
             databaseType.name(),
             duration);
 
@@ -202,16 +187,16 @@ public class TenantAwareEntryServiceProxy implements InvocationHandler {
         log.trace(
             "Transaction rollback: operation={}, service={}, method={}",
             operationType,
-            target.getClass().getSimpleName(),
-            method.getName());
+            plan.serviceName,
+            plan.methodName);
         throw e.getTargetException();
       } catch (Throwable e) {
         TransactionManager.rollbackTransaction();
         log.error(
             "Transaction rollback: operation={}, service={}, method={}, cause={}",
             operationType,
-            target.getClass().getSimpleName(),
-            method.getName(),
+            plan.serviceName,
+            plan.methodName,
             e.getMessage(),
             e);
         throw e;
@@ -224,8 +209,14 @@ public class TenantAwareEntryServiceProxy implements InvocationHandler {
     }
   }
 
-  protected TenantIdentifier resolveTenantIdentifier(Object[] args) {
-    for (Object arg : args) {
+  EntryServiceInvocationPlan plan(Method method) {
+    return plans.computeIfAbsent(
+        method, key -> EntryServiceInvocationPlan.create(target.getClass(), key));
+  }
+
+  private TenantIdentifier resolveTenantIdentifier(EntryServiceInvocationPlan plan, Object[] args) {
+    for (int index : plan.tenantIdentifierIndexes) {
+      Object arg = args[index];
       if (arg instanceof TenantIdentifier tenantId) {
         return tenantId;
       }
@@ -234,8 +225,9 @@ public class TenantAwareEntryServiceProxy implements InvocationHandler {
         "Missing required TenantIdentifier. Please ensure it is explicitly passed to the service.");
   }
 
-  protected void resolveUserContext(Object[] args) {
-    for (Object arg : args) {
+  private void resolveUserContext(EntryServiceInvocationPlan plan, Object[] args) {
+    for (int index : plan.userIndexes) {
+      Object arg = args[index];
       // Type-safe check using direct import (no reflection needed in use-cases layer)
       if (arg instanceof User user) {
         if (user.exists()) {
@@ -256,12 +248,13 @@ public class TenantAwareEntryServiceProxy implements InvocationHandler {
     }
   }
 
-  protected String resolveClientIdAsString(Object[] args) {
-    for (Object arg : args) {
+  private String resolveClientIdAsString(EntryServiceInvocationPlan plan, Object[] args) {
+    for (int index : plan.clientIdIndexes) {
+      Object arg = args[index];
       // Extract from Map<String, String[]> params
-      if (arg instanceof java.util.Map<?, ?> params) {
+      if (arg instanceof Map<?, ?> params) {
         @SuppressWarnings("unchecked")
-        java.util.Map<String, String[]> paramMap = (java.util.Map<String, String[]>) params;
+        Map<String, String[]> paramMap = (Map<String, String[]>) params;
         String[] clientIds = paramMap.get("client_id");
         if (clientIds != null && clientIds.length > 0 && !clientIds[0].isEmpty()) {
           return clientIds[0];
@@ -24,14 +24,12 @@ import org.idp.server.platform.security.SecurityEvent;
 import org.idp.server.platform.security.SecurityEventApi;
 import org.idp.server.platform.security.handler.SecurityEventHandler;
 import org.idp.server.platform.security.handler.SecurityEventHookDispatcher;
-import org.idp.server.platform.security.hook.SecurityEventHooks;
 import org.idp.server.platform.security.log.SecurityEventLogService;
-import org.idp.server.platform.security.repository.SecurityEventCommandRepository;
-import org.idp.server.platform.security.repository.SecurityEventHookConfigurationQueryRepository;
-import org.idp.server.platform.security.repository.SecurityEventHookResultCommandRepository;
+import org.idp.server.platform.security.log.SecurityEventWriter;
+import org.idp.server.platform.statistics.ActiveUserFilter;
+import org.idp.server.platform.statistics.StatisticsEventWriter;
 import org.idp.server.platform.statistics.repository.DailyActiveUserCommandRepository;
 import org.idp.server.platform.statistics.repository.MonthlyActiveUserCommandRepository;
-import org.idp.server.platform.statistics.repository.StatisticsEventsCommandRepository;
 import org.idp.server.platform.statistics.repository.YearlyActiveUserCommandRepository;
 
 @Transaction
@@ -41,26 +39,23 @@ public class SecurityEventEntryService implements SecurityEventApi {
   TenantQueryRepository tenantQueryRepository;
 
   public SecurityEventEntryService(
-      SecurityEventHooks securityEventHooks,
-      SecurityEventCommandRepository securityEventCommandRepository,
-      SecurityEventHookResultCommandRepository securityEventHookResultCommandRepository,
-      SecurityEventHookConfigurationQueryRepository hookQueryRepository,
+      SecurityEventHookDispatcher hookDispatcher,
+      SecurityEventWriter securityEventWriter,
       TenantQueryRepository tenantQueryRepository,
-      StatisticsEventsCommandRepository statisticsEventsRepository,
+      StatisticsEventWriter statisticsEventWriter,
       DailyActiveUserCommandRepository dailyActiveUserRepository,
       MonthlyActiveUserCommandRepository monthlyActiveUserRepository,
-      YearlyActiveUserCommandRepository yearlyActiveUserRepository) {
-    SecurityEventHookDispatcher hookDispatcher =
-        new SecurityEventHookDispatcher(
-            securityEventHooks, hookQueryRepository, securityEventHookResultCommandRepository);
+      YearlyActiveUserCommandRepository yearlyActiveUserRepository,
+      ActiveUserFilter activeUserFilter) {
     this.securityEventHandler =
         new SecurityEventHandler(
             hookDispatcher,
-            new SecurityEventLogService(securityEventCommandRepository),
-            statisticsEventsRepository,
+            new SecurityEventLogService(securityEventWriter),
+            statisticsEventWriter,
             dailyActiveUserRepository,
             monthlyActiveUserRepository,
-            yearlyActiveUserRepository);
+            yearlyActiveUserRepository,
+            activeUserFilter);
     this.tenantQueryRepository = tenantQueryRepository;
   }
 
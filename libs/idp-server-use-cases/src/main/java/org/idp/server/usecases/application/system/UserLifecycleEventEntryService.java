@@ -21,20 +21,25 @@ import java.util.List;
 import org.idp.server.core.openid.identity.event.*;
 import org.idp.server.platform.datasource.Transaction;
 import org.idp.server.platform.log.LoggerWrapper;
+import org.idp.server.platform.multi_tenancy.tenant.Tenant;
 import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+import org.idp.server.platform.multi_tenancy.tenant.TenantQueryRepository;
 
 @Transaction
 public class UserLifecycleEventEntryService implements UserLifecycleEventApi {
 
   UserLifecycleEventExecutorsMap userLifecycleEventExecutorsMap;
   UserLifecycleEventResultCommandRepository resultCommandRepository;
+  TenantQueryRepository tenantQueryRepository;
   LoggerWrapper log = LoggerWrapper.getLogger(UserLifecycleEventEntryService.class);
 
   public UserLifecycleEventEntryService(
       UserLifecycleEventExecutorsMap userLifecycleEventExecutorsMap,
-      UserLifecycleEventResultCommandRepository resultCommandRepository) {
+      UserLifecycleEventResultCommandRepository resultCommandRepository,
+      TenantQueryRepository tenantQueryRepository) {
     this.userLifecycleEventExecutorsMap = userLifecycleEventExecutorsMap;
     this.resultCommandRepository = resultCommandRepository;
+    this.tenantQueryRepository = tenantQueryRepository;
   }
 
   @Override
@@ -58,4 +63,11 @@ public class UserLifecycleEventEntryService implements UserLifecycleEventApi {
 
     resultCommandRepository.register(userLifecycleEvent.tenant(), userLifecycleEvent, results);
   }
+
+  @Override
+  public void handle(
+      TenantIdentifier tenantIdentifier, UserLifecycleOutboxEvent userLifecycleOutboxEvent) {
+    Tenant tenant = tenantQueryRepository.get(tenantIdentifier);
+    handle(tenantIdentifier, userLifecycleOutboxEvent.toEvent(tenant));
+  }
 }
@@ -31,6 +31,7 @@ import org.idp.server.platform.multi_tenancy.organization.OrganizationIdentifier
 import org.idp.server.platform.multi_tenancy.organization.OrganizationRepository;
 import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
 import org.idp.server.platform.multi_tenancy.tenant.TenantQueryRepository;
+import org.idp.server.platform.statistics.ActiveUserFilter;
 import org.idp.server.platform.statistics.TenantStatisticsQueries;
 import org.idp.server.platform.statistics.TenantStatisticsReportQuery;
 import org.idp.server.platform.statistics.repository.TenantStatisticsQueryRepository;
@@ -70,10 +71,11 @@ public class OrgTenantStatisticsEntryService implements OrgTenantStatisticsApi {
       TenantYearlyStatisticsQueryRepository yearlyRepository,
       OrganizationRepository organizationRepository,
       TenantQueryRepository tenantQueryRepository,
-      AuditLogPublisher auditLogPublisher) {
+      AuditLogPublisher auditLogPublisher,
+      ActiveUserFilter activeUserFilter) {
     TenantStatisticsFindService findService = new TenantStatisticsFindService(repository);
     TenantStatisticsReportFindService reportFindService =
-        new TenantStatisticsReportFindService(repository, yearlyRepository);
+        new TenantStatisticsReportFindService(repository, yearlyRepository, activeUserFilter);
     this.handler =
         new OrgTenantStatisticsManagementHandler(
             findService, reportFindService, this, organizationRepository, tenantQueryRepository);
@@ -29,6 +29,7 @@ import org.idp.server.platform.audit.AuditLogPublisher;
 import org.idp.server.platform.datasource.Transaction;
 import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
 import org.idp.server.platform.multi_tenancy.tenant.TenantQueryRepository;
+import org.idp.server.platform.statistics.ActiveUserFilter;
 import org.idp.server.platform.statistics.TenantStatisticsQueries;
 import org.idp.server.platform.statistics.TenantStatisticsReportQuery;
 import org.idp.server.platform.statistics.repository.TenantStatisticsQueryRepository;
@@ -45,10 +46,11 @@ public class TenantStatisticsEntryService implements TenantStatisticsApi {
       TenantStatisticsQueryRepository repository,
       TenantYearlyStatisticsQueryRepository yearlyRepository,
       TenantQueryRepository tenantQueryRepository,
-      AuditLogPublisher auditLogPublisher) {
+      AuditLogPublisher auditLogPublisher,
+      ActiveUserFilter activeUserFilter) {
     TenantStatisticsFindService findService = new TenantStatisticsFindService(repository);
     TenantStatisticsReportFindService reportFindService =
-        new TenantStatisticsReportFindService(repository, yearlyRepository);
+        new TenantStatisticsReportFindService(repository, yearlyRepository, activeUserFilter);
     this.handler =
         new TenantStatisticsManagementHandler(
             findService, reportFindService, this, tenantQueryRepository);
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2025 Hirokazu Kobayashi
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.idp.server.usecases;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import org.idp.server.core.openid.identity.User;
+import org.idp.server.platform.datasource.DatabaseType;
+import org.idp.server.platform.datasource.OperationContext;
+import org.idp.server.platform.datasource.OperationType;
+import org.idp.server.platform.datasource.Transaction;
+import org.idp.server.platform.multi_tenancy.tenant.MissingRequiredTenantIdentifierException;
+import org.idp.server.platform.multi_tenancy.tenant.TenantIdentifier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pins the plan computed once per method by the entry service proxies:
+ *
+ * <ul>
+ *   <li>read-only methods route to the reader, other transactional methods to the writer
+ *   <li>non-transactional methods are invoked directly
+ *   <li>argument indexes for tenant, user and client id resolution
+ *   <li>each proxy hands out the same plan for repeated calls
+ * </ul>
+ */
+class EntryServiceInvocationPlanTest {
+
+  interface SampleApi {
+    String find(TenantIdentifier tenantIdentifier, String id);
+
+    String register(TenantIdentifier tenantIdentifier, User user, Map<String, String[]> params);
+
+    String findWithoutTenant(String id);
+
+    String ping();
+  }
+
+  @Transaction
+  static class SampleEntryService implements SampleApi {
+
+    @Override
+    @Transaction(readOnly = true)
+    public String find(TenantIdentifier tenantIdentifier, String id) {
+      return id;
+    }
+
+    @Override
+    public String register(
+        TenantIdentifier tenantIdentifier, User user, Map<String, String[]> params) {
+      return "registered";
+    }
+
+    @Override
+    @Transaction(readOnly = true)
+    public String findWithoutTenant(String id) {
+      return id;
+    }
+
+    @Override
+    public String ping() {
+      return "pong";
+    }
+  }
+
+  static class NonTransactionalEntryService extends SampleEntryService {}
+
+  @AfterEach
+  void tearDown() {
+    OperationContext.clear();
+  }
+
+  private static Method method(String name) {
+    for (Method method : SampleApi.class.getMethods()) {
+      if (method.getName().equals(name)) {
+        return method;
+      }
+    }
+    throw new IllegalArgumentException(name);
+  }
+
+  @Test
+  void readOnlyMethodIsPlannedAsRead() {
+    EntryServiceInvocationPlan plan =
+        EntryServiceInvocationPlan.create(SampleEntryService.class, method("find"));
+
+    assertTrue(plan.isRead());
+    assertFalse(plan.isWrite());
+    assertEquals(OperationType.READ, plan.operationType);
+    assertEquals("SampleEntryService", plan.serviceName);
+    assertEquals("find", plan.methodName);
+  }
+
+  @Test
+  void methodWithoutReadOnlyFlagIsPlannedAsWrite() {
+    EntryServiceInvocationPlan plan =
+        EntryServiceInvocationPlan.create(SampleEntryService.class, method("register"));
+
+    assertTrue(plan.isWrite());
+    assertFalse(plan.isRead());
+    assertEquals(OperationType.WRITE, plan.operationType);
+  }
+
+  @Test
+  void methodWithoutTransactionAnnotationIsInvokedDirectly() {
+    EntryServiceInvocationPlan plan =
+        EntryServiceInvocationPlan.create(NonTransactionalEntryService.class, method("ping"));
+
+    assertFalse(plan.transactional);
+    assertFalse(plan.isRead());
+    assertFalse(plan.isWrite());
+  }
+
+  @Test
+  void argumentIndexesAreNarrowedByParameterType() {
+    EntryServiceInvocationPlan plan =
+        EntryServiceInvocationPlan.create(SampleEntryService.class, method("register"));
+
+    assertArrayEquals(new int[] {0}, plan.tenantIdentifierIndexes);
+    assertArrayEquals(new int[] {1}, plan.userIndexes);
+    assertArrayEquals(new int[] {2}, plan.clientIdIndexes);
+  }
+
+  @Test
+  void methodWithoutTenantParameterHasNoTenantIndexes() {
+    EntryServiceInvocationPlan plan =
+        EntryServiceInvocationPlan.create(SampleEntryService.class, method("findWithoutTenant"));
+
+    assertEquals(0, plan.tenantIdentifierIndexes.length);
+    assertArrayEquals(new int[] {0}, plan.clientIdIndexes);
+  }
+
+  @Test
+  void tenantAwareProxyRejectsTransactionalMethodWithoutTenantIdentifier() {
+    SampleApi proxy =
+        TenantAwareEntryServiceProxy.createProxy(
+            new SampleEntryService(), SampleApi.class, () -> DatabaseType.POSTGRESQL);
+
+    assertThrows(
+        MissingRequiredTenantIdentifierException.class, () -> proxy.findWithoutTenant("1"));
+  }
+
+  @Test
+  void tenantAwareProxyReturnsCachedPlanForRepeatedCalls() {
+    TenantAwareEntryServiceProxy proxy =
+        new TenantAwareEntryServiceProxy(new SampleEntryService(), () -> DatabaseType.POSTGRESQL);
+
+    EntryServiceInvocationPlan first = proxy.plan(method("find"));
+    EntryServiceInvocationPlan second = proxy.plan(method("find"));
+
+    assertSame(first, second);
+    assertNotSame(first, proxy.plan(method("register")));
+  }
+
+  @Test
+  void managementTypeProxyReturnsCachedPlanForRepeatedCalls() {
+    SampleApi service =
+        ManagementTypeEntryServiceProxy.createProxy(
+            new SampleEntryService(), SampleApi.class, () -> DatabaseType.POSTGRESQL);
+    ManagementTypeEntryServiceProxy proxy =
+        (ManagementTypeEntryServiceProxy) Proxy.getInvocationHandler(service);
+
+    EntryServiceInvocationPlan first = proxy.plan(method("register"));
+    EntryServiceInvocationPlan second = proxy.plan(method("register"));
+
+    assertSame(first, second);
+    assertTrue(first.isWrite());
+  }
+}
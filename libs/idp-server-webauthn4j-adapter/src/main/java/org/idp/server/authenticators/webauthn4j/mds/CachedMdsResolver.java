@@ -33,6 +33,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 import javax.net.ssl.TrustManagerFactory;
 import javax.net.ssl.X509TrustManager;
 import org.idp.server.platform.datasource.cache.CacheStore;
@@ -50,6 +51,8 @@ public class CachedMdsResolver implements MdsResolver {
   private final CacheStore cacheStore;
   private final Map<String, MdsCacheEntry> entryMap;
   private final ObjectConverter objectConverter;
+  // Not synchronized: loading blocks on Redis and HTTP, which would pin a virtual thread's carrier.
+  private final ReentrantLock initializationLock = new ReentrantLock();
   private volatile boolean initialized;
   private volatile long lastFetchTime;
 
@@ -134,14 +137,31 @@ public class CachedMdsResolver implements MdsResolver {
   }
 
   @Override
-  public synchronized void refresh() {
-    initialized = false;
-    lastFetchTime = 0;
-    entryMap.clear();
-    ensureInitialized();
+  public void refresh() {
+    initializationLock.lock();
+    try {
+      initialized = false;
+      lastFetchTime = 0;
+      entryMap.clear();
+      initialize();
+    } finally {
+      initializationLock.unlock();
+    }
+  }
+
+  private void ensureInitialized() {
+    if (initialized && !isCacheExpired()) {
+      return;
+    }
+    initializationLock.lock();
+    try {
+      initialize();
+    } finally {
+      initializationLock.unlock();
+    }
   }
 
-  private synchronized void ensureInitialized() {
+  private void initialize() {
     if (initialized && !isCacheExpired()) {
       return;
     }
@@ -235,8 +255,9 @@ public class CachedMdsResolver implements MdsResolver {
       lastFetchTime = System.currentTimeMillis();
 
       // Store in CacheStore
-      cacheStore.put(CACHE_KEY_LAST_FETCH, lastFetchTime, getCacheTtlSeconds());
-      cacheStore.put(CACHE_KEY_MDS_ENTRIES, cacheEntriesMap, getCacheTtlSeconds());
+      cacheStore.putAll(
+          Map.of(CACHE_KEY_LAST_FETCH, lastFetchTime, CACHE_KEY_MDS_ENTRIES, cacheEntriesMap),
+          getCacheTtlSeconds());
 
       LOG.info(
           "MDS fetched and cached with {} entries, nextUpdate: {}",
@@ -20,6 +20,9 @@ import { check } from 'k6';
  * - ADMIN_CLIENT_SECRET: Admin client secret (from .env)
  * - ADMIN_USER_EMAIL: Admin user email (from .env)
  * - ADMIN_USER_PASSWORD: Admin user password (from .env)
+ * - PAGINATION: "offset" (default) or "cursor". In cursor mode each VU walks pages by
+ *   following next_cursor, restarting from the first page after MAX_PAGES pages.
+ * - MAX_PAGES: Pages walked per cursor sequence (default: 5000)
  */
 const VU_COUNT = parseInt(__ENV.VU_COUNT || '20');
 const DURATION = __ENV.DURATION || '30s';
@@ -78,12 +81,27 @@ export function setup() {
 const limit = parseInt(__ENV.SEARCH_LIMIT || '20');
 const offsets = [0, 100, 1000, 10000, 50000, 100000];
 
+const pagination = __ENV.PAGINATION || 'offset';
+const maxPages = parseInt(__ENV.MAX_PAGES || '5000');
+
+// Per-VU cursor state (each VU runs in its own JS runtime)
+let nextCursor = null;
+let pageNumber = 0;
+
 export default function (data) {
   if (!data.accessToken) {
     console.error('No access token available, skipping iteration');
     return;
   }
 
+  if (pagination === 'cursor') {
+    searchWithCursor(data);
+  } else {
+    searchWithOffset(data);
+  }
+}
+
+function searchWithOffset(data) {
   const baseUrl = __ENV.BASE_URL || 'https://api.local.test';
   const offset = offsets[Math.floor(Math.random() * offsets.length)];
   const url = `${baseUrl}/v1/management/tenants/${targetTenantId}/users?limit=${limit}&offset=${offset}`;
@@ -113,3 +131,36 @@ export default function (data) {
     },
   });
 }
+
+function searchWithCursor(data) {
+  const baseUrl = __ENV.BASE_URL || 'https://api.local.test';
+  const cursorParam = nextCursor ? `&cursor=${encodeURIComponent(nextCursor)}` : '';
+  const url = `${baseUrl}/v1/management/tenants/${targetTenantId}/users?limit=${limit}&pagination=cursor${cursorParam}`;
+
+  const res = http.get(url, {
+    headers: {
+      Authorization: `Bearer ${data.accessToken}`,
+    },
+    tags: { pagination: 'cursor' },
+  });
+
+  let body = null;
+  try {
+    body = JSON.parse(res.body);
+  } catch {
+    body = null;
+  }
+
+  check(res, {
+    'status is 200': (r) => r.status === 200,
+    'has list': () => body !== null && body.list !== undefined,
+  });
+
+  pageNumber++;
+  if (body && body.next_cursor && pageNumber < maxPages) {
+    nextCursor = body.next_cursor;
+  } else {
+    nextCursor = null;
+    pageNumber = 0;
+  }
+}
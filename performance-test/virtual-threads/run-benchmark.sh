@@ -0,0 +1,130 @@
+#!/bin/bash
+#
+# 仮想スレッド / プラットフォームスレッドのスループット比較
+# - Hikari のプールサイズを固定し、SPRING_THREADS_VIRTUAL_ENABLED だけを切り替えて同じシナリオを実行する
+# - 対象インスタンスは1台のみ（nginx を経由せず直接アクセス）
+# - 結果は日付ディレクトリに k6 のサマリーと比較表（TSV）として格納
+#
+# Usage: ./run-benchmark.sh [シナリオ名]
+#
+# Examples:
+#   ./run-benchmark.sh
+#   ./run-benchmark.sh scenario-4-token-password
+#   POOL_SIZES="10 30" VU_COUNT=600 DURATION=120s ./run-benchmark.sh
+#
+
+set -e
+
+SCRIPT_DIR="$(cd "$(dirname "$0")" && pwd)"
+PERF_TEST_DIR="$(dirname "$SCRIPT_DIR")"
+PROJECT_DIR="$(dirname "$PERF_TEST_DIR")"
+
+SCENARIO="${1:-scenario-5-token-client-credentials}"
+SCRIPT_PATH="${PERF_TEST_DIR}/stress/${SCENARIO}.js"
+
+POOL_SIZES="${POOL_SIZES:-10 30 60}"
+THREAD_MODES="${THREAD_MODES:-platform virtual}"
+# Tomcat の最大スレッド数（既定 300）を超える同時接続数で比較する
+export VU_COUNT="${VU_COUNT:-400}"
+export DURATION="${DURATION:-60s}"
+WARMUP_DURATION="${WARMUP_DURATION:-15s}"
+SERVICE="${SERVICE:-idp-server-1}"
+export BASE_URL="${BASE_URL:-http://localhost:8081}"
+HEALTH_URL="${HEALTH_URL:-${BASE_URL}/actuator/health}"
+COMPOSE_FILE="${COMPOSE_FILE:-${PROJECT_DIR}/docker-compose.yaml}"
+
+TODAY=$(date +%Y-%m-%d)
+RESULT_DIR="${PERF_TEST_DIR}/result/virtual-threads/${TODAY}"
+RUN_ID=$(date +%Y%m%d-%H%M%S)
+SUMMARY_FILE="${RESULT_DIR}/summary-${SCENARIO}-${RUN_ID}.tsv"
+
+if [ ! -f "$SCRIPT_PATH" ]; then
+    echo "エラー: スクリプトが見つかりません: $SCRIPT_PATH"
+    exit 1
+fi
+
+for command in docker k6 jq curl; do
+    if ! command -v "$command" &> /dev/null; then
+        echo "エラー: ${command} が必要です"
+        exit 1
+    fi
+done
+
+mkdir -p "$RESULT_DIR"
+printf "mode\tpool_size\tvus\trps\tp95_ms\tp99_ms\terror_rate\n" > "$SUMMARY_FILE"
+
+# 指定したスレッドモードとプールサイズで対象インスタンスを再作成する
+restart_server() {
+    local mode="$1"
+    local pool_size="$2"
+    local virtual="false"
+    if [ "$mode" = "virtual" ]; then
+        virtual="true"
+    fi
+
+    local override_file
+    override_file=$(mktemp --suffix .yaml)
+    cat > "$override_file" <<EOF
+services:
+  ${SERVICE}:
+    environment:
+      SPRING_THREADS_VIRTUAL_ENABLED: "${virtual}"
+      DB_WRITER_MAX_POOL_SIZE: "${pool_size}"
+      DB_READER_MAX_POOL_SIZE: "${pool_size}"
+EOF
+
+    echo "再起動中: ${SERVICE} (mode=${mode}, pool_size=${pool_size})"
+    docker compose -f "$COMPOSE_FILE" -f "$override_file" up -d --force-recreate --no-deps "$SERVICE"
+    rm -f "$override_file"
+
+    for _ in $(seq 1 90); do
+        if curl -sf "$HEALTH_URL" > /dev/null 2>&1; then
+            return 0
+        fi
+        sleep 2
+    done
+
+    echo "エラー: ${SERVICE} が起動しませんでした: ${HEALTH_URL}"
+    exit 1
+}
+
+run_case() {
+    local mode="$1"
+    local pool_size="$2"
+    local result_path="${RESULT_DIR}/${SCENARIO}-${mode}-pool${pool_size}-${RUN_ID}.json"
+
+    restart_server "$mode" "$pool_size"
+
+    # JIT・コネクションプールのウォームアップ（結果には含めない）
+    DURATION="$WARMUP_DURATION" k6 run --quiet --no-summary "$SCRIPT_PATH" > /dev/null 2>&1 || true
+
+    echo "計測中: mode=${mode}, pool_size=${pool_size}, vus=${VU_COUNT}, duration=${DURATION}"
+    # 閾値違反でも比較を続ける
+    k6 run --quiet --summary-trend-stats="avg,p(95),p(99),max" --summary-export="$result_path" "$SCRIPT_PATH" || true
+
+    jq -r --arg mode "$mode" --arg pool "$pool_size" --arg vus "$VU_COUNT" \
+        '[$mode, $pool, $vus,
+          (.metrics.http_reqs.rate | floor),
+          (.metrics.http_req_duration["p(95)"] | floor),
+          (.metrics.http_req_duration["p(99)"] | floor),
+          .metrics.http_req_failed.value] | @tsv' \
+        "$result_path" >> "$SUMMARY_FILE"
+}
+
+for pool_size in $POOL_SIZES; do
+    for mode in $THREAD_MODES; do
+        run_case "$mode" "$pool_size"
+    done
+done
+
+# 元の設定に戻す
+echo "再起動中: ${SERVICE} (docker-compose.yaml の設定)"
+docker compose -f "$COMPOSE_FILE" up -d --force-recreate --no-deps "$SERVICE" > /dev/null
+
+echo ""
+echo "========================================"
+echo "結果: ${SCENARIO}"
+echo "========================================"
+column -t -s $'\t' "$SUMMARY_FILE"
+echo ""
+echo "サマリー: ${SUMMARY_FILE}"